@@ -0,0 +1,106 @@
+package fj.bench;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares two JMH result files written with <code>-rf csv</code> and fails when a benchmark has regressed
+ * beyond a tolerance. Scores are compared according to their unit: time per operation regresses when it grows,
+ * operations per time regresses when it shrinks.
+ * <p>
+ * Usage: <code>BaselineCheck baseline.csv current.csv [tolerance]</code> where the tolerance is a fraction
+ * (default 0.10, i.e. ten percent).
+ */
+public final class BaselineCheck {
+  private BaselineCheck() {
+    throw new UnsupportedOperationException();
+  }
+
+  public static void main(final String[] args) throws IOException {
+    if (args.length < 2) {
+      System.err.println("usage: BaselineCheck <baseline.csv> <current.csv> [tolerance]");
+      System.exit(2);
+    }
+
+    final double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : 0.10;
+    final Map<String, String[]> baseline = read(args[0]);
+    final Map<String, String[]> current = read(args[1]);
+
+    int regressions = 0;
+    for (final Map.Entry<String, String[]> e : current.entrySet()) {
+      final String[] was = baseline.get(e.getKey());
+      if (was == null) {
+        System.out.println("NEW        " + e.getKey() + " " + e.getValue()[SCORE] + " " + e.getValue()[UNIT]);
+        continue;
+      }
+
+      final double before = Double.parseDouble(was[SCORE]);
+      final double after = Double.parseDouble(e.getValue()[SCORE]);
+      final double change = lowerIsBetter(e.getValue()[UNIT]) ? (after - before) / before : (before - after) / before;
+      final boolean regressed = change > tolerance;
+      if (regressed)
+        regressions++;
+
+      System.out.println((regressed ? "REGRESSED  " : "ok         ") + e.getKey() + " " + was[SCORE] + " -> " +
+          e.getValue()[SCORE] + " " + e.getValue()[UNIT] + " (" + Math.round(change * -100.0) + "%)");
+    }
+
+    if (regressions > 0) {
+      System.out.println(regressions + " benchmark(s) regressed by more than " + Math.round(tolerance * 100.0) + "%");
+      System.exit(1);
+    }
+  }
+
+  private static final int SCORE = 4;
+  private static final int UNIT = 6;
+
+  private static boolean lowerIsBetter(final String unit) {
+    return unit.endsWith("/op");
+  }
+
+  // Keys are the benchmark name, mode and any parameter columns.
+  private static Map<String, String[]> read(final String file) throws IOException {
+    final Map<String, String[]> rows = new LinkedHashMap<String, String[]>();
+    final BufferedReader r = new BufferedReader(new FileReader(file));
+    try {
+      String line = r.readLine();
+      if (line == null)
+        return rows;
+      final String[] header = split(line);
+      while ((line = r.readLine()) != null) {
+        final String[] row = split(line);
+        if (row.length <= UNIT)
+          continue;
+        final StringBuilder key = new StringBuilder(row[0]).append(' ').append(row[1]);
+        for (int i = UNIT + 1; i < row.length && i < header.length; i++)
+          key.append(' ').append(header[i].replace("Param: ", "")).append('=').append(row[i]);
+        rows.put(key.toString(), row);
+      }
+      return rows;
+    } finally {
+      r.close();
+    }
+  }
+
+  private static String[] split(final String line) {
+    final ArrayList<String> cells = new ArrayList<String>();
+    final StringBuilder cell = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      final char c = line.charAt(i);
+      if (c == '"')
+        quoted = !quoted;
+      else if (c == ',' && !quoted) {
+        cells.add(cell.toString());
+        cell.setLength(0);
+      } else
+        cell.append(c);
+    }
+    cells.add(cell.toString());
+    return cells.toArray(new String[cells.size()]);
+  }
+}
@@ -0,0 +1,105 @@
+package fj.bench.control.parallel;
+
+import fj.Effect;
+import fj.Unit;
+import fj.control.parallel.Actor;
+import fj.control.parallel.MailboxOverflow;
+import fj.control.parallel.MetricsCounters;
+import fj.control.parallel.Strategy;
+import static fj.control.parallel.Actor.boundedQueueActor;
+import static fj.control.parallel.Actor.queueActor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Message throughput of {@link Actor#queueActor}: a burst of messages sent from one thread to one actor, with
+ * batched and unbatched draining and with a bounded mailbox.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ActorBench {
+  private static final int MESSAGES = 100000;
+
+  private ExecutorService pool;
+  private Strategy<Unit> strategy;
+  private Strategy<Unit> measured;
+
+  @Setup
+  public void setup() {
+    pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    strategy = Strategy.executorStrategy(pool);
+    measured = strategy.metricsStrategy(new MetricsCounters());
+  }
+
+  @TearDown
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  // Sends a burst of messages to an actor with the given mailbox and waits for all of them to be processed.
+  private long throughput(final String mailbox) throws InterruptedException {
+    final CountDownLatch done = new CountDownLatch(1);
+    final long[] sum = new long[1];
+    final Effect<Integer> e = new Effect<Integer>() {
+      private int received;
+
+      public void e(final Integer i) {
+        sum[0] += i;
+        if (++received == MESSAGES)
+          done.countDown();
+      }
+    };
+    final Actor<Integer> a = mailbox.equals("unbatched") ? queueActor(strategy, e, 1) :
+        mailbox.equals("bounded") ? boundedQueueActor(strategy, e, 1024, MailboxOverflow.BLOCK) :
+        mailbox.equals("measured") ? queueActor(measured, e) :
+        queueActor(strategy, e);
+    for (int i = 0; i < MESSAGES; i++)
+      a.act(i);
+    done.await();
+    return sum[0];
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MESSAGES)
+  public long queueActorThroughput() throws InterruptedException {
+    return throughput("batched");
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MESSAGES)
+  public long unbatchedQueueActorThroughput() throws InterruptedException {
+    return throughput("unbatched");
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MESSAGES)
+  public long boundedQueueActorThroughput() throws InterruptedException {
+    return throughput("bounded");
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MESSAGES)
+  public long measuredQueueActorThroughput() throws InterruptedException {
+    return throughput("measured");
+  }
+}
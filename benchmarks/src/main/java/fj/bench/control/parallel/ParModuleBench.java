@@ -0,0 +1,162 @@
+package fj.bench.control.parallel;
+
+import fj.F;
+import fj.P;
+import fj.P2;
+import fj.Unit;
+import fj.control.parallel.ForkJoinParModule;
+import fj.control.parallel.ParModule;
+import fj.control.parallel.Strategy;
+import fj.data.Array;
+import fj.data.List;
+import fj.data.Stream;
+import static fj.Monoid.intAdditionMonoid;
+import static fj.Monoid.longAdditionMonoid;
+import static fj.control.parallel.ParModule.parModule;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link ParModule}: parallel maps and map-reduce in the style of the word count demo, adaptively
+ * and by hand-written chunks, with the work-stealing {@link ForkJoinParModule} equivalents for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParModuleBench {
+  @Param({"1000", "100000"})
+  public int size;
+
+  private ExecutorService pool;
+  private ParModule module;
+  private ForkJoinPool forkJoinPool;
+  private ForkJoinParModule forkJoinModule;
+  private List<Integer> list;
+  private Array<Integer> array;
+
+  private static final F<Integer, Long> work = new F<Integer, Long>() {
+    public Long f(final Integer i) {
+      long x = i;
+      for (int j = 0; j < 64; j++)
+        x = x * 31L + j;
+      return x;
+    }
+  };
+
+  private static final F<Integer, Boolean> costlyPredicate = new F<Integer, Boolean>() {
+    public Boolean f(final Integer i) {
+      return work.f(i) % 3 == 0;
+    }
+  };
+
+  @Setup
+  public void setup() {
+    pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    module = parModule(Strategy.<Unit>executorStrategy(pool));
+    forkJoinPool = new ForkJoinPool();
+    forkJoinModule = ForkJoinParModule.forkJoinParModule(forkJoinPool);
+    list = List.range(0, size);
+    array = Array.range(0, size);
+  }
+
+  @TearDown
+  public void tearDown() {
+    pool.shutdown();
+    forkJoinPool.shutdown();
+  }
+
+  @Benchmark
+  public List<Long> parMapList() {
+    return module.parMap(list, work).claim();
+  }
+
+  @Benchmark
+  public Array<Long> parMapArray() {
+    return module.parMap(array, work).claim();
+  }
+
+  @Benchmark
+  public Long parFoldMap() {
+    return module.parFoldMap(list.toStream(), work, longAdditionMonoid).claim();
+  }
+
+  @Benchmark
+  public Long parFoldMapList() {
+    return module.parFoldMap(list, work, longAdditionMonoid).claim();
+  }
+
+  @Benchmark
+  public Long handChunkedParFoldMap() {
+    final int chunk = Math.max(1, size / (Runtime.getRuntime().availableProcessors() * 4));
+    return module.parFoldMap(list.toStream(), work, longAdditionMonoid,
+                             new F<Stream<Integer>, P2<Stream<Integer>, Stream<Integer>>>() {
+                               public P2<Stream<Integer>, Stream<Integer>> f(final Stream<Integer> s) {
+                                 return P.p(s.take(chunk), s.drop(chunk));
+                               }
+                             }).claim();
+  }
+
+  @Benchmark
+  public Long seqFoldMap() {
+    return longAdditionMonoid.sumLeft(list.map(work));
+  }
+
+  @Benchmark
+  public Stream<Long> parMapStream() {
+    return module.parMap(list.toStream(), work).claim();
+  }
+
+  @Benchmark
+  public List<Long> forkJoinParMapList() {
+    return forkJoinModule.parMap(list, work).claim();
+  }
+
+  @Benchmark
+  public Array<Long> forkJoinParMapArray() {
+    return forkJoinModule.parMap(array, work).claim();
+  }
+
+  @Benchmark
+  public Long forkJoinParFoldMap() {
+    return forkJoinModule.parFoldMap(list, work, longAdditionMonoid).claim();
+  }
+
+  @Benchmark
+  public Array<Integer> seqFilterArray() {
+    return array.filter(costlyPredicate);
+  }
+
+  @Benchmark
+  public Array<Integer> forkJoinParFilterArray() {
+    return forkJoinModule.parFilter(array, costlyPredicate).claim();
+  }
+
+  @Benchmark
+  public Array<Integer> forkJoinParScanArray() {
+    return forkJoinModule.parScan(array, intAdditionMonoid).claim();
+  }
+
+  @Benchmark
+  public Array<Integer> parScanArray() {
+    return module.parScan(array, intAdditionMonoid).claim();
+  }
+}
@@ -0,0 +1,131 @@
+package fj.bench.control.parallel;
+
+import fj.F;
+import fj.P;
+import fj.P1;
+import fj.Unit;
+import fj.control.parallel.CompletableFutures;
+import fj.control.parallel.Promise;
+import fj.control.parallel.Strategy;
+import fj.data.List;
+import static fj.control.parallel.Promise.promise;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link Promise}: fulfilment and claim latency, bind chains and sequencing, on a fixed pool
+ * and with a thread per task, and bind chains through completable futures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PromiseBench {
+  @Param({"10", "1000"})
+  public int depth;
+
+  private ExecutorService pool;
+  private Strategy<Unit> strategy;
+  private Strategy<Unit> virtualThreads;
+
+  @Setup
+  public void setup() {
+    pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    strategy = Strategy.executorStrategy(pool);
+    virtualThreads = Strategy.virtualThreadStrategy();
+  }
+
+  @TearDown
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Benchmark
+  public Integer promiseClaim() {
+    return promise(strategy, P.p(1)).claim();
+  }
+
+  @Benchmark
+  public Integer bindChain() {
+    final F<Integer, Promise<Integer>> inc = new F<Integer, Promise<Integer>>() {
+      public Promise<Integer> f(final Integer i) {
+        return promise(strategy, P.p(i + 1));
+      }
+    };
+    Promise<Integer> p = promise(strategy, P.p(0));
+    for (int i = 0; i < depth; i++)
+      p = p.bind(inc);
+    return p.claim();
+  }
+
+  @Benchmark
+  public List<Integer> sequence() {
+    List<Promise<Integer>> ps = List.nil();
+    for (int i = 0; i < depth; i++)
+      ps = ps.cons(promise(strategy, P.p(i)));
+    return Promise.sequence(strategy, ps).claim();
+  }
+
+  @Benchmark
+  public Integer virtualThreadBindChain() {
+    final F<Integer, Promise<Integer>> inc = new F<Integer, Promise<Integer>>() {
+      public Promise<Integer> f(final Integer i) {
+        return promise(virtualThreads, P.p(i + 1));
+      }
+    };
+    Promise<Integer> p = promise(virtualThreads, P.p(0));
+    for (int i = 0; i < depth; i++)
+      p = p.bind(inc);
+    return p.claim();
+  }
+
+  @Benchmark
+  public Integer virtualThreadNestedClaim() {
+    Promise<Integer> p = promise(virtualThreads, P.p(0));
+    for (int i = 0; i < depth; i++) {
+      final Promise<Integer> q = p;
+      p = promise(virtualThreads, new P1<Integer>() {
+        public Integer _1() {
+          return q.claim() + 1;
+        }
+      });
+    }
+    return p.claim();
+  }
+
+  @Benchmark
+  public Integer completableFutureBindChain() {
+    final F<Integer, Promise<Integer>> inc = new F<Integer, Promise<Integer>>() {
+      public Promise<Integer> f(final Integer i) {
+        return CompletableFutures.promise(strategy, CompletableFuture.supplyAsync(new Supplier<Integer>() {
+          public Integer get() {
+            return i + 1;
+          }
+        }, pool));
+      }
+    };
+    Promise<Integer> p = promise(strategy, P.p(0));
+    for (int i = 0; i < depth; i++)
+      p = p.bind(inc);
+    return CompletableFutures.completableFuture(p).join();
+  }
+}
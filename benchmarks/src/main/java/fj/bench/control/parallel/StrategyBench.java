@@ -0,0 +1,90 @@
+package fj.bench.control.parallel;
+
+import fj.F;
+import fj.P1;
+import fj.control.parallel.Strategy;
+import fj.data.Array;
+import fj.data.List;
+import static fj.control.parallel.Strategy.executorStrategy;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link Strategy}: the per-task dispatch cost and parallel maps over lists and arrays.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StrategyBench {
+  @Param({"1000", "100000"})
+  public int size;
+
+  private ExecutorService pool;
+  private Strategy<Integer> strategy;
+  private List<Integer> list;
+  private Array<Integer> array;
+
+  private static final F<Integer, Integer> work = new F<Integer, Integer>() {
+    public Integer f(final Integer i) {
+      int x = i;
+      for (int j = 0; j < 64; j++)
+        x = x * 31 + j;
+      return x;
+    }
+  };
+
+  @Setup
+  public void setup() {
+    pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    strategy = executorStrategy(pool);
+    list = List.range(0, size);
+    array = Array.range(0, size);
+  }
+
+  @TearDown
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Benchmark
+  public Integer par() {
+    return strategy.par(new P1<Integer>() {
+      public Integer _1() {
+        return 1;
+      }
+    })._1();
+  }
+
+  @Benchmark
+  public List<Integer> parMapList() {
+    return strategy.parMap1(work, list);
+  }
+
+  @Benchmark
+  public Array<Integer> parMapArray() {
+    return strategy.parMap1(work, array);
+  }
+
+  @Benchmark
+  public List<Integer> seqMapList() {
+    return list.map(work);
+  }
+}
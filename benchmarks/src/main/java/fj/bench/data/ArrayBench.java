@@ -0,0 +1,178 @@
+package fj.bench.data;
+
+import fj.F;
+import fj.F2;
+import fj.Unit;
+import fj.control.parallel.Strategy;
+import fj.data.Array;
+import fj.data.IntArray;
+import fj.data.List;
+import fj.function.IntF;
+import fj.function.IntF2;
+import static fj.Ord.intOrd;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link Array}: map, filter, folds, bind and conversions, with the unboxed
+ * {@link IntArray} equivalents of map and the folds for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArrayBench {
+  @Param({"1000", "100000"})
+  public int size;
+
+  private Array<Integer> array;
+  private IntArray intArray;
+  private ExecutorService pool;
+  private Strategy<Unit> strategy;
+
+  private static final F<Integer, Integer> inc = new F<Integer, Integer>() {
+    public Integer f(final Integer i) {
+      return i + 1;
+    }
+  };
+
+  private static final F<Integer, Boolean> even = new F<Integer, Boolean>() {
+    public Boolean f(final Integer i) {
+      return i % 2 == 0;
+    }
+  };
+
+  private static final F2<Integer, Integer, Integer> add = new F2<Integer, Integer, Integer>() {
+    public Integer f(final Integer a, final Integer b) {
+      return a + b;
+    }
+  };
+
+  private static final IntF intInc = new IntF() {
+    public int f(final int i) {
+      return i + 1;
+    }
+  };
+
+  private static final IntF2 intAdd = new IntF2() {
+    public int f(final int a, final int b) {
+      return a + b;
+    }
+  };
+
+  private static final F<Integer, Array<Integer>> pair = new F<Integer, Array<Integer>>() {
+    public Array<Integer> f(final Integer i) {
+      return Array.array(i, i);
+    }
+  };
+
+  @Setup
+  public void setup() {
+    final Random r = new Random(42L);
+    final Integer[] xs = new Integer[size];
+    for (int i = 0; i < size; i++)
+      xs[i] = r.nextInt();
+    array = Array.array(xs);
+    intArray = IntArray.iterableIntArray(array);
+    pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    strategy = Strategy.executorStrategy(pool);
+  }
+
+  @TearDown
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Benchmark
+  public Array<Integer> map() {
+    return array.map(inc);
+  }
+
+  @Benchmark
+  public Array<Integer> filter() {
+    return array.filter(even);
+  }
+
+  @Benchmark
+  public Integer foldLeft() {
+    return array.foldLeft(add, 0);
+  }
+
+  @Benchmark
+  public Array<Integer> scanLeft1() {
+    return array.scanLeft1(add);
+  }
+
+  @Benchmark
+  public Integer foldRight() {
+    return array.foldRight(add, 0);
+  }
+
+  @Benchmark
+  public Array<Integer> bind() {
+    return array.bind(pair);
+  }
+
+  @Benchmark
+  public List<Integer> toList() {
+    return array.toList();
+  }
+
+  @Benchmark
+  public Array<Integer> sort() {
+    return array.sort(intOrd);
+  }
+
+  @Benchmark
+  public Array<Integer> parallelSort() {
+    return array.sort(intOrd, strategy);
+  }
+
+  @Benchmark
+  public IntArray intMap() {
+    return intArray.map(intInc);
+  }
+
+  @Benchmark
+  public int intFoldLeft() {
+    return intArray.foldLeft(intAdd, 0);
+  }
+
+  @Benchmark
+  public int intSum() {
+    return intArray.sum();
+  }
+
+  @Benchmark
+  public Integer mapFilterFold() {
+    return array.map(inc).filter(even).foldLeft(add, 0);
+  }
+
+  @Benchmark
+  public Integer viewMapFilterFold() {
+    return array.view().map(inc).filter(even).foldLeft(add, 0);
+  }
+
+  @Benchmark
+  public Array<Integer> viewMapFilter() {
+    return array.view().map(inc).filter(even).toArray();
+  }
+}
@@ -0,0 +1,103 @@
+package fj.bench.data;
+
+import fj.data.HashMap;
+import fj.data.HashTrieMap;
+import static fj.Equal.intEqual;
+import static fj.Hash.intHash;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link HashMap} and the persistent {@link HashTrieMap}: building and lookup through the
+ * configurable equality and hash.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashMapBench {
+  @Param({"1000", "100000"})
+  public int size;
+
+  private Integer[] keys;
+  private HashMap<Integer, Integer> map;
+  private HashTrieMap<Integer, Integer> trie;
+
+  @Setup
+  public void setup() {
+    final Random r = new Random(42L);
+    keys = new Integer[size];
+    map = new HashMap<Integer, Integer>(intEqual, intHash);
+    for (int i = 0; i < size; i++) {
+      keys[i] = r.nextInt(size * 4);
+      map.set(keys[i], i);
+    }
+    trie = trieBuild();
+  }
+
+  @Benchmark
+  public HashMap<Integer, Integer> build() {
+    final HashMap<Integer, Integer> m = new HashMap<Integer, Integer>(intEqual, intHash);
+    for (final Integer k : keys)
+      m.set(k, k);
+    return m;
+  }
+
+  @Benchmark
+  public int get() {
+    int n = 0;
+    for (final Integer k : keys)
+      if (map.get(k).isSome())
+        n++;
+    return n;
+  }
+
+  @Benchmark
+  public int contains() {
+    int n = 0;
+    for (final Integer k : keys)
+      if (map.contains(k))
+        n++;
+    return n;
+  }
+
+  @Benchmark
+  public HashTrieMap<Integer, Integer> trieSet() {
+    HashTrieMap<Integer, Integer> m = HashTrieMap.empty(intEqual, intHash);
+    for (final Integer k : keys)
+      m = m.set(k, k);
+    return m;
+  }
+
+  @Benchmark
+  public HashTrieMap<Integer, Integer> trieBuild() {
+    final HashTrieMap.Builder<Integer, Integer> b = HashTrieMap.<Integer, Integer>empty(intEqual, intHash).builder();
+    for (final Integer k : keys)
+      b.set(k, k);
+    return b.build();
+  }
+
+  @Benchmark
+  public int trieGet() {
+    int n = 0;
+    for (final Integer k : keys)
+      if (trie.get(k).isSome())
+        n++;
+    return n;
+  }
+}
@@ -0,0 +1,158 @@
+package fj.bench.data;
+
+import fj.F;
+import fj.F2;
+import fj.data.Array;
+import fj.data.List;
+import static fj.Equal.intEqual;
+import static fj.Ord.intOrd;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the hot paths of {@link List}: length, sorting, splitting, conversions and the strict combinators.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListBench {
+  @Param({"1000", "100000"})
+  public int size;
+
+  private List<Integer> random;
+  private List<Integer> sorted;
+
+  private static final F<Integer, Integer> inc = new F<Integer, Integer>() {
+    public Integer f(final Integer i) {
+      return i + 1;
+    }
+  };
+
+  private static final F<Integer, Boolean> even = new F<Integer, Boolean>() {
+    public Boolean f(final Integer i) {
+      return i % 2 == 0;
+    }
+  };
+
+  private static final F2<Integer, Integer, Integer> add = new F2<Integer, Integer, Integer>() {
+    public Integer f(final Integer a, final Integer b) {
+      return a + b;
+    }
+  };
+
+  @Setup
+  public void setup() {
+    final Random r = new Random(42L);
+    final Integer[] xs = new Integer[size];
+    for (int i = 0; i < size; i++)
+      xs[i] = r.nextInt();
+    random = List.list(xs);
+    sorted = List.range(0, size);
+  }
+
+  @Benchmark
+  public int length() {
+    return random.length();
+  }
+
+  @Benchmark
+  public List<Integer> sortRandom() {
+    return random.sort(intOrd);
+  }
+
+  @Benchmark
+  public List<Integer> sortSorted() {
+    return sorted.sort(intOrd);
+  }
+
+  @Benchmark
+  public Object splitAt() {
+    return random.splitAt(size / 2);
+  }
+
+  @Benchmark
+  public Array<Integer> toArray() {
+    return random.toArray();
+  }
+
+  @Benchmark
+  public List<Integer> map() {
+    return random.map(inc);
+  }
+
+  @Benchmark
+  public List<Integer> filter() {
+    return random.filter(even);
+  }
+
+  @Benchmark
+  public List<Integer> mapFilterMap() {
+    return random.map(inc).filter(even).map(inc);
+  }
+
+  @Benchmark
+  public Integer foldLeft() {
+    return random.foldLeft(add, 0);
+  }
+
+  @Benchmark
+  public List<Integer> append() {
+    return random.append(sorted);
+  }
+
+  @Benchmark
+  public List<Integer> reverse() {
+    return random.reverse();
+  }
+
+  @Benchmark
+  public List<Integer> zipWith() {
+    return random.zipWith(sorted, add);
+  }
+
+  @Benchmark
+  public Integer foldRight() {
+    return random.foldRight(add, 0);
+  }
+
+  @Benchmark
+  public List<Integer> intersperse() {
+    return random.intersperse(0);
+  }
+
+  @Benchmark
+  public List<List<Integer>> group() {
+    return sorted.group(intEqual);
+  }
+
+  @Benchmark
+  public Integer mapFilterFold() {
+    return random.map(inc).filter(even).foldLeft(add, 0);
+  }
+
+  @Benchmark
+  public Integer viewMapFilterFold() {
+    return random.view().map(inc).filter(even).foldLeft(add, 0);
+  }
+
+  @Benchmark
+  public List<Integer> viewMapFilter() {
+    return random.view().map(inc).filter(even).toList();
+  }
+}
@@ -0,0 +1,102 @@
+package fj.bench.data;
+
+import fj.P2;
+import fj.data.Seq;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link Seq}: building, concatenation, positional access and updates, splitting and iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeqBench {
+  @Param({"1000", "100000"})
+  public int size;
+
+  private Seq<Integer> seq;
+
+  @Setup
+  public void setup() {
+    Seq<Integer> s = Seq.empty();
+    for (int i = 0; i < size; i++)
+      s = s.snoc(i);
+    seq = s;
+  }
+
+  @Benchmark
+  public Seq<Integer> snoc() {
+    Seq<Integer> s = Seq.empty();
+    for (int i = 0; i < size; i++)
+      s = s.snoc(i);
+    return s;
+  }
+
+  @Benchmark
+  public Seq<Integer> cons() {
+    Seq<Integer> s = Seq.empty();
+    for (int i = 0; i < size; i++)
+      s = s.cons(i);
+    return s;
+  }
+
+  @Benchmark
+  public Seq<Integer> append() {
+    return seq.append(seq);
+  }
+
+  @Benchmark
+  public int length() {
+    return seq.length();
+  }
+
+  @Benchmark
+  public Seq<Integer> seq() {
+    return Seq.iterableSeq(seq);
+  }
+
+  @Benchmark
+  public int index() {
+    int n = 0;
+    for (int i = 0; i < size; i += 7)
+      n += seq.index(i);
+    return n;
+  }
+
+  @Benchmark
+  public Seq<Integer> update() {
+    Seq<Integer> s = seq;
+    for (int i = 0; i < size; i += 7)
+      s = s.update(i, -i);
+    return s;
+  }
+
+  @Benchmark
+  public P2<Seq<Integer>, Seq<Integer>> splitAt() {
+    return seq.splitAt(size / 3);
+  }
+
+  @Benchmark
+  public int iterate() {
+    int n = 0;
+    for (final Integer i : seq)
+      n += i;
+    return n;
+  }
+}
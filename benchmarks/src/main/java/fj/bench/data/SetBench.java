@@ -0,0 +1,112 @@
+package fj.bench.data;
+
+import fj.data.Set;
+import static fj.Ord.intOrd;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link Set}: insertion, membership, single element deletion, size and the set algebra.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SetBench {
+  @Param({"1000", "100000"})
+  public int size;
+
+  private Integer[] keys;
+  private Set<Integer> set;
+  private Set<Integer> other;
+  private Set<Integer> small;
+
+  @Setup
+  public void setup() {
+    final Random r = new Random(42L);
+    keys = new Integer[size];
+    Set<Integer> s = Set.empty(intOrd);
+    Set<Integer> o = Set.empty(intOrd);
+    Set<Integer> m = Set.empty(intOrd);
+    for (int i = 0; i < size; i++) {
+      keys[i] = r.nextInt(size * 4);
+      s = s.insert(keys[i]);
+      o = o.insert(r.nextInt(size * 4));
+      if (i % 100 == 0)
+        m = m.insert(keys[i]);
+    }
+    set = s;
+    other = o;
+    small = m;
+  }
+
+  @Benchmark
+  public Set<Integer> build() {
+    Set<Integer> s = Set.empty(intOrd);
+    for (final Integer k : keys)
+      s = s.insert(k);
+    return s;
+  }
+
+  @Benchmark
+  public int member() {
+    int n = 0;
+    for (final Integer k : keys)
+      if (set.member(k))
+        n++;
+    return n;
+  }
+
+  @Benchmark
+  public Set<Integer> delete() {
+    return set.delete(keys[size / 2]);
+  }
+
+  @Benchmark
+  public int size() {
+    return set.size();
+  }
+
+  @Benchmark
+  public Set<Integer> union() {
+    return set.union(other);
+  }
+
+  @Benchmark
+  public Set<Integer> unionSmall() {
+    return set.union(small);
+  }
+
+  @Benchmark
+  public Set<Integer> intersect() {
+    return set.intersect(other);
+  }
+
+  @Benchmark
+  public Set<Integer> minus() {
+    return set.minus(small);
+  }
+
+  @Benchmark
+  public int iterate() {
+    int n = 0;
+    for (final Integer i : set)
+      n += i;
+    return n;
+  }
+}
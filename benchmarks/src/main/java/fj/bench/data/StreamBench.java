@@ -0,0 +1,143 @@
+package fj.bench.data;
+
+import fj.F;
+import fj.F2;
+import fj.Unit;
+import fj.control.parallel.Strategy;
+import fj.data.Array;
+import fj.data.ChunkedStream;
+import fj.data.List;
+import fj.data.Stream;
+import static fj.Ord.intOrd;
+import static fj.control.parallel.Strategy.executorStrategy;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link Stream}: traversal of freshly built (unforced) streams, long append and bind
+ * chains, sorting and conversions, with the {@link ChunkedStream} equivalents of traversal for
+ * comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamBench {
+  @Param({"1000", "100000"})
+  public int size;
+
+  private List<Integer> source;
+  private ExecutorService pool;
+  private Strategy<Unit> strategy;
+
+  private static final F<Integer, Integer> inc = new F<Integer, Integer>() {
+    public Integer f(final Integer i) {
+      return i + 1;
+    }
+  };
+
+  private static final F<Integer, Boolean> even = new F<Integer, Boolean>() {
+    public Boolean f(final Integer i) {
+      return i % 2 == 0;
+    }
+  };
+
+  private static final F2<Integer, Integer, Integer> add = new F2<Integer, Integer, Integer>() {
+    public Integer f(final Integer a, final Integer b) {
+      return a + b;
+    }
+  };
+
+  private static final F<Integer, Stream<Integer>> sparse = new F<Integer, Stream<Integer>>() {
+    public Stream<Integer> f(final Integer i) {
+      return i % 100 == 0 ? Stream.single(i) : Stream.<Integer>nil();
+    }
+  };
+
+  @Setup
+  public void setup() {
+    final Random r = new Random(42L);
+    final Integer[] xs = new Integer[size];
+    for (int i = 0; i < size; i++)
+      xs[i] = r.nextInt();
+    source = List.list(xs);
+    pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    strategy = executorStrategy(pool);
+  }
+
+  @TearDown
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Benchmark
+  public Integer mapFilterFold() {
+    return source.toStream().map(inc).filter(even).foldLeft(add, 0);
+  }
+
+  @Benchmark
+  public Integer chunkedMapFilterFold() {
+    return ChunkedStream.iterableChunkedStream(source).map(inc).filter(even).foldLeft(add, 0);
+  }
+
+  @Benchmark
+  public int rangeLength() {
+    return Stream.range(0, size).length();
+  }
+
+  @Benchmark
+  public int chunkedRangeLength() {
+    return ChunkedStream.range(0, size).length();
+  }
+
+  @Benchmark
+  public List<Integer> toList() {
+    return source.toStream().toList();
+  }
+
+  @Benchmark
+  public Array<Integer> sort() {
+    return source.toStream().sort(intOrd).toArray();
+  }
+
+  @Benchmark
+  public Stream<Integer> parallelSort() {
+    return source.toStream().sort(intOrd, strategy);
+  }
+
+  @Benchmark
+  public int snocLength() {
+    Stream<Integer> s = Stream.nil();
+    for (int i = 0; i < size; i++)
+      s = s.snoc(i);
+    return s.length();
+  }
+
+  @Benchmark
+  public Integer bindFold() {
+    return source.toStream().bind(sparse).foldLeft(add, 0);
+  }
+
+  @Benchmark
+  public Integer foldRight1() {
+    return source.toStream().foldRight1(add, 0);
+  }
+}
@@ -0,0 +1,91 @@
+package fj.bench.data;
+
+import fj.data.Option;
+import fj.data.TreeMap;
+import static fj.Ord.intOrd;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link TreeMap}: building, lookup, deletion, size, splitting and iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TreeMapBench {
+  @Param({"1000", "100000"})
+  public int size;
+
+  private Integer[] keys;
+  private TreeMap<Integer, String> map;
+
+  @Setup
+  public void setup() {
+    final Random r = new Random(42L);
+    keys = new Integer[size];
+    TreeMap<Integer, String> m = TreeMap.empty(intOrd);
+    for (int i = 0; i < size; i++) {
+      keys[i] = r.nextInt(size * 4);
+      m = m.set(keys[i], String.valueOf(i));
+    }
+    map = m;
+  }
+
+  @Benchmark
+  public TreeMap<Integer, String> build() {
+    TreeMap<Integer, String> m = TreeMap.empty(intOrd);
+    for (final Integer k : keys)
+      m = m.set(k, "");
+    return m;
+  }
+
+  @Benchmark
+  public int get() {
+    int n = 0;
+    for (final Integer k : keys) {
+      final Option<String> v = map.get(k);
+      if (v.isSome())
+        n++;
+    }
+    return n;
+  }
+
+  @Benchmark
+  public TreeMap<Integer, String> delete() {
+    return map.delete(keys[size / 2]);
+  }
+
+  @Benchmark
+  public int size() {
+    return map.size();
+  }
+
+  @Benchmark
+  public Object split() {
+    return map.split(keys[size / 2]);
+  }
+
+  @Benchmark
+  public int iterate() {
+    int n = 0;
+    for (final Object e : map)
+      n++;
+    return n;
+  }
+}
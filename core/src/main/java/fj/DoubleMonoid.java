@@ -0,0 +1,109 @@
+package fj;
+
+import fj.function.DoubleF2;
+
+/**
+ * A monoid over unboxed <code>double</code> values. Implementations must follow the monoidal laws
+ * described for {@link Monoid}; unlike <code>Monoid&lt;Double&gt;</code>, summing neither boxes its
+ * arguments nor allocates curried functions.
+ *
+ * @version %build.number%
+ */
+public final class DoubleMonoid {
+  private final DoubleF2 sum;
+  private final double zero;
+
+  private DoubleMonoid(final DoubleF2 sum, final double zero) {
+    this.sum = sum;
+    this.zero = zero;
+  }
+
+  /**
+   * Sums the two given arguments.
+   *
+   * @param a1 A value to sum with another.
+   * @param a2 A value to sum with another.
+   * @return The sum of the two given arguments.
+   */
+  public double sum(final double a1, final double a2) {
+    return sum.f(a1, a2);
+  }
+
+  /**
+   * Returns the function of this monoid.
+   *
+   * @return The function of this monoid.
+   */
+  public DoubleF2 sum() {
+    return sum;
+  }
+
+  /**
+   * The zero value for this monoid.
+   *
+   * @return The zero value for this monoid.
+   */
+  public double zero() {
+    return zero;
+  }
+
+  /**
+   * Returns a boxed projection of this monoid.
+   *
+   * @return A boxed projection of this monoid.
+   */
+  public Monoid<Double> monoid() {
+    return Monoid.monoid(new F2<Double, Double, Double>() {
+      public Double f(final Double a1, final Double a2) {
+        return sum.f(a1, a2);
+      }
+    }, zero);
+  }
+
+  /**
+   * Constructs a monoid from the given sum function and zero value.
+   *
+   * @param sum  The sum function for the monoid.
+   * @param zero The zero for the monoid.
+   * @return A monoid instance that uses the given sum function and zero value.
+   */
+  public static DoubleMonoid doubleMonoid(final DoubleF2 sum, final double zero) {
+    return new DoubleMonoid(sum, zero);
+  }
+
+  /**
+   * A monoid that adds doubles.
+   */
+  public static final DoubleMonoid doubleAdditionMonoid = doubleMonoid(new DoubleF2() {
+    public double f(final double a1, final double a2) {
+      return a1 + a2;
+    }
+  }, 0);
+
+  /**
+   * A monoid that multiplies doubles.
+   */
+  public static final DoubleMonoid doubleMultiplicationMonoid = doubleMonoid(new DoubleF2() {
+    public double f(final double a1, final double a2) {
+      return a1 * a2;
+    }
+  }, 1);
+
+  /**
+   * A monoid that yields the maximum of doubles.
+   */
+  public static final DoubleMonoid doubleMaximumMonoid = doubleMonoid(new DoubleF2() {
+    public double f(final double a1, final double a2) {
+      return Math.max(a1, a2);
+    }
+  }, Double.NEGATIVE_INFINITY);
+
+  /**
+   * A monoid that yields the minimum of doubles.
+   */
+  public static final DoubleMonoid doubleMinimumMonoid = doubleMonoid(new DoubleF2() {
+    public double f(final double a1, final double a2) {
+      return Math.min(a1, a2);
+    }
+  }, Double.POSITIVE_INFINITY);
+}
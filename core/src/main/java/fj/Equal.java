@@ -8,6 +8,7 @@ import fj.data.LazyString;
 import fj.data.List;
 import fj.data.NonEmptyList;
 import fj.data.Option;
+import fj.data.Seq;
 import fj.data.Set;
 import fj.data.Stream;
 import fj.data.Tree;
@@ -350,6 +351,32 @@ public final class Equal<A> {
     });
   }
 
+  /**
+   * An equal instance for the {@link Seq} type.
+   *
+   * @param ea Equality across the elements of the sequence.
+   * @return An equal instance for the {@link Seq} type.
+   */
+  public static <A> Equal<Seq<A>> seqEqual(final Equal<A> ea) {
+    return new Equal<Seq<A>>(new F<Seq<A>, F<Seq<A>, Boolean>>() {
+      public F<Seq<A>, Boolean> f(final Seq<A> a1) {
+        return new F<Seq<A>, Boolean>() {
+          public Boolean f(final Seq<A> a2) {
+            if (a1.length() == a2.length()) {
+              final java.util.Iterator<A> i2 = a2.iterator();
+              for (final A a : a1) {
+                if (!ea.eq(a, i2.next()))
+                  return false;
+              }
+              return true;
+            } else
+              return false;
+          }
+        };
+      }
+    });
+  }
+
   /**
    * An equal instance for the {@link Tree} type.
    *
@@ -7,6 +7,7 @@ import fj.data.Either;
 import fj.data.List;
 import fj.data.NonEmptyList;
 import fj.data.Option;
+import fj.data.Seq;
 import fj.data.Stream;
 import fj.data.Tree;
 import fj.data.Validation;
@@ -265,6 +266,27 @@ public final class Hash<A> {
     });
   }
 
+  /**
+   * A hash instance for the {@link Seq} type.
+   *
+   * @param ha A hash for the elements of the sequence.
+   * @return A hash instance for the {@link Seq} type.
+   */
+  public static <A> Hash<Seq<A>> seqHash(final Hash<A> ha) {
+    return new Hash<Seq<A>>(new F<Seq<A>, Integer>() {
+      public Integer f(final Seq<A> as) {
+        final int p = 419;
+        int r = 239;
+
+        for (final A a : as) {
+          r = p * r + ha.hash(a);
+        }
+
+        return r;
+      }
+    });
+  }
+
   /**
    * A hash instance for the {@link Tree} type.
    *
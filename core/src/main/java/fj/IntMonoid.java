@@ -0,0 +1,109 @@
+package fj;
+
+import fj.function.IntF2;
+
+/**
+ * A monoid over unboxed <code>int</code> values. Implementations must follow the monoidal laws
+ * described for {@link Monoid}; unlike <code>Monoid&lt;Integer&gt;</code>, summing neither boxes its
+ * arguments nor allocates curried functions.
+ *
+ * @version %build.number%
+ */
+public final class IntMonoid {
+  private final IntF2 sum;
+  private final int zero;
+
+  private IntMonoid(final IntF2 sum, final int zero) {
+    this.sum = sum;
+    this.zero = zero;
+  }
+
+  /**
+   * Sums the two given arguments.
+   *
+   * @param a1 A value to sum with another.
+   * @param a2 A value to sum with another.
+   * @return The sum of the two given arguments.
+   */
+  public int sum(final int a1, final int a2) {
+    return sum.f(a1, a2);
+  }
+
+  /**
+   * Returns the function of this monoid.
+   *
+   * @return The function of this monoid.
+   */
+  public IntF2 sum() {
+    return sum;
+  }
+
+  /**
+   * The zero value for this monoid.
+   *
+   * @return The zero value for this monoid.
+   */
+  public int zero() {
+    return zero;
+  }
+
+  /**
+   * Returns a boxed projection of this monoid.
+   *
+   * @return A boxed projection of this monoid.
+   */
+  public Monoid<Integer> monoid() {
+    return Monoid.monoid(new F2<Integer, Integer, Integer>() {
+      public Integer f(final Integer a1, final Integer a2) {
+        return sum.f(a1, a2);
+      }
+    }, zero);
+  }
+
+  /**
+   * Constructs a monoid from the given sum function and zero value.
+   *
+   * @param sum  The sum function for the monoid.
+   * @param zero The zero for the monoid.
+   * @return A monoid instance that uses the given sum function and zero value.
+   */
+  public static IntMonoid intMonoid(final IntF2 sum, final int zero) {
+    return new IntMonoid(sum, zero);
+  }
+
+  /**
+   * A monoid that adds integers.
+   */
+  public static final IntMonoid intAdditionMonoid = intMonoid(new IntF2() {
+    public int f(final int a1, final int a2) {
+      return a1 + a2;
+    }
+  }, 0);
+
+  /**
+   * A monoid that multiplies integers.
+   */
+  public static final IntMonoid intMultiplicationMonoid = intMonoid(new IntF2() {
+    public int f(final int a1, final int a2) {
+      return a1 * a2;
+    }
+  }, 1);
+
+  /**
+   * A monoid that yields the maximum of integers.
+   */
+  public static final IntMonoid intMaximumMonoid = intMonoid(new IntF2() {
+    public int f(final int a1, final int a2) {
+      return Math.max(a1, a2);
+    }
+  }, Integer.MIN_VALUE);
+
+  /**
+   * A monoid that yields the minimum of integers.
+   */
+  public static final IntMonoid intMinimumMonoid = intMonoid(new IntF2() {
+    public int f(final int a1, final int a2) {
+      return Math.min(a1, a2);
+    }
+  }, Integer.MAX_VALUE);
+}
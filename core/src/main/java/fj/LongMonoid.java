@@ -0,0 +1,109 @@
+package fj;
+
+import fj.function.LongF2;
+
+/**
+ * A monoid over unboxed <code>long</code> values. Implementations must follow the monoidal laws
+ * described for {@link Monoid}; unlike <code>Monoid&lt;Long&gt;</code>, summing neither boxes its
+ * arguments nor allocates curried functions.
+ *
+ * @version %build.number%
+ */
+public final class LongMonoid {
+  private final LongF2 sum;
+  private final long zero;
+
+  private LongMonoid(final LongF2 sum, final long zero) {
+    this.sum = sum;
+    this.zero = zero;
+  }
+
+  /**
+   * Sums the two given arguments.
+   *
+   * @param a1 A value to sum with another.
+   * @param a2 A value to sum with another.
+   * @return The sum of the two given arguments.
+   */
+  public long sum(final long a1, final long a2) {
+    return sum.f(a1, a2);
+  }
+
+  /**
+   * Returns the function of this monoid.
+   *
+   * @return The function of this monoid.
+   */
+  public LongF2 sum() {
+    return sum;
+  }
+
+  /**
+   * The zero value for this monoid.
+   *
+   * @return The zero value for this monoid.
+   */
+  public long zero() {
+    return zero;
+  }
+
+  /**
+   * Returns a boxed projection of this monoid.
+   *
+   * @return A boxed projection of this monoid.
+   */
+  public Monoid<Long> monoid() {
+    return Monoid.monoid(new F2<Long, Long, Long>() {
+      public Long f(final Long a1, final Long a2) {
+        return sum.f(a1, a2);
+      }
+    }, zero);
+  }
+
+  /**
+   * Constructs a monoid from the given sum function and zero value.
+   *
+   * @param sum  The sum function for the monoid.
+   * @param zero The zero for the monoid.
+   * @return A monoid instance that uses the given sum function and zero value.
+   */
+  public static LongMonoid longMonoid(final LongF2 sum, final long zero) {
+    return new LongMonoid(sum, zero);
+  }
+
+  /**
+   * A monoid that adds longs.
+   */
+  public static final LongMonoid longAdditionMonoid = longMonoid(new LongF2() {
+    public long f(final long a1, final long a2) {
+      return a1 + a2;
+    }
+  }, 0);
+
+  /**
+   * A monoid that multiplies longs.
+   */
+  public static final LongMonoid longMultiplicationMonoid = longMonoid(new LongF2() {
+    public long f(final long a1, final long a2) {
+      return a1 * a2;
+    }
+  }, 1);
+
+  /**
+   * A monoid that yields the maximum of longs.
+   */
+  public static final LongMonoid longMaximumMonoid = longMonoid(new LongF2() {
+    public long f(final long a1, final long a2) {
+      return Math.max(a1, a2);
+    }
+  }, Long.MIN_VALUE);
+
+  /**
+   * A monoid that yields the minimum of longs.
+   */
+  public static final LongMonoid longMinimumMonoid = longMonoid(new LongF2() {
+    public long f(final long a1, final long a2) {
+      return Math.min(a1, a2);
+    }
+  }, Long.MAX_VALUE);
+}
@@ -4,6 +4,10 @@ import fj.data.List;
 import fj.data.Stream;
 import fj.data.Array;
 import java.lang.ref.SoftReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+import static fj.Bottom.error;
 
 /**
  * A product-1. Also, the identity monad.
@@ -215,6 +219,103 @@ public abstract class P1<A> {
     };
   }
 
+  /**
+   * Provides a memoising P1 that holds its value strongly, so that the value is never recomputed,
+   * and that publishes it without locking. This P1 is called at most once and is released as soon
+   * as it has returned, so that whatever it refers to can be collected. A thread that finds the
+   * value being computed by another thread is parked until it has been, without spinning, and a
+   * thread that fails to compute it leaves it to be computed by the next call. A P1 that needs its
+   * own value while computing it fails with an error.
+   *
+   * @return A P1 that calls this P1 once and holds on to the value for subsequent calls.
+   */
+  public final P1<A> hardMemo() {
+    return this instanceof HardMemo ? this : new HardMemo<A>(this);
+  }
+
+  private static final class HardMemo<A> extends P1<A> {
+    private static final Object UNSET = new Object();
+
+    @SuppressWarnings({"rawtypes"})
+    private static final AtomicReferenceFieldUpdater<HardMemo, Object> thunkUpdater =
+        AtomicReferenceFieldUpdater.newUpdater(HardMemo.class, Object.class, "thunk");
+
+    @SuppressWarnings({"rawtypes"})
+    private static final AtomicReferenceFieldUpdater<HardMemo, Waiter> waitersUpdater =
+        AtomicReferenceFieldUpdater.newUpdater(HardMemo.class, Waiter.class, "waiters");
+
+    // A thread that is parked until the value has been computed, or has failed to be.
+    private static final class Waiter {
+      final Thread thread;
+      Waiter next;
+
+      Waiter(final Thread thread) {
+        this.thread = thread;
+      }
+    }
+
+    // The P1 to call, or the thread that is calling it, or null once the value has been set.
+    private volatile Object thunk;
+    private volatile Object value = UNSET;
+    // The threads that are waiting for another thread to compute the value; null if there are none.
+    private volatile Waiter waiters;
+
+    HardMemo(final P1<A> thunk) {
+      this.thunk = thunk;
+    }
+
+    @SuppressWarnings({"unchecked"})
+    public A _1() {
+      final Object v = value;
+      return v != UNSET ? (A) v : evaluate();
+    }
+
+    @SuppressWarnings({"unchecked"})
+    private A evaluate() {
+      final Thread me = Thread.currentThread();
+      boolean interrupted = false;
+      Object v;
+      while ((v = value) == UNSET) {
+        final Object t = thunk;
+        if (t instanceof P1) {
+          if (thunkUpdater.compareAndSet(this, t, me)) {
+            boolean done = false;
+            try {
+              v = ((P1<A>) t)._1();
+              value = v;
+              done = true;
+            } finally {
+              thunk = done ? null : t;
+              wake();
+            }
+          }
+        } else if (t == me)
+          throw error("a memoised P1 needs its own value");
+        else if (t != null) {
+          // another thread is computing the value, so wait for it to finish
+          final Waiter w = new Waiter(me);
+          do {
+            w.next = waiters;
+          } while (!waitersUpdater.compareAndSet(this, w.next, w));
+          if (thunk == t) {
+            LockSupport.park();
+            if (Thread.interrupted())
+              interrupted = true;
+          }
+        }
+      }
+      if (interrupted)
+        me.interrupt();
+      return (A) v;
+    }
+
+    // Unparks every waiting thread, to look at the value again.
+    private void wake() {
+      for (Waiter w = waitersUpdater.getAndSet(this, null); w != null; w = w.next)
+        LockSupport.unpark(w.thread);
+    }
+  }
+
   /**
    * Returns a constant function that always uses this value.
    *
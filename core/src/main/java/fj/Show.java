@@ -7,6 +7,7 @@ import fj.data.List;
 import fj.data.Natural;
 import fj.data.NonEmptyList;
 import fj.data.Option;
+import fj.data.Seq;
 import fj.data.Stream;
 import fj.data.Tree;
 import fj.data.Validation;
@@ -379,6 +380,20 @@ public final class Show<A> {
     });
   }
 
+  /**
+   * A show instance for the {@link Seq} type.
+   *
+   * @param sa Show for the elements of the sequence.
+   * @return A show instance for the {@link Seq} type.
+   */
+  public static <A> Show<Seq<A>> seqShow(final Show<A> sa) {
+    return new Show<Seq<A>>(new F<Seq<A>, Stream<Character>>() {
+      public Stream<Character> f(final Seq<A> as) {
+        return streamShow(sa).show(as.toStream());
+      }
+    });
+  }
+
   /**
    * A show instance for the {@link Class} type.
    *
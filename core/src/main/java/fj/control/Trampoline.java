@@ -0,0 +1,198 @@
+package fj.control;
+
+import fj.F;
+import fj.F2;
+import fj.P1;
+import fj.data.Either;
+import fj.data.List;
+
+/**
+ * A computation that runs in constant stack space. Rather than recursing, a trampolined computation
+ * is either finished with a value, or suspended with the rest of the computation still to run, or a
+ * bind of a computation with a continuation; {@link #run()} bounces between these in a loop and keeps
+ * pending continuations on the heap. Recursive algorithms that would otherwise use O(n) stack space
+ * can be written by returning {@link #suspend(P1) suspended} recursive calls.
+ *
+ * @version %build.number%
+ */
+public abstract class Trampoline<A> {
+  private Trampoline() {
+
+  }
+
+  private static final class Pure<A> extends Trampoline<A> {
+    private final A value;
+
+    Pure(final A value) {
+      this.value = value;
+    }
+  }
+
+  private static final class Suspend<A> extends Trampoline<A> {
+    private final P1<Trampoline<A>> suspension;
+
+    Suspend(final P1<Trampoline<A>> suspension) {
+      this.suspension = suspension;
+    }
+  }
+
+  private static final class Bind<A, B> extends Trampoline<B> {
+    private final Trampoline<A> sub;
+    private final F<A, Trampoline<B>> k;
+
+    Bind(final Trampoline<A> sub, final F<A, Trampoline<B>> k) {
+      this.sub = sub;
+      this.k = k;
+    }
+
+    // Takes a single step of this computation.
+    Either<P1<Trampoline<B>>, Trampoline<B>> step() {
+      if (sub instanceof Pure)
+        return Either.<P1<Trampoline<B>>, Trampoline<B>>right(k.f(((Pure<A>) sub).value));
+      else if (sub instanceof Suspend) {
+        final P1<Trampoline<A>> s = ((Suspend<A>) sub).suspension;
+        return Either.<P1<Trampoline<B>>, Trampoline<B>>left(new P1<Trampoline<B>>() {
+          public Trampoline<B> _1() {
+            return s._1().bind(k);
+          }
+        });
+      } else
+        return Either.<P1<Trampoline<B>>, Trampoline<B>>right(((Bind<?, A>) sub).reassociate(k));
+    }
+
+    // (sub >>= k) >>= g  ==>  sub >>= (\x -> k x >>= g)
+    <C> Trampoline<C> reassociate(final F<B, Trampoline<C>> g) {
+      return new Bind<A, C>(sub, new F<A, Trampoline<C>>() {
+        public Trampoline<C> f(final A a) {
+          return k.f(a).bind(g);
+        }
+      });
+    }
+  }
+
+  /**
+   * Returns a computation that is finished with the given value.
+   *
+   * @param a The result of the computation.
+   * @return A computation that is finished with the given value.
+   */
+  public static <A> Trampoline<A> pure(final A a) {
+    return new Pure<A>(a);
+  }
+
+  /**
+   * A first-class version of the pure function.
+   *
+   * @return A function that returns a finished computation of its argument.
+   */
+  public static <A> F<A, Trampoline<A>> pure() {
+    return new F<A, Trampoline<A>>() {
+      public Trampoline<A> f(final A a) {
+        return pure(a);
+      }
+    };
+  }
+
+  /**
+   * Returns a computation that, when run, continues with the given suspended computation. The
+   * suspension is not evaluated until the computation is run.
+   *
+   * @param a The rest of the computation.
+   * @return A computation that continues with the given suspended computation.
+   */
+  public static <A> Trampoline<A> suspend(final P1<Trampoline<A>> a) {
+    return new Suspend<A>(a);
+  }
+
+  /**
+   * Binds the given function across the result of this computation.
+   *
+   * @param f The function to apply to the result of this computation.
+   * @return A computation that runs this computation and continues with the given function.
+   */
+  public final <B> Trampoline<B> bind(final F<A, Trampoline<B>> f) {
+    return new Bind<A, B>(this, f);
+  }
+
+  /**
+   * Maps the given function across the result of this computation.
+   *
+   * @param f The function to map across the result of this computation.
+   * @return A computation whose result is the given function applied to the result of this one.
+   */
+  public final <B> Trampoline<B> map(final F<A, B> f) {
+    return bind(new F<A, Trampoline<B>>() {
+      public Trampoline<B> f(final A a) {
+        return pure(f.f(a));
+      }
+    });
+  }
+
+  /**
+   * Runs this computation and then the given one, combining their results with the given function.
+   *
+   * @param b The computation to run after this one.
+   * @param f The function to combine the results with.
+   * @return A computation whose result is the combination of the results of both computations.
+   */
+  public final <B, C> Trampoline<C> zipWith(final Trampoline<B> b, final F2<A, B, C> f) {
+    return bind(new F<A, Trampoline<C>>() {
+      public Trampoline<C> f(final A a) {
+        return b.map(new F<B, C>() {
+          public C f(final B x) {
+            return f.f(a, x);
+          }
+        });
+      }
+    });
+  }
+
+  /**
+   * Runs this computation until it is either finished or suspended.
+   *
+   * @return The result of this computation on the right if it is finished, otherwise the rest of the
+   *         computation on the left.
+   */
+  @SuppressWarnings({"unchecked"})
+  public final Either<P1<Trampoline<A>>, A> resume() {
+    Trampoline<A> t = this;
+    while (true) {
+      if (t instanceof Pure)
+        return Either.<P1<Trampoline<A>>, A>right(((Pure<A>) t).value);
+      else if (t instanceof Suspend)
+        return Either.<P1<Trampoline<A>>, A>left(((Suspend<A>) t).suspension);
+      else {
+        final Either<P1<Trampoline<A>>, Trampoline<A>> e = ((Bind<?, A>) t).step();
+        if (e.isLeft())
+          return Either.<P1<Trampoline<A>>, A>left(e.left().value());
+        t = e.right().value();
+      }
+    }
+  }
+
+  /**
+   * Runs this computation to completion in constant stack space.
+   *
+   * @return The result of this computation.
+   */
+  @SuppressWarnings({"unchecked"})
+  public final A run() {
+    Trampoline<Object> t = (Trampoline<Object>) this;
+    List<F<Object, Trampoline<Object>>> ks = List.nil();
+    while (true) {
+      if (t instanceof Suspend)
+        t = ((Suspend<Object>) t).suspension._1();
+      else if (t instanceof Bind) {
+        final Bind<Object, Object> b = (Bind<Object, Object>) t;
+        ks = ks.cons(b.k);
+        t = b.sub;
+      } else {
+        final Object a = ((Pure<Object>) t).value;
+        if (ks.isEmpty())
+          return (A) a;
+        t = ks.head().f(a);
+        ks = ks.tail();
+      }
+    }
+  }
+}
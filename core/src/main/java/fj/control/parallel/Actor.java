@@ -2,10 +2,13 @@ package fj.control.parallel;
 
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 import fj.Effect;
 import fj.F;
 import fj.Unit;
 import fj.P1;
+import static fj.Bottom.error;
 
 /**
  * Light weight actors for Java. Concurrency is controlled by a parallel Strategy.
@@ -25,56 +28,218 @@ public final class Actor<A> {
   private final Strategy<Unit> s;
   private final F<A, P1<Unit>> f;
 
+  /**
+   * The number of messages that a queue actor processes each time it is scheduled, unless it is
+   * given another number.
+   */
+  public static final int DEFAULT_BATCH_SIZE = 64;
+
   /**
    * An Actor equipped with a queue and which is guaranteed to process one message at a time.
    * With respect to an enqueueing actor or thread, this actor will process messages in the same order
-   * as they are sent.
+   * as they are sent. Each time the actor is scheduled with its strategy it processes up to
+   * {@link #DEFAULT_BATCH_SIZE} messages. Its queue is unbounded.
    */
   public static <T> Actor<T> queueActor(final Strategy<Unit> s, final Effect<T> ea) {
+    return queueActor(s, ea, DEFAULT_BATCH_SIZE);
+  }
+
+  /**
+   * An Actor equipped with a queue and which is guaranteed to process one message at a time, in the
+   * order in which they are sent. Each time the actor is scheduled with its strategy it drains up to
+   * the given number of messages from its queue before it gives the strategy's thread up, so the
+   * cost of scheduling is shared by a batch of messages rather than paid for each one. Its queue is
+   * unbounded.
+   *
+   * @param s     The parallelization strategy with which to schedule the actor.
+   * @param ea    The side-effect to apply to messages passed to the actor.
+   * @param batch The largest number of messages to process each time the actor is scheduled.
+   * @return A new actor that processes one message at a time.
+   */
+  public static <T> Actor<T> queueActor(final Strategy<Unit> s, final Effect<T> ea, final int batch) {
+    final ConcurrentLinkedQueue<T> q = new ConcurrentLinkedQueue<T>();
+    return mailboxActor(s, ea, batch, new Mailbox<T>() {
+      boolean offer(final T a) {
+        return q.offer(a);
+      }
+
+      T poll() {
+        return q.poll();
+      }
+
+      boolean isEmpty() {
+        return q.isEmpty();
+      }
+    });
+  }
+
+  /**
+   * An Actor equipped with a bounded queue and which is guaranteed to process one message at a time,
+   * in the order in which they are sent. A message that is sent while the queue is full is handled
+   * according to the given overflow policy. Each time the actor is scheduled with its strategy it
+   * processes up to {@link #DEFAULT_BATCH_SIZE} messages.
+   *
+   * @param s        The parallelization strategy with which to schedule the actor.
+   * @param ea       The side-effect to apply to messages passed to the actor.
+   * @param capacity The largest number of messages that the actor's queue holds.
+   * @param overflow What to do with a message that is sent while the queue is full.
+   * @return A new actor with a bounded queue that processes one message at a time.
+   */
+  public static <T> Actor<T> boundedQueueActor(final Strategy<Unit> s, final Effect<T> ea, final int capacity,
+                                               final MailboxOverflow overflow) {
+    return boundedQueueActor(s, ea, capacity, overflow, DEFAULT_BATCH_SIZE);
+  }
+
+  /**
+   * An Actor equipped with a bounded queue and which is guaranteed to process one message at a time,
+   * in the order in which they are sent. The queue is a lock-free ring buffer for many senders and
+   * the single thread that is processing the actor's messages at any time. A message that is sent
+   * while the queue is full is handled according to the given overflow policy; note that a sender
+   * that is made to {@link MailboxOverflow#BLOCK block} holds on to its thread, so it must not be one
+   * that the actor needs in order to make progress.
+   *
+   * @param s        The parallelization strategy with which to schedule the actor.
+   * @param ea       The side-effect to apply to messages passed to the actor.
+   * @param capacity The largest number of messages that the actor's queue holds.
+   * @param overflow What to do with a message that is sent while the queue is full.
+   * @param batch    The largest number of messages to process each time the actor is scheduled.
+   * @return A new actor with a bounded queue that processes one message at a time.
+   */
+  public static <T> Actor<T> boundedQueueActor(final Strategy<Unit> s, final Effect<T> ea, final int capacity,
+                                               final MailboxOverflow overflow, final int batch) {
+    final MpscArrayQueue<T> q = new MpscArrayQueue<T>(capacity);
+    return mailboxActor(s, ea, batch, new Mailbox<T>() {
+      boolean offer(final T a) {
+        if (a == null)
+          throw new NullPointerException();
+        if (q.offer(a))
+          return true;
+        switch (overflow) {
+          case DROP:
+            return false;
+          case FAIL:
+            throw error("actor mailbox is full (capacity " + capacity + ")");
+          default:
+            while (!q.offer(a)) {
+              LockSupport.parkNanos(BLOCK_NANOS);
+              if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                throw error("interrupted while waiting for room in an actor mailbox");
+              }
+            }
+            return true;
+        }
+      }
+
+      T poll() {
+        return q.poll();
+      }
+
+      boolean isEmpty() {
+        return q.isEmpty();
+      }
+    });
+  }
+
+  // How long a sender that is blocked on a full mailbox waits before it tries again.
+  private static final long BLOCK_NANOS = 10000L;
+
+  // The queue of messages of a queue actor. Offering may be done from any thread; polling is done by
+  // one thread at a time.
+  private abstract static class Mailbox<T> {
+    abstract boolean offer(T a);
+
+    abstract T poll();
+
+    abstract boolean isEmpty();
+  }
+
+  private static <T> Actor<T> mailboxActor(final Strategy<Unit> s, final Effect<T> ea, final int batch,
+                                           final Mailbox<T> mbox) {
+    if (batch < 1)
+      throw error("batch size " + batch + " is less than one");
+    final MetricsListener m = s.listener();
+    // measure the messages only if the strategy has a listener, and leave the mailbox alone otherwise
+    return m == null ? drainingActor(s, ea, batch, mbox) :
+        drainingActor(s, new Effect<T>() {
+          public void e(final T a) {
+            final long start = System.nanoTime();
+            try {
+              ea.e(a);
+            } finally {
+              m.messageProcessed(System.nanoTime() - start);
+            }
+          }
+        }, batch, new Mailbox<T>() {
+          private final AtomicInteger depth = new AtomicInteger();
+
+          boolean offer(final T a) {
+            if (mbox.offer(a)) {
+              m.messageQueued(depth.incrementAndGet());
+              return true;
+            }
+            m.messageDropped();
+            return false;
+          }
+
+          T poll() {
+            final T a = mbox.poll();
+            if (a != null)
+              depth.decrementAndGet();
+            return a;
+          }
+
+          boolean isEmpty() {
+            return mbox.isEmpty();
+          }
+        });
+  }
+
+  private static <T> Actor<T> drainingActor(final Strategy<Unit> s, final Effect<T> ea, final int batch,
+                                            final Mailbox<T> mbox) {
     return actor(Strategy.<Unit>seqStrategy(), new Effect<T>() {
 
       // Lock to ensure the actor only acts on one message at a time
-      AtomicBoolean suspended = new AtomicBoolean(true);
-
-      // Queue to hold pending messages
-      ConcurrentLinkedQueue<T> mbox = new ConcurrentLinkedQueue<T>();
+      final AtomicBoolean suspended = new AtomicBoolean(true);
 
       // Product so the actor can use its strategy (to act on messages in other threads,
       // to handle exceptions, etc.)
-      P1<Unit> processor = new P1<Unit>() {
+      final P1<Unit> processor = new P1<Unit>() {
         @Override public Unit _1() {
-          // get next item from queue
-          T a = mbox.poll();
-          // if there is one, process it
-          if (a != null) {
+          // process up to a batch of messages while holding the lock
+          for (int i = 0; i < batch; i++) {
+            final T a = mbox.poll();
+            if (a == null)
+              break;
             ea.e(a);
-            // try again, in case there are more messages
-            s.par(this);
-          } else {
+          }
+          if (mbox.isEmpty()) {
             // clear the lock
             suspended.set(true);
             // work again, in case someone else queued up a message while we were holding the lock
             work();
-          }
+          } else
+            // give the thread up, and carry on with the rest of the messages when scheduled again
+            s.par(this);
           return Unit.unit();
         }
       };
-      
+
       // Effect's body -- queues up a message and tries to unsuspend the actor
-      @Override public void e(T a) {
-        mbox.offer(a);
-        work();
+      @Override public void e(final T a) {
+        if (mbox.offer(a))
+          work();
       }
 
       // If there are pending messages, use the strategy to run the processor
-      protected void work() {
+      void work() {
         if (!mbox.isEmpty() && suspended.compareAndSet(true, false)) {
           s.par(processor);
         }
       }
     });
-  };
-  
+  }
+
   private Actor(final Strategy<Unit> s, final F<A, P1<Unit>> e) {
     this.s = s;
     f = new F<A, P1<Unit>>() {
@@ -0,0 +1,147 @@
+package fj.control.parallel;
+
+import fj.Effect;
+import fj.F;
+import fj.P1;
+import fj.Unit;
+import fj.data.Either;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import static fj.control.parallel.Strategy.strategy;
+
+/**
+ * Conversions between promises and {@link CompletableFuture completable futures}, and strategies
+ * that evaluate product-1s as asynchronous completion stages. The conversions wire the completion
+ * of one directly to the other, so no thread waits for either of them; a failure or cancellation of
+ * one is passed on to the other.
+ *
+ * @version %build.number%
+ */
+public final class CompletableFutures {
+  private CompletableFutures() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Returns a completable future that is completed when the given promise is, with its value or its
+   * failure. Cancelling the future cancels the promise.
+   *
+   * @param p The promise to expose as a completable future.
+   * @return A completable future of the value of the given promise.
+   */
+  public static <A> CompletableFuture<A> completableFuture(final Promise<A> p) {
+    final CompletableFuture<A> f = new CompletableFuture<A>() {
+      @Override
+      public boolean cancel(final boolean mayInterruptIfRunning) {
+        final boolean cancelled = super.cancel(mayInterruptIfRunning);
+        p.cancel();
+        return cancelled;
+      }
+    };
+    p.onComplete(new Effect<Either<Throwable, A>>() {
+      public void e(final Either<Throwable, A> r) {
+        if (r.isRight())
+          f.complete(r.right().value());
+        else
+          f.completeExceptionally(r.left().value());
+      }
+    });
+    return f;
+  }
+
+  /**
+   * Returns a promise that is completed when the given completion stage is, with its value or its
+   * failure. Cancelling the promise cancels the stage if it is a {@link Future}.
+   *
+   * @param s The strategy with which to fulfil the promise's dependents.
+   * @param f The completion stage to expose as a promise.
+   * @return A promise of the value of the given completion stage.
+   */
+  public static <A> Promise<A> promise(final Strategy<Unit> s, final CompletionStage<A> f) {
+    final Promise<A> p = Promise.mkPromise(s);
+    f.whenComplete(new BiConsumer<A, Throwable>() {
+      public void accept(final A a, final Throwable t) {
+        p.complete(t == null ? Either.<Throwable, A>right(a) : Either.<Throwable, A>left(unwrap(t)));
+      }
+    });
+    if (f instanceof Future)
+      p.onComplete(new Effect<Either<Throwable, A>>() {
+        public void e(final Either<Throwable, A> r) {
+          if (p.isCancelled())
+            ((Future<?>) f).cancel(false);
+        }
+      });
+    return p;
+  }
+
+  /**
+   * A first-class version of the conversion of completion stages to promises.
+   *
+   * @param s The strategy with which to fulfil the promises' dependents.
+   * @return A function that exposes a completion stage as a promise.
+   */
+  public static <A> F<CompletionStage<A>, Promise<A>> promise(final Strategy<Unit> s) {
+    return new F<CompletionStage<A>, Promise<A>>() {
+      public Promise<A> f(final CompletionStage<A> f) {
+        return promise(s, f);
+      }
+    };
+  }
+
+  /**
+   * Provides a parallelization strategy that evaluates product-1s as asynchronous completion stages
+   * run by the given executor. Claiming the resulting product-1 waits for the stage to complete, and
+   * rethrows its failure.
+   *
+   * @param e The executor with which to run the asynchronous stages.
+   * @return A strategy that evaluates product-1s as asynchronous completion stages.
+   */
+  public static <A> Strategy<A> completableFutureStrategy(final Executor e) {
+    return strategy(new F<P1<A>, P1<A>>() {
+      public P1<A> f(final P1<A> p) {
+        final CompletableFuture<A> f = CompletableFuture.supplyAsync(new Supplier<A>() {
+          public A get() {
+            return p._1();
+          }
+        }, e);
+        return new P1<A>() {
+          public A _1() {
+            try {
+              return f.join();
+            } catch (CompletionException x) {
+              final Throwable t = unwrap(x);
+              if (t instanceof Error)
+                throw (Error) t;
+              if (t instanceof RuntimeException)
+                throw (RuntimeException) t;
+              throw new Error(t);
+            }
+          }
+        };
+      }
+    });
+  }
+
+  /**
+   * Provides a parallelization strategy that evaluates product-1s as asynchronous completion stages
+   * run by the {@link ForkJoinPool#commonPool() common pool}.
+   *
+   * @return A strategy that evaluates product-1s as asynchronous completion stages.
+   */
+  public static <A> Strategy<A> completableFutureStrategy() {
+    return completableFutureStrategy(ForkJoinPool.commonPool());
+  }
+
+  // Completion stages wrap the failures of dependent stages.
+  private static Throwable unwrap(final Throwable t) {
+    return t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+  }
+}
@@ -0,0 +1,398 @@
+package fj.control.parallel;
+
+import fj.Effect;
+import fj.F;
+import fj.Monoid;
+import fj.P1;
+import fj.Unit;
+import fj.data.Array;
+import fj.data.List;
+import fj.data.Option;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A module of data-parallel operations that run in a work-stealing {@link ForkJoinPool}. Rather than
+ * promising each element separately, as {@link ParModule} does, the operations here split their input
+ * recursively in halves down to chunks of a size that keeps every worker busy, and idle workers steal
+ * the halves that have not been started yet. The promises, actors and strategies of the
+ * {@link #parModule() corresponding ParModule} run in the same pool.
+ *
+ * @version %build.number%
+ */
+public final class ForkJoinParModule {
+  private final ForkJoinPool pool;
+  private final Strategy<Unit> strategy;
+
+  // The number of chunks per worker that an input is split into, so that stealing evens out the load.
+  private static final int CHUNKS_PER_WORKER = 8;
+
+  private ForkJoinParModule(final ForkJoinPool pool) {
+    this.pool = pool;
+    strategy = ForkJoinStrategy.forkJoinStrategy(pool);
+  }
+
+  /**
+   * Constructor method for ForkJoinParModule.
+   *
+   * @param pool The fork/join pool in which to run parallel operations.
+   * @return A module that runs its parallel operations in the given pool.
+   */
+  public static ForkJoinParModule forkJoinParModule(final ForkJoinPool pool) {
+    return new ForkJoinParModule(pool);
+  }
+
+  /**
+   * Constructor method for a ForkJoinParModule that uses the {@link ForkJoinStrategy#defaultPool()
+   * default} fork/join pool.
+   *
+   * @return A module that runs its parallel operations in the default fork/join pool.
+   */
+  public static ForkJoinParModule forkJoinParModule() {
+    return new ForkJoinParModule(ForkJoinStrategy.defaultPool());
+  }
+
+  /**
+   * Returns the strategy with which this module evaluates its promises.
+   *
+   * @return The strategy with which this module evaluates its promises.
+   */
+  public Strategy<Unit> strategy() {
+    return strategy;
+  }
+
+  /**
+   * Returns a ParModule whose promises and actors run in this module's fork/join pool.
+   *
+   * @return A ParModule whose promises and actors run in this module's fork/join pool.
+   */
+  public ParModule parModule() {
+    return ParModule.parModule(strategy);
+  }
+
+  // The largest number of elements that is processed without splitting any further.
+  private int threshold(final int n) {
+    return Math.max(1, n / (pool.getParallelism() * CHUNKS_PER_WORKER));
+  }
+
+  /**
+   * Maps across an array in parallel, splitting it recursively with work stealing.
+   *
+   * @param as An array to map across in parallel.
+   * @param f  A function to map across the given array.
+   * @return A Promise of a new array with the given function applied to each element.
+   */
+  public <A, B> Promise<Array<B>> parMap(final Array<A> as, final F<A, B> f) {
+    final Object[] xs = as.array();
+    return Promise.promise(strategy, new P1<Array<B>>() {
+      @SuppressWarnings({"unchecked"})
+      public Array<B> _1() {
+        final Object[] ys = new Object[xs.length];
+        new MapTask<A, B>(xs, ys, f, 0, xs.length, threshold(xs.length)).invoke();
+        return Array.array((B[]) ys);
+      }
+    });
+  }
+
+  /**
+   * Maps across a list in parallel, splitting it recursively with work stealing.
+   *
+   * @param as A list to map across in parallel.
+   * @param f  A function to map across the given list.
+   * @return A Promise of a new list with the given function applied to each element.
+   */
+  public <A, B> Promise<List<B>> parMap(final List<A> as, final F<A, B> f) {
+    return parMap(as.toArray(), f).fmap(new F<Array<B>, List<B>>() {
+      public List<B> f(final Array<B> bs) {
+        return bs.toList();
+      }
+    });
+  }
+
+  /**
+   * Maps with the given function across an array in parallel, and sums the results with the given
+   * monoid. The array is split recursively with work stealing, each chunk is summed sequentially,
+   * and the partial sums are combined in order, so the monoid need not be commutative.
+   *
+   * @param as     An array to map and sum in parallel.
+   * @param map    A function to map across the given array.
+   * @param reduce A monoid with which to sum the results.
+   * @return A Promise of the sum of the given function applied to each element.
+   */
+  public <A, B> Promise<B> parFoldMap(final Array<A> as, final F<A, B> map, final Monoid<B> reduce) {
+    final Object[] xs = as.array();
+    return Promise.promise(strategy, new P1<B>() {
+      public B _1() {
+        return new FoldMapTask<A, B>(xs, map, reduce, 0, xs.length, threshold(xs.length)).invoke();
+      }
+    });
+  }
+
+  /**
+   * Maps with the given function across a list in parallel, and sums the results with the given
+   * monoid. The list is split recursively with work stealing, each chunk is summed sequentially,
+   * and the partial sums are combined in order, so the monoid need not be commutative.
+   *
+   * @param as     A list to map and sum in parallel.
+   * @param map    A function to map across the given list.
+   * @param reduce A monoid with which to sum the results.
+   * @return A Promise of the sum of the given function applied to each element.
+   */
+  public <A, B> Promise<B> parFoldMap(final List<A> as, final F<A, B> map, final Monoid<B> reduce) {
+    return parFoldMap(as.toArray(), map, reduce);
+  }
+
+  // Runs the given effect on the index of each of the given number of chunks, splitting the range of
+  // chunks recursively with work stealing.
+  private static void forEachChunk(final int chunks, final Effect<Integer> e) {
+    if (chunks > 0)
+      new ChunksTask(e, 0, chunks).invoke();
+  }
+
+  /**
+   * Filters an array in parallel, keeping the order of the elements that satisfy the given predicate.
+   * Each chunk of the array is tested and counted in parallel, and the elements that are kept are
+   * then copied in parallel to their place in the result.
+   *
+   * @param as An array to filter in parallel.
+   * @param f  The predicate that the elements to keep satisfy.
+   * @return A Promise of a new array of the elements of the given array that satisfy the given predicate.
+   */
+  public <A> Promise<Array<A>> parFilter(final Array<A> as, final F<A, Boolean> f) {
+    final Object[] xs = as.array();
+    return Promise.promise(strategy, new P1<Array<A>>() {
+      @SuppressWarnings({"unchecked"})
+      public Array<A> _1() {
+        final int n = xs.length;
+        final int size = threshold(n);
+        final int chunks = (n + size - 1) / size;
+        final boolean[] keep = new boolean[n];
+        final int[] offsets = new int[chunks + 1];
+        forEachChunk(chunks, new Effect<Integer>() {
+          public void e(final Integer c) {
+            int k = 0;
+            for (int i = c * size; i < Math.min(n, (c + 1) * size); i++)
+              if (keep[i] = f.f((A) xs[i]))
+                k++;
+            offsets[c + 1] = k;
+          }
+        });
+        for (int c = 0; c < chunks; c++)
+          offsets[c + 1] += offsets[c];
+        final Object[] ys = new Object[offsets[chunks]];
+        forEachChunk(chunks, new Effect<Integer>() {
+          public void e(final Integer c) {
+            int j = offsets[c];
+            for (int i = c * size; i < Math.min(n, (c + 1) * size); i++)
+              if (keep[i])
+                ys[j++] = xs[i];
+          }
+        });
+        return Array.array((A[]) ys);
+      }
+    });
+  }
+
+  /**
+   * Zips two arrays together with the given function in parallel. If the arrays are not of the same
+   * length, the remaining elements of the longer array are ignored.
+   *
+   * @param as An array to zip with another in parallel.
+   * @param bs An array to zip with another in parallel.
+   * @param f  A function with which to zip the arrays.
+   * @return A Promise of a new array of the results of applying the given function across the arrays in lockstep.
+   */
+  public <A, B, C> Promise<Array<C>> parZipWith(final Array<A> as, final Array<B> bs, final F<A, F<B, C>> f) {
+    final Object[] xs = as.array();
+    final Object[] ys = bs.array();
+    return Promise.promise(strategy, new P1<Array<C>>() {
+      @SuppressWarnings({"unchecked"})
+      public Array<C> _1() {
+        final int n = Math.min(xs.length, ys.length);
+        final int size = threshold(n);
+        final Object[] zs = new Object[n];
+        forEachChunk((n + size - 1) / size, new Effect<Integer>() {
+          public void e(final Integer c) {
+            for (int i = c * size; i < Math.min(n, (c + 1) * size); i++)
+              zs[i] = f.f((A) xs[i]).f((B) ys[i]);
+          }
+        });
+        return Array.array((C[]) zs);
+      }
+    });
+  }
+
+  /**
+   * Finds the first element of an array that satisfies the given predicate, searching in parallel.
+   * Once an element is found, no chunk of the array beyond it is searched any further.
+   *
+   * @param as An array to search in parallel.
+   * @param f  The predicate to satisfy.
+   * @return A Promise of the first element of the given array that satisfies the given predicate, or
+   *         none if there is no such element.
+   */
+  public <A> Promise<Option<A>> parFind(final Array<A> as, final F<A, Boolean> f) {
+    final Object[] xs = as.array();
+    return Promise.promise(strategy, new P1<Option<A>>() {
+      @SuppressWarnings({"unchecked"})
+      public Option<A> _1() {
+        final int n = xs.length;
+        final int size = threshold(n);
+        // the least index at which an element has been found so far
+        final AtomicInteger found = new AtomicInteger(n);
+        forEachChunk((n + size - 1) / size, new Effect<Integer>() {
+          public void e(final Integer c) {
+            for (int i = c * size; i < Math.min(n, (c + 1) * size) && i < found.get(); i++)
+              if (f.f((A) xs[i])) {
+                int j = found.get();
+                while (i < j && !found.compareAndSet(j, i))
+                  j = found.get();
+                return;
+              }
+          }
+        });
+        final int i = found.get();
+        return i < n ? Option.some((A) xs[i]) : Option.<A>none();
+      }
+    });
+  }
+
+  /**
+   * Sums the prefixes of an array in parallel with the given monoid, so that each element of the
+   * result is the sum of the elements of the given array up to and including the one at the same
+   * index. Each chunk of the array is summed in parallel, the sums of the chunks are added up in turn,
+   * and then each chunk is scanned in parallel, starting from the sum of the chunks before it. The
+   * monoid need not be commutative.
+   *
+   * @param as An array to scan in parallel.
+   * @param m  The monoid with which to sum.
+   * @return A Promise of a new array of the sums of the prefixes of the given array.
+   */
+  public <A> Promise<Array<A>> parScan(final Array<A> as, final Monoid<A> m) {
+    final Object[] xs = as.array();
+    return Promise.promise(strategy, new P1<Array<A>>() {
+      @SuppressWarnings({"unchecked"})
+      public Array<A> _1() {
+        final int n = xs.length;
+        final int size = threshold(n);
+        final int chunks = (n + size - 1) / size;
+        final Object[] sums = new Object[chunks];
+        // the last chunk's sum is not needed, since no chunk comes after it
+        forEachChunk(chunks - 1, new Effect<Integer>() {
+          public void e(final Integer c) {
+            A a = m.zero();
+            for (int i = c * size; i < (c + 1) * size; i++)
+              a = m.sum(a, (A) xs[i]);
+            sums[c] = a;
+          }
+        });
+        A a = m.zero();
+        for (int c = 0; c < chunks; c++) {
+          final A sum = (A) sums[c];
+          sums[c] = a;
+          if (c < chunks - 1)
+            a = m.sum(a, sum);
+        }
+        final Object[] ys = new Object[n];
+        forEachChunk(chunks, new Effect<Integer>() {
+          public void e(final Integer c) {
+            A a = (A) sums[c];
+            for (int i = c * size; i < Math.min(n, (c + 1) * size); i++)
+              ys[i] = a = m.sum(a, (A) xs[i]);
+          }
+        });
+        return Array.array((A[]) ys);
+      }
+    });
+  }
+
+  private static final class ChunksTask extends RecursiveAction {
+    private final Effect<Integer> e;
+    private final int from;
+    private final int to;
+
+    ChunksTask(final Effect<Integer> e, final int from, final int to) {
+      this.e = e;
+      this.from = from;
+      this.to = to;
+    }
+
+    protected void compute() {
+      if (to - from == 1)
+        e.e(from);
+      else {
+        final int mid = (from + to) >>> 1;
+        invokeAll(new ChunksTask(e, from, mid), new ChunksTask(e, mid, to));
+      }
+    }
+  }
+
+  private static final class MapTask<A, B> extends RecursiveAction {
+    private final Object[] as;
+    private final Object[] bs;
+    private final F<A, B> f;
+    private final int from;
+    private final int to;
+    private final int threshold;
+
+    MapTask(final Object[] as, final Object[] bs, final F<A, B> f, final int from, final int to,
+            final int threshold) {
+      this.as = as;
+      this.bs = bs;
+      this.f = f;
+      this.from = from;
+      this.to = to;
+      this.threshold = threshold;
+    }
+
+    @SuppressWarnings({"unchecked"})
+    protected void compute() {
+      if (to - from <= threshold) {
+        for (int i = from; i < to; i++)
+          bs[i] = f.f((A) as[i]);
+      } else {
+        final int mid = (from + to) >>> 1;
+        invokeAll(new MapTask<A, B>(as, bs, f, from, mid, threshold),
+                  new MapTask<A, B>(as, bs, f, mid, to, threshold));
+      }
+    }
+  }
+
+  private static final class FoldMapTask<A, B> extends RecursiveTask<B> {
+    private final Object[] as;
+    private final F<A, B> f;
+    private final Monoid<B> m;
+    private final int from;
+    private final int to;
+    private final int threshold;
+
+    FoldMapTask(final Object[] as, final F<A, B> f, final Monoid<B> m, final int from, final int to,
+                final int threshold) {
+      this.as = as;
+      this.f = f;
+      this.m = m;
+      this.from = from;
+      this.to = to;
+      this.threshold = threshold;
+    }
+
+    @SuppressWarnings({"unchecked"})
+    protected B compute() {
+      if (to - from <= threshold) {
+        B b = m.zero();
+        for (int i = from; i < to; i++)
+          b = m.sum(b, f.f((A) as[i]));
+        return b;
+      } else {
+        final int mid = (from + to) >>> 1;
+        final FoldMapTask<A, B> left = new FoldMapTask<A, B>(as, f, m, from, mid, threshold);
+        left.fork();
+        final B right = new FoldMapTask<A, B>(as, f, m, mid, to, threshold).compute();
+        return m.sum(left.join(), right);
+      }
+    }
+  }
+}
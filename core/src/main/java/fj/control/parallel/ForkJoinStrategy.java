@@ -0,0 +1,98 @@
+package fj.control.parallel;
+
+import fj.F;
+import fj.P1;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+import static fj.control.parallel.Strategy.strategy;
+
+/**
+ * Parallel evaluation strategies backed by a work-stealing {@link ForkJoinPool}. A product-1 that is
+ * evaluated from one of the pool's own worker threads is forked onto that worker's queue, from which
+ * idle workers steal, rather than being submitted through a shared queue; claiming its value from a
+ * worker helps to run pending tasks instead of blocking the thread.
+ *
+ * @version %build.number%
+ */
+public final class ForkJoinStrategy {
+  private ForkJoinStrategy() {
+    throw new UnsupportedOperationException();
+  }
+
+  // The shared pool is created on first use; its worker threads are daemons.
+  private static final class DefaultPool {
+    static final ForkJoinPool pool = new ForkJoinPool();
+  }
+
+  /**
+   * Returns the pool that is used by the strategies that are not given one. It has as many worker
+   * threads as there are available processors.
+   *
+   * @return The pool that is used by the strategies that are not given one.
+   */
+  public static ForkJoinPool defaultPool() {
+    return DefaultPool.pool;
+  }
+
+  /**
+   * Provides a parallelization strategy that evaluates product-1s in the given fork/join pool. A
+   * product-1 given to the strategy on one of the pool's worker threads is forked, otherwise it is
+   * submitted to the pool.
+   *
+   * @param pool The pool in which to evaluate product-1s.
+   * @return A strategy that evaluates product-1s in the given fork/join pool.
+   */
+  public static <A> Strategy<A> forkJoinStrategy(final ForkJoinPool pool) {
+    return strategy(new F<P1<A>, P1<A>>() {
+      public P1<A> f(final P1<A> p) {
+        return join(fork(pool, p));
+      }
+    });
+  }
+
+  /**
+   * Provides a parallelization strategy that evaluates product-1s in the {@link #defaultPool() default}
+   * fork/join pool.
+   *
+   * @return A strategy that evaluates product-1s in the default fork/join pool.
+   */
+  public static <A> Strategy<A> forkJoinStrategy() {
+    return forkJoinStrategy(defaultPool());
+  }
+
+  /**
+   * Returns <code>true</code> if the current thread is a worker thread of the given pool.
+   *
+   * @param pool The pool to test the current thread against.
+   * @return <code>true</code> if the current thread is a worker thread of the given pool.
+   */
+  static boolean inPool(final ForkJoinPool pool) {
+    return ForkJoinTask.inForkJoinPool() && ForkJoinTask.getPool() == pool;
+  }
+
+  // Forks the evaluation of the given product-1 from a worker of the pool, or submits it from outside.
+  static <A> ForkJoinTask<A> fork(final ForkJoinPool pool, final P1<A> p) {
+    final RecursiveTask<A> t = new RecursiveTask<A>() {
+      protected A compute() {
+        return p._1();
+      }
+    };
+    if (inPool(pool))
+      t.fork();
+    else
+      pool.execute(t);
+    return t;
+  }
+
+  // Waits for the given task to complete, running other tasks meanwhile if on a worker thread.
+  static <A> P1<A> join(final ForkJoinTask<A> t) {
+    return new P1<A>() {
+      public A _1() {
+        return t.join();
+      }
+    };
+  }
+}
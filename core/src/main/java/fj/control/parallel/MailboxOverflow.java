@@ -0,0 +1,24 @@
+package fj.control.parallel;
+
+/**
+ * What a bounded actor mailbox does with a message that is sent to it while it is full.
+ *
+ * @version %build.number%
+ * @see Actor#boundedQueueActor(Strategy, fj.Effect, int, MailboxOverflow)
+ */
+public enum MailboxOverflow {
+  /**
+   * The sending thread waits until there is room for the message.
+   */
+  BLOCK,
+
+  /**
+   * The message is discarded.
+   */
+  DROP,
+
+  /**
+   * Sending the message fails with an error.
+   */
+  FAIL
+}
@@ -0,0 +1,132 @@
+package fj.control.parallel;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A metrics listener that keeps running counts and total times, which may be read at any time, for
+ * example to export them or to find a stalled actor whose mailbox keeps growing.
+ *
+ * @version %build.number%
+ */
+public final class MetricsCounters extends MetricsListener {
+  private final AtomicLong tasks = new AtomicLong();
+  private final AtomicLong taskWaitNanos = new AtomicLong();
+  private final AtomicLong taskRunNanos = new AtomicLong();
+  private final AtomicLong messages = new AtomicLong();
+  private final AtomicLong messageNanos = new AtomicLong();
+  private final AtomicLong dropped = new AtomicLong();
+  private final AtomicInteger maxMailboxDepth = new AtomicInteger();
+  private final AtomicLong promises = new AtomicLong();
+  private final AtomicLong promiseNanos = new AtomicLong();
+
+  public void taskStarted(final long waitNanos) {
+    taskWaitNanos.addAndGet(waitNanos);
+  }
+
+  public void taskFinished(final long runNanos) {
+    tasks.incrementAndGet();
+    taskRunNanos.addAndGet(runNanos);
+  }
+
+  public void messageQueued(final int depth) {
+    int d = maxMailboxDepth.get();
+    while (depth > d && !maxMailboxDepth.compareAndSet(d, depth))
+      d = maxMailboxDepth.get();
+  }
+
+  public void messageDropped() {
+    dropped.incrementAndGet();
+  }
+
+  public void messageProcessed(final long nanos) {
+    messages.incrementAndGet();
+    messageNanos.addAndGet(nanos);
+  }
+
+  public void promiseFulfilled(final long nanos) {
+    promises.incrementAndGet();
+    promiseNanos.addAndGet(nanos);
+  }
+
+  /**
+   * The number of evaluations that have finished.
+   *
+   * @return The number of evaluations that have finished.
+   */
+  public long tasks() {
+    return tasks.get();
+  }
+
+  /**
+   * The total time that evaluations have spent waiting in the strategy before they started.
+   *
+   * @return The total time that evaluations have spent waiting, in nanoseconds.
+   */
+  public long taskWaitNanos() {
+    return taskWaitNanos.get();
+  }
+
+  /**
+   * The total time that finished evaluations took to run.
+   *
+   * @return The total time that finished evaluations took to run, in nanoseconds.
+   */
+  public long taskRunNanos() {
+    return taskRunNanos.get();
+  }
+
+  /**
+   * The number of messages that queue actors have processed.
+   *
+   * @return The number of messages that queue actors have processed.
+   */
+  public long messages() {
+    return messages.get();
+  }
+
+  /**
+   * The total time that queue actors took to process their messages.
+   *
+   * @return The total time that queue actors took to process their messages, in nanoseconds.
+   */
+  public long messageNanos() {
+    return messageNanos.get();
+  }
+
+  /**
+   * The number of messages that bounded queue actors have dropped.
+   *
+   * @return The number of messages that bounded queue actors have dropped.
+   */
+  public long dropped() {
+    return dropped.get();
+  }
+
+  /**
+   * The largest number of messages that has been seen in the mailbox of a queue actor.
+   *
+   * @return The largest number of messages that has been seen in the mailbox of a queue actor.
+   */
+  public int maxMailboxDepth() {
+    return maxMailboxDepth.get();
+  }
+
+  /**
+   * The number of promises that have been fulfilled.
+   *
+   * @return The number of promises that have been fulfilled.
+   */
+  public long promises() {
+    return promises.get();
+  }
+
+  /**
+   * The total time between making promises and fulfilling them.
+   *
+   * @return The total time between making promises and fulfilling them, in nanoseconds.
+   */
+  public long promiseNanos() {
+    return promiseNanos.get();
+  }
+}
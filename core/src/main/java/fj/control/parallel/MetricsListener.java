@@ -0,0 +1,67 @@
+package fj.control.parallel;
+
+/**
+ * Receives measurements of the work done by a {@link Strategy} and by the actors and promises that
+ * are built on it. A listener is attached with {@link Strategy#metricsStrategy(MetricsListener)};
+ * strategies without one take no measurements at all. The methods of this class do nothing, so that
+ * a listener need only override those it is interested in.
+ * <p/>
+ * Listener methods are called on the threads doing the work, often concurrently, and should return
+ * quickly. Times are in nanoseconds, as measured by {@link System#nanoTime()}.
+ *
+ * @version %build.number%
+ */
+public abstract class MetricsListener {
+  /**
+   * Called when an evaluation starts, with the time since it was given to the strategy.
+   *
+   * @param waitNanos The time the evaluation spent waiting in the strategy before it started.
+   */
+  public void taskStarted(final long waitNanos) {
+
+  }
+
+  /**
+   * Called when an evaluation finishes, whether or not it succeeded.
+   *
+   * @param runNanos The time the evaluation took to run.
+   */
+  public void taskFinished(final long runNanos) {
+
+  }
+
+  /**
+   * Called when a message is added to the mailbox of a queue actor.
+   *
+   * @param depth The number of messages in the mailbox, including the one just added.
+   */
+  public void messageQueued(final int depth) {
+
+  }
+
+  /**
+   * Called when a message that was sent to a bounded queue actor is dropped because the actor's
+   * mailbox is full.
+   */
+  public void messageDropped() {
+
+  }
+
+  /**
+   * Called when a queue actor has processed a message.
+   *
+   * @param nanos The time the actor took to process the message.
+   */
+  public void messageProcessed(final long nanos) {
+
+  }
+
+  /**
+   * Called when a promise is fulfilled, with the time since it was made.
+   *
+   * @param nanos The time between making the promise and fulfilling it.
+   */
+  public void promiseFulfilled(final long nanos) {
+
+  }
+}
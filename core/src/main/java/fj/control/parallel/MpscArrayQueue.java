@@ -0,0 +1,89 @@
+package fj.control.parallel;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free queue for many producing threads and a single consuming thread, held in a
+ * ring buffer. Producers claim a slot by advancing the producer index and then fill it; the consumer
+ * empties slots in order and publishes its progress, which is what makes room for producers.
+ *
+ * @version %build.number%
+ */
+final class MpscArrayQueue<A> {
+  private final AtomicReferenceArray<A> buffer;
+  private final int mask;
+  private final int capacity;
+  private final AtomicLong producerIndex = new AtomicLong();
+  private final AtomicLong consumerIndex = new AtomicLong();
+
+  MpscArrayQueue(final int capacity) {
+    if (capacity < 1)
+      throw new IllegalArgumentException("capacity " + capacity + " is less than one");
+    int n = 1;
+    while (n < capacity)
+      n <<= 1;
+    buffer = new AtomicReferenceArray<A>(n);
+    mask = n - 1;
+    this.capacity = capacity;
+  }
+
+  /**
+   * Adds the given element to the tail of this queue if there is room for it. May be called from
+   * any thread.
+   *
+   * @param a The element to add, which must not be null.
+   * @return <code>true</code> if the element was added, <code>false</code> if this queue is full.
+   */
+  boolean offer(final A a) {
+    long p;
+    do {
+      p = producerIndex.get();
+      if (p - consumerIndex.get() >= capacity)
+        return false;
+    } while (!producerIndex.compareAndSet(p, p + 1));
+    buffer.set((int) p & mask, a);
+    return true;
+  }
+
+  /**
+   * Removes the element at the head of this queue. Must only be called from one thread at a time.
+   *
+   * @return The element at the head of this queue, or null if this queue is empty.
+   */
+  A poll() {
+    final long c = consumerIndex.get();
+    final int i = (int) c & mask;
+    A a = buffer.get(i);
+    if (a == null) {
+      if (c == producerIndex.get())
+        return null;
+      // A producer has claimed the slot but has not filled it yet.
+      do {
+        Thread.yield();
+        a = buffer.get(i);
+      } while (a == null);
+    }
+    buffer.set(i, null);
+    consumerIndex.set(c + 1);
+    return a;
+  }
+
+  /**
+   * Returns <code>true</code> if this queue has no elements, <code>false</code> otherwise.
+   *
+   * @return <code>true</code> if this queue has no elements, <code>false</code> otherwise.
+   */
+  boolean isEmpty() {
+    return consumerIndex.get() == producerIndex.get();
+  }
+
+  /**
+   * Returns the number of elements in this queue.
+   *
+   * @return The number of elements in this queue.
+   */
+  int size() {
+    return (int) Math.max(0, producerIndex.get() - consumerIndex.get());
+  }
+}
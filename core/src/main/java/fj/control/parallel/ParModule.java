@@ -20,6 +20,7 @@ import fj.data.IterableW;
 import fj.data.List;
 import fj.data.NonEmptyList;
 import fj.data.Option;
+import fj.data.Seq;
 import fj.data.Stream;
 import fj.data.Tree;
 import fj.data.TreeZipper;
@@ -29,10 +30,31 @@ import static fj.data.Stream.iterableStream;
 
 /**
  * A module of higher-order concurrency features.
+ * <p/>
+ * The parallel maps, flat maps and folds over lists, arrays, streams and iterables split their input
+ * into chunks, each of which is promised as a whole. The size of the chunks adapts to the number of
+ * available processors and to the cost of the function, which is measured on the first few elements,
+ * so that a cheap function is not swamped by the overhead of its promises, and the partial results are
+ * combined pairwise, as a balanced tree.
  */
 public final class ParModule {
   private final Strategy<Unit> strategy;
 
+  // The number of chunks per processor that an input is split into, so that uneven chunks even out.
+  private static final int CHUNKS_PER_PROCESSOR = 4;
+
+  // The least work, in nanoseconds, that is worth a promise of its own.
+  private static final long MIN_CHUNK_NANOS = 50000L;
+
+  // How long the function is timed on the first elements to estimate its cost per element.
+  private static final long SAMPLE_NANOS = 10000L;
+
+  private static final Monoid<Unit> unitMonoid = Monoid.monoid(new F2<Unit, Unit, Unit>() {
+    public Unit f(final Unit a, final Unit b) {
+      return Unit.unit();
+    }
+  }, Unit.unit());
+
   private ParModule(final Strategy<Unit> strategy) {
     this.strategy = strategy;
   }
@@ -280,7 +302,11 @@ public final class ParModule {
    * @return A Promise of a new list with the given function applied to each element.
    */
   public <A, B> Promise<List<B>> parMap(final List<A> as, final F<A, B> f) {
-    return mapM(as, promise(f));
+    return parMap(as.toArray(), f).fmap(new F<Array<B>, List<B>>() {
+      public List<B> f(final Array<B> bs) {
+        return bs.toList();
+      }
+    });
   }
 
   /**
@@ -304,7 +330,7 @@ public final class ParModule {
    * @return A Promise of a new NonEmptyList with the given function applied to each element.
    */
   public <A, B> Promise<NonEmptyList<B>> parMap(final NonEmptyList<A> as, final F<A, B> f) {
-    return mapM(as.toList(), promise(f)).fmap(new F<List<B>, NonEmptyList<B>>() {
+    return parMap(as.toList(), f).fmap(new F<List<B>, NonEmptyList<B>>() {
       public NonEmptyList<B> f(final List<B> list) {
         return NonEmptyList.fromList(list).some();
       }
@@ -319,7 +345,11 @@ public final class ParModule {
    * @return A Promise of a new Stream with the given function applied to each element.
    */
   public <A, B> Promise<Stream<B>> parMap(final Stream<A> as, final F<A, B> f) {
-    return mapM(as, promise(f));
+    return parMap(as.toArray(), f).fmap(new F<Array<B>, Stream<B>>() {
+      public Stream<B> f(final Array<B> bs) {
+        return bs.toStream();
+      }
+    });
   }
 
   /**
@@ -368,9 +398,19 @@ public final class ParModule {
    * @return A Promise of a new Array with the given function applied to each element.
    */
   public <A, B> Promise<Array<B>> parMap(final Array<A> as, final F<A, B> f) {
-    return parMap(as.toStream(), f).fmap(new F<Stream<B>, Array<B>>() {
-      public Array<B> f(final Stream<B> stream) {
-        return stream.toArray();
+    final Object[] xs = as.array();
+    final Object[] ys = new Object[xs.length];
+    return parFoldRange(xs.length, new F2<Integer, Integer, Unit>() {
+      @SuppressWarnings({"unchecked"})
+      public Unit f(final Integer from, final Integer to) {
+        for (int i = from; i < to; i++)
+          ys[i] = f.f((A) xs[i]);
+        return Unit.unit();
+      }
+    }, unitMonoid).fmap(new F<Unit, Array<B>>() {
+      @SuppressWarnings({"unchecked"})
+      public Array<B> f(final Unit u) {
+        return Array.array((B[]) ys);
       }
     });
   }
@@ -454,7 +494,7 @@ public final class ParModule {
    * @return A promise of a new List with the given function bound across its elements.
    */
   public <A, B> Promise<List<B>> parFlatMap(final List<A> as, final F<A, List<B>> f) {
-    return parFoldMap(as, f, Monoid.<B>listMonoid());
+    return parMap(as, f).fmap(List.<B>join());
   }
 
   /**
@@ -465,7 +505,7 @@ public final class ParModule {
    * @return A promise of a new Stream with the given function bound across its elements.
    */
   public <A, B> Promise<Stream<B>> parFlatMap(final Stream<A> as, final F<A, Stream<B>> f) {
-    return parFoldMap(as, f, Monoid.<B>streamMonoid());
+    return parMap(as, f).fmap(Stream.<B>join());
   }
 
   /**
@@ -554,7 +594,230 @@ public final class ParModule {
    * @return A promise of a result of mapping and folding in parallel.
    */
   public <A, B> Promise<B> parFoldMap(final Stream<A> as, final F<A, B> map, final Monoid<B> reduce) {
-    return as.isEmpty() ? promise(p(reduce.zero())) : as.map(promise(map)).foldLeft1(liftM2(reduce.sum()));
+    return parFoldMap(as.toArray(), map, reduce);
+  }
+
+  /**
+   * Maps with the given function across the given list in parallel, while folding with
+   * the given monoid.
+   *
+   * @param as     A list to map over and reduce.
+   * @param map    The function to map over the given list.
+   * @param reduce The monoid with which to sum the results.
+   * @return A promise of a result of mapping and folding in parallel.
+   */
+  public <A, B> Promise<B> parFoldMap(final List<A> as, final F<A, B> map, final Monoid<B> reduce) {
+    return parFoldMap(as.toArray(), map, reduce);
+  }
+
+  /**
+   * Maps with the given function across the given array in parallel, while folding with
+   * the given monoid.
+   *
+   * @param as     An array to map over and reduce.
+   * @param map    The function to map over the given array.
+   * @param reduce The monoid with which to sum the results.
+   * @return A promise of a result of mapping and folding in parallel.
+   */
+  public <A, B> Promise<B> parFoldMap(final Array<A> as, final F<A, B> map, final Monoid<B> reduce) {
+    final Object[] xs = as.array();
+    return parFoldRange(xs.length, new F2<Integer, Integer, B>() {
+      @SuppressWarnings({"unchecked"})
+      public B f(final Integer from, final Integer to) {
+        B b = reduce.zero();
+        for (int i = from; i < to; i++)
+          b = reduce.sum(b, map.f((A) xs[i]));
+        return b;
+      }
+    }, reduce);
+  }
+
+  /**
+   * Sums the given function over the indices from zero up to the given number in parallel. The first
+   * indices are {@link #sample sampled}, and the rest are split into chunks, whose sums are combined
+   * as a balanced tree, in order, so the monoid need not be commutative.
+   *
+   * @param n     The number of indices to sum over.
+   * @param range A function that sums over the indices from its first argument, inclusive, to its
+   *              second, exclusive.
+   * @param m     The monoid with which to sum.
+   * @return A promise of the sum over all of the indices.
+   */
+  private <B> Promise<B> parFoldRange(final int n, final F2<Integer, Integer, B> range, final Monoid<B> m) {
+    return Promise.join(strategy, new P1<Promise<B>>() {
+      public Promise<B> _1() {
+        final P3<B, Integer, Integer> sampled = sample(n, m.zero(), new F2<B, Integer, B>() {
+          public B f(final B b, final Integer i) {
+            return m.sum(b, range.f(i, i + 1));
+          }
+        });
+        final B b = sampled._1();
+        final int i = sampled._2();
+        final int size = sampled._3();
+        final int rest = n - i;
+        if (size >= rest)
+          return promise(p(m.sum(b, range.f(i, n))));
+        final List.Buffer<Promise<B>> ps = new List.Buffer<Promise<B>>();
+        ps.snoc(promise(p(b)));
+        for (int from = i; from < n; from += size) {
+          final int lo = from;
+          final int hi = Math.min(n, from + size);
+          ps.snoc(promise(new P1<B>() {
+            public B _1() {
+              return range.f(lo, hi);
+            }
+          }));
+        }
+        final Array<Promise<B>> pa = ps.toList().toArray();
+        return sumTree(pa, 0, pa.length(), m);
+      }
+    });
+  }
+
+  /**
+   * Folds the given step over the first of the given number of indices in turn while it is timed,
+   * until enough time has passed to estimate the cost of each index, and works out the size of the
+   * chunks to split the rest into: enough of them to keep every processor busy, but none so small
+   * that it is not worth a promise.
+   *
+   * @param n    The number of indices.
+   * @param zero The start of the fold.
+   * @param step A function that folds in the index given as its second argument.
+   * @return The fold over the sampled indices, the number of indices that were sampled, and the size
+   *         of the chunks to split the rest into.
+   */
+  private static <B> P3<B, Integer, Integer> sample(final int n, final B zero, final F2<B, Integer, B> step) {
+    final int chunks = chunks();
+    final int sample = Math.max(1, n / chunks);
+    final long start = System.nanoTime();
+    long elapsed = 0L;
+    B b = zero;
+    int i = 0;
+    while (i < n && i < sample && elapsed < SAMPLE_NANOS) {
+      b = step.f(b, i);
+      i++;
+      elapsed = System.nanoTime() - start;
+    }
+    return p(b, i, chunkSize(n - i, chunks, elapsed, i));
+  }
+
+  // The number of chunks to split an input into.
+  private static int chunks() {
+    return Runtime.getRuntime().availableProcessors() * CHUNKS_PER_PROCESSOR;
+  }
+
+  // The size of the chunks to split the given number of elements into, given how long it took to process a sample.
+  private static int chunkSize(final int n, final int chunks, final long sampleNanos, final int sampled) {
+    final long cost = Math.max(1L, sampleNanos / Math.max(1, sampled));
+    return (int) Math.max((n + chunks - 1) / chunks, Math.min(n, MIN_CHUNK_NANOS / cost));
+  }
+
+  /**
+   * Sums the prefixes of an array in parallel with the given monoid, so that each element of the
+   * result is the sum of the elements of the given array up to and including the one at the same
+   * index, as with {@link Array#scanLeft1(F2)}. The first elements are scanned as they are
+   * {@link #sample sampled}; the rest are split into chunks, which are summed in parallel, and then
+   * scanned in parallel, each starting from the sum of everything before it. The monoid need not be
+   * commutative.
+   *
+   * @param as An array to scan in parallel.
+   * @param m  The monoid with which to sum.
+   * @return A promise of a new array of the sums of the prefixes of the given array.
+   */
+  public <A> Promise<Array<A>> parScan(final Array<A> as, final Monoid<A> m) {
+    final Object[] xs = as.array();
+    final Object[] ys = new Object[xs.length];
+    final F<List<Unit>, Array<A>> result = new F<List<Unit>, Array<A>>() {
+      @SuppressWarnings({"unchecked"})
+      public Array<A> f(final List<Unit> us) {
+        return Array.array((A[]) ys);
+      }
+    };
+    return Promise.join(strategy, new P1<Promise<Array<A>>>() {
+      @SuppressWarnings({"unchecked"})
+      public Promise<Array<A>> _1() {
+        final int n = xs.length;
+        final P3<A, Integer, Integer> sampled = sample(n, m.zero(), new F2<A, Integer, A>() {
+          public A f(final A a, final Integer i) {
+            return (A) (ys[i] = m.sum(a, (A) xs[i]));
+          }
+        });
+        A a = sampled._1();
+        int i = sampled._2();
+        final int size = sampled._3();
+        if (size >= n - i) {
+          for (; i < n; i++)
+            ys[i] = a = m.sum(a, (A) xs[i]);
+          return promise(p(List.<Unit>nil())).fmap(result);
+        }
+        final int from = i;
+        final A prefix = a;
+        // the sums of all of the chunks but the last, in parallel
+        final List.Buffer<Promise<A>> sums = new List.Buffer<Promise<A>>();
+        for (int lo = from; lo + size < n; lo += size) {
+          final int l = lo;
+          sums.snoc(promise(new P1<A>() {
+            public A _1() {
+              A x = m.zero();
+              for (int j = l; j < l + size; j++)
+                x = m.sum(x, (A) xs[j]);
+              return x;
+            }
+          }));
+        }
+        return Promise.sequence(strategy, sums.toList()).bind(new F<List<A>, Promise<Array<A>>>() {
+          public Promise<Array<A>> f(final List<A> ss) {
+            // scan the chunks in parallel, each from the sum of everything before it
+            final List.Buffer<Promise<Unit>> scans = new List.Buffer<Promise<Unit>>();
+            List<A> rest = ss;
+            A offset = prefix;
+            for (int lo = from; lo < n; lo += size) {
+              final int l = lo;
+              final int h = Math.min(n, lo + size);
+              final A o = offset;
+              scans.snoc(promise(new P1<Unit>() {
+                public Unit _1() {
+                  A x = o;
+                  for (int j = l; j < h; j++)
+                    ys[j] = x = m.sum(x, (A) xs[j]);
+                  return Unit.unit();
+                }
+              }));
+              if (rest.isNotEmpty()) {
+                offset = m.sum(offset, rest.head());
+                rest = rest.tail();
+              }
+            }
+            return Promise.sequence(strategy, scans.toList()).fmap(result);
+          }
+        });
+      }
+    });
+  }
+
+  /**
+   * Sums the prefixes of a sequence in parallel with the given monoid, so that each element of the
+   * result is the sum of the elements of the given sequence up to and including the one at the same
+   * index, as with {@link Seq#scanLeft1(F2)}. The monoid need not be commutative.
+   *
+   * @param as A sequence to scan in parallel.
+   * @param m  The monoid with which to sum.
+   * @return A promise of a new sequence of the sums of the prefixes of the given sequence.
+   */
+  public <A> Promise<Seq<A>> parScan(final Seq<A> as, final Monoid<A> m) {
+    return parScan(as.toArray(), m).fmap(new F<Array<A>, Seq<A>>() {
+      public Seq<A> f(final Array<A> a) {
+        return Seq.arraySeq(a);
+      }
+    });
+  }
+
+  // Sums the given promises from the first index, inclusive, to the second, exclusive, halving the range each time.
+  private static <B> Promise<B> sumTree(final Array<Promise<B>> ps, final int from, final int to, final Monoid<B> m) {
+    if (to - from == 1)
+      return ps.get(from);
+    final int mid = (from + to) >>> 1;
+    return liftM2(m.sum()).f(sumTree(ps, from, mid, m)).f(sumTree(ps, mid, to, m));
   }
 
   /**
@@ -620,7 +883,7 @@ public final class ParModule {
    * @return A promise of a result of mapping and folding in parallel.
    */
   public <A, B> Promise<B> parFoldMap(final Iterable<A> as, final F<A, B> map, final Monoid<B> reduce) {
-    return parFoldMap(iterableStream(as), map, reduce);
+    return parFoldMap(Array.iterableArray(as), map, reduce);
   }
 
 
@@ -5,68 +5,295 @@ import fj.F;
 import fj.F2;
 import fj.P;
 import fj.P1;
-import fj.P2;
 import fj.Unit;
+import static fj.Bottom.error;
 import static fj.P.p;
 import static fj.Function.curry;
 import static fj.Function.identity;
-import static fj.control.parallel.Actor.actor;
 import static fj.control.parallel.Callables.normalise;
-import static fj.control.parallel.Actor.queueActor;
 import fj.data.Either;
 import fj.data.List;
 import fj.data.Option;
-import static fj.data.Option.none;
 import static fj.data.Option.some;
 import fj.data.Stream;
 
-import java.util.LinkedList;
-import java.util.Queue;
 import java.util.concurrent.Callable;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Represents a non-blocking future value. Products, functions, and actors, given to the methods on this class,
  * are executed concurrently, and the Promise serves as a handle on the result of the computation. Provides monadic
  * operations so that future computations can be combined
  * <p/>
+ * A promise is completed exactly once: it is either fulfilled with a value, or it fails with the
+ * throwable that its computation threw. A promise that is {@link #cancel() cancelled} before it is
+ * completed fails with a {@link CancellationException}. Cancelling a promise that was made with
+ * {@link #bind(F)}, {@link #fmap(F)} or {@link #attempt()} also cancels the promise it was made from,
+ * once every promise that was made from that one in this way has been cancelled. Completion is a
+ * single atomic step, waiting for a promise does not hold any lock, and a chain of promises is
+ * completed in constant stack space.
+ * <p/>
  * Author: Runar
  */
 public final class Promise<A> {
 
-  private final Actor<P2<Either<P1<A>, Actor<A>>, Promise<A>>> actor;
-
   private final Strategy<Unit> s;
 
-  private final CountDownLatch l = new CountDownLatch(1);
-  private volatile Option<A> v = none();
-  private final Queue<Actor<A>> waiting = new LinkedList<Actor<A>>();
+  // Either a stack of the waiters to call on completion (null while there are none), or the result.
+  private volatile Object state;
+
+  @SuppressWarnings({"unchecked"})
+  private static final AtomicReferenceFieldUpdater<Promise, Object> stateUpdater =
+      AtomicReferenceFieldUpdater.newUpdater(Promise.class, Object.class, "state");
+
+  // The number of promises made from this one that cancel it once all of them have been cancelled.
+  private volatile int dependents;
+
+  @SuppressWarnings({"unchecked"})
+  private static final AtomicIntegerFieldUpdater<Promise> dependentsUpdater =
+      AtomicIntegerFieldUpdater.newUpdater(Promise.class, "dependents");
 
-  private Promise(final Strategy<Unit> s, final Actor<P2<Either<P1<A>, Actor<A>>, Promise<A>>> qa) {
+  // The threads that are parked until this promise is completed; made by the first of them.
+  private volatile Claimants<A> claimants;
+
+  @SuppressWarnings({"unchecked"})
+  private static final AtomicReferenceFieldUpdater<Promise, Claimants> claimantsUpdater =
+      AtomicReferenceFieldUpdater.newUpdater(Promise.class, Claimants.class, "claimants");
+
+  // When the promise was made, if its strategy has a metrics listener.
+  private final long created;
+
+  private Promise(final Strategy<Unit> s) {
     this.s = s;
-    actor = qa;
-  }
-
-  private static <A> Promise<A> mkPromise(final Strategy<Unit> s) {
-    final Actor<P2<Either<P1<A>, Actor<A>>, Promise<A>>> q =
-        queueActor(s, new Effect<P2<Either<P1<A>, Actor<A>>, Promise<A>>>() {
-          public void e(final P2<Either<P1<A>, Actor<A>>, Promise<A>> p) {
-            final Promise<A> snd = p._2();
-            final Queue<Actor<A>> as = snd.waiting;
-            if (p._1().isLeft()) {
-              final A a = p._1().left().value()._1();
-              snd.v = some(a);
-              snd.l.countDown();
-              while (!as.isEmpty())
-                as.remove().act(a);
-            } else if (snd.v.isNone())
-              as.add(p._1().right().value());
-            else
-              p._1().right().value().act(snd.v.some());
-          }
-        });
-    return new Promise<A>(s, q);
+    created = s.listener() == null ? 0L : System.nanoTime();
+  }
+
+  // Makes a promise that is completed by calling complete.
+  static <A> Promise<A> mkPromise(final Strategy<Unit> s) {
+    return new Promise<A>(s);
+  }
+
+  // Something to call when a promise is completed. Waiters are pushed onto a stack by compare-and-set.
+  private abstract static class Waiter<A> {
+    Waiter<A> next;
+
+    abstract void e(Either<Throwable, A> r);
+  }
+
+  // The one waiter that unparks every thread that is claiming a promise. A thread takes itself off
+  // once it stops waiting, so a promise that is claimed with a timeout again and again does not
+  // gather a waiter for each time.
+  private static final class Claimants<A> extends Waiter<A> {
+    final ConcurrentLinkedQueue<Thread> threads = new ConcurrentLinkedQueue<Thread>();
+
+    void e(final Either<Throwable, A> r) {
+      for (final Thread t : threads)
+        LockSupport.unpark(t);
+    }
+  }
+
+  // The waiters of a completed promise that are still to be called, queued on the calling thread.
+  private static final class Completion<A> {
+    private Waiter<A> waiters;
+    private final Either<Throwable, A> r;
+    Completion<?> next;
+
+    Completion(final Waiter<A> waiters, final Either<Throwable, A> r) {
+      this.waiters = waiters;
+      this.r = r;
+    }
+
+    boolean isDone() {
+      return waiters == null;
+    }
+
+    // Calls the next waiter, so that one that throws does not keep the rest from being called, and
+    // returns the given failure, or else the one thrown here.
+    Throwable callNext(Throwable failure) {
+      final Waiter<A> w = waiters;
+      waiters = w.next;
+      try {
+        w.e(r);
+      } catch (Throwable t) {
+        if (failure == null)
+          failure = t;
+      }
+      return failure;
+    }
+  }
+
+  // The completions whose waiters a thread is calling, as a stack whose top is called first, and
+  // those that were queued, in order, by the waiter that is being called.
+  private static final class Completions {
+    Completion<?> top;
+    Completion<?> head;
+    Completion<?> tail;
+  }
+
+  // Set while the current thread is calling waiters. A waiter that completes another promise queues
+  // that promise's waiters here instead of calling them on a deeper stack.
+  private static final ThreadLocal<Completions> completions = new ThreadLocal<Completions>();
+
+  // The scheduler of timeouts is started on first use; its thread is a daemon.
+  private static final class Timer {
+    static final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+      public Thread newThread(final Runnable r) {
+        final Thread t = new Thread(r, "fj-promise-timer");
+        t.setDaemon(true);
+        return t;
+      }
+    });
+
+    // Cancels the given timeout and takes it off the scheduler's queue, rather than leaving it there
+    // until it is due.
+    static void cancel(final ScheduledFuture<?> f) {
+      if (f.cancel(false) && f instanceof Runnable)
+        scheduler.remove((Runnable) f);
+    }
+  }
+
+  /**
+   * Completes this promise with the given result, unless it has already been completed, and calls
+   * everything that was waiting for it in the order in which it started waiting. If this is called by
+   * a waiter, the waiters are called once that one returns, before any other waiter is called, so a
+   * promise that a waiter completes is seen to be complete by the waiters after it. A waiter that
+   * throws does not keep the others from being called; the first throwable is rethrown once they all
+   * have been.
+   *
+   * @param r The value (on the right) or failure (on the left) with which to complete this promise.
+   * @return <code>true</code> if this promise was completed by this call.
+   */
+  @SuppressWarnings({"unchecked"})
+  boolean complete(final Either<Throwable, A> r) {
+    Object st;
+    do {
+      st = state;
+      if (st instanceof Either)
+        return false;
+    } while (!stateUpdater.compareAndSet(this, st, r));
+    final MetricsListener m = s.listener();
+    if (m != null)
+      m.promiseFulfilled(System.nanoTime() - created);
+    Waiter<A> w = (Waiter<A>) st;
+    Waiter<A> fifo = null;
+    while (w != null) {
+      final Waiter<A> next = w.next;
+      w.next = fifo;
+      fifo = w;
+      w = next;
+    }
+    if (fifo != null)
+      call(new Completion<A>(fifo, r));
+    return true;
+  }
+
+  // Calls the waiters of the given completion and of any that are completed by them, in a loop on
+  // this thread, or queues them if this thread is already in that loop. The completions queued by a
+  // waiter are called, depth first, before the next waiter.
+  private static void call(final Completion<?> c) {
+    final Completions q = completions.get();
+    if (q != null) {
+      if (q.tail == null)
+        q.head = c;
+      else
+        q.tail.next = c;
+      q.tail = c;
+      return;
+    }
+    final Completions mine = new Completions();
+    mine.top = c;
+    completions.set(mine);
+    Throwable failure = null;
+    try {
+      while (mine.top != null) {
+        final Completion<?> t = mine.top;
+        if (t.isDone()) {
+          mine.top = t.next;
+          continue;
+        }
+        failure = t.callNext(failure);
+        if (mine.head != null) {
+          mine.tail.next = mine.top;
+          mine.top = mine.head;
+          mine.head = mine.tail = null;
+        }
+      }
+    } finally {
+      completions.remove();
+    }
+    if (failure != null)
+      throw rethrow(failure);
+  }
+
+  // Calls the given waiter when this promise is completed, or at once if it already is.
+  @SuppressWarnings({"unchecked"})
+  private void onComplete(final Waiter<A> w) {
+    Object st;
+    do {
+      st = state;
+      if (st instanceof Either) {
+        w.e((Either<Throwable, A>) st);
+        return;
+      }
+      w.next = (Waiter<A>) st;
+    } while (!stateUpdater.compareAndSet(this, st, w));
+  }
+
+  /**
+   * Calls the given effect with the result of this promise once it is completed, or at once if it
+   * already is, on the thread that completes it.
+   *
+   * @param e The effect to call with the value (on the right) or failure (on the left) of this promise.
+   */
+  void onComplete(final Effect<Either<Throwable, A>> e) {
+    onComplete(new Waiter<A>() {
+      void e(final Either<Throwable, A> r) {
+        e.e(r);
+      }
+    });
+  }
+
+  // A waiter that completes the given promise with the same result as this one.
+  private static <A> Waiter<A> completes(final Promise<A> p) {
+    return new Waiter<A>() {
+      void e(final Either<Throwable, A> r) {
+        p.complete(r);
+      }
+    };
+  }
+
+  // Makes this promise a dependent of the given one, which is cancelled once this promise and every
+  // other dependent of it have been cancelled.
+  private void dependsOn(final Promise<?> p) {
+    dependentsUpdater.incrementAndGet(p);
+    onComplete(new Waiter<A>() {
+      void e(final Either<Throwable, A> r) {
+        if (cancelled(r) && dependentsUpdater.decrementAndGet(p) == 0)
+          p.cancel();
+      }
+    });
+  }
+
+  private static boolean cancelled(final Either<Throwable, ?> r) {
+    return r.isLeft() && r.left().value() instanceof CancellationException;
+  }
+
+  private static <A> Either<Throwable, A> run(final P1<A> a) {
+    try {
+      return Either.right(a._1());
+    } catch (Throwable t) {
+      return Either.left(t);
+    }
   }
 
   /**
@@ -79,7 +306,14 @@ public final class Promise<A> {
    */
   public static <A> Promise<A> promise(final Strategy<Unit> s, final P1<A> a) {
     final Promise<A> p = mkPromise(s);
-    p.actor.act(P.p(Either.<P1<A>, Actor<A>>left(a), p));
+    s.par(new P1<Unit>() {
+      public Unit _1() {
+        // a cancelled promise is not computed
+        if (!p.isDone())
+          p.complete(run(a));
+        return Unit.unit();
+      }
+    });
     return p;
   }
 
@@ -129,22 +363,45 @@ public final class Promise<A> {
   }
 
   /**
-   * Promises to send a value to the given actor in the future.
+   * Promises to send a value to the given actor in the future. Nothing is sent if this promise fails.
    *
    * @param a An actor that will receive this Promise's value in the future.
    */
   public void to(final Actor<A> a) {
-    actor.act(P.p(Either.<P1<A>, Actor<A>>right(a), this));
+    onComplete(new Waiter<A>() {
+      void e(final Either<Throwable, A> r) {
+        if (r.isRight())
+          a.act(r.right().value());
+      }
+    });
   }
 
   /**
    * Provides a promise to apply the given function to this promise's future value (covariant functor pattern).
+   * The returned promise fails if this one does. Cancelling it cancels this promise once every promise
+   * that was made from this one with bind, fmap or attempt has been cancelled.
    *
    * @param f The function to apply to this promise's future value.
    * @return A promise representing the future result of applying the given function to this promised value.
    */
   public <B> Promise<B> fmap(final F<A, B> f) {
-    return bind(promise(s, f));
+    final Promise<B> r = mkPromise(s);
+    r.dependsOn(this);
+    onComplete(new Waiter<A>() {
+      void e(final Either<Throwable, A> a) {
+        if (a.isLeft())
+          r.complete(Either.<Throwable, B>left(a.left().value()));
+        else
+          s.par(new P1<Unit>() {
+            public Unit _1() {
+              if (!r.isDone())
+                r.complete(run(P1.curry(f).f(a.right().value())));
+              return Unit.unit();
+            }
+          });
+      }
+    });
+    return r;
   }
 
   /**
@@ -187,19 +444,38 @@ public final class Promise<A> {
 
   /**
    * Binds the given function over this promise, with a final join.
-   * The bind function for the Promise monad.
+   * The bind function for the Promise monad. The returned promise fails if this one, the function or
+   * the promise it returns does. Cancelling it cancels this promise and the one returned by the
+   * function, each once every promise that was made from it with bind, fmap or attempt has been
+   * cancelled.
    *
    * @param f The function to bind over this promise.
    * @return The result of applying the given function to this promised value.
    */
   public <B> Promise<B> bind(final F<A, Promise<B>> f) {
     final Promise<B> r = mkPromise(s);
-    final Actor<B> ab = actor(s, new Effect<B>() {
-      public void e(final B b) {
-        r.actor.act(P.p(Either.<P1<B>, Actor<B>>left(P.p(b)), r));
+    r.dependsOn(this);
+    onComplete(new Waiter<A>() {
+      void e(final Either<Throwable, A> a) {
+        if (a.isLeft())
+          r.complete(Either.<Throwable, B>left(a.left().value()));
+        else
+          s.par(new P1<Unit>() {
+            public Unit _1() {
+              if (!r.isDone()) {
+                final Either<Throwable, Promise<B>> pb = run(P1.curry(f).f(a.right().value()));
+                if (pb.isLeft())
+                  r.complete(Either.<Throwable, B>left(pb.left().value()));
+                else {
+                  r.dependsOn(pb.right().value());
+                  pb.right().value().onComplete(completes(r));
+                }
+              }
+              return Unit.unit();
+            }
+          });
       }
     });
-    to(ab.promise().comap(f));
     return r;
   }
 
@@ -361,44 +637,225 @@ public final class Promise<A> {
     };
   }
 
+  // Parks the current thread until this promise is completed, or until the given time has passed if
+  // timed, and returns the result, or null if the time passed first.
+  @SuppressWarnings({"unchecked"})
+  private Either<Throwable, A> await(final boolean timed, final long nanos) {
+    Object st = state;
+    if (st instanceof Either)
+      return (Either<Throwable, A>) st;
+    final Thread t = Thread.currentThread();
+    Claimants<A> c = claimants;
+    if (c == null) {
+      c = new Claimants<A>();
+      if (claimantsUpdater.compareAndSet(this, null, c))
+        onComplete(c);
+      else
+        c = claimants;
+    }
+    c.threads.add(t);
+    try {
+      final long deadline = timed ? System.nanoTime() + nanos : 0L;
+      while (!((st = state) instanceof Either)) {
+        if (Thread.interrupted()) {
+          t.interrupt();
+          throw new Error(new InterruptedException());
+        }
+        if (timed) {
+          final long left = deadline - System.nanoTime();
+          if (left <= 0L)
+            return null;
+          LockSupport.parkNanos(left);
+        } else
+          LockSupport.park();
+      }
+      return (Either<Throwable, A>) st;
+    } finally {
+      c.threads.remove(t);
+    }
+  }
+
+  // The value of the given result, or the failure rethrown.
+  private static <A> A value(final Either<Throwable, A> r) {
+    if (r.isRight())
+      return r.right().value();
+    throw rethrow(r.left().value());
+  }
+
+  // Rethrows the given throwable, wrapped in an Error if it is checked.
+  private static RuntimeException rethrow(final Throwable t) {
+    if (t instanceof Error)
+      throw (Error) t;
+    if (t instanceof RuntimeException)
+      throw (RuntimeException) t;
+    throw new Error(t);
+  }
+
   /**
-   * Waits if necessary for the computation to complete, and then retrieves its result.
+   * Waits if necessary for the computation to complete, and then retrieves its result. A completed
+   * promise is claimed without waiting. The waiting thread is parked rather than holding a monitor,
+   * so a virtual thread that claims a promise gives up its carrier thread until the promise is
+   * fulfilled. If the promise failed, its failure is thrown; a checked exception is wrapped in an
+   * Error.
    *
    * @return The promised value.
    */
   public A claim() {
-    try {
-      l.await();
-    } catch (InterruptedException e) {
-      throw new Error(e);
-    }
-    return v.some();
+    return value(await(false, 0L));
   }
 
   /**
-   * Waits if necessary for the computation to complete, and then retrieves its result.
+   * Waits if necessary for the computation to complete, and then retrieves its result. If the
+   * promise failed, its failure is thrown; a checked exception is wrapped in an Error.
    *
    * @param timeout the maximum time to wait
    * @param unit    the time unit of the timeout argument
    * @return The promised value, or none if the timeout was reached.
    */
   public Option<A> claim(final long timeout, final TimeUnit unit) {
-    try {
-      if (l.await(timeout, unit))
-        return v;
-    } catch (InterruptedException e) {
-      throw new Error(e);
-    }
-    return none();
+    final Either<Throwable, A> r = await(true, unit.toNanos(timeout));
+    return r == null ? Option.<A>none() : some(value(r));
   }
 
   /**
-   * Returns true if this promise has been fulfilled.
+   * Returns true if this promise has been fulfilled with a value.
    *
-   * @return true if this promise has been fulfilled.
+   * @return true if this promise has been fulfilled with a value.
    */
   public boolean isFulfilled() {
-    return v.isSome();
+    final Object st = state;
+    return st instanceof Either && ((Either<?, ?>) st).isRight();
+  }
+
+  /**
+   * Returns true if this promise has been completed, whether it was fulfilled, failed or was cancelled.
+   *
+   * @return true if this promise has been completed.
+   */
+  public boolean isDone() {
+    return state instanceof Either;
+  }
+
+  /**
+   * Returns true if this promise was cancelled before it was completed.
+   *
+   * @return true if this promise was cancelled before it was completed.
+   */
+  @SuppressWarnings({"unchecked"})
+  public boolean isCancelled() {
+    final Object st = state;
+    return st instanceof Either && cancelled((Either<Throwable, ?>) st);
+  }
+
+  /**
+   * Cancels this promise if it has not been completed yet, so that it fails with a
+   * {@link CancellationException}. A computation that has not started by then is not started, but
+   * one that is already running is not interrupted; its result is discarded. Cancellation is passed
+   * on to a promise that this one was made from with {@link #bind(F)}, {@link #fmap(F)} or
+   * {@link #attempt()} once every promise that was made from it in this way has been cancelled, so
+   * cancelling one of them does not fail the others.
+   *
+   * @return <code>true</code> if this promise was cancelled by this call.
+   */
+  public boolean cancel() {
+    return complete(Either.<Throwable, A>left(new CancellationException()));
+  }
+
+  /**
+   * Returns a promise of the outcome of this one, which is never failed: it is fulfilled with this
+   * promise's value on the right, or with its failure on the left. Cancelling it cancels this promise
+   * once every promise that was made from this one with bind, fmap or attempt has been cancelled.
+   *
+   * @return A promise of the value or failure of this promise.
+   */
+  public Promise<Either<Throwable, A>> attempt() {
+    final Promise<Either<Throwable, A>> r = mkPromise(s);
+    r.dependsOn(this);
+    onComplete(new Waiter<A>() {
+      void e(final Either<Throwable, A> a) {
+        r.complete(Either.<Throwable, Either<Throwable, A>>right(a));
+      }
+    });
+    return r;
+  }
+
+  /**
+   * Returns a promise of this promise's value that fails with a {@link TimeoutException} if this
+   * promise is not completed within the given time. This promise is left as it is, to be claimed or
+   * cancelled by whoever else holds it. No thread is blocked while waiting.
+   *
+   * @param timeout The time to wait for this promise to be completed.
+   * @param unit    The time unit of the timeout argument.
+   * @return A promise of this promise's value that fails if it takes longer than the given time.
+   */
+  public Promise<A> timeout(final long timeout, final TimeUnit unit) {
+    final Promise<A> r = mkPromise(s);
+    final ScheduledFuture<?> f = Timer.scheduler.schedule(new Runnable() {
+      public void run() {
+        r.complete(Either.<Throwable, A>left(
+            new TimeoutException("promise not fulfilled within " + timeout + " " + unit)));
+      }
+    }, timeout, unit);
+    r.onComplete(new Waiter<A>() {
+      void e(final Either<Throwable, A> a) {
+        Timer.cancel(f);
+      }
+    });
+    onComplete(completes(r));
+    return r;
+  }
+
+  /**
+   * Returns a promise that is completed in the same way as whichever of this and the given promise
+   * is completed first. Neither promise is cancelled.
+   *
+   * @param p A promise to race this one against.
+   * @return A promise of the result of whichever promise is completed first.
+   */
+  public Promise<A> race(final Promise<A> p) {
+    return race(s, List.single(p).cons(this));
+  }
+
+  /**
+   * Returns a promise that is completed in the same way as whichever of the given promises is
+   * completed first, whether it is fulfilled or failed. The given promises are not cancelled, since
+   * they may be shared; a caller that made them for the race alone may cancel the rest itself.
+   *
+   * @param s  The strategy with which to fulfil the returned promise's dependents.
+   * @param ps The promises to race against each other. Must not be empty.
+   * @return A promise of the result of whichever of the given promises is completed first.
+   */
+  public static <A> Promise<A> race(final Strategy<Unit> s, final List<Promise<A>> ps) {
+    if (ps.isEmpty())
+      throw error("race of no promises");
+    final Promise<A> r = mkPromise(s);
+    for (final Promise<A> p : ps)
+      p.onComplete(completes(r));
+    return r;
+  }
+
+  /**
+   * Returns a promise of the value of whichever of the given promises is fulfilled first. Failures
+   * are ignored unless all of the given promises fail, in which case the returned promise fails as the
+   * last of them did. The given promises are not cancelled, since they may be shared.
+   *
+   * @param s  The strategy with which to fulfil the returned promise's dependents.
+   * @param ps The promises of which to take the first value. Must not be empty.
+   * @return A promise of the value of whichever of the given promises is fulfilled first.
+   */
+  public static <A> Promise<A> firstOf(final Strategy<Unit> s, final List<Promise<A>> ps) {
+    if (ps.isEmpty())
+      throw error("firstOf of no promises");
+    final Promise<A> r = mkPromise(s);
+    final AtomicInteger failures = new AtomicInteger(ps.length());
+    for (final Promise<A> p : ps)
+      p.onComplete(new Waiter<A>() {
+        void e(final Either<Throwable, A> a) {
+          if (a.isRight() || failures.decrementAndGet() == 0)
+            r.complete(a);
+        }
+      });
+    return r;
   }
 
   /**
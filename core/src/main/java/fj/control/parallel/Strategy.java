@@ -18,8 +18,10 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
 
 /**
  * Functional-style parallel evaluation strategies.
@@ -32,9 +34,17 @@ import java.util.concurrent.FutureTask;
 public final class Strategy<A> {
 
   private final F<P1<A>, P1<A>> f;
+  private final MetricsListener listener;
 
-  private Strategy(final F<P1<A>, P1<A>> f) {
+  private Strategy(final F<P1<A>, P1<A>> f, final MetricsListener listener) {
     this.f = f;
+    this.listener = listener;
+  }
+
+  // The listener that is given measurements of this strategy and of the actors and promises built on it,
+  // or null if none are taken.
+  MetricsListener listener() {
+    return listener;
   }
 
   /**
@@ -53,7 +63,7 @@ public final class Strategy<A> {
    * @return A strategy that uses the given function to evaluate product-1s.
    */
   public static <A> Strategy<A> strategy(final F<P1<A>, P1<A>> f) {
-    return new Strategy<A>(f);
+    return new Strategy<A>(f, null);
   }
 
   /**
@@ -431,6 +441,45 @@ public final class Strategy<A> {
     });
   }
 
+  /**
+   * Provides a parallelization strategy that runs every evaluation in a thread of its own, using
+   * virtual threads where the platform has them and otherwise falling back to a cached pool of
+   * daemon platform threads. Virtual threads are cheap enough to start one per evaluation, and a
+   * virtual thread that blocks, for example to claim a {@link Promise}, releases the platform thread
+   * that carries it, so tens of thousands of evaluations that mostly wait may be in flight at once.
+   * <p/>
+   * Without virtual threads, the fallback pool is unbounded: it starts a new platform thread whenever
+   * none is idle, so as many evaluations as are in flight at once each hold a platform thread and its
+   * stack. Bound the parallelism with {@link #executorStrategy(ExecutorService)} on such platforms.
+   *
+   * @return A strategy that runs every evaluation in a thread of its own.
+   */
+  public static <A> Strategy<A> virtualThreadStrategy() {
+    return executorStrategy(ThreadPerTask.executor);
+  }
+
+  // The shared executor behind virtualThreadStrategy, created on first use. Virtual threads are looked up
+  // reflectively so that this class still loads on platforms that do not have them.
+  private static final class ThreadPerTask {
+    static final ExecutorService executor = executor();
+
+    private static ExecutorService executor() {
+      try {
+        return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+      } catch (Exception e) {
+        return Executors.newCachedThreadPool(new ThreadFactory() {
+          private final ThreadFactory f = Executors.defaultThreadFactory();
+
+          public Thread newThread(final Runnable r) {
+            final Thread t = f.newThread(r);
+            t.setDaemon(true);
+            return t;
+          }
+        });
+      }
+    }
+  }
+
   /**
    * Provides a parallelization strategy that uses a CompletionService to control the method and
    * degree of parallelism, and where each parallel task's completion is registered with the service.
@@ -477,7 +526,7 @@ public final class Strategy<A> {
    * @return A new strategy that maps to this strategy and back again.
    */
   public <B> Strategy<B> xmap(final F<P1<A>, P1<B>> f, final F<P1<B>, P1<A>> g) {
-    return strategy(compose(f, compose(f(), g)));
+    return new Strategy<B>(compose(f, compose(f(), g)), listener);
   }
 
   /**
@@ -537,6 +586,35 @@ public final class Strategy<A> {
     });
   }
 
+  /**
+   * Provides a strategy that gives measurements to the given listener: how long each evaluation waits
+   * in this strategy before it starts, and how long it takes to run. Actors and promises that are
+   * built on the returned strategy also give the listener the depth of their mailboxes, the time
+   * taken to process each message and the time taken to fulfil each promise. Strategies derived
+   * from the returned one, for example with {@link #errorStrategy(Effect)}, keep the listener.
+   *
+   * @param l The listener to give measurements to.
+   * @return A strategy that evaluates as this one does, and gives measurements to the given listener.
+   */
+  public Strategy<A> metricsStrategy(final MetricsListener l) {
+    return new Strategy<A>(new F<P1<A>, P1<A>>() {
+      public P1<A> f(final P1<A> p) {
+        final long queued = System.nanoTime();
+        return f.f(new P1<A>() {
+          public A _1() {
+            final long start = System.nanoTime();
+            l.taskStarted(start - queued);
+            try {
+              return p._1();
+            } finally {
+              l.taskFinished(System.nanoTime() - start);
+            }
+          }
+        });
+      }
+    }, l);
+  }
+
   /**
    * Provides a normalising strategy that fully evaluates its Callable argument.
    *
@@ -3,10 +3,12 @@ package fj.data;
 import fj.Effect;
 import fj.F;
 import fj.F2;
+import fj.Ord;
 import fj.P;
 import fj.P1;
 import fj.P2;
 import fj.Unit;
+import fj.control.parallel.Strategy;
 
 import static fj.Function.*;
 import static fj.P.p;
@@ -172,6 +174,16 @@ public final class Array<A> implements Iterable<A> {
     }, 0);
   }
 
+  /**
+   * Returns a lazy view of this array. Maps, filters and the like on the view are fused into a
+   * single pass over this array that runs only when the view is folded or converted.
+   *
+   * @return A lazy view of this array.
+   */
+  public View<A> view() {
+    return View.arrayView(a);
+  }
+
   /**
    * Maps the given function across this array.
    *
@@ -291,6 +303,100 @@ public final class Array<A> implements Iterable<A> {
     return foldLeft(curry(f), b);
   }
 
+  /**
+   * Performs a left-fold across this array, accumulating the intermediate results in a new array.
+   * This function runs in constant stack space.
+   *
+   * @param f The function to apply on each element of the array.
+   * @param b The beginning value to start the application from.
+   * @return An array of the results of folding each prefix of this array from the left.
+   */
+  @SuppressWarnings("unchecked")
+  public <B> Array<B> scanLeft(final F<B, F<A, B>> f, final B b) {
+    final Object[] bs = new Object[a.length];
+    B x = b;
+
+    for (int i = 0; i < a.length; i++)
+      bs[i] = x = f.f(x).f((A) a[i]);
+
+    return new Array<B>(bs);
+  }
+
+  /**
+   * Performs a left-fold across this array, accumulating the intermediate results in a new array.
+   * This function runs in constant stack space.
+   *
+   * @param f The function to apply on each element of the array.
+   * @param b The beginning value to start the application from.
+   * @return An array of the results of folding each prefix of this array from the left.
+   */
+  public <B> Array<B> scanLeft(final F2<B, A, B> f, final B b) {
+    return scanLeft(curry(f), b);
+  }
+
+  /**
+   * Performs a left-fold across this array starting from its first element, accumulating the
+   * intermediate results in a new array. This function runs in constant stack space.
+   *
+   * @param f The function to apply on each element of the array.
+   * @return An array of the results of folding each prefix of this array from the left.
+   */
+  @SuppressWarnings("unchecked")
+  public Array<A> scanLeft1(final F<A, F<A, A>> f) {
+    final Object[] bs = new Object[a.length];
+
+    if (a.length > 0) {
+      A x = (A) a[0];
+      bs[0] = x;
+      for (int i = 1; i < a.length; i++)
+        bs[i] = x = f.f(x).f((A) a[i]);
+    }
+
+    return new Array<A>(bs);
+  }
+
+  /**
+   * Performs a left-fold across this array starting from its first element, accumulating the
+   * intermediate results in a new array. This function runs in constant stack space.
+   *
+   * @param f The function to apply on each element of the array.
+   * @return An array of the results of folding each prefix of this array from the left.
+   */
+  public Array<A> scanLeft1(final F2<A, A, A> f) {
+    return scanLeft1(curry(f));
+  }
+
+  /**
+   * Performs a right-fold across this array, accumulating the intermediate results in a new array.
+   * This function runs in constant stack space.
+   *
+   * @param f The function to apply on each element of the array.
+   * @param b The beginning value to start the application from.
+   * @return An array of the results of folding each suffix of this array from the right.
+   */
+  @SuppressWarnings("unchecked")
+  public <B> Array<B> scanRight(final F<A, F<B, B>> f, final B b) {
+    final Object[] bs = new Object[a.length];
+    B x = b;
+
+    for (int i = a.length - 1; i >= 0; i--)
+      bs[i] = x = f.f((A) a[i]).f(x);
+
+    return new Array<B>(bs);
+  }
+
+  /**
+   * Performs a right-fold across this array, accumulating the intermediate results in a new array.
+   * This function runs in constant stack space.
+   *
+   * @param f The function to apply on each element of the array.
+   * @param b The beginning value to start the application from.
+   * @return An array of the results of folding each suffix of this array from the right.
+   */
+  public <B> Array<B> scanRight(final F2<A, B, B> f, final B b) {
+    return scanRight(curry(f), b);
+  }
+
   /**
    * Binds the given function across each element of this array with a final join.
    *
@@ -406,6 +512,49 @@ public final class Array<A> implements Iterable<A> {
     return new Array<A>(x);
   }
 
+  /**
+   * Returns a new array with the elements of this array sorted according to the given order, using a
+   * <em>merge sort</em>. The sort is stable.
+   *
+   * @param o The order over the elements of this array.
+   * @return A new sorted array.
+   */
+  public Array<A> sort(final Ord<A> o) {
+    final Object[] x = array();
+    Sorting.sort(x, o);
+    return new Array<A>(x);
+  }
+
+  /**
+   * Returns a new array with the elements of this array sorted according to the given order, using a parallel
+   * <em>merge sort</em> that uses the given parallelisation strategy. Chunks of 8192 elements are sorted in
+   * parallel and then merged; shorter arrays are sorted sequentially. The sort is stable.
+   *
+   * @param o The order over the elements of this array.
+   * @param s A strategy for parallelising the sort.
+   * @return A new sorted array.
+   */
+  public Array<A> sort(final Ord<A> o, final Strategy<Unit> s) {
+    return sort(o, s, Sorting.PARALLEL_THRESHOLD);
+  }
+
+  /**
+   * Returns a new array with the elements of this array sorted according to the given order, using a parallel
+   * <em>merge sort</em> that uses the given parallelisation strategy. Chunks of at most <code>threshold</code>
+   * elements are sorted in parallel and then merged; arrays no longer than the threshold are sorted sequentially.
+   * The sort is stable.
+   *
+   * @param o         The order over the elements of this array.
+   * @param s         A strategy for parallelising the sort.
+   * @param threshold The number of elements that are sorted sequentially; must be positive.
+   * @return A new sorted array.
+   */
+  public Array<A> sort(final Ord<A> o, final Strategy<Unit> s, final int threshold) {
+    final Object[] x = array();
+    Sorting.sort(x, o, s, threshold);
+    return new Array<A>(x);
+  }
+
   /**
    * Returns an empty array.
    *
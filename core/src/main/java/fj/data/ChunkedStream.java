@@ -0,0 +1,628 @@
+package fj.data;
+
+import fj.Effect;
+import fj.F;
+import fj.F2;
+import fj.P1;
+import fj.P2;
+import fj.Unit;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static fj.Bottom.error;
+import static fj.P.p;
+import static fj.Unit.unit;
+import static fj.data.Option.some;
+
+/**
+ * A lazy stream whose elements are held in array chunks. Where a {@link Stream} allocates a cell and
+ * a memoised thunk for every element, a chunked stream evaluates a whole chunk of elements at a time
+ * behind a single thunk, so maps, filters, zips and folds over long streams do per-element work on
+ * plain arrays and pay the cost of laziness once per chunk.
+ *
+ * @version %build.number%
+ */
+public abstract class ChunkedStream<A> implements Iterable<A> {
+  /**
+   * The number of elements in each chunk when none is given.
+   */
+  public static final int DEFAULT_CHUNK_SIZE = 256;
+
+  private ChunkedStream() {
+
+  }
+
+  private static final ChunkedStream<Object> nil = new Nil<Object>();
+
+  // A thunk for the rest of a stream that is evaluated at most once and then held strongly.
+  private abstract static class Rest<A> extends P1<ChunkedStream<A>> {
+    private volatile ChunkedStream<A> value;
+
+    abstract ChunkedStream<A> eval();
+
+    public final ChunkedStream<A> _1() {
+      ChunkedStream<A> v = value;
+      if (v == null) {
+        synchronized (this) {
+          v = value;
+          if (v == null)
+            value = v = eval();
+        }
+      }
+      return v;
+    }
+  }
+
+  private static final class Nil<A> extends ChunkedStream<A> {
+
+  }
+
+  // The elements from (inclusive) to (exclusive) of the array, followed by the rest of the stream.
+  private static final class Chunk<A> extends ChunkedStream<A> {
+    private final Object[] as;
+    private final int from;
+    private final int to;
+    private final P1<ChunkedStream<A>> rest;
+
+    Chunk(final Object[] as, final int from, final int to, final P1<ChunkedStream<A>> rest) {
+      this.as = as;
+      this.from = from;
+      this.to = to;
+      this.rest = rest;
+    }
+
+    @SuppressWarnings({"unchecked"})
+    A get(final int i) {
+      return (A) as[i];
+    }
+  }
+
+  /**
+   * Returns <code>true</code> if this stream is empty, <code>false</code> otherwise.
+   *
+   * @return <code>true</code> if this stream is empty, <code>false</code> otherwise.
+   */
+  public final boolean isEmpty() {
+    return this instanceof Nil;
+  }
+
+  /**
+   * Returns <code>false</code> if this stream is empty, <code>true</code> otherwise.
+   *
+   * @return <code>false</code> if this stream is empty, <code>true</code> otherwise.
+   */
+  public final boolean isNotEmpty() {
+    return this instanceof Chunk;
+  }
+
+  /**
+   * The first element of the stream or fails for the empty stream.
+   *
+   * @return The first element of the stream or fails for the empty stream.
+   */
+  public final A head() {
+    if (isEmpty())
+      throw error("head on empty stream");
+    final Chunk<A> c = (Chunk<A>) this;
+    return c.get(c.from);
+  }
+
+  /**
+   * The stream without the first element or fails for the empty stream. This shares the current
+   * chunk and only evaluates the next chunk when the current one is exhausted.
+   *
+   * @return The stream without the first element or fails for the empty stream.
+   */
+  public final ChunkedStream<A> tail() {
+    if (isEmpty())
+      throw error("tail on empty stream");
+    return drop(1);
+  }
+
+  /**
+   * Maps the given function across this stream. The function is applied a chunk at a time as the
+   * stream is evaluated.
+   *
+   * @param f The function to map across this stream.
+   * @return A new stream after the given function has been applied to each element.
+   */
+  public final <B> ChunkedStream<B> map(final F<A, B> f) {
+    if (isEmpty())
+      return nil();
+    final Chunk<A> c = (Chunk<A>) this;
+    final Object[] bs = new Object[c.to - c.from];
+    for (int i = c.from; i < c.to; i++)
+      bs[i - c.from] = f.f(c.get(i));
+    return new Chunk<B>(bs, 0, bs.length, new Rest<B>() {
+      ChunkedStream<B> eval() {
+        return c.rest._1().map(f);
+      }
+    });
+  }
+
+  /**
+   * Filters elements from this stream by returning only elements which produce <code>true</code>
+   * when the given function is applied to them. Chunks with no matching elements are skipped.
+   *
+   * @param f The predicate function to filter on.
+   * @return A new stream whose elements all match the given predicate.
+   */
+  public final ChunkedStream<A> filter(final F<A, Boolean> f) {
+    ChunkedStream<A> s = this;
+    while (s.isNotEmpty()) {
+      final Chunk<A> c = (Chunk<A>) s;
+      final Object[] bs = new Object[c.to - c.from];
+      int n = 0;
+      for (int i = c.from; i < c.to; i++) {
+        final A a = c.get(i);
+        if (f.f(a))
+          bs[n++] = a;
+      }
+      if (n > 0)
+        return new Chunk<A>(bs, 0, n, new Rest<A>() {
+          ChunkedStream<A> eval() {
+            return c.rest._1().filter(f);
+          }
+        });
+      s = c.rest._1();
+    }
+    return nil();
+  }
+
+  /**
+   * Takes the given number of elements from the head of this stream if they are available.
+   *
+   * @param n The maximum number of elements to take from this stream.
+   * @return A new stream of at most the given number of elements from the head of this stream.
+   */
+  public final ChunkedStream<A> take(final int n) {
+    if (n <= 0 || isEmpty())
+      return nil();
+    final Chunk<A> c = (Chunk<A>) this;
+    final int k = c.to - c.from;
+    return n <= k ? new Chunk<A>(c.as, c.from, c.from + n, ChunkedStream.<A>nilP1()) :
+        new Chunk<A>(c.as, c.from, c.to, new Rest<A>() {
+          ChunkedStream<A> eval() {
+            return c.rest._1().take(n - k);
+          }
+        });
+  }
+
+  /**
+   * Drops the given number of elements from the head of this stream if they are available. The
+   * chunks that are dropped entirely are evaluated.
+   *
+   * @param n The number of elements to drop from this stream.
+   * @return A stream with the given number of elements dropped from the head of this stream.
+   */
+  public final ChunkedStream<A> drop(final int n) {
+    ChunkedStream<A> s = this;
+    int i = n;
+    while (i > 0 && s.isNotEmpty()) {
+      final Chunk<A> c = (Chunk<A>) s;
+      final int k = c.to - c.from;
+      if (i < k)
+        return new Chunk<A>(c.as, c.from + i, c.to, c.rest);
+      i -= k;
+      s = c.rest._1();
+    }
+    return s;
+  }
+
+  /**
+   * Appends the given stream to this stream.
+   *
+   * @param as The stream to append to this one.
+   * @return A new stream that has appended the given stream.
+   */
+  public final ChunkedStream<A> append(final ChunkedStream<A> as) {
+    if (isEmpty())
+      return as;
+    final Chunk<A> c = (Chunk<A>) this;
+    return new Chunk<A>(c.as, c.from, c.to, new Rest<A>() {
+      ChunkedStream<A> eval() {
+        return c.rest._1().append(as);
+      }
+    });
+  }
+
+  /**
+   * Zips this stream with the given stream using the given function to produce a new stream. If
+   * this stream and the given stream have different lengths, then the longer stream is normalised
+   * so this function never fails.
+   *
+   * @param bs The stream to zip this stream with.
+   * @param f  The function to zip this stream and the given stream with.
+   * @return A new stream with a length the same as the shortest of this stream and the given stream.
+   */
+  public final <B, C> ChunkedStream<C> zipWith(final ChunkedStream<B> bs, final F2<A, B, C> f) {
+    if (isEmpty() || bs.isEmpty())
+      return nil();
+    final Chunk<A> c = (Chunk<A>) this;
+    final Chunk<B> d = (Chunk<B>) bs;
+    final int k = Math.min(c.to - c.from, d.to - d.from);
+    final Object[] cs = new Object[k];
+    for (int i = 0; i < k; i++)
+      cs[i] = f.f(c.get(c.from + i), d.get(d.from + i));
+    return new Chunk<C>(cs, 0, k, new Rest<C>() {
+      ChunkedStream<C> eval() {
+        return drop(k).zipWith(bs.drop(k), f);
+      }
+    });
+  }
+
+  /**
+   * Zips this stream with the given stream to produce a stream of pairs. If this stream and the
+   * given stream have different lengths, then the longer stream is normalised so this function
+   * never fails.
+   *
+   * @param bs The stream to zip this stream with.
+   * @return A new stream with a length the same as the shortest of this stream and the given stream.
+   */
+  public final <B> ChunkedStream<P2<A, B>> zip(final ChunkedStream<B> bs) {
+    return zipWith(bs, new F2<A, B, P2<A, B>>() {
+      public P2<A, B> f(final A a, final B b) {
+        return p(a, b);
+      }
+    });
+  }
+
+  /**
+   * Performs a left-fold reduction across this stream. This function runs in constant stack space.
+   *
+   * @param f The function to apply on each element of the stream.
+   * @param b The beginning value to start the application from.
+   * @return The final result after the left-fold reduction.
+   */
+  public final <B> B foldLeft(final F2<B, A, B> f, final B b) {
+    B x = b;
+    for (ChunkedStream<A> s = this; s.isNotEmpty(); ) {
+      final Chunk<A> c = (Chunk<A>) s;
+      for (int i = c.from; i < c.to; i++)
+        x = f.f(x, c.get(i));
+      s = c.rest._1();
+    }
+    return x;
+  }
+
+  /**
+   * Performs a left-fold reduction across this stream. This function runs in constant stack space.
+   *
+   * @param f The function to apply on each element of the stream.
+   * @param b The beginning value to start the application from.
+   * @return The final result after the left-fold reduction.
+   */
+  public final <B> B foldLeft(final F<B, F<A, B>> f, final B b) {
+    B x = b;
+    for (ChunkedStream<A> s = this; s.isNotEmpty(); ) {
+      final Chunk<A> c = (Chunk<A>) s;
+      for (int i = c.from; i < c.to; i++)
+        x = f.f(x).f(c.get(i));
+      s = c.rest._1();
+    }
+    return x;
+  }
+
+  /**
+   * Returns <code>true</code> if the predicate holds for all of the elements of this stream,
+   * <code>false</code> otherwise (<code>true</code> for the empty stream).
+   *
+   * @param f The predicate function to test on each element of this stream.
+   * @return <code>true</code> if the predicate holds for all of the elements of this stream.
+   */
+  public final boolean forall(final F<A, Boolean> f) {
+    for (ChunkedStream<A> s = this; s.isNotEmpty(); ) {
+      final Chunk<A> c = (Chunk<A>) s;
+      for (int i = c.from; i < c.to; i++)
+        if (!f.f(c.get(i)))
+          return false;
+      s = c.rest._1();
+    }
+    return true;
+  }
+
+  /**
+   * Returns <code>true</code> if the predicate holds for at least one of the elements of this
+   * stream, <code>false</code> otherwise (<code>false</code> for the empty stream).
+   *
+   * @param f The predicate function to test on the elements of this stream.
+   * @return <code>true</code> if the predicate holds for at least one of the elements of this stream.
+   */
+  public final boolean exists(final F<A, Boolean> f) {
+    return find(f).isSome();
+  }
+
+  /**
+   * Finds the first occurrence of an element that matches the given predicate or no value if no
+   * elements match.
+   *
+   * @param f The predicate function to test on elements of this stream.
+   * @return The first occurrence of an element that matches the given predicate or no value if no
+   *         elements match.
+   */
+  public final Option<A> find(final F<A, Boolean> f) {
+    for (ChunkedStream<A> s = this; s.isNotEmpty(); ) {
+      final Chunk<A> c = (Chunk<A>) s;
+      for (int i = c.from; i < c.to; i++) {
+        final A a = c.get(i);
+        if (f.f(a))
+          return some(a);
+      }
+      s = c.rest._1();
+    }
+    return Option.none();
+  }
+
+  /**
+   * Performs a side-effect for each element of this stream.
+   *
+   * @param f The side-effect to perform for the given element.
+   * @return The unit value.
+   */
+  public final Unit foreach(final Effect<A> f) {
+    for (ChunkedStream<A> s = this; s.isNotEmpty(); ) {
+      final Chunk<A> c = (Chunk<A>) s;
+      for (int i = c.from; i < c.to; i++)
+        f.e(c.get(i));
+      s = c.rest._1();
+    }
+    return unit();
+  }
+
+  /**
+   * The length of this stream. This function will not terminate for an infinite stream.
+   *
+   * @return The length of this stream.
+   */
+  public final int length() {
+    int n = 0;
+    for (ChunkedStream<A> s = this; s.isNotEmpty(); ) {
+      final Chunk<A> c = (Chunk<A>) s;
+      n += c.to - c.from;
+      s = c.rest._1();
+    }
+    return n;
+  }
+
+  /**
+   * Returns a list projection of this stream.
+   *
+   * @return A list projection of this stream.
+   */
+  public final List<A> toList() {
+    final List.Buffer<A> b = new List.Buffer<A>();
+    for (ChunkedStream<A> s = this; s.isNotEmpty(); ) {
+      final Chunk<A> c = (Chunk<A>) s;
+      for (int i = c.from; i < c.to; i++)
+        b.snoc(c.get(i));
+      s = c.rest._1();
+    }
+    return b.toList();
+  }
+
+  /**
+   * Returns an array projection of this stream.
+   *
+   * @return An array projection of this stream.
+   */
+  public final Array<A> toArray() {
+    Object[] bs = new Object[16];
+    int n = 0;
+    for (ChunkedStream<A> s = this; s.isNotEmpty(); ) {
+      final Chunk<A> c = (Chunk<A>) s;
+      final int k = c.to - c.from;
+      if (n + k > bs.length)
+        bs = copyOf(bs, Math.max(bs.length * 2, n + k));
+      System.arraycopy(c.as, c.from, bs, n, k);
+      n += k;
+      s = c.rest._1();
+    }
+    return Array.mkArray(copyOf(bs, n));
+  }
+
+  /**
+   * Returns a stream projection of this stream. The elements of each chunk are consed eagerly and
+   * the next chunk is evaluated lazily.
+   *
+   * @return A stream projection of this stream.
+   */
+  public final Stream<A> toStream() {
+    if (isEmpty())
+      return Stream.nil();
+    final Chunk<A> c = (Chunk<A>) this;
+    Stream<A> s = Stream.cons(c.get(c.to - 1), new P1<Stream<A>>() {
+      public Stream<A> _1() {
+        return c.rest._1().toStream();
+      }
+    });
+    for (int i = c.to - 2; i >= c.from; i--)
+      s = Stream.cons(c.get(i), p(s));
+    return s;
+  }
+
+  /**
+   * Returns an iterator for this stream. This method exists to permit the use in a <code>for</code>-each loop.
+   *
+   * @return A iterator for this stream.
+   */
+  public final Iterator<A> iterator() {
+    return new Iterator<A>() {
+      private ChunkedStream<A> s = ChunkedStream.this;
+      private int i = s.isEmpty() ? 0 : ((Chunk<A>) s).from;
+
+      public boolean hasNext() {
+        while (s.isNotEmpty() && i == ((Chunk<A>) s).to) {
+          s = ((Chunk<A>) s).rest._1();
+          if (s.isNotEmpty())
+            i = ((Chunk<A>) s).from;
+        }
+        return s.isNotEmpty();
+      }
+
+      public A next() {
+        if (!hasNext())
+          throw new NoSuchElementException();
+        return ((Chunk<A>) s).get(i++);
+      }
+
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+    };
+  }
+
+  /**
+   * Returns an empty stream.
+   *
+   * @return An empty stream.
+   */
+  @SuppressWarnings({"unchecked"})
+  public static <A> ChunkedStream<A> nil() {
+    return (ChunkedStream<A>) nil;
+  }
+
+  private static <A> P1<ChunkedStream<A>> nilP1() {
+    return p(ChunkedStream.<A>nil());
+  }
+
+  /**
+   * Constructs a stream from the given elements, in chunks of the default size.
+   *
+   * @param as The elements to construct a stream with.
+   * @return A stream with the given elements.
+   */
+  public static <A> ChunkedStream<A> chunkedStream(final A... as) {
+    return fromArray(as.clone(), 0, DEFAULT_CHUNK_SIZE);
+  }
+
+  // Chunks the given array, which must not be modified, starting at the given index.
+  private static <A> ChunkedStream<A> fromArray(final Object[] as, final int from, final int size) {
+    if (from >= as.length)
+      return nil();
+    final int to = Math.min(as.length, from + size);
+    return new Chunk<A>(as, from, to, to == as.length ? ChunkedStream.<A>nilP1() : new Rest<A>() {
+      ChunkedStream<A> eval() {
+        return fromArray(as, to, size);
+      }
+    });
+  }
+
+  /**
+   * Returns a stream of a copy of the elements of the given array, in chunks of the default size.
+   *
+   * @param as The array to take to a stream.
+   * @return A stream of the elements of the given array.
+   */
+  public static <A> ChunkedStream<A> arrayChunkedStream(final Array<A> as) {
+    return fromArray(as.array(), 0, DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * Takes the given iterable to a stream in chunks of the default size. The iterable is traversed
+   * lazily, a chunk at a time.
+   *
+   * @param as The iterable to take to a stream.
+   * @return A stream of the elements of the given iterable.
+   */
+  public static <A> ChunkedStream<A> iterableChunkedStream(final Iterable<A> as) {
+    return iterableChunkedStream(as, DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * Takes the given iterable to a stream in chunks of the given size. The iterable is traversed
+   * lazily, a chunk at a time.
+   *
+   * @param as   The iterable to take to a stream.
+   * @param size The number of elements in each chunk.
+   * @return A stream of the elements of the given iterable.
+   */
+  public static <A> ChunkedStream<A> iterableChunkedStream(final Iterable<A> as, final int size) {
+    if (size < 1)
+      throw error("chunk size " + size + " is less than one");
+    return fromIterator(as.iterator(), size);
+  }
+
+  /**
+   * Takes the given stream to a chunked stream in chunks of the default size. The given stream is
+   * evaluated lazily, a chunk at a time.
+   *
+   * @param as The stream to take to a chunked stream.
+   * @return A chunked stream of the elements of the given stream.
+   */
+  public static <A> ChunkedStream<A> fromStream(final Stream<A> as) {
+    return iterableChunkedStream(as, DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * Takes the given stream to a chunked stream in chunks of the given size. The given stream is
+   * evaluated lazily, a chunk at a time.
+   *
+   * @param as   The stream to take to a chunked stream.
+   * @param size The number of elements in each chunk.
+   * @return A chunked stream of the elements of the given stream.
+   */
+  public static <A> ChunkedStream<A> fromStream(final Stream<A> as, final int size) {
+    return iterableChunkedStream(as, size);
+  }
+
+  private static <A> ChunkedStream<A> fromIterator(final Iterator<A> i, final int size) {
+    final Object[] bs = new Object[size];
+    int n = 0;
+    while (n < size && i.hasNext())
+      bs[n++] = i.next();
+    return n == 0 ? ChunkedStream.<A>nil() : new Chunk<A>(bs, 0, n, n < size ? ChunkedStream.<A>nilP1() : new Rest<A>() {
+      ChunkedStream<A> eval() {
+        return fromIterator(i, size);
+      }
+    });
+  }
+
+  /**
+   * Returns a stream of integers from the given <code>from</code> value (inclusive) to the given
+   * <code>to</code> value (exclusive), in chunks of the default size.
+   *
+   * @param from The minimum value for the stream (inclusive).
+   * @param to   The maximum value for the stream (exclusive).
+   * @return A stream of integers from the given <code>from</code> value (inclusive) to the given
+   *         <code>to</code> value (exclusive).
+   */
+  public static ChunkedStream<Integer> range(final int from, final int to) {
+    if (from >= to)
+      return nil();
+    final int n = (int) Math.min((long) to - from, DEFAULT_CHUNK_SIZE);
+    final Object[] bs = new Object[n];
+    for (int i = 0; i < n; i++)
+      bs[i] = from + i;
+    return new Chunk<Integer>(bs, 0, n, new Rest<Integer>() {
+      ChunkedStream<Integer> eval() {
+        return range(from + n, to);
+      }
+    });
+  }
+
+  /**
+   * Returns an infinite stream of integers from the given <code>from</code> value (inclusive), in
+   * chunks of the default size.
+   *
+   * @param from The minimum value for the stream (inclusive).
+   * @return An infinite stream of integers from the given <code>from</code> value (inclusive).
+   */
+  public static ChunkedStream<Integer> range(final int from) {
+    final Object[] bs = new Object[DEFAULT_CHUNK_SIZE];
+    for (int i = 0; i < bs.length; i++)
+      bs[i] = from + i;
+    return new Chunk<Integer>(bs, 0, bs.length, new Rest<Integer>() {
+      ChunkedStream<Integer> eval() {
+        return range(from + bs.length);
+      }
+    });
+  }
+
+  // A copy of the first n elements of the given array, padded with nulls if it is shorter.
+  private static Object[] copyOf(final Object[] a, final int n) {
+    final Object[] bs = new Object[n];
+    System.arraycopy(a, 0, bs, 0, Math.min(a.length, n));
+    return bs;
+  }
+}
@@ -0,0 +1,293 @@
+package fj.data;
+
+import fj.DoubleMonoid;
+import fj.function.DoubleF;
+import fj.function.DoubleF2;
+import fj.function.DoublePredicate;
+
+import java.util.Arrays;
+
+/**
+ * An immutable array of unboxed <code>double</code> values. Maps, filters and folds operate directly
+ * on the primitive values, so no element is boxed and no curried function is allocated.
+ *
+ * @version %build.number%
+ */
+public final class DoubleArray {
+  private final double[] a;
+
+  private static final DoubleArray empty = new DoubleArray(new double[0]);
+
+  private DoubleArray(final double[] a) {
+    this.a = a;
+  }
+
+  // Wraps the given array without copying; callers must not retain it.
+  static DoubleArray mkDoubleArray(final double[] a) {
+    return a.length == 0 ? empty : new DoubleArray(a);
+  }
+
+  /**
+   * Returns the element at the given index if it exists, fails otherwise.
+   *
+   * @param index The index at which to get the element to return.
+   * @return The element at the given index if it exists, fails otherwise.
+   */
+  public double get(final int index) {
+    return a[index];
+  }
+
+  /**
+   * Returns the length of this array.
+   *
+   * @return The length of this array.
+   */
+  public int length() {
+    return a.length;
+  }
+
+  /**
+   * Returns <code>true</code> is this array is empty, <code>false</code> otherwise.
+   *
+   * @return <code>true</code> is this array is empty, <code>false</code> otherwise.
+   */
+  public boolean isEmpty() {
+    return a.length == 0;
+  }
+
+  /**
+   * Returns <code>false</code> is this array is empty, <code>true</code> otherwise.
+   *
+   * @return <code>false</code> is this array is empty, <code>true</code> otherwise.
+   */
+  public boolean isNotEmpty() {
+    return a.length != 0;
+  }
+
+  /**
+   * Maps the given function across this array.
+   *
+   * @param f The function to map across this array.
+   * @return A new array after the given function has been applied to each element.
+   */
+  public DoubleArray map(final DoubleF f) {
+    final double[] bs = new double[a.length];
+    for (int i = 0; i < a.length; i++)
+      bs[i] = f.f(a[i]);
+    return mkDoubleArray(bs);
+  }
+
+  /**
+   * Filters elements from this array by returning only elements which produce <code>true</code>
+   * when the given function is applied to them.
+   *
+   * @param p The predicate function to filter on.
+   * @return A new array whose elements all match the given predicate.
+   */
+  public DoubleArray filter(final DoublePredicate p) {
+    final double[] bs = new double[a.length];
+    int n = 0;
+    for (final double x : a)
+      if (p.f(x))
+        bs[n++] = x;
+    return n == a.length ? this : mkDoubleArray(copyOf(bs, n));
+  }
+
+  /**
+   * Performs a left-fold reduction across this array. This function runs in constant space.
+   *
+   * @param f The function to apply on each element of the array.
+   * @param b The beginning value to start the application from.
+   * @return The final result after the left-fold reduction.
+   */
+  public double foldLeft(final DoubleF2 f, final double b) {
+    double x = b;
+    for (final double y : a)
+      x = f.f(x, y);
+    return x;
+  }
+
+  /**
+   * Performs a right-fold reduction across this array. This function runs in constant stack space.
+   *
+   * @param f The function to apply on each element of the array.
+   * @param b The beginning value to start the application from.
+   * @return The final result after the right-fold reduction.
+   */
+  public double foldRight(final DoubleF2 f, final double b) {
+    double x = b;
+    for (int i = a.length - 1; i >= 0; i--)
+      x = f.f(a[i], x);
+    return x;
+  }
+
+  /**
+   * Sums the elements of this array using the given monoid.
+   *
+   * @param m The monoid to sum the elements with.
+   * @return The sum of the elements of this array according to the given monoid.
+   */
+  public double fold(final DoubleMonoid m) {
+    return foldLeft(m.sum(), m.zero());
+  }
+
+  /**
+   * Returns the sum of the elements of this array.
+   *
+   * @return The sum of the elements of this array.
+   */
+  public double sum() {
+    double x = 0;
+    for (final double y : a)
+      x += y;
+    return x;
+  }
+
+  /**
+   * Returns <code>true</code> if the predicate holds for all of the elements of this array,
+   * <code>false</code> otherwise (<code>true</code> for the empty array).
+   *
+   * @param p The predicate function to test on each element of this array.
+   * @return <code>true</code> if the predicate holds for all of the elements of this array.
+   */
+  public boolean forall(final DoublePredicate p) {
+    for (final double x : a)
+      if (!p.f(x))
+        return false;
+    return true;
+  }
+
+  /**
+   * Returns <code>true</code> if the predicate holds for at least one of the elements of this
+   * array, <code>false</code> otherwise (<code>false</code> for the empty array).
+   *
+   * @param p The predicate function to test on the elements of this array.
+   * @return <code>true</code> if the predicate holds for at least one of the elements of this array.
+   */
+  public boolean exists(final DoublePredicate p) {
+    for (final double x : a)
+      if (p.f(x))
+        return true;
+    return false;
+  }
+
+  /**
+   * Returns a new array with the elements of this array in ascending order.
+   *
+   * @return A new array with the elements of this array in ascending order.
+   */
+  public DoubleArray sort() {
+    final double[] bs = a.clone();
+    Arrays.sort(bs);
+    return mkDoubleArray(bs);
+  }
+
+  /**
+   * Reverse this array.
+   *
+   * @return A new array that is the reverse of this one.
+   */
+  public DoubleArray reverse() {
+    final double[] bs = new double[a.length];
+    for (int i = 0; i < a.length; i++)
+      bs[a.length - 1 - i] = a[i];
+    return mkDoubleArray(bs);
+  }
+
+  /**
+   * Appends the given array to this array.
+   *
+   * @param xs The array to append to this one.
+   * @return A new array that has appended the given array.
+   */
+  public DoubleArray append(final DoubleArray xs) {
+    final double[] bs = copyOf(a, a.length + xs.a.length);
+    System.arraycopy(xs.a, 0, bs, a.length, xs.a.length);
+    return mkDoubleArray(bs);
+  }
+
+  /**
+   * Returns a copy of the underlying primitive array.
+   *
+   * @return A copy of the underlying primitive array.
+   */
+  public double[] array() {
+    return a.clone();
+  }
+
+  /**
+   * Returns a list projection of this array.
+   *
+   * @return A list projection of this array.
+   */
+  public DoubleList toDoubleList() {
+    return DoubleList.fromArray(a, a.length);
+  }
+
+  /**
+   * Returns a boxed projection of this array.
+   *
+   * @return A boxed projection of this array.
+   */
+  public Array<Double> toArray() {
+    final Object[] bs = new Object[a.length];
+    for (int i = 0; i < a.length; i++)
+      bs[i] = a[i];
+    return Array.mkArray(bs);
+  }
+
+  /**
+   * Returns a boxed list of the elements of this array.
+   *
+   * @return A boxed list of the elements of this array.
+   */
+  public List<Double> toList() {
+    List<Double> xs = List.nil();
+    for (int i = a.length - 1; i >= 0; i--)
+      xs = xs.cons(a[i]);
+    return xs;
+  }
+
+  /**
+   * Returns an empty array.
+   *
+   * @return An empty array.
+   */
+  public static DoubleArray empty() {
+    return empty;
+  }
+
+  /**
+   * Constructs an array from the given elements. The elements are copied.
+   *
+   * @param as The elements to construct the array with.
+   * @return A new array of the given elements.
+   */
+  public static DoubleArray doubleArray(final double... as) {
+    return mkDoubleArray(as.clone());
+  }
+
+  /**
+   * Takes the given iterable to an array.
+   *
+   * @param i The iterable to take to an array.
+   * @return An array from the given iterable.
+   */
+  public static DoubleArray iterableDoubleArray(final Iterable<Double> i) {
+    double[] bs = new double[16];
+    int n = 0;
+    for (final Double x : i) {
+      if (n == bs.length)
+        bs = copyOf(bs, n * 2);
+      bs[n++] = x;
+    }
+    return mkDoubleArray(copyOf(bs, n));
+  }
+
+  // A copy of the first n elements of the given array, padded with zeros if it is shorter.
+  private static double[] copyOf(final double[] a, final int n) {
+    final double[] bs = new double[n];
+    System.arraycopy(a, 0, bs, 0, Math.min(a.length, n));
+    return bs;
+  }
+}
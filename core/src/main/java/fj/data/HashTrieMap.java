@@ -0,0 +1,581 @@
+package fj.data;
+
+import fj.Equal;
+import fj.F;
+import fj.Hash;
+import fj.P2;
+
+import static fj.P.p;
+import static fj.data.Option.some;
+import static java.lang.System.arraycopy;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable, in-memory hash map, implemented as a hash array mapped trie. Each level of the trie consumes five
+ * bits of a key's hash, so lookups, updates and deletions take <em>O(log<sub>32</sub> n)</em> steps, and updated
+ * maps share all untouched nodes with the map they were derived from. Keys are compared with the given equality
+ * and hashing strategies, and keys with equal hashes are kept in collision nodes.
+ * <p/>
+ * A {@link Builder} modifies a trie in place while it is being built, and is the efficient way to construct a map
+ * from many entries.
+ *
+ * @version %build.number%
+ */
+public final class HashTrieMap<K, V> implements Iterable<P2<K, V>> {
+  private final Equal<K> e;
+  private final Hash<K> h;
+  private final Node<K, V> root;
+  private final int size;
+
+  private HashTrieMap(final Equal<K> e, final Hash<K> h, final Node<K, V> root, final int size) {
+    this.e = e;
+    this.h = h;
+    this.root = root;
+    this.size = size;
+  }
+
+  /**
+   * Constructs an empty hash map.
+   *
+   * @param e The equality strategy for the keys.
+   * @param h The hashing strategy for the keys.
+   * @return An empty hash map with the given equality and hashing strategies.
+   */
+  public static <K, V> HashTrieMap<K, V> empty(final Equal<K> e, final Hash<K> h) {
+    return new HashTrieMap<K, V>(e, h, null, 0);
+  }
+
+  /**
+   * Constructs a hash map from the given key-value pairs. Later pairs replace earlier pairs with equal keys.
+   *
+   * @param e  The equality strategy for the keys.
+   * @param h  The hashing strategy for the keys.
+   * @param as The key-value pairs of the new hash map.
+   * @return A hash map with the given key-value pairs.
+   */
+  public static <K, V> HashTrieMap<K, V> iterableHashTrieMap(final Equal<K> e, final Hash<K> h,
+                                                             final Iterable<P2<K, V>> as) {
+    final Builder<K, V> b = HashTrieMap.<K, V>empty(e, h).builder();
+    for (final P2<K, V> a : as)
+      b.set(a._1(), a._2());
+    return b.build();
+  }
+
+  /**
+   * Returns a potential value that the given key maps to.
+   *
+   * @param k The key to look up in this hash map.
+   * @return A potential value for the given key.
+   */
+  public Option<V> get(final K k) {
+    final Leaf<K, V> l = root == null ? null : root.find(0, hash(k), k, e);
+    return l == null ? Option.<V>none() : some(l.v);
+  }
+
+  /**
+   * Returns a first-class version of the get method for this hash map.
+   *
+   * @return a functional representation of this hash map.
+   */
+  public F<K, Option<V>> get() {
+    return new F<K, Option<V>>() {
+      public Option<V> f(final K k) {
+        return get(k);
+      }
+    };
+  }
+
+  /**
+   * Determines if the given key exists in this hash map.
+   *
+   * @param k The key to look for in this hash map.
+   * @return <code>true</code> if this hash map contains the given key, <code>false</code> otherwise.
+   */
+  public boolean contains(final K k) {
+    return root != null && root.find(0, hash(k), k, e) != null;
+  }
+
+  /**
+   * Associates the given value with the given key, replacing any value the key already maps to.
+   *
+   * @param k The key to insert.
+   * @param v The value to insert.
+   * @return A new hash map with the given value mapped to the given key.
+   */
+  public HashTrieMap<K, V> set(final K k, final V v) {
+    final boolean[] added = new boolean[1];
+    final int hk = hash(k);
+    final Node<K, V> n = root == null ? new Leaf<K, V>(hk, k, v) : root.set(null, 0, hk, k, v, e, added);
+    return n == root ? this : new HashTrieMap<K, V>(e, h, n, root == null || added[0] ? size + 1 : size);
+  }
+
+  /**
+   * Deletes the entry that corresponds to the given key.
+   *
+   * @param k The key to delete from this hash map.
+   * @return A new hash map without an entry for the given key.
+   */
+  public HashTrieMap<K, V> delete(final K k) {
+    if (root == null)
+      return this;
+    final Node<K, V> n = root.delete(null, 0, hash(k), k, e, new boolean[1]);
+    return n == root ? this : new HashTrieMap<K, V>(e, h, n, size - 1);
+  }
+
+  /**
+   * Modifies the value for the given key, if present, by applying the given function to it.
+   *
+   * @param k The key for the value to modify.
+   * @param f A function with which to modify the value.
+   * @return A new hash map with the value for the given key transformed by the given function,
+   *         paired with True if the map was modified, otherwise False.
+   */
+  public P2<Boolean, HashTrieMap<K, V>> update(final K k, final F<V, V> f) {
+    final Option<V> v = get(k);
+    return v.isSome() ? p(true, set(k, f.f(v.some()))) : p(false, this);
+  }
+
+  /**
+   * Returns the number of entries in this hash map. This is a constant time operation.
+   *
+   * @return The number of entries in this hash map.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Determines if this hash map has any entries.
+   *
+   * @return <code>true</code> if this hash map has no entries, <code>false</code> otherwise.
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns all keys in this hash map.
+   *
+   * @return All keys in this hash map.
+   */
+  public List<K> keys() {
+    final List.Buffer<K> b = List.Buffer.empty();
+    for (final Leaf<K, V> l : leaves())
+      b.snoc(l.k);
+    return b.toList();
+  }
+
+  /**
+   * Returns all values in this hash map.
+   *
+   * @return All values in this hash map.
+   */
+  public List<V> values() {
+    final List.Buffer<V> b = List.Buffer.empty();
+    for (final Leaf<K, V> l : leaves())
+      b.snoc(l.v);
+    return b.toList();
+  }
+
+  /**
+   * Returns an iterator for this map's key-value pairs.
+   * This method exists to permit the use in a <code>for</code>-each loop.
+   *
+   * @return A iterator for this map's key-value pairs.
+   */
+  public Iterator<P2<K, V>> iterator() {
+    final Iterator<Leaf<K, V>> i = leaves().iterator();
+    return new Iterator<P2<K, V>>() {
+      public boolean hasNext() {
+        return i.hasNext();
+      }
+
+      public P2<K, V> next() {
+        final Leaf<K, V> l = i.next();
+        return p(l.k, l.v);
+      }
+
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+    };
+  }
+
+  /**
+   * Returns a builder initialised with the entries of this hash map. The builder modifies its trie in place, and
+   * this hash map is not affected by changes to the builder.
+   *
+   * @return A builder initialised with the entries of this hash map.
+   */
+  public Builder<K, V> builder() {
+    return new Builder<K, V>(this);
+  }
+
+  /**
+   * A transient hash map that is modified in place, for building a hash map from many entries. Nodes that the
+   * builder has copied belong to it and are updated without copying them again, until {@link #build()} is called.
+   */
+  public static final class Builder<K, V> {
+    private final Equal<K> e;
+    private final Hash<K> h;
+    private Node<K, V> root;
+    private int size;
+    private Object edit = new Object();
+
+    private Builder(final HashTrieMap<K, V> m) {
+      e = m.e;
+      h = m.h;
+      root = m.root;
+      size = m.size;
+    }
+
+    /**
+     * Associates the given value with the given key in this builder.
+     *
+     * @param k The key to insert.
+     * @param v The value to insert.
+     * @return This builder.
+     */
+    public Builder<K, V> set(final K k, final V v) {
+      final boolean[] added = new boolean[1];
+      final int hk = spread(h.hash(k));
+      if (root == null) {
+        root = new Leaf<K, V>(hk, k, v);
+        size++;
+      } else {
+        root = root.set(edit, 0, hk, k, v, e, added);
+        if (added[0])
+          size++;
+      }
+      return this;
+    }
+
+    /**
+     * Deletes the entry for the given key from this builder.
+     *
+     * @param k The key to delete.
+     * @return This builder.
+     */
+    public Builder<K, V> delete(final K k) {
+      if (root != null) {
+        final boolean[] removed = new boolean[1];
+        root = root.delete(edit, 0, spread(h.hash(k)), k, e, removed);
+        if (removed[0])
+          size--;
+      }
+      return this;
+    }
+
+    /**
+     * Returns a persistent hash map of the entries of this builder. Later changes to the builder copy the nodes
+     * they touch, so they do not affect the returned map.
+     *
+     * @return A persistent hash map of the entries of this builder.
+     */
+    public HashTrieMap<K, V> build() {
+      edit = new Object();
+      return new HashTrieMap<K, V>(e, h, root, size);
+    }
+  }
+
+  private int hash(final K k) {
+    return spread(h.hash(k));
+  }
+
+  // Mixes the high bits into the low bits, which select the branches nearest the root.
+  private static int spread(final int h) {
+    return h ^ h >>> 16;
+  }
+
+  private static int bit(final int hash, final int shift) {
+    return 1 << (hash >>> shift & 31);
+  }
+
+  private Iterable<Leaf<K, V>> leaves() {
+    return new Iterable<Leaf<K, V>>() {
+      public Iterator<Leaf<K, V>> iterator() {
+        return new LeafIterator<K, V>(root);
+      }
+    };
+  }
+
+  private abstract static class Node<K, V> {
+    // Returns the leaf with the given key, or null.
+    abstract Leaf<K, V> find(int shift, int hash, K k, Equal<K> e);
+
+    // Returns the node with the given association. The node is updated in place if it belongs to the given edit.
+    abstract Node<K, V> set(Object edit, int shift, int hash, K k, V v, Equal<K> e, boolean[] added);
+
+    // Returns the node without the given key, or null if the node becomes empty.
+    abstract Node<K, V> delete(Object edit, int shift, int hash, K k, Equal<K> e, boolean[] removed);
+  }
+
+  private static final class Leaf<K, V> extends Node<K, V> {
+    private final int hash;
+    private final K k;
+    private final V v;
+
+    Leaf(final int hash, final K k, final V v) {
+      this.hash = hash;
+      this.k = k;
+      this.v = v;
+    }
+
+    Leaf<K, V> find(final int shift, final int hash, final K k, final Equal<K> e) {
+      return this.hash == hash && e.eq(this.k, k) ? this : null;
+    }
+
+    Node<K, V> set(final Object edit, final int shift, final int hash, final K k, final V v, final Equal<K> e,
+                   final boolean[] added) {
+      if (this.hash == hash && e.eq(this.k, k))
+        return this.v == v ? this : new Leaf<K, V>(hash, k, v);
+      added[0] = true;
+      return merge(edit, shift, this, new Leaf<K, V>(hash, k, v));
+    }
+
+    Node<K, V> delete(final Object edit, final int shift, final int hash, final K k, final Equal<K> e,
+                      final boolean[] removed) {
+      if (this.hash == hash && e.eq(this.k, k)) {
+        removed[0] = true;
+        return null;
+      } else
+        return this;
+    }
+  }
+
+  // Builds the smallest trie holding two leaves with different keys.
+  @SuppressWarnings({"unchecked"})
+  private static <K, V> Node<K, V> merge(final Object edit, final int shift, final Leaf<K, V> a, final Leaf<K, V> b) {
+    if (a.hash == b.hash)
+      return new Collision<K, V>(edit, a.hash, new Leaf[]{a, b});
+    final int ia = a.hash >>> shift & 31;
+    final int ib = b.hash >>> shift & 31;
+    if (ia == ib)
+      return new Bitmap<K, V>(edit, 1 << ia, new Node[]{merge(edit, shift + 5, a, b)});
+    else
+      return new Bitmap<K, V>(edit, 1 << ia | 1 << ib, ia < ib ? new Node[]{a, b} : new Node[]{b, a});
+  }
+
+  private static final class Bitmap<K, V> extends Node<K, V> {
+    private final Object edit;
+    private int bitmap;
+    private Node<K, V>[] nodes;
+
+    Bitmap(final Object edit, final int bitmap, final Node<K, V>[] nodes) {
+      this.edit = edit;
+      this.bitmap = bitmap;
+      this.nodes = nodes;
+    }
+
+    private int index(final int bit) {
+      return Integer.bitCount(bitmap & bit - 1);
+    }
+
+    Leaf<K, V> find(final int shift, final int hash, final K k, final Equal<K> e) {
+      final int bit = bit(hash, shift);
+      return (bitmap & bit) == 0 ? null : nodes[index(bit)].find(shift + 5, hash, k, e);
+    }
+
+    @SuppressWarnings({"unchecked"})
+    Node<K, V> set(final Object edit, final int shift, final int hash, final K k, final V v, final Equal<K> e,
+                   final boolean[] added) {
+      final int bit = bit(hash, shift);
+      final int i = index(bit);
+      if ((bitmap & bit) == 0) {
+        added[0] = true;
+        final Node<K, V>[] ns = new Node[nodes.length + 1];
+        arraycopy(nodes, 0, ns, 0, i);
+        ns[i] = new Leaf<K, V>(hash, k, v);
+        arraycopy(nodes, i, ns, i + 1, nodes.length - i);
+        if (owned(edit)) {
+          bitmap |= bit;
+          nodes = ns;
+          return this;
+        } else
+          return new Bitmap<K, V>(edit, bitmap | bit, ns);
+      } else {
+        final Node<K, V> n = nodes[i].set(edit, shift + 5, hash, k, v, e, added);
+        return n == nodes[i] ? this : with(edit, i, n);
+      }
+    }
+
+    @SuppressWarnings({"unchecked"})
+    Node<K, V> delete(final Object edit, final int shift, final int hash, final K k, final Equal<K> e,
+                      final boolean[] removed) {
+      final int bit = bit(hash, shift);
+      if ((bitmap & bit) == 0)
+        return this;
+      final int i = index(bit);
+      final Node<K, V> n = nodes[i].delete(edit, shift + 5, hash, k, e, removed);
+      if (!removed[0])
+        return this;
+      else if (n != null)
+        return nodes.length == 1 && n instanceof Leaf ? n : with(edit, i, n);
+      else if (nodes.length == 1)
+        return null;
+      else if (nodes.length == 2 && nodes[1 - i] instanceof Leaf)
+        // A single remaining leaf can take the place of this node.
+        return nodes[1 - i];
+      else {
+        final Node<K, V>[] ns = new Node[nodes.length - 1];
+        arraycopy(nodes, 0, ns, 0, i);
+        arraycopy(nodes, i + 1, ns, i, nodes.length - i - 1);
+        if (owned(edit)) {
+          bitmap ^= bit;
+          nodes = ns;
+          return this;
+        } else
+          return new Bitmap<K, V>(edit, bitmap ^ bit, ns);
+      }
+    }
+
+    private Node<K, V> with(final Object edit, final int i, final Node<K, V> n) {
+      if (owned(edit)) {
+        nodes[i] = n;
+        return this;
+      } else {
+        final Node<K, V>[] ns = nodes.clone();
+        ns[i] = n;
+        return new Bitmap<K, V>(edit, bitmap, ns);
+      }
+    }
+
+    private boolean owned(final Object edit) {
+      return edit != null && edit == this.edit;
+    }
+  }
+
+  private static final class Collision<K, V> extends Node<K, V> {
+    private final Object edit;
+    private final int hash;
+    private Leaf<K, V>[] leaves;
+
+    Collision(final Object edit, final int hash, final Leaf<K, V>[] leaves) {
+      this.edit = edit;
+      this.hash = hash;
+      this.leaves = leaves;
+    }
+
+    private int indexOf(final K k, final Equal<K> e) {
+      for (int i = 0; i < leaves.length; i++)
+        if (e.eq(leaves[i].k, k))
+          return i;
+      return -1;
+    }
+
+    Leaf<K, V> find(final int shift, final int hash, final K k, final Equal<K> e) {
+      if (hash != this.hash)
+        return null;
+      final int i = indexOf(k, e);
+      return i < 0 ? null : leaves[i];
+    }
+
+    @SuppressWarnings({"unchecked"})
+    Node<K, V> set(final Object edit, final int shift, final int hash, final K k, final V v, final Equal<K> e,
+                   final boolean[] added) {
+      if (hash != this.hash)
+        // The new key branches off above the level where these keys collide.
+        return new Bitmap<K, V>(edit, bit(this.hash, shift), new Node[]{this}).set(edit, shift, hash, k, v, e, added);
+      final int i = indexOf(k, e);
+      final Leaf<K, V>[] ls;
+      if (i < 0) {
+        added[0] = true;
+        ls = new Leaf[leaves.length + 1];
+        arraycopy(leaves, 0, ls, 0, leaves.length);
+        ls[leaves.length] = new Leaf<K, V>(hash, k, v);
+      } else if (leaves[i].v == v)
+        return this;
+      else {
+        ls = leaves.clone();
+        ls[i] = new Leaf<K, V>(hash, k, v);
+      }
+      if (edit != null && edit == this.edit) {
+        leaves = ls;
+        return this;
+      } else
+        return new Collision<K, V>(edit, hash, ls);
+    }
+
+    @SuppressWarnings({"unchecked"})
+    Node<K, V> delete(final Object edit, final int shift, final int hash, final K k, final Equal<K> e,
+                      final boolean[] removed) {
+      final int i = hash == this.hash ? indexOf(k, e) : -1;
+      if (i < 0)
+        return this;
+      removed[0] = true;
+      if (leaves.length == 2)
+        return leaves[1 - i];
+      else {
+        final Leaf<K, V>[] ls = new Leaf[leaves.length - 1];
+        arraycopy(leaves, 0, ls, 0, i);
+        arraycopy(leaves, i + 1, ls, i, leaves.length - i - 1);
+        return new Collision<K, V>(edit, hash, ls);
+      }
+    }
+  }
+
+  // Walks the leaves of a trie depth first, with an explicit stack of nodes and positions.
+  private static final class LeafIterator<K, V> implements Iterator<Leaf<K, V>> {
+    // Seven bitmap levels consume the 32 bits of a hash, then a collision node may follow.
+    private final Object[] nodes = new Object[9];
+    private final int[] positions = new int[9];
+    private int depth = -1;
+    private Leaf<K, V> next;
+
+    LeafIterator(final Node<K, V> root) {
+      if (root != null)
+        descend(root);
+    }
+
+    private void descend(final Node<K, V> n) {
+      if (n instanceof Leaf)
+        next = (Leaf<K, V>) n;
+      else {
+        depth++;
+        nodes[depth] = n;
+        positions[depth] = 0;
+        advance();
+      }
+    }
+
+    @SuppressWarnings({"unchecked"})
+    private void advance() {
+      next = null;
+      while (depth >= 0) {
+        final Object n = nodes[depth];
+        final Object[] children = n instanceof Bitmap ? ((Bitmap<K, V>) n).nodes : ((Collision<K, V>) n).leaves;
+        if (positions[depth] == children.length)
+          depth--;
+        else {
+          final Node<K, V> c = (Node<K, V>) children[positions[depth]++];
+          if (c instanceof Leaf) {
+            next = (Leaf<K, V>) c;
+            return;
+          } else {
+            depth++;
+            nodes[depth] = c;
+            positions[depth] = 0;
+          }
+        }
+      }
+    }
+
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    public Leaf<K, V> next() {
+      if (next == null)
+        throw new NoSuchElementException();
+      final Leaf<K, V> l = next;
+      advance();
+      return l;
+    }
+
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
@@ -0,0 +1,211 @@
+package fj.data;
+
+import fj.Equal;
+import fj.F;
+import fj.Hash;
+import fj.P2;
+import fj.Unit;
+
+import static fj.Unit.unit;
+
+import java.util.Iterator;
+
+/**
+ * An immutable, in-memory hash set, backed by a {@link HashTrieMap}. Membership tests, insertions and deletions
+ * take <em>O(log<sub>32</sub> n)</em> steps, and updated sets share structure with the set they were derived from.
+ *
+ * @version %build.number%
+ */
+public final class HashTrieSet<A> implements Iterable<A> {
+  private final HashTrieMap<A, Unit> m;
+
+  private HashTrieSet(final HashTrieMap<A, Unit> m) {
+    this.m = m;
+  }
+
+  /**
+   * Constructs an empty hash set.
+   *
+   * @param e The equality strategy for the elements.
+   * @param h The hashing strategy for the elements.
+   * @return An empty hash set with the given equality and hashing strategies.
+   */
+  public static <A> HashTrieSet<A> empty(final Equal<A> e, final Hash<A> h) {
+    return new HashTrieSet<A>(HashTrieMap.<A, Unit>empty(e, h));
+  }
+
+  /**
+   * Constructs a hash set from the given elements.
+   *
+   * @param e  The equality strategy for the elements.
+   * @param h  The hashing strategy for the elements.
+   * @param as The elements of the new hash set.
+   * @return A hash set with the given elements.
+   */
+  public static <A> HashTrieSet<A> iterableHashTrieSet(final Equal<A> e, final Hash<A> h, final Iterable<A> as) {
+    final Builder<A> b = HashTrieSet.<A>empty(e, h).builder();
+    for (final A a : as)
+      b.insert(a);
+    return b.build();
+  }
+
+  /**
+   * Determines if the given element is a member of this hash set.
+   *
+   * @param a The element to look for in this hash set.
+   * @return <code>true</code> if this hash set contains the given element, <code>false</code> otherwise.
+   */
+  public boolean member(final A a) {
+    return m.contains(a);
+  }
+
+  /**
+   * First-class membership check.
+   *
+   * @return A function that returns true if the given element is a member of this hash set.
+   */
+  public F<A, Boolean> member() {
+    return new F<A, Boolean>() {
+      public Boolean f(final A a) {
+        return member(a);
+      }
+    };
+  }
+
+  /**
+   * Inserts the given element into this hash set.
+   *
+   * @param a The element to insert.
+   * @return A new hash set with the given element inserted.
+   */
+  public HashTrieSet<A> insert(final A a) {
+    return m.contains(a) ? this : new HashTrieSet<A>(m.set(a, unit()));
+  }
+
+  /**
+   * Deletes the given element from this hash set.
+   *
+   * @param a The element to delete.
+   * @return A new hash set without the given element.
+   */
+  public HashTrieSet<A> delete(final A a) {
+    final HashTrieMap<A, Unit> d = m.delete(a);
+    return d == m ? this : new HashTrieSet<A>(d);
+  }
+
+  /**
+   * Adds all the elements of the given hash set to this hash set.
+   *
+   * @param s The hash set of elements to add.
+   * @return A new hash set with the elements of both sets.
+   */
+  public HashTrieSet<A> union(final HashTrieSet<A> s) {
+    if (s.size() > size())
+      return s.union(this);
+    final Builder<A> b = builder();
+    for (final A a : s)
+      b.insert(a);
+    return b.build();
+  }
+
+  /**
+   * Returns the number of elements in this hash set. This is a constant time operation.
+   *
+   * @return The number of elements in this hash set.
+   */
+  public int size() {
+    return m.size();
+  }
+
+  /**
+   * Determines if this hash set has any elements.
+   *
+   * @return <code>true</code> if this hash set has no elements, <code>false</code> otherwise.
+   */
+  public boolean isEmpty() {
+    return m.isEmpty();
+  }
+
+  /**
+   * Returns a list of the elements of this hash set.
+   *
+   * @return A list of the elements of this hash set.
+   */
+  public List<A> toList() {
+    return m.keys();
+  }
+
+  /**
+   * Returns an iterator for this hash set. This method exists to permit the use in a <code>for</code>-each loop.
+   *
+   * @return A iterator for this hash set.
+   */
+  public Iterator<A> iterator() {
+    final Iterator<P2<A, Unit>> i = m.iterator();
+    return new Iterator<A>() {
+      public boolean hasNext() {
+        return i.hasNext();
+      }
+
+      public A next() {
+        return i.next()._1();
+      }
+
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+    };
+  }
+
+  /**
+   * Returns a builder initialised with the elements of this hash set. The builder modifies its trie in place, and
+   * this hash set is not affected by changes to the builder.
+   *
+   * @return A builder initialised with the elements of this hash set.
+   */
+  public Builder<A> builder() {
+    return new Builder<A>(m.builder());
+  }
+
+  /**
+   * A transient hash set that is modified in place, for building a hash set from many elements.
+   */
+  public static final class Builder<A> {
+    private final HashTrieMap.Builder<A, Unit> b;
+
+    private Builder(final HashTrieMap.Builder<A, Unit> b) {
+      this.b = b;
+    }
+
+    /**
+     * Inserts the given element into this builder.
+     *
+     * @param a The element to insert.
+     * @return This builder.
+     */
+    public Builder<A> insert(final A a) {
+      b.set(a, unit());
+      return this;
+    }
+
+    /**
+     * Deletes the given element from this builder.
+     *
+     * @param a The element to delete.
+     * @return This builder.
+     */
+    public Builder<A> delete(final A a) {
+      b.delete(a);
+      return this;
+    }
+
+    /**
+     * Returns a persistent hash set of the elements of this builder.
+     *
+     * @return A persistent hash set of the elements of this builder.
+     */
+    public HashTrieSet<A> build() {
+      return new HashTrieSet<A>(b.build());
+    }
+  }
+}
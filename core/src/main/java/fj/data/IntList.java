@@ -0,0 +1,375 @@
+package fj.data;
+
+import fj.IntMonoid;
+import fj.function.IntF;
+import fj.function.IntF2;
+import fj.function.IntPredicate;
+import static fj.Bottom.error;
+
+import java.util.Arrays;
+
+/**
+ * Provides an in-memory, immutable, singly linked list of unboxed <code>int</code> values. Maps,
+ * filters and folds operate directly on the primitive values, so no element is boxed and no curried
+ * function is allocated.
+ *
+ * @version %build.number%
+ */
+public abstract class IntList {
+  private IntList() {
+
+  }
+
+  private static final IntList nil = new Nil();
+
+  /**
+   * The first element of the linked list or fails for the empty list.
+   *
+   * @return The first element of the linked list or fails for the empty list.
+   */
+  public abstract int head();
+
+  /**
+   * The list without the first element or fails for the empty list.
+   *
+   * @return The list without the first element or fails for the empty list.
+   */
+  public abstract IntList tail();
+
+  /**
+   * The length of this list. This function runs in constant time.
+   *
+   * @return The length of this list.
+   */
+  public abstract int length();
+
+  /**
+   * Returns <code>true</code> if this list is empty, <code>false</code> otherwise.
+   *
+   * @return <code>true</code> if this list is empty, <code>false</code> otherwise.
+   */
+  public final boolean isEmpty() {
+    return this == nil;
+  }
+
+  /**
+   * Returns <code>false</code> if this list is empty, <code>true</code> otherwise.
+   *
+   * @return <code>false</code> if this list is empty, <code>true</code> otherwise.
+   */
+  public final boolean isNotEmpty() {
+    return this != nil;
+  }
+
+  /**
+   * Prepends (cons) the given element to this list to product a new list.
+   *
+   * @param a The element to prepend.
+   * @return A new list with the given element at the head.
+   */
+  public final IntList cons(final int a) {
+    return new Cons(a, this);
+  }
+
+  /**
+   * Returns the element at the given index if it exists, fails otherwise.
+   *
+   * @param i The index at which to get the element to return.
+   * @return The element at the given index if it exists, fails otherwise.
+   */
+  public final int index(final int i) {
+    if (i < 0 || i > length() - 1)
+      throw error("index " + i + " out of range on list with length " + length());
+    else {
+      IntList xs = this;
+
+      for (int c = 0; c < i; c++) {
+        xs = xs.tail();
+      }
+
+      return xs.head();
+    }
+  }
+
+  /**
+   * Maps the given function across this list.
+   *
+   * @param f The function to map across this list.
+   * @return A new list after the given function has been applied to each element.
+   */
+  public final IntList map(final IntF f) {
+    final int[] bs = new int[length()];
+    int n = 0;
+    for (IntList xs = this; xs.isNotEmpty(); xs = xs.tail())
+      bs[n++] = f.f(xs.head());
+    return fromArray(bs, n);
+  }
+
+  /**
+   * Filters elements from this list by returning only elements which produce <code>true</code> when
+   * the given function is applied to them.
+   *
+   * @param p The predicate function to filter on.
+   * @return A new list whose elements all match the given predicate.
+   */
+  public final IntList filter(final IntPredicate p) {
+    final int[] bs = new int[length()];
+    int n = 0;
+    for (IntList xs = this; xs.isNotEmpty(); xs = xs.tail())
+      if (p.f(xs.head()))
+        bs[n++] = xs.head();
+    return n == bs.length ? this : fromArray(bs, n);
+  }
+
+  /**
+   * Performs a left-fold reduction across this list. This function runs in constant space.
+   *
+   * @param f The function to apply on each element of the list.
+   * @param b The beginning value to start the application from.
+   * @return The final result after the left-fold reduction.
+   */
+  public final int foldLeft(final IntF2 f, final int b) {
+    int x = b;
+    for (IntList xs = this; xs.isNotEmpty(); xs = xs.tail())
+      x = f.f(x, xs.head());
+    return x;
+  }
+
+  /**
+   * Performs a right-fold reduction across this list. This function runs in constant stack space.
+   *
+   * @param f The function to apply on each element of the list.
+   * @param b The beginning value to start the application from.
+   * @return The final result after the right-fold reduction.
+   */
+  public final int foldRight(final IntF2 f, final int b) {
+    final int[] as = array();
+    int x = b;
+    for (int i = as.length - 1; i >= 0; i--)
+      x = f.f(as[i], x);
+    return x;
+  }
+
+  /**
+   * Sums the elements of this list using the given monoid.
+   *
+   * @param m The monoid to sum the elements with.
+   * @return The sum of the elements of this list according to the given monoid.
+   */
+  public final int fold(final IntMonoid m) {
+    return foldLeft(m.sum(), m.zero());
+  }
+
+  /**
+   * Returns the sum of the elements of this list.
+   *
+   * @return The sum of the elements of this list.
+   */
+  public final int sum() {
+    int x = 0;
+    for (IntList xs = this; xs.isNotEmpty(); xs = xs.tail())
+      x += xs.head();
+    return x;
+  }
+
+  /**
+   * Returns <code>true</code> if the predicate holds for all of the elements of this list,
+   * <code>false</code> otherwise (<code>true</code> for the empty list).
+   *
+   * @param p The predicate function to test on each element of this list.
+   * @return <code>true</code> if the predicate holds for all of the elements of this list.
+   */
+  public final boolean forall(final IntPredicate p) {
+    for (IntList xs = this; xs.isNotEmpty(); xs = xs.tail())
+      if (!p.f(xs.head()))
+        return false;
+    return true;
+  }
+
+  /**
+   * Returns <code>true</code> if the predicate holds for at least one of the elements of this list,
+   * <code>false</code> otherwise (<code>false</code> for the empty list).
+   *
+   * @param p The predicate function to test on the elements of this list.
+   * @return <code>true</code> if the predicate holds for at least one of the elements of this list.
+   */
+  public final boolean exists(final IntPredicate p) {
+    for (IntList xs = this; xs.isNotEmpty(); xs = xs.tail())
+      if (p.f(xs.head()))
+        return true;
+    return false;
+  }
+
+  /**
+   * Reverse this list in constant stack space.
+   *
+   * @return A new list that is the reverse of this one.
+   */
+  public final IntList reverse() {
+    IntList ys = nil;
+    for (IntList xs = this; xs.isNotEmpty(); xs = xs.tail())
+      ys = ys.cons(xs.head());
+    return ys;
+  }
+
+  /**
+   * Appends the given list to this list. The given list is shared rather than copied.
+   *
+   * @param as The list to append to this one.
+   * @return A new list that has appended the given list.
+   */
+  public final IntList append(final IntList as) {
+    final int[] bs = array();
+    IntList ys = as;
+    for (int i = bs.length - 1; i >= 0; i--)
+      ys = ys.cons(bs[i]);
+    return ys;
+  }
+
+  /**
+   * Returns a new list with the elements of this list in ascending order.
+   *
+   * @return A new list with the elements of this list in ascending order.
+   */
+  public final IntList sort() {
+    final int[] bs = array();
+    Arrays.sort(bs);
+    return fromArray(bs, bs.length);
+  }
+
+  /**
+   * Returns a new primitive array of the elements of this list.
+   *
+   * @return A new primitive array of the elements of this list.
+   */
+  public final int[] array() {
+    final int[] bs = new int[length()];
+    int n = 0;
+    for (IntList xs = this; xs.isNotEmpty(); xs = xs.tail())
+      bs[n++] = xs.head();
+    return bs;
+  }
+
+  /**
+   * Returns an array projection of this list.
+   *
+   * @return An array projection of this list.
+   */
+  public final IntArray toIntArray() {
+    return IntArray.mkIntArray(array());
+  }
+
+  /**
+   * Returns a boxed list of the elements of this list.
+   *
+   * @return A boxed list of the elements of this list.
+   */
+  public final List<Integer> toList() {
+    final List.Buffer<Integer> b = new List.Buffer<Integer>();
+    for (IntList xs = this; xs.isNotEmpty(); xs = xs.tail())
+      b.snoc(xs.head());
+    return b.toList();
+  }
+
+  // Builds a list of the first n elements of the given array.
+  static IntList fromArray(final int[] as, final int n) {
+    IntList xs = nil;
+    for (int i = n - 1; i >= 0; i--)
+      xs = new Cons(as[i], xs);
+    return xs;
+  }
+
+  private static final class Nil extends IntList {
+    public int head() {
+      throw error("head on empty list");
+    }
+
+    public IntList tail() {
+      throw error("tail on empty list");
+    }
+
+    public int length() {
+      return 0;
+    }
+  }
+
+  private static final class Cons extends IntList {
+    private final int head;
+    private final IntList tail;
+    private final int size;
+
+    Cons(final int head, final IntList tail) {
+      this.head = head;
+      this.tail = tail;
+      size = tail.length() + 1;
+    }
+
+    public int head() {
+      return head;
+    }
+
+    public IntList tail() {
+      return tail;
+    }
+
+    public int length() {
+      return size;
+    }
+  }
+
+  /**
+   * Returns an empty list.
+   *
+   * @return An empty list.
+   */
+  public static IntList nil() {
+    return nil;
+  }
+
+  /**
+   * Prepends the given head element to the given tail element to produce a new list.
+   *
+   * @param head The element to prepend.
+   * @param tail The list to prepend to.
+   * @return The list with the given element prepended.
+   */
+  public static IntList cons(final int head, final IntList tail) {
+    return new Cons(head, tail);
+  }
+
+  /**
+   * Constructs a list from the given elements.
+   *
+   * @param as The elements to construct a list with.
+   * @return A list with the given elements.
+   */
+  public static IntList intList(final int... as) {
+    return fromArray(as, as.length);
+  }
+
+  /**
+   * Returns a list of integers from the given <code>from</code> value (inclusive) to the given
+   * <code>to</code> value (exclusive).
+   *
+   * @param from The minimum value for the list (inclusive).
+   * @param to   The maximum value for the list (exclusive).
+   * @return A list of integers from the given <code>from</code> value (inclusive) to the given
+   *         <code>to</code> value (exclusive).
+   */
+  public static IntList range(final int from, final int to) {
+    IntList xs = nil;
+    for (int x = to; x > from; )
+      xs = new Cons(--x, xs);
+    return xs;
+  }
+
+  /**
+   * Takes the given iterable to a list.
+   *
+   * @param i The iterable to take to a list.
+   * @return A list from the given iterable.
+   */
+  public static IntList iterableIntList(final Iterable<Integer> i) {
+    return IntArray.iterableIntArray(i).toIntList();
+  }
+}
@@ -108,7 +108,10 @@ public final class LazyString implements CharSequence {
    * @return The String representation of this lazy string.
    */
   public String toString() {
-    return new StringBuilder(this).toString();
+    final StringBuilder b = new StringBuilder();
+    for (Stream<Character> cs = s; cs.isNotEmpty(); cs = cs.tail()._1())
+      b.append(cs.head().charValue());
+    return b.toString();
   }
 
   /**
@@ -13,6 +13,7 @@ import fj.P;
 import fj.P1;
 import fj.P2;
 import fj.Unit;
+import fj.control.parallel.Strategy;
 import static fj.Function.curry;
 import static fj.Function.constant;
 import static fj.Function.identity;
@@ -70,21 +71,11 @@ public abstract class List<A> implements Iterable<A> {
   public abstract List<A> tail();
 
   /**
-   * The length of this list.
+   * The length of this list. This is a constant time operation.
    *
    * @return The length of this list.
    */
-  public final int length() {
-    return foldLeft(new F<Integer, F<A, Integer>>() {
-      public F<A, Integer> f(final Integer i) {
-        return new F<A, Integer>() {
-          public Integer f(final A a) {
-            return i + 1;
-          }
-        };
-      }
-    }, 0);
-  }
+  public abstract int length();
 
   /**
    * Returns <code>true</code> if this list is empty, <code>false</code> otherwise.
@@ -162,16 +153,21 @@ public abstract class List<A> implements Iterable<A> {
    * @return A stream projection of this list.
    */
   public final Stream<A> toStream() {
-    final Stream<A> nil = Stream.nil();
-    return foldRight(new F<A, F<Stream<A>, Stream<A>>>() {
-      public F<Stream<A>, Stream<A>> f(final A a) {
-        return new F<Stream<A>, Stream<A>>() {
-          public Stream<A> f(final Stream<A> as) {
-            return as.cons(a);
-          }
-        };
+    return isEmpty() ? Stream.<A>nil() : Stream.cons(head(), new P1<Stream<A>>() {
+      public Stream<A> _1() {
+        return tail().toStream();
       }
-    }, nil);
+    });
+  }
+
+  /**
+   * Returns a lazy view of this list. Maps, filters and the like on the view are fused into a single
+   * pass over this list that runs only when the view is folded or converted.
+   *
+   * @return A lazy view of this list.
+   */
+  public final View<A> view() {
+    return View.listView(this);
   }
 
   /**
@@ -179,16 +175,8 @@ public abstract class List<A> implements Iterable<A> {
    *
    * @return A array projection of this list.
    */
-  @SuppressWarnings({"unchecked"})
   public final Array<A> toArray() {
-    final Object[] a = new Object[length()];
-    List<A> x = this;
-    for (int i = 0; i < length(); i++) {
-      a[i] = x.head();
-      x = x.tail();
-    }
-
-    return mkArray(a);
+    return mkArray(toObjectArray());
   }
 
   /**
@@ -201,7 +189,7 @@ public abstract class List<A> implements Iterable<A> {
   public final Array<A> toArray(final Class<A[]> c) {
     final A[] a = (A[]) java.lang.reflect.Array.newInstance(c.getComponentType(), length());
     List<A> x = this;
-    for (int i = 0; i < length(); i++) {
+    for (int i = 0; i < a.length; i++) {
       a[i] = x.head();
       x = x.tail();
     }
@@ -406,12 +394,21 @@ public abstract class List<A> implements Iterable<A> {
    * @return A list of grouped elements.
    */
   public final List<List<A>> group(final Equal<A> e) {
-    if (isEmpty())
-      return nil();
-    else {
-      final P2<List<A>, List<A>> z = tail().span(e.eq(head()));
-      return cons(z._1().cons(head()), z._2().group(e));
+    final Buffer<List<A>> gs = empty();
+    List<A> xs = this;
+
+    while (xs.isNotEmpty()) {
+      final A h = xs.head();
+      final Buffer<A> g = empty();
+      g.snoc(h);
+
+      for (xs = xs.tail(); xs.isNotEmpty() && e.eq(h, xs.head()); xs = xs.tail())
+        g.snoc(xs.head());
+
+      gs.snoc(g.toList());
     }
+
+    return gs.toList();
   }
 
 
@@ -601,22 +598,29 @@ public abstract class List<A> implements Iterable<A> {
    * @return A new list that has appended the given list.
    */
   public final List<A> append(final List<A> as) {
-    return fromList(this).append(as).toList();
+    return isEmpty() ? as : as.isEmpty() ? this : fromList(this).prependToList(as);
   }
 
   /**
-   * Performs a right-fold reduction across this list. This function uses O(length) stack space.
+   * Performs a right-fold reduction across this list. This function runs in constant stack space.
    *
    * @param f The function to apply on each element of the list.
    * @param b The beginning value to start the application from.
    * @return The final result after the right-fold reduction.
    */
+  @SuppressWarnings({"unchecked"})
   public final <B> B foldRight(final F<A, F<B, B>> f, final B b) {
-    return isEmpty() ? b : f.f(head()).f(tail().foldRight(f, b));
+    final Object[] a = toObjectArray();
+    B x = b;
+
+    for (int i = a.length - 1; i >= 0; i--)
+      x = f.f((A) a[i]).f(x);
+
+    return x;
   }
 
   /**
-   * Performs a right-fold reduction across this list. This function uses O(length) stack space.
+   * Performs a right-fold reduction across this list. This function runs in constant stack space.
    *
    * @param f The function to apply on each element of the list.
    * @param b The beginning value to start the application from.
@@ -678,6 +682,94 @@ public abstract class List<A> implements Iterable<A> {
     return tail().foldLeft(f, head());
   }
 
+  /**
+   * Performs a left-fold across this list, accumulating the intermediate results in a new list.
+   * This function runs in constant stack space.
+   *
+   * @param f The function to apply on each element of the list.
+   * @param b The beginning value to start the application from.
+   * @return A list of the results of folding each prefix of this list from the left.
+   */
+  public final <B> List<B> scanLeft(final F<B, F<A, B>> f, final B b) {
+    final Buffer<B> bs = new Buffer<B>();
+    B x = b;
+
+    for (List<A> xs = this; !xs.isEmpty(); xs = xs.tail()) {
+      x = f.f(x).f(xs.head());
+      bs.snoc(x);
+    }
+
+    return bs.toList();
+  }
+
+  /**
+   * Performs a left-fold across this list, accumulating the intermediate results in a new list.
+   * This function runs in constant stack space.
+   *
+   * @param f The function to apply on each element of the list.
+   * @param b The beginning value to start the application from.
+   * @return A list of the results of folding each prefix of this list from the left.
+   */
+  public final <B> List<B> scanLeft(final F2<B, A, B> f, final B b) {
+    return scanLeft(curry(f), b);
+  }
+
+  /**
+   * Performs a left-fold across this list starting from its first element, accumulating the
+   * intermediate results in a new list. This function runs in constant stack space.
+   *
+   * @param f The function to apply on each element of the list.
+   * @return A list of the results of folding each prefix of this list from the left.
+   */
+  public final List<A> scanLeft1(final F<A, F<A, A>> f) {
+    return isEmpty() ? List.<A>nil() : tail().scanLeft(f, head()).cons(head());
+  }
+
+  /**
+   * Performs a left-fold across this list starting from its first element, accumulating the
+   * intermediate results in a new list. This function runs in constant stack space.
+   *
+   * @param f The function to apply on each element of the list.
+   * @return A list of the results of folding each prefix of this list from the left.
+   */
+  public final List<A> scanLeft1(final F2<A, A, A> f) {
+    return scanLeft1(curry(f));
+  }
+
+  /**
+   * Performs a right-fold across this list, accumulating the intermediate results in a new list.
+   * This function runs in constant stack space.
+   *
+   * @param f The function to apply on each element of the list.
+   * @param b The beginning value to start the application from.
+   * @return A list of the results of folding each suffix of this list from the right.
+   */
+  @SuppressWarnings({"unchecked"})
+  public final <B> List<B> scanRight(final F<A, F<B, B>> f, final B b) {
+    final Object[] a = toObjectArray();
+    List<B> bs = nil();
+    B x = b;
+
+    for (int i = a.length - 1; i >= 0; i--) {
+      x = f.f((A) a[i]).f(x);
+      bs = bs.cons(x);
+    }
+
+    return bs;
+  }
+
+  /**
+   * Performs a right-fold across this list, accumulating the intermediate results in a new list.
+   * This function runs in constant stack space.
+   *
+   * @param f The function to apply on each element of the list.
+   * @param b The beginning value to start the application from.
+   * @return A list of the results of folding each suffix of this list from the right.
+   */
+  public final <B> List<B> scanRight(final F2<A, B, B> f, final B b) {
+    return scanRight(curry(f), b);
+  }
+
   /**
    * Reverse this list in constant stack space.
    *
@@ -722,7 +814,18 @@ public abstract class List<A> implements Iterable<A> {
    * @return A new list with a length the same, or less than, this list.
    */
   public final List<A> take(final int i) {
-    return i <= 0 || isEmpty() ? List.<A>nil() : cons(head(), tail().take(i - 1));
+    if (i >= length())
+      return this;
+
+    final Buffer<A> b = empty();
+    int c = 0;
+
+    for (List<A> xs = this; xs.isNotEmpty() && c < i; xs = xs.tail()) {
+      b.snoc(xs.head());
+      c++;
+    }
+
+    return b.toList();
   }
 
   /**
@@ -750,24 +853,16 @@ public abstract class List<A> implements Iterable<A> {
    * @return A pair of lists split at the given index of this list.
    */
   public final P2<List<A>, List<A>> splitAt(final int i) {
-    P2<List<A>, List<A>> s = p(List.<A>nil(), List.<A>nil());
+    final Buffer<A> b = empty();
 
     int c = 0;
-    for (List<A> xs = this; xs.isNotEmpty(); xs = xs.tail()) {
-      final A h = xs.head();
-      s = c < i ? s.map1(new F<List<A>, List<A>>() {
-        public List<A> f(final List<A> as) {
-          return as.snoc(h);
-        }
-      }) : s.map2(new F<List<A>, List<A>>() {
-        public List<A> f(final List<A> as) {
-          return as.snoc(h);
-        }
-      });
+    List<A> xs = this;
+    for (; xs.isNotEmpty() && c < i; xs = xs.tail()) {
+      b.snoc(xs.head());
       c++;
     }
 
-    return s;
+    return p(b.toList(), xs);
   }
 
   /**
@@ -795,10 +890,14 @@ public abstract class List<A> implements Iterable<A> {
    * @return The list of initial segments of this list, shortest first.
    */
   public final List<List<A>> inits() {
-    List<List<A>> s = single(List.<A>nil());
-    if (isNotEmpty())
-      s = s.append(tail().inits().map(List.<A>cons().f(head())));
-    return s;
+    final Buffer<List<A>> s = empty();
+    s.snoc(List.<A>nil());
+
+    int n = 0;
+    for (List<A> xs = this; xs.isNotEmpty(); xs = xs.tail())
+      s.snoc(take(++n));
+
+    return s.toList();
   }
 
   /**
@@ -807,38 +906,107 @@ public abstract class List<A> implements Iterable<A> {
    * @return The list of final segments of this list, longest first.
    */
   public final List<List<A>> tails() {
-    return isEmpty() ? single(List.<A>nil()) : cons(this, tail().tails());
+    final Buffer<List<A>> s = empty();
+
+    for (List<A> xs = this; xs.isNotEmpty(); xs = xs.tail())
+      s.snoc(xs);
+
+    return s.snoc(List.<A>nil()).toList();
   }
 
   /**
-   * Sorts this list using the given order over elements using a <em>merge sort</em> algorithm.
+   * Sorts this list using the given order over elements using a <em>merge sort</em> algorithm. The sort is
+   * stable and uses constant stack space; the elements are sorted in an array and only the resulting list is
+   * allocated.
    *
    * @param o The order over the elements of this list.
    * @return A sorted list according to the given order.
    */
   public final List<A> sort(final Ord<A> o) {
-    if (isEmpty())
-      return nil();
-    else if (tail().isEmpty())
+    if (isEmpty() || tail().isEmpty())
       return this;
     else {
-      final class Merge<A> {
-        List<A> merge(final List<A> xs, final List<A> ys, final Ord<A> o) {
-          return xs.isEmpty() ?
-                 ys :
-                 ys.isEmpty() ?
-                 xs :
-                 o.isLessThan(xs.head(), ys.head()) ?
-                 cons(xs.head(), merge(xs.tail(), ys, o)) :
-                 cons(ys.head(), merge(xs, ys.tail(), o));
-        }
-      }
+      final Object[] a = toObjectArray();
+      Sorting.sort(a, o);
+      return fromObjectArray(a);
+    }
+  }
 
-      final P2<List<A>, List<A>> s = splitAt(length() / 2);
-      return new Merge<A>().merge(s._1().sort(o), s._2().sort(o), o);
+  /**
+   * Sorts this list by the keys the given function computes for its elements, using the given order over keys.
+   * The key of each element is computed once. The sort is stable.
+   *
+   * @param f The function computing the key of each element.
+   * @param o The order over the keys.
+   * @return A list sorted by the keys of its elements.
+   */
+  @SuppressWarnings({"unchecked"})
+  public final <B> List<A> sortBy(final F<A, B> f, final Ord<B> o) {
+    if (isEmpty() || tail().isEmpty())
+      return this;
+    else {
+      final Object[] a = new Object[length()];
+      int i = 0;
+      for (List<A> xs = this; xs.isNotEmpty(); xs = xs.tail())
+        a[i++] = p(f.f(xs.head()), xs.head());
+      Sorting.sort(a, o.comap(P2.<B, A>__1()));
+
+      List<A> r = nil();
+      for (int j = a.length - 1; j >= 0; j--)
+        r = new Cons<A>(((P2<B, A>) a[j])._2(), r);
+      return r;
     }
   }
 
+  /**
+   * Sorts this list using the given order over elements, using a parallel <em>merge sort</em> that uses the given
+   * parallelisation strategy. Chunks of 8192 elements are sorted in parallel and then merged; shorter lists are
+   * sorted sequentially. The sort is stable.
+   *
+   * @param o The order over the elements of this list.
+   * @param s A strategy for parallelising the sort.
+   * @return A sorted list according to the given order.
+   */
+  public final List<A> sort(final Ord<A> o, final Strategy<Unit> s) {
+    return sort(o, s, Sorting.PARALLEL_THRESHOLD);
+  }
+
+  /**
+   * Sorts this list using the given order over elements, using a parallel <em>merge sort</em> that uses the given
+   * parallelisation strategy. Chunks of at most <code>threshold</code> elements are sorted in parallel and then
+   * merged; lists no longer than the threshold are sorted sequentially. The sort is stable.
+   *
+   * @param o         The order over the elements of this list.
+   * @param s         A strategy for parallelising the sort.
+   * @param threshold The number of elements that are sorted sequentially; must be positive.
+   * @return A sorted list according to the given order.
+   */
+  public final List<A> sort(final Ord<A> o, final Strategy<Unit> s, final int threshold) {
+    if (isEmpty() || tail().isEmpty())
+      return this;
+    else {
+      final Object[] a = toObjectArray();
+      Sorting.sort(a, o, s, threshold);
+      return fromObjectArray(a);
+    }
+  }
+
+  private Object[] toObjectArray() {
+    final Object[] a = new Object[length()];
+    int i = 0;
+    for (List<A> xs = this; xs.isNotEmpty(); xs = xs.tail())
+      a[i++] = xs.head();
+    return a;
+  }
+
+  @SuppressWarnings({"unchecked"})
+  static <A> List<A> fromObjectArray(final Object[] a) {
+    List<A> r = nil();
+    for (int i = a.length - 1; i >= 0; i--)
+      r = new Cons<A>((A) a[i], r);
+    return r;
+  }
+
   /**
    * Zips this list with the given list using the given function to produce a new list. If this list
    * and the given list have different lengths, then the longer list is normalised so this function
@@ -849,7 +1017,15 @@ public abstract class List<A> implements Iterable<A> {
    * @return A new list with a length the same as the shortest of this list and the given list.
    */
   public final <B, C> List<C> zipWith(final List<B> bs, final F<A, F<B, C>> f) {
-    return isEmpty() || bs.isEmpty() ? List.<C>nil() : cons(f.f(head()).f(bs.head()), tail().zipWith(bs.tail(), f));
+    final Buffer<C> b = empty();
+
+    List<A> xs = this;
+    for (List<B> ys = bs; xs.isNotEmpty() && ys.isNotEmpty(); ys = ys.tail()) {
+      b.snoc(f.f(xs.head()).f(ys.head()));
+      xs = xs.tail();
+    }
+
+    return b.toList();
   }
 
   /**
@@ -939,7 +1115,12 @@ public abstract class List<A> implements Iterable<A> {
    *         <code>false</code> otherwise.
    */
   public final boolean forall(final F<A, Boolean> f) {
-    return isEmpty() || f.f(head()) && tail().forall(f);
+    for (List<A> xs = this; xs.isNotEmpty(); xs = xs.tail()) {
+      if (!f.f(xs.head()))
+        return false;
+    }
+
+    return true;
   }
 
   /**
@@ -978,9 +1159,16 @@ public abstract class List<A> implements Iterable<A> {
    * @return A list with the given separator interspersed.
    */
   public final List<A> intersperse(final A a) {
-    return isEmpty() || tail().isEmpty() ?
-           this :
-           cons(head(), cons(a, tail().intersperse(a)));
+    if (isEmpty() || tail().isEmpty())
+      return this;
+
+    final Buffer<A> b = empty();
+    b.snoc(head());
+
+    for (List<A> xs = tail(); xs.isNotEmpty(); xs = xs.tail())
+      b.snoc(a).snoc(xs.head());
+
+    return b.toList();
   }
 
   /**
@@ -1010,11 +1198,21 @@ public abstract class List<A> implements Iterable<A> {
    * @return A list without duplicates.
    */
   public final List<A> nub(final Equal<A> eq) {
-    return isEmpty() ? this : cons(head(), tail().filter(new F<A, Boolean>() {
-      public Boolean f(final A a) {
-        return !eq.eq(a, head());
-      }
-    }).nub(eq));
+    final Buffer<A> b = empty();
+
+    for (List<A> xs = this; xs.isNotEmpty(); xs = xs.tail()) {
+      final A h = xs.head();
+      boolean seen = false;
+      for (final A a : b)
+        if (eq.eq(h, a)) {
+          seen = true;
+          break;
+        }
+      if (!seen)
+        b.snoc(h);
+    }
+
+    return b.toList();
   }
 
   /**
@@ -1133,7 +1331,7 @@ public abstract class List<A> implements Iterable<A> {
     List<A> ys = this;
     final Buffer<A> a = empty();
     while(ys.isNotEmpty() && ys.tail().isNotEmpty()) {
-      a.snoc(head());
+      a.snoc(ys.head());
       ys = ys.tail();
     }
     return a.toList();
@@ -1155,7 +1353,7 @@ public abstract class List<A> implements Iterable<A> {
       xs = xs.snoc(ys.head());
       ys = ys.tail();
     }
-    return xs.append(ys.cons(x)).toList();
+    return xs.prependToList(ys.cons(x));
   }
 
   /**
@@ -1175,7 +1373,12 @@ public abstract class List<A> implements Iterable<A> {
    * @return Whether or not all elements in the list are equal according to the given equality test.
    */
   public boolean allEqual(final Equal<A> eq) {
-    return isEmpty() || tail().isEmpty() || eq.eq(head(), tail().head()) && tail().allEqual(eq);
+    for (List<A> xs = this; xs.isNotEmpty() && xs.tail().isNotEmpty(); xs = xs.tail()) {
+      if (!eq.eq(xs.head(), xs.tail().head()))
+        return false;
+    }
+
+    return true;
   }
 
   /**
@@ -1256,15 +1459,21 @@ public abstract class List<A> implements Iterable<A> {
     public List<A> tail() {
       throw error("tail on empty list");
     }
+
+    public int length() {
+      return 0;
+    }
   }
 
   private static final class Cons<A> extends List<A> {
     private final A head;
     private List<A> tail;
+    private int size;
 
     Cons(final A head, final List<A> tail) {
       this.head = head;
       this.tail = tail;
+      size = tail.length() + 1;
     }
 
     public A head() {
@@ -1275,6 +1484,10 @@ public abstract class List<A> implements Iterable<A> {
       return tail;
     }
 
+    public int length() {
+      return size;
+    }
+
     private void tail(final List<A> tail) {
       this.tail = tail;
     }
@@ -1444,7 +1657,12 @@ public abstract class List<A> implements Iterable<A> {
    * @return A list of the given value replicated the given number of times.
    */
   public static <A> List<A> replicate(final int n, final A a) {
-    return n <= 0 ? List.<A>nil() : replicate(n - 1, a).cons(a);
+    List<A> xs = nil();
+
+    for (int i = 0; i < n; i++)
+      xs = xs.cons(a);
+
+    return xs;
   }
 
   /**
@@ -1457,7 +1675,12 @@ public abstract class List<A> implements Iterable<A> {
    *         <code>to</code> value (exclusive).
    */
   public static List<Integer> range(final int from, final int to) {
-    return from >= to ? List.<Integer>nil() : cons(from, range(from + 1, to));
+    List<Integer> xs = nil();
+
+    for (int i = to; i > from; )
+      xs = xs.cons(--i);
+
+    return xs;
   }
 
   /**
@@ -1672,6 +1895,7 @@ public abstract class List<A> implements Iterable<A> {
   public static final class Buffer<A> implements Iterable<A> {
     private List<A> start = nil();
     private Cons<A> tail;
+    private int length;
     private boolean exported;
 
     /**
@@ -1701,6 +1925,7 @@ public abstract class List<A> implements Iterable<A> {
         tail.tail(t);
 
       tail = t;
+      length++;
 
       return this;
     }
@@ -1725,6 +1950,13 @@ public abstract class List<A> implements Iterable<A> {
      * @return An immutable list projection of this buffer.
      */
     public List<A> toList() {
+      if (!exported) {
+        // Cells are snoc'ed with a size of one; fix them up once now that the list is complete.
+        int n = length;
+        for (List<A> xs = start; xs.isNotEmpty(); xs = xs.tail())
+          ((Cons<A>) xs).size = n--;
+      }
+
       exported = !start.isEmpty();
       return start;
     }
@@ -1735,7 +1967,7 @@ public abstract class List<A> implements Iterable<A> {
      * @return An immutable collection of this buffer.
      */
     public Collection<A> toCollection() {
-      return start.toCollection();
+      return toList().toCollection();
     }
 
     /**
@@ -1777,11 +2009,31 @@ public abstract class List<A> implements Iterable<A> {
       return b;
     }
 
+    // Returns the elements of this buffer followed by the given list, which is shared rather than
+    // copied. This buffer must not be used afterwards.
+    private List<A> prependToList(final List<A> as) {
+      if (tail == null)
+        return as;
+
+      if (exported)
+        copy();
+
+      tail.tail(as);
+      int n = length + as.length();
+      for (List<A> xs = start; xs != as; xs = xs.tail())
+        ((Cons<A>) xs).size = n--;
+
+      exported = true;
+      return start;
+    }
+
     @SuppressWarnings({"ObjectEquality"})
     private void copy() {
       List<A> s = start;
       final Cons<A> t = tail;
       start = nil();
+      tail = null;
+      length = 0;
       exported = false;
       while (s != t) {
         snoc(s.head());
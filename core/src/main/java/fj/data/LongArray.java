@@ -0,0 +1,317 @@
+package fj.data;
+
+import fj.LongMonoid;
+import fj.function.LongF;
+import fj.function.LongF2;
+import fj.function.LongPredicate;
+import static fj.Bottom.error;
+
+import java.util.Arrays;
+
+/**
+ * An immutable array of unboxed <code>long</code> values. Maps, filters and folds operate directly
+ * on the primitive values, so no element is boxed and no curried function is allocated.
+ *
+ * @version %build.number%
+ */
+public final class LongArray {
+  private final long[] a;
+
+  private static final LongArray empty = new LongArray(new long[0]);
+
+  private LongArray(final long[] a) {
+    this.a = a;
+  }
+
+  // Wraps the given array without copying; callers must not retain it.
+  static LongArray mkLongArray(final long[] a) {
+    return a.length == 0 ? empty : new LongArray(a);
+  }
+
+  /**
+   * Returns the element at the given index if it exists, fails otherwise.
+   *
+   * @param index The index at which to get the element to return.
+   * @return The element at the given index if it exists, fails otherwise.
+   */
+  public long get(final int index) {
+    return a[index];
+  }
+
+  /**
+   * Returns the length of this array.
+   *
+   * @return The length of this array.
+   */
+  public int length() {
+    return a.length;
+  }
+
+  /**
+   * Returns <code>true</code> is this array is empty, <code>false</code> otherwise.
+   *
+   * @return <code>true</code> is this array is empty, <code>false</code> otherwise.
+   */
+  public boolean isEmpty() {
+    return a.length == 0;
+  }
+
+  /**
+   * Returns <code>false</code> is this array is empty, <code>true</code> otherwise.
+   *
+   * @return <code>false</code> is this array is empty, <code>true</code> otherwise.
+   */
+  public boolean isNotEmpty() {
+    return a.length != 0;
+  }
+
+  /**
+   * Maps the given function across this array.
+   *
+   * @param f The function to map across this array.
+   * @return A new array after the given function has been applied to each element.
+   */
+  public LongArray map(final LongF f) {
+    final long[] bs = new long[a.length];
+    for (int i = 0; i < a.length; i++)
+      bs[i] = f.f(a[i]);
+    return mkLongArray(bs);
+  }
+
+  /**
+   * Filters elements from this array by returning only elements which produce <code>true</code>
+   * when the given function is applied to them.
+   *
+   * @param p The predicate function to filter on.
+   * @return A new array whose elements all match the given predicate.
+   */
+  public LongArray filter(final LongPredicate p) {
+    final long[] bs = new long[a.length];
+    int n = 0;
+    for (final long x : a)
+      if (p.f(x))
+        bs[n++] = x;
+    return n == a.length ? this : mkLongArray(copyOf(bs, n));
+  }
+
+  /**
+   * Performs a left-fold reduction across this array. This function runs in constant space.
+   *
+   * @param f The function to apply on each element of the array.
+   * @param b The beginning value to start the application from.
+   * @return The final result after the left-fold reduction.
+   */
+  public long foldLeft(final LongF2 f, final long b) {
+    long x = b;
+    for (final long y : a)
+      x = f.f(x, y);
+    return x;
+  }
+
+  /**
+   * Performs a right-fold reduction across this array. This function runs in constant stack space.
+   *
+   * @param f The function to apply on each element of the array.
+   * @param b The beginning value to start the application from.
+   * @return The final result after the right-fold reduction.
+   */
+  public long foldRight(final LongF2 f, final long b) {
+    long x = b;
+    for (int i = a.length - 1; i >= 0; i--)
+      x = f.f(a[i], x);
+    return x;
+  }
+
+  /**
+   * Sums the elements of this array using the given monoid.
+   *
+   * @param m The monoid to sum the elements with.
+   * @return The sum of the elements of this array according to the given monoid.
+   */
+  public long fold(final LongMonoid m) {
+    return foldLeft(m.sum(), m.zero());
+  }
+
+  /**
+   * Returns the sum of the elements of this array.
+   *
+   * @return The sum of the elements of this array.
+   */
+  public long sum() {
+    long x = 0;
+    for (final long y : a)
+      x += y;
+    return x;
+  }
+
+  /**
+   * Returns <code>true</code> if the predicate holds for all of the elements of this array,
+   * <code>false</code> otherwise (<code>true</code> for the empty array).
+   *
+   * @param p The predicate function to test on each element of this array.
+   * @return <code>true</code> if the predicate holds for all of the elements of this array.
+   */
+  public boolean forall(final LongPredicate p) {
+    for (final long x : a)
+      if (!p.f(x))
+        return false;
+    return true;
+  }
+
+  /**
+   * Returns <code>true</code> if the predicate holds for at least one of the elements of this
+   * array, <code>false</code> otherwise (<code>false</code> for the empty array).
+   *
+   * @param p The predicate function to test on the elements of this array.
+   * @return <code>true</code> if the predicate holds for at least one of the elements of this array.
+   */
+  public boolean exists(final LongPredicate p) {
+    for (final long x : a)
+      if (p.f(x))
+        return true;
+    return false;
+  }
+
+  /**
+   * Returns a new array with the elements of this array in ascending order.
+   *
+   * @return A new array with the elements of this array in ascending order.
+   */
+  public LongArray sort() {
+    final long[] bs = a.clone();
+    Arrays.sort(bs);
+    return mkLongArray(bs);
+  }
+
+  /**
+   * Reverse this array.
+   *
+   * @return A new array that is the reverse of this one.
+   */
+  public LongArray reverse() {
+    final long[] bs = new long[a.length];
+    for (int i = 0; i < a.length; i++)
+      bs[a.length - 1 - i] = a[i];
+    return mkLongArray(bs);
+  }
+
+  /**
+   * Appends the given array to this array.
+   *
+   * @param xs The array to append to this one.
+   * @return A new array that has appended the given array.
+   */
+  public LongArray append(final LongArray xs) {
+    final long[] bs = copyOf(a, a.length + xs.a.length);
+    System.arraycopy(xs.a, 0, bs, a.length, xs.a.length);
+    return mkLongArray(bs);
+  }
+
+  /**
+   * Returns a copy of the underlying primitive array.
+   *
+   * @return A copy of the underlying primitive array.
+   */
+  public long[] array() {
+    return a.clone();
+  }
+
+  /**
+   * Returns a list projection of this array.
+   *
+   * @return A list projection of this array.
+   */
+  public LongList toLongList() {
+    return LongList.fromArray(a, a.length);
+  }
+
+  /**
+   * Returns a boxed projection of this array.
+   *
+   * @return A boxed projection of this array.
+   */
+  public Array<Long> toArray() {
+    final Object[] bs = new Object[a.length];
+    for (int i = 0; i < a.length; i++)
+      bs[i] = a[i];
+    return Array.mkArray(bs);
+  }
+
+  /**
+   * Returns a boxed list of the elements of this array.
+   *
+   * @return A boxed list of the elements of this array.
+   */
+  public List<Long> toList() {
+    List<Long> xs = List.nil();
+    for (int i = a.length - 1; i >= 0; i--)
+      xs = xs.cons(a[i]);
+    return xs;
+  }
+
+  /**
+   * Returns an empty array.
+   *
+   * @return An empty array.
+   */
+  public static LongArray empty() {
+    return empty;
+  }
+
+  /**
+   * Constructs an array from the given elements. The elements are copied.
+   *
+   * @param as The elements to construct the array with.
+   * @return A new array of the given elements.
+   */
+  public static LongArray longArray(final long... as) {
+    return mkLongArray(as.clone());
+  }
+
+  /**
+   * Returns an array of longs from the given <code>from</code> value (inclusive) to the given
+   * <code>to</code> value (exclusive).
+   *
+   * @param from The minimum value for the array (inclusive).
+   * @param to   The maximum value for the array (exclusive).
+   * @return An array of longs from the given <code>from</code> value (inclusive) to the given
+   *         <code>to</code> value (exclusive). Fails if there are more than
+   *         <code>Integer.MAX_VALUE</code> of them.
+   */
+  public static LongArray range(final long from, final long to) {
+    if (from >= to)
+      return empty;
+    final long n = to - from;
+    // the difference overflows past Long.MAX_VALUE into a negative number for the widest ranges
+    if (n < 0L || n > Integer.MAX_VALUE)
+      throw error("range from " + from + " to " + to + " is too long for an array");
+    final long[] bs = new long[(int) n];
+    for (int i = 0; i < bs.length; i++)
+      bs[i] = from + i;
+    return mkLongArray(bs);
+  }
+
+  /**
+   * Takes the given iterable to an array.
+   *
+   * @param i The iterable to take to an array.
+   * @return An array from the given iterable.
+   */
+  public static LongArray iterableLongArray(final Iterable<Long> i) {
+    long[] bs = new long[16];
+    int n = 0;
+    for (final Long x : i) {
+      if (n == bs.length)
+        bs = copyOf(bs, n * 2);
+      bs[n++] = x;
+    }
+    return mkLongArray(copyOf(bs, n));
+  }
+
+  // A copy of the first n elements of the given array, padded with zeros if it is shorter.
+  private static long[] copyOf(final long[] a, final int n) {
+    final long[] bs = new long[n];
+    System.arraycopy(a, 0, bs, 0, Math.min(a.length, n));
+    return bs;
+  }
+}
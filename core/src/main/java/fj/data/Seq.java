@@ -1,19 +1,30 @@
 package fj.data;
 
+import fj.F;
+import fj.F2;
 import fj.Function;
+import fj.P2;
+import fj.P3;
 import static fj.Bottom.error;
+import static fj.Function.curry;
 import static fj.Monoid.intAdditionMonoid;
+import static fj.P.p;
+import static fj.data.Array.mkArray;
 import static fj.data.fingertrees.FingerTree.measured;
 
+import fj.data.fingertrees.Digit;
 import fj.data.fingertrees.FingerTree;
 import fj.data.fingertrees.MakeTree;
 import fj.data.fingertrees.Measured;
+import fj.data.fingertrees.Node;
+
+import java.util.Iterator;
 
 /**
  * Provides an immutable finite sequence, implemented as a finger tree. This structure gives O(1) access to
  * the head and tail, as well as O(log n) random access and concatenation of sequences.
  */
-public final class Seq<A> {
+public final class Seq<A> implements Iterable<A> {
   private static <A> MakeTree<Integer, A> mkTree() {
     return FingerTree.mkTree(Seq.<A>elemMeasured());
   }
@@ -47,6 +58,99 @@ public final class Seq<A> {
     return new Seq<A>(Seq.<A>mkTree().single(a));
   }
 
+  /**
+   * Constructs a sequence from the given elements.
+   *
+   * @param as The elements to construct a sequence with.
+   * @return A sequence with the given elements.
+   */
+  public static <A> Seq<A> seq(final A... as) {
+    return fromObjectArray(as);
+  }
+
+  /**
+   * Constructs a sequence from the given list. This takes time linear in the length of the list.
+   *
+   * @param as The list to construct a sequence with.
+   * @return A sequence with the elements of the given list.
+   */
+  public static <A> Seq<A> listSeq(final List<A> as) {
+    final Object[] a = new Object[as.length()];
+    int i = 0;
+    for (final A x : as)
+      a[i++] = x;
+    return fromObjectArray(a);
+  }
+
+  /**
+   * Constructs a sequence from the given array. This takes time linear in the length of the array.
+   *
+   * @param as The array to construct a sequence with.
+   * @return A sequence with the elements of the given array.
+   */
+  public static <A> Seq<A> arraySeq(final Array<A> as) {
+    return fromObjectArray(as.array());
+  }
+
+  /**
+   * Constructs a sequence from the given iterable.
+   *
+   * @param as The iterable to construct a sequence with.
+   * @return A sequence with the elements of the given iterable.
+   */
+  public static <A> Seq<A> iterableSeq(final Iterable<A> as) {
+    final java.util.List<Object> a = new java.util.ArrayList<Object>();
+    for (final A x : as)
+      a.add(x);
+    return fromObjectArray(a.toArray());
+  }
+
+  private static <A> Seq<A> fromObjectArray(final Object[] as) {
+    return new Seq<A>(Seq.<Integer, A>tree(Seq.<A>elemMeasured(), as, 0, as.length));
+  }
+
+  // Builds a tree of the given elements bottom up, grouping the elements between the digits into 3-nodes.
+  @SuppressWarnings({"unchecked"})
+  private static <V, A> FingerTree<V, A> tree(final Measured<V, A> m, final Object[] as, final int from,
+                                              final int to) {
+    final MakeTree<V, A> mk = FingerTree.mkTree(m);
+    final int n = to - from;
+    if (n == 0)
+      return mk.empty();
+    else if (n == 1)
+      return mk.single((A) as[from]);
+    else if (n <= 8)
+      return mk.deep(Seq.<V, A>digit(mk, as, from, from + n / 2), FingerTree.mkTree(m.nodeMeasured()).empty(),
+                     Seq.<V, A>digit(mk, as, from + n / 2, to));
+    else {
+      final int pre = (n - 6) % 3 == 0 ? 3 : 4;
+      final int suf = (n - 6) % 3 == 2 ? 4 : 3;
+      final Object[] nodes = new Object[(n - pre - suf) / 3];
+      for (int i = 0; i < nodes.length; i++) {
+        final int j = from + pre + 3 * i;
+        nodes[i] = mk.node3((A) as[j], (A) as[j + 1], (A) as[j + 2]);
+      }
+      return mk.deep(Seq.<V, A>digit(mk, as, from, from + pre),
+                     Seq.<V, Node<V, A>>tree(m.nodeMeasured(), nodes, 0, nodes.length),
+                     Seq.<V, A>digit(mk, as, to - suf, to));
+    }
+  }
+
+  @SuppressWarnings({"unchecked"})
+  private static <V, A> Digit<V, A> digit(final MakeTree<V, A> mk, final Object[] as, final int from,
+                                          final int to) {
+    switch (to - from) {
+      case 1:
+        return mk.one((A) as[from]);
+      case 2:
+        return mk.two((A) as[from], (A) as[from + 1]);
+      case 3:
+        return mk.three((A) as[from], (A) as[from + 1], (A) as[from + 2]);
+      default:
+        return mk.four((A) as[from], (A) as[from + 1], (A) as[from + 2], (A) as[from + 3]);
+    }
+  }
+
   /**
    * Inserts the given element at the front of this sequence.
    *
@@ -95,6 +199,42 @@ public final class Seq<A> {
     return ftree.measure();
   }
 
+  /**
+   * Returns the first element of this sequence. Undefined for the empty sequence.
+   *
+   * @return The first element of this sequence or throws an error if this sequence is empty.
+   */
+  public A head() {
+    return ftree.head();
+  }
+
+  /**
+   * Returns the last element of this sequence. Undefined for the empty sequence.
+   *
+   * @return The last element of this sequence or throws an error if this sequence is empty.
+   */
+  public A last() {
+    return ftree.last();
+  }
+
+  /**
+   * Returns all but the first element of this sequence. Undefined for the empty sequence.
+   *
+   * @return All but the first element of this sequence or throws an error if this sequence is empty.
+   */
+  public Seq<A> tail() {
+    return new Seq<A>(ftree.tail());
+  }
+
+  /**
+   * Returns all but the last element of this sequence. Undefined for the empty sequence.
+   *
+   * @return All but the last element of this sequence or throws an error if this sequence is empty.
+   */
+  public Seq<A> init() {
+    return new Seq<A>(ftree.init());
+  }
+
   /**
    * Returns the element at the given index.
    *
@@ -102,8 +242,285 @@ public final class Seq<A> {
    * @return The element at the given index, or throws an error if the index is out of bounds.
    */
   public A index(final int i) {
-    if (i < 0 || i >= length())
-      throw error("Index " + i + "out of bounds.");
+    checkIndex(i);
     return ftree.lookup(Function.<Integer>identity(), i)._2();
   }
+
+  /**
+   * Replaces the element at the given index with the given element.
+   *
+   * @param i The index of the element to replace.
+   * @param a The new element.
+   * @return A new sequence with the given element at the given index, or throws an error if the index is out of
+   *         bounds.
+   */
+  public Seq<A> update(final int i, final A a) {
+    checkIndex(i);
+    return new Seq<A>(ftree.update(Function.<Integer>identity(), i, Function.<A, A>constant(a)));
+  }
+
+  /**
+   * Inserts the given element at the given index, moving the elements from that index onwards one place up.
+   *
+   * @param i The index at which to insert, between zero and the length of this sequence inclusive.
+   * @param a The element to insert.
+   * @return A new sequence with the given element at the given index, or throws an error if the index is out of
+   *         bounds.
+   */
+  public Seq<A> insert(final int i, final A a) {
+    if (i < 0 || i > length())
+      throw error("Index " + i + " out of bounds.");
+    final P2<FingerTree<Integer, A>, FingerTree<Integer, A>> s = ftree.split(after(i));
+    return new Seq<A>(s._1().snoc(a).append(s._2()));
+  }
+
+  /**
+   * Removes the element at the given index, moving the elements after it one place down.
+   *
+   * @param i The index of the element to remove.
+   * @return A new sequence without the element at the given index, or throws an error if the index is out of
+   *         bounds.
+   */
+  public Seq<A> delete(final int i) {
+    checkIndex(i);
+    final P3<FingerTree<Integer, A>, A, FingerTree<Integer, A>> s = ftree.split1(after(i));
+    return new Seq<A>(s._1().append(s._3()));
+  }
+
+  /**
+   * Splits this sequence at the given index.
+   *
+   * @param i The index at which to split this sequence.
+   * @return The first <code>i</code> elements of this sequence, and the remaining elements.
+   */
+  public P2<Seq<A>, Seq<A>> splitAt(final int i) {
+    final P2<FingerTree<Integer, A>, FingerTree<Integer, A>> s = ftree.split(after(i));
+    return p(new Seq<A>(s._1()), new Seq<A>(s._2()));
+  }
+
+  /**
+   * Takes the given number of elements from the front of this sequence.
+   *
+   * @param n The number of elements to take.
+   * @return A sequence of the first <code>n</code> elements of this sequence, or all of it if it is shorter.
+   */
+  public Seq<A> take(final int n) {
+    return splitAt(n)._1();
+  }
+
+  /**
+   * Drops the given number of elements from the front of this sequence.
+   *
+   * @param n The number of elements to drop.
+   * @return This sequence without its first <code>n</code> elements.
+   */
+  public Seq<A> drop(final int n) {
+    return splitAt(n)._2();
+  }
+
+  /**
+   * Reverses this sequence. This takes time linear in the length of the sequence.
+   *
+   * @return A new sequence with the elements of this sequence in reverse order.
+   */
+  public Seq<A> reverse() {
+    return new Seq<A>(ftree.reverse());
+  }
+
+  /**
+   * Maps the given function across this sequence.
+   *
+   * @param f The function to map across this sequence.
+   * @return A new sequence after the given function has been applied to each element.
+   */
+  public <B> Seq<B> map(final F<A, B> f) {
+    return new Seq<B>(ftree.map(f, Seq.<B>elemMeasured()));
+  }
+
+  /**
+   * Performs a left-fold reduction across this sequence. This function runs in constant stack space.
+   *
+   * @param f The function to apply on each element of the sequence.
+   * @param b The beginning value to start the application from.
+   * @return The final result after the left-fold reduction.
+   */
+  public <B> B foldLeft(final F<B, F<A, B>> f, final B b) {
+    B x = b;
+    for (final A a : this)
+      x = f.f(x).f(a);
+    return x;
+  }
+
+  /**
+   * Performs a left-fold reduction across this sequence. This function runs in constant stack space.
+   *
+   * @param f The function to apply on each element of the sequence.
+   * @param b The beginning value to start the application from.
+   * @return The final result after the left-fold reduction.
+   */
+  public <B> B foldLeft(final F2<B, A, B> f, final B b) {
+    return foldLeft(curry(f), b);
+  }
+
+  /**
+   * Performs a right-fold reduction across this sequence. This function runs in constant stack space.
+   *
+   * @param f The function to apply on each element of the sequence.
+   * @param b The beginning value to start the application from.
+   * @return The final result after the right-fold reduction.
+   */
+  public <B> B foldRight(final F<A, F<B, B>> f, final B b) {
+    B x = b;
+    for (final Iterator<A> i = ftree.reverseIterator(); i.hasNext();)
+      x = f.f(i.next()).f(x);
+    return x;
+  }
+
+  /**
+   * Performs a right-fold reduction across this sequence. This function runs in constant stack space.
+   *
+   * @param f The function to apply on each element of the sequence.
+   * @param b The beginning value to start the application from.
+   * @return The final result after the right-fold reduction.
+   */
+  public <B> B foldRight(final F2<A, B, B> f, final B b) {
+    return foldRight(curry(f), b);
+  }
+
+  /**
+   * Performs a left-fold across this sequence, accumulating the intermediate results in a new
+   * sequence. This function runs in constant stack space.
+   *
+   * @param f The function to apply on each element of the sequence.
+   * @param b The beginning value to start the application from.
+   * @return A sequence of the results of folding each prefix of this sequence from the left.
+   */
+  public <B> Seq<B> scanLeft(final F<B, F<A, B>> f, final B b) {
+    final Object[] bs = new Object[length()];
+    int i = 0;
+    B x = b;
+    for (final A a : this)
+      bs[i++] = x = f.f(x).f(a);
+    return fromObjectArray(bs);
+  }
+
+  /**
+   * Performs a left-fold across this sequence, accumulating the intermediate results in a new
+   * sequence. This function runs in constant stack space.
+   *
+   * @param f The function to apply on each element of the sequence.
+   * @param b The beginning value to start the application from.
+   * @return A sequence of the results of folding each prefix of this sequence from the left.
+   */
+  public <B> Seq<B> scanLeft(final F2<B, A, B> f, final B b) {
+    return scanLeft(curry(f), b);
+  }
+
+  /**
+   * Performs a left-fold across this sequence starting from its first element, accumulating the
+   * intermediate results in a new sequence. This function runs in constant stack space.
+   *
+   * @param f The function to apply on each element of the sequence.
+   * @return A sequence of the results of folding each prefix of this sequence from the left.
+   */
+  public Seq<A> scanLeft1(final F<A, F<A, A>> f) {
+    return isEmpty() ? this : tail().scanLeft(f, head()).cons(head());
+  }
+
+  /**
+   * Performs a left-fold across this sequence starting from its first element, accumulating the
+   * intermediate results in a new sequence. This function runs in constant stack space.
+   *
+   * @param f The function to apply on each element of the sequence.
+   * @return A sequence of the results of folding each prefix of this sequence from the left.
+   */
+  public Seq<A> scanLeft1(final F2<A, A, A> f) {
+    return scanLeft1(curry(f));
+  }
+
+  /**
+   * Performs a right-fold across this sequence, accumulating the intermediate results in a new
+   * sequence. This function runs in constant stack space.
+   *
+   * @param f The function to apply on each element of the sequence.
+   * @param b The beginning value to start the application from.
+   * @return A sequence of the results of folding each suffix of this sequence from the right.
+   */
+  public <B> Seq<B> scanRight(final F<A, F<B, B>> f, final B b) {
+    final Object[] bs = new Object[length()];
+    int i = bs.length;
+    B x = b;
+    for (final Iterator<A> as = ftree.reverseIterator(); as.hasNext();)
+      bs[--i] = x = f.f(as.next()).f(x);
+    return fromObjectArray(bs);
+  }
+
+  /**
+   * Performs a right-fold across this sequence, accumulating the intermediate results in a new
+   * sequence. This function runs in constant stack space.
+   *
+   * @param f The function to apply on each element of the sequence.
+   * @param b The beginning value to start the application from.
+   * @return A sequence of the results of folding each suffix of this sequence from the right.
+   */
+  public <B> Seq<B> scanRight(final F2<A, B, B> f, final B b) {
+    return scanRight(curry(f), b);
+  }
+
+  /**
+   * Returns an iterator for this sequence. This method exists to permit the use in a <code>for</code>-each loop.
+   *
+   * @return A iterator for this sequence.
+   */
+  public Iterator<A> iterator() {
+    return ftree.iterator();
+  }
+
+  /**
+   * Returns a list projection of this sequence.
+   *
+   * @return A list projection of this sequence.
+   */
+  public List<A> toList() {
+    final List.Buffer<A> b = List.Buffer.empty();
+    for (final A a : this)
+      b.snoc(a);
+    return b.toList();
+  }
+
+  /**
+   * Returns an array projection of this sequence.
+   *
+   * @return An array projection of this sequence.
+   */
+  public Array<A> toArray() {
+    final Object[] a = new Object[length()];
+    int i = 0;
+    for (final A x : this)
+      a[i++] = x;
+    return mkArray(a);
+  }
+
+  /**
+   * Returns a stream projection of this sequence.
+   *
+   * @return A stream projection of this sequence.
+   */
+  public Stream<A> toStream() {
+    return Stream.iterableStream(this);
+  }
+
+  private void checkIndex(final int i) {
+    if (i < 0 || i >= length())
+      throw error("Index " + i + " out of bounds.");
+  }
+
+  // The split point of the element at the given index: the first point at which the count of elements exceeds it.
+  private static F<Integer, Boolean> after(final int i) {
+    return new F<Integer, Boolean>() {
+      public Boolean f(final Integer n) {
+        return n > i;
+      }
+    };
+  }
 }
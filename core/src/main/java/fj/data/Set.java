@@ -8,16 +8,18 @@ import fj.Ord;
 import fj.P;
 import fj.P2;
 import fj.P3;
+import static fj.Bottom.error;
 import static fj.Function.*;
 import static fj.data.Either.right;
+import static fj.data.Option.none;
 import static fj.data.Option.some;
-import static fj.function.Booleans.not;
 
 import fj.Ordering;
 import static fj.Ordering.GT;
 import static fj.Ordering.LT;
 
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 /**
  * Provides an in-memory, immutable set, implemented as a red/black tree.
@@ -46,6 +48,9 @@ public abstract class Set<A> implements Iterable<A> {
 
   abstract Set<A> r();
 
+  // The number of black nodes on any path from the root to a leaf.
+  abstract int bh();
+
   /**
    * Returns the order of this Set.
    *
@@ -75,6 +80,14 @@ public abstract class Set<A> implements Iterable<A> {
     public A head() {
       throw new Error("Head on empty set.");
     }
+
+    int bh() {
+      return 0;
+    }
+
+    public int size() {
+      return 0;
+    }
   }
 
   private static final class Tree<A> extends Set<A> {
@@ -82,6 +95,8 @@ public abstract class Set<A> implements Iterable<A> {
     private final Set<A> a;
     private final A x;
     private final Set<A> b;
+    private final int bh;
+    private final int size;
 
     private Tree(final Ord<A> ord, final Color c, final Set<A> a, final A x, final Set<A> b) {
       super(ord);
@@ -89,6 +104,8 @@ public abstract class Set<A> implements Iterable<A> {
       this.a = a;
       this.x = x;
       this.b = b;
+      bh = c == Color.B ? a.bh() + 1 : a.bh();
+      size = a.size() + b.size() + 1;
     }
 
     public Color color() {
@@ -106,6 +123,14 @@ public abstract class Set<A> implements Iterable<A> {
     public Set<A> r() {
       return b;
     }
+
+    int bh() {
+      return bh;
+    }
+
+    public int size() {
+      return size;
+    }
   }
 
   /**
@@ -166,7 +191,171 @@ public abstract class Set<A> implements Iterable<A> {
    * @return true if the given element is a member of this set.
    */
   public final boolean member(final A x) {
-    return !isEmpty() && (ord.isLessThan(x, head()) && l().member(x) || ord.eq(head(), x) || r().member(x));
+    for (Set<A> t = this; !t.isEmpty();) {
+      final Ordering i = ord.compare(x, t.head());
+      if (i == LT)
+        t = t.l();
+      else if (i == GT)
+        t = t.r();
+      else
+        return true;
+    }
+    return false;
+  }
+
+  /**
+   * Returns the element of this set that is equal to the given element according to the order, if there is one.
+   *
+   * @param x An element to look up in this set.
+   * @return The element of this set equal to the given element, or None if it is not a member.
+   */
+  public final Option<A> lookup(final A x) {
+    for (Set<A> t = this; !t.isEmpty();) {
+      final Ordering i = ord.compare(x, t.head());
+      if (i == LT)
+        t = t.l();
+      else if (i == GT)
+        t = t.r();
+      else
+        return some(t.head());
+    }
+    return none();
+  }
+
+  /**
+   * Returns the least element of this set, if it is not empty.
+   *
+   * @return The least element of this set, or None if it is empty.
+   */
+  public final Option<A> min() {
+    if (isEmpty())
+      return none();
+    Set<A> t = this;
+    while (!t.l().isEmpty())
+      t = t.l();
+    return some(t.head());
+  }
+
+  /**
+   * Returns the greatest element of this set, if it is not empty.
+   *
+   * @return The greatest element of this set, or None if it is empty.
+   */
+  public final Option<A> max() {
+    if (isEmpty())
+      return none();
+    Set<A> t = this;
+    while (!t.r().isEmpty())
+      t = t.r();
+    return some(t.head());
+  }
+
+  /**
+   * Returns the greatest element of this set that is less than or equal to the given value.
+   *
+   * @param x A value to look up.
+   * @return The greatest element less than or equal to the given value, or None if there is none.
+   */
+  public final Option<A> floor(final A x) {
+    Option<A> best = none();
+    for (Set<A> t = this; !t.isEmpty();) {
+      final Ordering i = ord.compare(x, t.head());
+      if (i == LT)
+        t = t.l();
+      else if (i == GT) {
+        best = some(t.head());
+        t = t.r();
+      } else
+        return some(t.head());
+    }
+    return best;
+  }
+
+  /**
+   * Returns the least element of this set that is greater than or equal to the given value.
+   *
+   * @param x A value to look up.
+   * @return The least element greater than or equal to the given value, or None if there is none.
+   */
+  public final Option<A> ceiling(final A x) {
+    Option<A> best = none();
+    for (Set<A> t = this; !t.isEmpty();) {
+      final Ordering i = ord.compare(x, t.head());
+      if (i == LT) {
+        best = some(t.head());
+        t = t.l();
+      } else if (i == GT)
+        t = t.r();
+      else
+        return some(t.head());
+    }
+    return best;
+  }
+
+  /**
+   * Returns the greatest element of this set that is strictly less than the given value.
+   *
+   * @param x A value to look up.
+   * @return The greatest element less than the given value, or None if there is none.
+   */
+  public final Option<A> lookupLT(final A x) {
+    Option<A> best = none();
+    for (Set<A> t = this; !t.isEmpty();) {
+      if (ord.isLessThan(t.head(), x)) {
+        best = some(t.head());
+        t = t.r();
+      } else
+        t = t.l();
+    }
+    return best;
+  }
+
+  /**
+   * Returns the least element of this set that is strictly greater than the given value.
+   *
+   * @param x A value to look up.
+   * @return The least element greater than the given value, or None if there is none.
+   */
+  public final Option<A> lookupGT(final A x) {
+    Option<A> best = none();
+    for (Set<A> t = this; !t.isEmpty();) {
+      if (ord.isGreaterThan(t.head(), x)) {
+        best = some(t.head());
+        t = t.l();
+      } else
+        t = t.r();
+    }
+    return best;
+  }
+
+  /**
+   * Returns the elements of this set that are greater than or equal to the first given value and less than the
+   * second. Runs in <em>O(log n)</em> time.
+   *
+   * @param from The least value (inclusive) of the range.
+   * @param to   The greatest value (exclusive) of the range.
+   * @return A set of the elements of this set within the given range.
+   */
+  public final Set<A> range(final A from, final A to) {
+    return atLeast(from).lessThan(to);
+  }
+
+  private Set<A> atLeast(final A from) {
+    if (isEmpty())
+      return this;
+    else if (ord.isLessThan(head(), from))
+      return r().atLeast(from);
+    else
+      return link(ord, l().atLeast(from), head(), r());
+  }
+
+  private Set<A> lessThan(final A to) {
+    if (isEmpty())
+      return this;
+    else if (ord.isLessThan(head(), to))
+      return link(ord, l(), head(), r().lessThan(to));
+    else
+      return l().lessThan(to);
   }
 
 
@@ -236,13 +425,180 @@ public abstract class Set<A> implements Iterable<A> {
     return !isEmpty() && color() == Color.R;
   }
 
+  private boolean isTB() {
+    return !isEmpty() && color() == Color.B;
+  }
+
+  // Deletion after Kahrs, "Red-black trees with types". Requires x to be a member of this tree.
+  private Set<A> del(final A x) {
+    final Ordering i = ord.compare(x, head());
+    if (i == LT)
+      return l().isTB()
+             ? balleft(ord, l().del(x), head(), r())
+             : new Tree<A>(ord, Color.R, l().del(x), head(), r());
+    else if (i == GT)
+      return r().isTB()
+             ? balright(ord, l(), head(), r().del(x))
+             : new Tree<A>(ord, Color.R, l(), head(), r().del(x));
+    else
+      return app(ord, l(), r());
+  }
+
+  private static <A> Set<A> balleft(final Ord<A> o, final Set<A> l, final A x, final Set<A> r) {
+    if (l.isTR())
+      return new Tree<A>(o, Color.R, l.makeBlack(), x, r);
+    else if (r.isTB())
+      return delBalance(o, l, x, new Tree<A>(o, Color.R, r.l(), r.head(), r.r()));
+    else if (r.isTR() && r.l().isTB())
+      return new Tree<A>(o, Color.R, new Tree<A>(o, Color.B, l, x, r.l().l()), r.l().head(),
+                         delBalance(o, r.l().r(), r.head(), redden(r.r())));
+    else
+      throw new Error("Invariant violation in red/black tree.");
+  }
+
+  private static <A> Set<A> balright(final Ord<A> o, final Set<A> l, final A x, final Set<A> r) {
+    if (r.isTR())
+      return new Tree<A>(o, Color.R, l, x, r.makeBlack());
+    else if (l.isTB())
+      return delBalance(o, new Tree<A>(o, Color.R, l.l(), l.head(), l.r()), x, r);
+    else if (l.isTR() && l.r().isTB())
+      return new Tree<A>(o, Color.R, delBalance(o, redden(l.l()), l.head(), l.r().l()), l.r().head(),
+                         new Tree<A>(o, Color.B, l.r().r(), x, r));
+    else
+      throw new Error("Invariant violation in red/black tree.");
+  }
+
+  private static <A> Set<A> redden(final Set<A> t) {
+    if (t.isTB())
+      return new Tree<A>(t.ord, Color.R, t.l(), t.head(), t.r());
+    else
+      throw new Error("Invariant violation in red/black tree.");
+  }
+
+  // Rebalances a black node during deletion, where either child may be red with a red child.
+  private static <A> Set<A> delBalance(final Ord<A> o, final Set<A> l, final A x, final Set<A> r) {
+    if (l.isTR() && r.isTR())
+      return tr(o, l.l(), l.head(), l.r(), x, r.l(), r.head(), r.r());
+    else if (l.isTR() && l.l().isTR())
+      return tr(o, l.l().l(), l.l().head(), l.l().r(), l.head(), l.r(), x, r);
+    else if (l.isTR() && l.r().isTR())
+      return tr(o, l.l(), l.head(), l.r().l(), l.r().head(), l.r().r(), x, r);
+    else if (r.isTR() && r.r().isTR())
+      return tr(o, l, x, r.l(), r.head(), r.r().l(), r.r().head(), r.r().r());
+    else if (r.isTR() && r.l().isTR())
+      return tr(o, l, x, r.l().l(), r.l().head(), r.l().r(), r.head(), r.r());
+    else
+      return new Tree<A>(o, Color.B, l, x, r);
+  }
+
+  // Appends two trees of equal black height whose elements are ordered.
+  private static <A> Set<A> app(final Ord<A> o, final Set<A> l, final Set<A> r) {
+    if (l.isEmpty())
+      return r;
+    else if (r.isEmpty())
+      return l;
+    else if (l.isTR() && r.isTR()) {
+      final Set<A> m = app(o, l.r(), r.l());
+      return m.isTR()
+             ? new Tree<A>(o, Color.R, new Tree<A>(o, Color.R, l.l(), l.head(), m.l()), m.head(),
+                           new Tree<A>(o, Color.R, m.r(), r.head(), r.r()))
+             : new Tree<A>(o, Color.R, l.l(), l.head(), new Tree<A>(o, Color.R, m, r.head(), r.r()));
+    } else if (l.isTB() && r.isTB()) {
+      final Set<A> m = app(o, l.r(), r.l());
+      return m.isTR()
+             ? new Tree<A>(o, Color.R, new Tree<A>(o, Color.B, l.l(), l.head(), m.l()), m.head(),
+                           new Tree<A>(o, Color.B, m.r(), r.head(), r.r()))
+             : balleft(o, l.l(), l.head(), new Tree<A>(o, Color.B, m, r.head(), r.r()));
+    } else if (r.isTR())
+      return new Tree<A>(o, Color.R, app(o, l, r.l()), r.head(), r.r());
+    else
+      return new Tree<A>(o, Color.R, l.l(), l.head(), app(o, l.r(), r));
+  }
+
+  // Joins two trees and an element that is greater than all of l and less than all of r, after Blelloch, Ferizovic
+  // and Sun, "Just Join for Parallel Ordered Sets". Runs in time proportional to the difference in black heights.
+  private static <A> Set<A> link(final Ord<A> o, final Set<A> l, final A k, final Set<A> r) {
+    final int hl = l.bh();
+    final int hr = r.bh();
+    if (hl == hr)
+      return new Tree<A>(o, l.isTR() || r.isTR() ? Color.B : Color.R, l, k, r);
+    else {
+      final Set<A> t = hl > hr ? linkRight(o, l, hl, k, r, hr) : linkLeft(o, l, hl, k, r, hr);
+      return t.isTR() && (t.l().isTR() || t.r().isTR()) ? t.makeBlack() : t;
+    }
+  }
+
+  private static <A> Set<A> linkRight(final Ord<A> o, final Set<A> l, final int hl, final A k, final Set<A> r,
+                                      final int hr) {
+    return hl == hr && !l.isTR()
+           ? new Tree<A>(o, Color.R, l, k, r)
+           : balance(o, l.color(), l.l(), l.head(), linkRight(o, l.r(), l.isTR() ? hl : hl - 1, k, r, hr));
+  }
+
+  private static <A> Set<A> linkLeft(final Ord<A> o, final Set<A> l, final int hl, final A k, final Set<A> r,
+                                     final int hr) {
+    return hl == hr && !r.isTR()
+           ? new Tree<A>(o, Color.R, l, k, r)
+           : balance(o, r.color(), linkLeft(o, l, hl, k, r.l(), r.isTR() ? hr : hr - 1), r.head(), r.r());
+  }
+
+  // Joins two trees where all elements of l are less than all elements of r.
+  private static <A> Set<A> link(final Ord<A> o, final Set<A> l, final Set<A> r) {
+    if (l.isEmpty())
+      return r;
+    else {
+      final P2<Set<A>, A> m = l.splitLast();
+      return link(o, m._1(), m._2(), r);
+    }
+  }
+
+  private P2<Set<A>, A> splitLast() {
+    if (r().isEmpty())
+      return P.p(l(), head());
+    else {
+      final P2<Set<A>, A> m = r().splitLast();
+      return P.p(link(ord, l(), head(), m._1()), m._2());
+    }
+  }
+
   /**
-   * Returns an iterator over this set.
+   * Returns an iterator over the elements of this set in ascending order. The iterator walks the tree directly,
+   * allocating nothing per element.
    *
    * @return an iterator over this set.
    */
   public final Iterator<A> iterator() {
-    return toStream().iterator();
+    return new Iterator<A>() {
+      // A path of a red/black tree has at most twice as many nodes as it has black nodes, plus a red root.
+      private final Object[] stack = new Object[2 * bh() + 2];
+      private int top;
+
+      {
+        push(Set.this);
+      }
+
+      public boolean hasNext() {
+        return top > 0;
+      }
+
+      @SuppressWarnings({"unchecked"})
+      public A next() {
+        if (top == 0)
+          throw new NoSuchElementException();
+        final Set<A> t = (Set<A>) stack[--top];
+        push(t.r());
+        return t.head();
+      }
+
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+
+      private void push(final Set<A> s) {
+        for (Set<A> t = s; !t.isEmpty(); t = t.l())
+          stack[top++] = t;
+      }
+    };
   }
 
   /**
@@ -268,7 +624,7 @@ public abstract class Set<A> implements Iterable<A> {
   }
 
   /**
-   * Folds this Set using the given monoid.
+   * Folds this Set using the given monoid, in ascending order of its elements.
    *
    * @param f A transformation from this Set's elements, to the monoid.
    * @param m The monoid to fold this Set with.
@@ -277,25 +633,25 @@ public abstract class Set<A> implements Iterable<A> {
   public final <B> B foldMap(final F<A, B> f, final Monoid<B> m) {
     return isEmpty() ?
            m.zero() :
-           m.sum(m.sum(r().foldMap(f, m), f.f(head())), l().foldMap(f, m));
+           m.sum(m.sum(l().foldMap(f, m), f.f(head())), r().foldMap(f, m));
   }
 
   /**
-   * Returns a list representation of this set.
+   * Returns a list representation of this set, in ascending order.
    *
    * @return a list representation of this set.
    */
   public final List<A> toList() {
-    return foldMap(List.cons(List.<A>nil()), Monoid.<A>listMonoid());
+    return List.iterableList(this);
   }
 
   /**
-   * Returns a stream representation of this set.
+   * Returns a stream representation of this set, in ascending order.
    *
    * @return a stream representation of this set.
    */
   public final Stream<A> toStream() {
-    return foldMap(Stream.<A>single(), Monoid.<A>streamMonoid());
+    return Stream.iterableStream(this);
   }
 
   /**
@@ -310,13 +666,21 @@ public abstract class Set<A> implements Iterable<A> {
   }
 
   /**
-   * Add all the elements of the given set to this set.
+   * Add all the elements of the given set to this set. Where both sets contain equal elements, the element of this
+   * set is kept. Runs in <em>O(m log(n/m + 1))</em> time, where <em>m</em> is the size of the smaller set.
    *
    * @param s A set to add to this set.
    * @return A new set containing all elements of both sets.
    */
   public final Set<A> union(final Set<A> s) {
-    return iterableSet(ord, s.toStream().append(toStream()));
+    if (isEmpty())
+      return s;
+    else if (s.isEmpty())
+      return this;
+    else {
+      final P3<Set<A>, Option<A>, Set<A>> x = split(s.head());
+      return link(ord, x._1().union(s.l()), x._2().orSome(s.head()), x._3().union(s.r()));
+    }
   }
   
   /**
@@ -341,17 +705,28 @@ public abstract class Set<A> implements Iterable<A> {
    * @return A new set whose elements all match the given predicate.
    */
   public final Set<A> filter(final F<A, Boolean> f) {
-    return iterableSet(ord, toStream().filter(f));
+    if (isEmpty())
+      return this;
+    else {
+      final Set<A> l = l().filter(f);
+      final Set<A> r = r().filter(f);
+      return f.f(head()) ? link(ord, l, head(), r) : link(ord, l, r);
+    }
   }
 
   /**
-   * Deletes the given element from this set.
+   * Deletes the given element from this set. Runs in <em>O(log n)</em> time.
    *
    * @param a an element to remove.
    * @return A new set containing all the elements of this set, except the given element.
    */
   public final Set<A> delete(final A a) {
-    return minus(single(ord, a));
+    if (!member(a))
+      return this;
+    else {
+      final Set<A> t = del(a);
+      return t.isEmpty() ? t : t.makeBlack();
+    }
   }
 
   /**
@@ -368,13 +743,21 @@ public abstract class Set<A> implements Iterable<A> {
   }
 
   /**
-   * Remove all elements from this set that do not occur in the given set.
+   * Remove all elements from this set that do not occur in the given set. The elements of this set are kept.
+   * Runs in <em>O(m log(n/m + 1))</em> time, where <em>m</em> is the size of the smaller set.
    *
    * @param s A set of elements to retain.
    * @return A new set which is the intersection of this set and the given set.
    */
   public final Set<A> intersect(final Set<A> s) {
-    return filter(Set.<A>member().f(s));
+    if (isEmpty() || s.isEmpty())
+      return empty(ord);
+    else {
+      final P3<Set<A>, Option<A>, Set<A>> x = split(s.head());
+      final Set<A> l = x._1().intersect(s.l());
+      final Set<A> r = x._3().intersect(s.r());
+      return x._2().isSome() ? link(ord, l, x._2().some(), r) : link(ord, l, r);
+    }
   }
   
   /**
@@ -393,12 +776,18 @@ public abstract class Set<A> implements Iterable<A> {
 
   /**
    * Remove all elements from this set that occur in the given set.
+   * Runs in <em>O(m log(n/m + 1))</em> time, where <em>m</em> is the size of the smaller set.
    *
    * @param s A set of elements to delete.
    * @return A new set which contains only the elements of this set that do not occur in the given set.
    */
   public final Set<A> minus(final Set<A> s) {
-    return filter(compose(not, Set.<A>member().f(s)));
+    if (isEmpty() || s.isEmpty())
+      return this;
+    else {
+      final P3<Set<A>, Option<A>, Set<A>> x = split(s.head());
+      return link(ord, x._1().minus(s.l()), x._3().minus(s.r()));
+    }
   }
   
   /**
@@ -416,13 +805,103 @@ public abstract class Set<A> implements Iterable<A> {
   }
 
   /**
-   * Returns the size of this set.
+   * Returns the size of this set. This is a constant time operation.
    *
    * @return The number of elements in this set.
    */
-  public final int size() {
-    final F<A, Integer> one = constant(1);
-    return foldMap(one, Monoid.intAdditionMonoid);
+  public abstract int size();
+
+  /**
+   * Returns the element at the given position of this set, where the least element according to the order of this
+   * set is at position 0. Runs in <em>O(log n)</em> time.
+   *
+   * @param i The position of the element to return.
+   * @return The element at the given position, or fails if the position is out of range.
+   */
+  public final A index(final int i) {
+    if (i < 0 || i >= size())
+      throw error("index " + i + " out of range on set with size " + size());
+    Set<A> t = this;
+    int j = i;
+    while (true) {
+      final int ls = t.l().size();
+      if (j < ls)
+        t = t.l();
+      else if (j == ls)
+        return t.head();
+      else {
+        j -= ls + 1;
+        t = t.r();
+      }
+    }
+  }
+
+  /**
+   * Returns the number of elements of this set that are less than the given value, which is the position of the
+   * given value if it is a member of this set. Runs in <em>O(log n)</em> time.
+   *
+   * @param a A value to rank.
+   * @return The number of elements of this set that are less than the given value.
+   */
+  public final int rank(final A a) {
+    int n = 0;
+    for (Set<A> t = this; !t.isEmpty();) {
+      final Ordering i = ord.compare(a, t.head());
+      if (i == LT)
+        t = t.l();
+      else if (i == GT) {
+        n += t.l().size() + 1;
+        t = t.r();
+      } else
+        return n + t.l().size();
+    }
+    return n;
+  }
+
+  /**
+   * Returns the set of the given number of least elements of this set. Runs in <em>O(log n)</em> time.
+   *
+   * @param n The number of elements to take.
+   * @return A set of the <code>n</code> least elements of this set, or this set if it has fewer elements.
+   */
+  public final Set<A> take(final int n) {
+    if (n <= 0)
+      return empty(ord);
+    else if (n >= size())
+      return this;
+    else {
+      final int ls = l().size();
+      return n <= ls ? l().take(n) : link(ord, l(), head(), r().take(n - ls - 1));
+    }
+  }
+
+  /**
+   * Returns this set without the given number of least elements. Runs in <em>O(log n)</em> time.
+   *
+   * @param n The number of elements to drop.
+   * @return A set without the <code>n</code> least elements of this set, or the empty set if it has fewer elements.
+   */
+  public final Set<A> drop(final int n) {
+    if (n <= 0)
+      return this;
+    else if (n >= size())
+      return empty(ord);
+    else {
+      final int ls = l().size();
+      return n > ls ? r().drop(n - ls - 1) : link(ord, l().drop(n), head(), r());
+    }
+  }
+
+  /**
+   * Returns the elements of this set at the positions from the first given position (inclusive) to the second
+   * (exclusive). Runs in <em>O(log n)</em> time.
+   *
+   * @param from The position of the first element to keep.
+   * @param to   The position after the last element to keep.
+   * @return A set of the elements of this set between the given positions.
+   */
+  public final Set<A> slice(final int from, final int to) {
+    return drop(from).take(to - from);
   }
 
   /**
@@ -433,6 +912,8 @@ public abstract class Set<A> implements Iterable<A> {
    * <li>A set containing all the elements of this set which are greater than the given value.</li>
    * </ul>
    *
+   * Runs in <em>O(log n)</em> time.
+   *
    * @param a A value at which to split this set.
    * @return Two sets and an optional value, where all elements in the first set are less than the given value
    *         and all the elements in the second set are greater than the given value, and the optional value is the
@@ -446,10 +927,10 @@ public abstract class Set<A> implements Iterable<A> {
       final Ordering i = ord.compare(a, h);
       if (i == LT) {
         final P3<Set<A>, Option<A>, Set<A>> lg = l().split(a);
-        return P.p(lg._1(), lg._2(), lg._3().insert(h).union(r()));
+        return P.p(lg._1(), lg._2(), link(ord, lg._3(), h, r()));
       } else if (i == GT) {
         final P3<Set<A>, Option<A>, Set<A>> lg = r().split(a);
-        return P.p(lg._1().insert(h).union(l()), lg._2(), lg._3());
+        return P.p(link(ord, l(), h, lg._1()), lg._2(), lg._3());
       } else
         return P.p(l(), some(h), r());
     }
@@ -0,0 +1,265 @@
+package fj.data;
+
+import fj.Ord;
+import fj.P1;
+import fj.Unit;
+import fj.control.parallel.Strategy;
+
+import static fj.Bottom.error;
+import static fj.Unit.unit;
+import static java.lang.System.arraycopy;
+
+/**
+ * Array-backed sorting shared by the data structures in this package. The sort is an iterative (bottom-up)
+ * natural merge sort: it detects ascending and strictly descending runs, extends short runs by binary insertion
+ * and then merges adjacent runs pairwise, alternating between the array and one temporary buffer. It uses no
+ * recursion, so it is stack-safe for any input size, and it is stable.
+ *
+ * @version %build.number%
+ */
+final class Sorting {
+  private Sorting() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Runs shorter than this are extended with a binary insertion sort before merging.
+   */
+  private static final int MIN_RUN = 32;
+
+  /**
+   * The default number of elements below which a parallel sort sorts sequentially, and the default size of the
+   * chunks it sorts in parallel.
+   */
+  static final int PARALLEL_THRESHOLD = 8192;
+
+  /**
+   * Sorts the given range of the given array in place, according to the given order. Equal elements keep their
+   * relative order.
+   *
+   * @param a    The array to sort.
+   * @param from The first index (inclusive) of the range to sort.
+   * @param to   The last index (exclusive) of the range to sort.
+   * @param o    The order of the elements of the array.
+   */
+  static <A> void sort(final Object[] a, final int from, final int to, final Ord<A> o) {
+    final int n = to - from;
+    if (n < 2)
+      return;
+
+    // Run boundaries: run k occupies [runs[k], runs[k + 1]).
+    final int[] runs = new int[n / MIN_RUN + 2];
+    int count = 0;
+    for (int i = from; i < to;) {
+      int j = i + 1;
+      if (j < to) {
+        if (lt(o, a[j], a[i])) {
+          while (j < to && lt(o, a[j], a[j - 1]))
+            j++;
+          reverse(a, i, j);
+        } else
+          while (j < to && !lt(o, a[j], a[j - 1]))
+            j++;
+      }
+
+      final int end = Math.min(to, i + MIN_RUN);
+      if (j < end) {
+        insertionSort(a, i, j, end, o);
+        j = end;
+      }
+
+      runs[count++] = i;
+      i = j;
+    }
+    runs[count] = to;
+
+    if (count == 1)
+      return;
+
+    // The array holds index k at k, the buffer holds index k at k - from.
+    Object[] src = a;
+    int srcOff = 0;
+    Object[] dst = new Object[n];
+    int dstOff = from;
+
+    while (count > 1) {
+      int merged = 0;
+      int k = 0;
+      for (; k + 1 < count; k += 2) {
+        merge(src, srcOff, dst, dstOff, runs[k], runs[k + 1], runs[k + 2], o);
+        runs[merged++] = runs[k];
+      }
+      if (k < count) {
+        arraycopy(src, runs[k] - srcOff, dst, runs[k] - dstOff, to - runs[k]);
+        runs[merged++] = runs[k];
+      }
+      runs[merged] = to;
+      count = merged;
+
+      final Object[] t = src;
+      src = dst;
+      dst = t;
+      final int tOff = srcOff;
+      srcOff = dstOff;
+      dstOff = tOff;
+    }
+
+    if (src != a)
+      arraycopy(src, 0, a, from, n);
+  }
+
+  /**
+   * Sorts the whole of the given array in place, according to the given order.
+   *
+   * @param a The array to sort.
+   * @param o The order of the elements of the array.
+   */
+  static <A> void sort(final Object[] a, final Ord<A> o) {
+    sort(a, 0, a.length, o);
+  }
+
+  /**
+   * Sorts the given array in place using a parallel merge sort. The array is cut into chunks of at most
+   * <code>threshold</code> elements which are sorted in parallel, then adjacent sorted chunks are merged pairwise,
+   * each round of merges running in parallel, until one sorted run remains. Arrays of at most
+   * <code>threshold</code> elements are sorted sequentially. Equal elements keep their relative order.
+   *
+   * @param a         The array to sort.
+   * @param o         The order of the elements of the array.
+   * @param s         The strategy with which to sort chunks and merge them in parallel.
+   * @param threshold The size of the chunks that are sorted sequentially.
+   */
+  static <A> void sort(final Object[] a, final Ord<A> o, final Strategy<Unit> s, final int threshold) {
+    if (threshold < 1)
+      throw error("threshold must be positive: " + threshold);
+
+    final int n = a.length;
+    if (n <= threshold) {
+      sort(a, o);
+      return;
+    }
+
+    int count = (n + threshold - 1) / threshold;
+    final int[] bounds = new int[count + 1];
+    for (int k = 0; k <= count; k++)
+      bounds[k] = (int) ((long) n * k / count);
+
+    List<P1<Unit>> tasks = List.nil();
+    for (int k = 0; k < count; k++) {
+      final int lo = bounds[k];
+      final int hi = bounds[k + 1];
+      tasks = tasks.cons(s.par(new P1<Unit>() {
+        public Unit _1() {
+          sort(a, lo, hi, o);
+          return unit();
+        }
+      }));
+    }
+    await(tasks);
+
+    Object[] src = a;
+    Object[] dst = new Object[n];
+    while (count > 1) {
+      final Object[] from = src;
+      final Object[] to = dst;
+      tasks = List.nil();
+      int merged = 0;
+      int k = 0;
+      for (; k + 1 < count; k += 2) {
+        final int lo = bounds[k];
+        final int mid = bounds[k + 1];
+        final int hi = bounds[k + 2];
+        tasks = tasks.cons(s.par(new P1<Unit>() {
+          public Unit _1() {
+            merge(from, 0, to, 0, lo, mid, hi, o);
+            return unit();
+          }
+        }));
+        bounds[merged++] = lo;
+      }
+      if (k < count) {
+        arraycopy(src, bounds[k], dst, bounds[k], n - bounds[k]);
+        bounds[merged++] = bounds[k];
+      }
+      bounds[merged] = n;
+      count = merged;
+      await(tasks);
+
+      src = to;
+      dst = from;
+    }
+
+    if (src != a)
+      arraycopy(src, 0, a, 0, n);
+  }
+
+  private static void await(final List<P1<Unit>> tasks) {
+    for (List<P1<Unit>> ts = tasks; ts.isNotEmpty(); ts = ts.tail())
+      ts.head()._1();
+  }
+
+  /**
+   * Stably merges the sorted ranges [lo, mid) and [mid, hi) of src into the same range of dst.
+   */
+  static <A> void merge(final Object[] src, final int srcOff, final Object[] dst, final int dstOff,
+                        final int lo, final int mid, final int hi, final Ord<A> o) {
+    int i = lo - srcOff;
+    int j = mid - srcOff;
+    final int iEnd = mid - srcOff;
+    final int jEnd = hi - srcOff;
+    int d = lo - dstOff;
+
+    if (lt(o, src[jEnd - 1], src[i])) {
+      // Every element on the right precedes every element on the left.
+      arraycopy(src, j, dst, d, jEnd - j);
+      arraycopy(src, i, dst, d + jEnd - j, iEnd - i);
+      return;
+    }
+
+    if (!lt(o, src[j], src[iEnd - 1])) {
+      // Already in order.
+      arraycopy(src, i, dst, d, jEnd - i);
+      return;
+    }
+
+    while (i < iEnd && j < jEnd)
+      dst[d++] = lt(o, src[j], src[i]) ? src[j++] : src[i++];
+
+    if (i < iEnd)
+      arraycopy(src, i, dst, d, iEnd - i);
+    else
+      arraycopy(src, j, dst, d, jEnd - j);
+  }
+
+  // Inserts [sorted, end) into the already sorted range [from, sorted), placing each element after its equals.
+  private static <A> void insertionSort(final Object[] a, final int from, final int sorted, final int end,
+                                        final Ord<A> o) {
+    for (int i = sorted; i < end; i++) {
+      final Object x = a[i];
+      int lo = from;
+      int hi = i;
+      while (lo < hi) {
+        final int m = (lo + hi) >>> 1;
+        if (lt(o, x, a[m]))
+          hi = m;
+        else
+          lo = m + 1;
+      }
+      arraycopy(a, lo, a, lo + 1, i - lo);
+      a[lo] = x;
+    }
+  }
+
+  private static void reverse(final Object[] a, final int from, final int to) {
+    for (int i = from, j = to - 1; i < j; i++, j--) {
+      final Object t = a[i];
+      a[i] = a[j];
+      a[j] = t;
+    }
+  }
+
+  @SuppressWarnings({"unchecked"})
+  private static <A> boolean lt(final Ord<A> o, final Object x, final Object y) {
+    return o.isLessThan((A) x, (A) y);
+  }
+}
@@ -12,7 +12,7 @@ import fj.P;
 import fj.P1;
 import fj.P2;
 import fj.Unit;
-import fj.control.parallel.Promise;
+import fj.control.Trampoline;
 import fj.control.parallel.Strategy;
 import fj.Ordering;
 
@@ -26,11 +26,9 @@ import static fj.Function.compose;
 import static fj.Function.constant;
 import static fj.Function.curry;
 import static fj.Function.flip;
-import static fj.Function.identity;
 import static fj.P.p;
 import static fj.P.p2;
 import static fj.Unit.unit;
-import static fj.control.parallel.Promise.promise;
 import static fj.data.Array.mkArray;
 import static fj.data.Option.none;
 import static fj.data.Option.some;
@@ -128,18 +126,27 @@ public abstract class Stream<A> implements Iterable<A> {
   }
 
   /**
-   * Performs a right-fold reduction across this stream. This function uses O(length) stack space.
+   * Performs a right-fold reduction across this stream. This function runs in constant stack space.
    *
    * @param f The function to apply on each element of the stream.
    * @param b The beginning value to start the application from.
    * @return The final result after the right-fold reduction.
    */
   public final <B> B foldRight1(final F<A, F<B, B>> f, final B b) {
-    return foldRight(compose(Function.<P1<B>, B, B>andThen().f(P1.<B>__1()), f), b);
+    return foldRightT(this, f, b).run();
+  }
+
+  // The right-fold as a trampolined computation, suspending on each tail.
+  private static <A, B> Trampoline<B> foldRightT(final Stream<A> as, final F<A, F<B, B>> f, final B b) {
+    return as.isEmpty() ? Trampoline.pure(b) : Trampoline.suspend(new P1<Trampoline<B>>() {
+      public Trampoline<B> _1() {
+        return foldRightT(as.tail()._1(), f, b);
+      }
+    }).map(f.f(as.head()));
   }
 
   /**
-   * Performs a right-fold reduction across this stream. This function uses O(length) stack space.
+   * Performs a right-fold reduction across this stream. This function runs in constant stack space.
    *
    * @param f The function to apply on each element of the stream.
    * @param b The beginning value to start the application from.
@@ -200,6 +207,99 @@ public abstract class Stream<A> implements Iterable<A> {
     return tail()._1().foldLeft(f, head());
   }
 
+  /**
+   * Performs a left-fold across this stream, accumulating the intermediate results in a new stream.
+   * The results are computed lazily, so this stream may be infinite.
+   *
+   * @param f The function to apply on each element of the stream.
+   * @param b The beginning value to start the application from.
+   * @return A stream of the results of folding each prefix of this stream from the left.
+   */
+  public final <B> Stream<B> scanLeft(final F<B, F<A, B>> f, final B b) {
+    if (isEmpty())
+      return nil();
+    final B x = f.f(b).f(head());
+    return cons(x, new P1<Stream<B>>() {
+      public Stream<B> _1() {
+        return tail()._1().scanLeft(f, x);
+      }
+    });
+  }
+
+  /**
+   * Performs a left-fold across this stream, accumulating the intermediate results in a new stream.
+   * The results are computed lazily, so this stream may be infinite.
+   *
+   * @param f The function to apply on each element of the stream.
+   * @param b The beginning value to start the application from.
+   * @return A stream of the results of folding each prefix of this stream from the left.
+   */
+  public final <B> Stream<B> scanLeft(final F2<B, A, B> f, final B b) {
+    return scanLeft(curry(f), b);
+  }
+
+  /**
+   * Performs a left-fold across this stream starting from its first element, accumulating the
+   * intermediate results in a new stream. The results are computed lazily, so this stream may be
+   * infinite.
+   *
+   * @param f The function to apply on each element of the stream.
+   * @return A stream of the results of folding each prefix of this stream from the left.
+   */
+  public final Stream<A> scanLeft1(final F<A, F<A, A>> f) {
+    if (isEmpty())
+      return nil();
+    return cons(head(), new P1<Stream<A>>() {
+      public Stream<A> _1() {
+        return tail()._1().scanLeft(f, head());
+      }
+    });
+  }
+
+  /**
+   * Performs a left-fold across this stream starting from its first element, accumulating the
+   * intermediate results in a new stream. The results are computed lazily, so this stream may be
+   * infinite.
+   *
+   * @param f The function to apply on each element of the stream.
+   * @return A stream of the results of folding each prefix of this stream from the left.
+   */
+  public final Stream<A> scanLeft1(final F2<A, A, A> f) {
+    return scanLeft1(curry(f));
+  }
+
+  /**
+   * Performs a right-fold across this stream, accumulating the intermediate results in a new stream.
+   * This function runs in constant stack space, and this stream must be finite.
+   *
+   * @param f The function to apply on each element of the stream.
+   * @param b The beginning value to start the application from.
+   * @return A stream of the results of folding each suffix of this stream from the right.
+   */
+  public final <B> Stream<B> scanRight(final F<A, F<B, B>> f, final B b) {
+    Stream<B> bs = nil();
+    B x = b;
+
+    for (final A a : reverse()) {
+      x = f.f(a).f(x);
+      bs = bs.cons(x);
+    }
+
+    return bs;
+  }
+
+  /**
+   * Performs a right-fold across this stream, accumulating the intermediate results in a new stream.
+   * This function runs in constant stack space, and this stream must be finite.
+   *
+   * @param f The function to apply on each element of the stream.
+   * @param b The beginning value to start the application from.
+   * @return A stream of the results of folding each suffix of this stream from the right.
+   */
+  public final <B> Stream<B> scanRight(final F2<A, B, B> f, final B b) {
+    return scanRight(curry(f), b);
+  }
+
   /**
    * Returns the head of this stream if there is one or the given argument if this stream is empty.
    *
@@ -319,11 +419,7 @@ public abstract class Stream<A> implements Iterable<A> {
    * @return A new stream that has appended the given stream.
    */
   public final Stream<A> append(final Stream<A> as) {
-    return isEmpty() ? as : cons(head(), new P1<Stream<A>>() {
-      public Stream<A> _1() {
-        return tail()._1().append(as);
-      }
-    });
+    return isEmpty() ? as : new Cons<A>(head(), new Append<A>(tail(), p(as)));
   }
 
   /**
@@ -333,11 +429,8 @@ public abstract class Stream<A> implements Iterable<A> {
    * @return A new stream that has appended the given stream.
    */
   public final Stream<A> append(final P1<Stream<A>> as) {
-    return isEmpty() ? as._1() : cons(head(), new P1<Stream<A>>() {
-      public Stream<A> _1() {
-        return tail()._1().append(as);
-      }
-    });
+    return isEmpty() ? as._1() :
+        new Cons<A>(head(), new Append<A>(tail(), as instanceof Append ? as : as.hardMemo()));
   }
 
   /**
@@ -627,46 +720,31 @@ public abstract class Stream<A> implements Iterable<A> {
   }
 
   /**
-   * Sort this stream according to the given ordering, using a parallel Quick Sort algorithm that uses the given
-   * parallelisation strategy.
+   * Sort this stream according to the given ordering, using a parallel merge sort that uses the given
+   * parallelisation strategy. The stream is forced; chunks of 8192 elements are sorted in parallel and then merged,
+   * and shorter streams are sorted sequentially. The sort is stable.
    *
    * @param o An ordering for the elements of this stream.
    * @param s A strategy for parallelising the algorithm.
    * @return A new stream with the elements of this stream sorted according to the given ordering.
    */
   public final Stream<A> sort(final Ord<A> o, final Strategy<Unit> s) {
-    return qs(o, s).claim();
+    return Array.iterableArray(this).sort(o, s).toStream();
   }
 
-  private Promise<Stream<A>> qs(final Ord<A> o, final Strategy<Unit> s) {
-    if (isEmpty())
-      return promise(s, P.p(this));
-    else {
-      final F<Boolean, Boolean> id = identity();
-      final A x = head();
-      final P1<Stream<A>> xs = tail();
-      final Promise<Stream<A>> left = Promise.join(s, xs.map(flt(o, s, x, id)));
-      final Promise<Stream<A>> right = xs.map(flt(o, s, x, not))._1();
-      final Monoid<Stream<A>> m = Monoid.streamMonoid();
-      return right.fmap(m.sum(single(x))).apply(left.fmap(m.sum()));
-    }
-  }
-
-  private static <A> F<Stream<A>, Promise<Stream<A>>> qs_(final Ord<A> o, final Strategy<Unit> s) {
-    return new F<Stream<A>, Promise<Stream<A>>>() {
-      public Promise<Stream<A>> f(final Stream<A> xs) {
-        return xs.qs(o, s);
-      }
-    };
-  }
-
-  private static <A> F<Stream<A>, Promise<Stream<A>>> flt(final Ord<A> o,
-                                                          final Strategy<Unit> s,
-                                                          final A x,
-                                                          final F<Boolean, Boolean> f) {
-    final F<F<A, Boolean>, F<Stream<A>, Stream<A>>> filter = filter();
-    final F<A, Boolean> lt = o.isLessThan(x);
-    return compose(qs_(o, s), filter.f(compose(f, lt)));
+  /**
+   * Sort this stream according to the given ordering, using a parallel merge sort that uses the given
+   * parallelisation strategy. The stream is forced; chunks of at most <code>threshold</code> elements are sorted
+   * in parallel and then merged, and streams no longer than the threshold are sorted sequentially. The sort is
+   * stable.
+   *
+   * @param o         An ordering for the elements of this stream.
+   * @param s         A strategy for parallelising the algorithm.
+   * @param threshold The number of elements that are sorted sequentially; must be positive.
+   * @return A new stream with the elements of this stream sorted according to the given ordering.
+   */
+  public final Stream<A> sort(final Ord<A> o, final Strategy<Unit> s, final int threshold) {
+    return Array.iterableArray(this).sort(o, s, threshold).toStream();
   }
 
   /**
@@ -957,13 +1035,13 @@ public abstract class Stream<A> implements Iterable<A> {
    * @return A list projection of this stream.
    */
   public final List<A> toList() {
-    List<A> as = List.nil();
+    final List.Buffer<A> as = new List.Buffer<A>();
 
     for (Stream<A> x = this; !x.isEmpty(); x = x.tail()._1()) {
-      as = as.snoc(x.head());
+      as.snoc(x.head());
     }
 
-    return as;
+    return as.toList();
   }
 
 
@@ -1239,7 +1317,12 @@ public abstract class Stream<A> implements Iterable<A> {
    * @return The length of this stream.
    */
   public final int length() {
-    return toList().length();
+    int n = 0;
+
+    for (Stream<A> xs = this; xs.isNotEmpty(); xs = xs.tail()._1())
+      n++;
+
+    return n;
   }
 
   /**
@@ -1444,12 +1527,7 @@ public abstract class Stream<A> implements Iterable<A> {
    * @return A stream of first components and a stream of second components.
    */
   public static <A, B> P2<Stream<A>, Stream<B>> unzip(final Stream<P2<A, B>> xs) {
-    return xs.foldRight(new F2<P2<A, B>, P1<P2<Stream<A>, Stream<B>>>, P2<Stream<A>, Stream<B>>>() {
-      public P2<Stream<A>, Stream<B>> f(final P2<A, B> p, final P1<P2<Stream<A>, Stream<B>>> ps) {
-        final P2<Stream<A>, Stream<B>> pp = ps._1();
-        return P.p(cons(p._1(), P.p(pp._1())), cons(p._2(), P.p(pp._2())));
-      }
-    }, P.p(Stream.<A>nil(), Stream.<B>nil()));
+    return P.p(xs.map(P2.<A, B>__1()), xs.map(P2.<A, B>__2()));
   }
 
   /**
@@ -1481,7 +1559,7 @@ public abstract class Stream<A> implements Iterable<A> {
 
     Cons(final A head, final P1<Stream<A>> tail) {
       this.head = head;
-      this.tail = tail.memo();
+      this.tail = tail instanceof Append ? tail : tail.hardMemo();
     }
 
     public A head() {
@@ -1494,6 +1572,53 @@ public abstract class Stream<A> implements Iterable<A> {
 
   }
 
+  // The memoised tail of an appended stream: the stream in first followed by the stream in rest.
+  // Left-nested appends, as built by repeated append or snoc, are reassociated to the right as the
+  // tail is forced, and empty streams are skipped in a loop, so that forcing uses constant stack space.
+  // Both parts are memoised themselves, so an append that is reassociated, or forced by two threads
+  // at once, only reads their values again and never evaluates a given stream twice.
+  private static final class Append<A> extends P1<Stream<A>> {
+    private final P1<Stream<A>> first;
+    private final P1<Stream<A>> rest;
+    private volatile Stream<A> value;
+
+    Append(final P1<Stream<A>> first, final P1<Stream<A>> rest) {
+      this.first = first;
+      this.rest = rest;
+    }
+
+    public Stream<A> _1() {
+      Stream<A> v = value;
+      if (v == null) {
+        v = force(first, rest);
+        value = v;
+      }
+      return v;
+    }
+
+    private static <A> Stream<A> force(final P1<Stream<A>> first, final P1<Stream<A>> rest) {
+      P1<Stream<A>> xs = first;
+      P1<Stream<A>> ys = rest;
+      while (true) {
+        while (xs instanceof Append && ((Append<A>) xs).value == null) {
+          final Append<A> a = (Append<A>) xs;
+          ys = new Append<A>(a.rest, ys);
+          xs = a.first;
+        }
+
+        final Stream<A> s = xs._1();
+        if (s.isNotEmpty())
+          return new Cons<A>(s.head(), new Append<A>(s.tail(), ys));
+        else if (ys instanceof Append && ((Append<A>) ys).value == null) {
+          final Append<A> a = (Append<A>) ys;
+          xs = a.first;
+          ys = a.rest;
+        } else
+          return ys._1();
+      }
+    }
+  }
+
   /**
    * Returns a function that prepends (cons) an element to a stream to produce a new stream.
    *
@@ -1617,7 +1742,21 @@ public abstract class Stream<A> implements Iterable<A> {
    * @return A new stream that is the join of the given streams.
    */
   public static <A> Stream<A> join(final Stream<Stream<A>> o) {
-    return Monoid.<A>streamMonoid().sumRight(o);
+    Stream<Stream<A>> xss = o;
+
+    while (xss.isNotEmpty() && xss.head().isEmpty())
+      xss = xss.tail()._1();
+
+    if (xss.isEmpty())
+      return nil();
+    else {
+      final Stream<Stream<A>> yss = xss;
+      return yss.head().append(new P1<Stream<A>>() {
+        public Stream<A> _1() {
+          return Stream.join(yss.tail()._1());
+        }
+      });
+    }
   }
 
   /**
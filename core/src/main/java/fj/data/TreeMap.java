@@ -46,7 +46,7 @@ public final class TreeMap<K, V> implements Iterable<P2<K, V>> {
    * @return A potential value for the given key.
    */
   public Option<V> get(final K k) {
-    final Option<P2<K, Option<V>>> x = tree.split(P.p(k, Option.<V>none()))._2();
+    final Option<P2<K, Option<V>>> x = tree.lookup(P.p(k, Option.<V>none()));
     return x.bind(P2.<K, Option<V>>__2());
   }
 
@@ -59,9 +59,7 @@ public final class TreeMap<K, V> implements Iterable<P2<K, V>> {
    * @return A new tree map with the given value mapped to the given key.
    */
   public TreeMap<K, V> set(final K k, final V v) {
-    final P3<Set<P2<K, Option<V>>>, Option<P2<K, Option<V>>>, Set<P2<K, Option<V>>>> x
-        = tree.split(P.p(k, Option.<V>none()));
-    return new TreeMap<K, V>(x._1().union(x._3().insert(P.p(k, Option.some(v)))));
+    return new TreeMap<K, V>(tree.insert(P.p(k, Option.some(v))));
   }
 
   /**
@@ -75,7 +73,7 @@ public final class TreeMap<K, V> implements Iterable<P2<K, V>> {
   }
 
   /**
-   * Returns the number of entries in this tree map.
+   * Returns the number of entries in this tree map. This is a constant time operation.
    *
    * @return The number of entries in this tree map.
    */
@@ -83,6 +81,142 @@ public final class TreeMap<K, V> implements Iterable<P2<K, V>> {
     return tree.size();
   }
 
+  /**
+   * Returns the entry at the given position of this tree map, where the entry with the least key is at position 0.
+   * Runs in <em>O(log n)</em> time.
+   *
+   * @param i The position of the entry to return.
+   * @return The entry at the given position, or fails if the position is out of range.
+   */
+  public P2<K, V> index(final int i) {
+    return entry(tree.index(i));
+  }
+
+  /**
+   * Returns the number of keys of this tree map that are less than the given key, which is the position of the
+   * given key if it is present. Runs in <em>O(log n)</em> time.
+   *
+   * @param k A key to rank.
+   * @return The number of keys of this tree map that are less than the given key.
+   */
+  public int rank(final K k) {
+    return tree.rank(P.p(k, Option.<V>none()));
+  }
+
+  /**
+   * Returns a tree map of the entries with the given number of least keys. Runs in <em>O(log n)</em> time.
+   *
+   * @param n The number of entries to take.
+   * @return A tree map of the <code>n</code> entries with the least keys of this tree map.
+   */
+  public TreeMap<K, V> take(final int n) {
+    return new TreeMap<K, V>(tree.take(n));
+  }
+
+  /**
+   * Returns this tree map without the entries with the given number of least keys. Runs in <em>O(log n)</em> time.
+   *
+   * @param n The number of entries to drop.
+   * @return A tree map without the <code>n</code> entries with the least keys of this tree map.
+   */
+  public TreeMap<K, V> drop(final int n) {
+    return new TreeMap<K, V>(tree.drop(n));
+  }
+
+  /**
+   * Returns the entries of this tree map at the positions from the first given position (inclusive) to the second
+   * (exclusive). Runs in <em>O(log n)</em> time.
+   *
+   * @param from The position of the first entry to keep.
+   * @param to   The position after the last entry to keep.
+   * @return A tree map of the entries of this tree map between the given positions.
+   */
+  public TreeMap<K, V> slice(final int from, final int to) {
+    return new TreeMap<K, V>(tree.slice(from, to));
+  }
+
+  /**
+   * Returns the entry with the least key of this tree map, if it is not empty.
+   *
+   * @return The entry with the least key, or None if this tree map is empty.
+   */
+  public Option<P2<K, V>> min() {
+    return tree.min().map(TreeMap.<K, V>entry());
+  }
+
+  /**
+   * Returns the entry with the greatest key of this tree map, if it is not empty.
+   *
+   * @return The entry with the greatest key, or None if this tree map is empty.
+   */
+  public Option<P2<K, V>> max() {
+    return tree.max().map(TreeMap.<K, V>entry());
+  }
+
+  /**
+   * Returns the entry with the greatest key less than or equal to the given key.
+   *
+   * @param k A key to look up.
+   * @return The entry with the greatest key less than or equal to the given key, or None if there is none.
+   */
+  public Option<P2<K, V>> floor(final K k) {
+    return tree.floor(P.p(k, Option.<V>none())).map(TreeMap.<K, V>entry());
+  }
+
+  /**
+   * Returns the entry with the least key greater than or equal to the given key.
+   *
+   * @param k A key to look up.
+   * @return The entry with the least key greater than or equal to the given key, or None if there is none.
+   */
+  public Option<P2<K, V>> ceiling(final K k) {
+    return tree.ceiling(P.p(k, Option.<V>none())).map(TreeMap.<K, V>entry());
+  }
+
+  /**
+   * Returns the entry with the greatest key strictly less than the given key.
+   *
+   * @param k A key to look up.
+   * @return The entry with the greatest key less than the given key, or None if there is none.
+   */
+  public Option<P2<K, V>> lookupLT(final K k) {
+    return tree.lookupLT(P.p(k, Option.<V>none())).map(TreeMap.<K, V>entry());
+  }
+
+  /**
+   * Returns the entry with the least key strictly greater than the given key.
+   *
+   * @param k A key to look up.
+   * @return The entry with the least key greater than the given key, or None if there is none.
+   */
+  public Option<P2<K, V>> lookupGT(final K k) {
+    return tree.lookupGT(P.p(k, Option.<V>none())).map(TreeMap.<K, V>entry());
+  }
+
+  /**
+   * Returns the entries of this tree map with keys greater than or equal to the first given key and less than the
+   * second. Runs in <em>O(log n)</em> time.
+   *
+   * @param from The least key (inclusive) of the range.
+   * @param to   The greatest key (exclusive) of the range.
+   * @return A tree map of the entries of this tree map within the given range.
+   */
+  public TreeMap<K, V> range(final K from, final K to) {
+    return new TreeMap<K, V>(tree.range(P.p(from, Option.<V>none()), P.p(to, Option.<V>none())));
+  }
+
+  private static <K, V> F<P2<K, Option<V>>, P2<K, V>> entry() {
+    return new F<P2<K, Option<V>>, P2<K, V>>() {
+      public P2<K, V> f(final P2<K, Option<V>> e) {
+        return entry(e);
+      }
+    };
+  }
+
+  private static <K, V> P2<K, V> entry(final P2<K, Option<V>> e) {
+    return p(e._1(), e._2().some());
+  }
+
   /**
    * Determines if this tree map has any entries.
    *
@@ -121,14 +255,26 @@ public final class TreeMap<K, V> implements Iterable<P2<K, V>> {
   }
 
   /**
-   * Returns an iterator for this map's key-value pairs.
+   * Returns an iterator for this map's key-value pairs, in ascending order of keys.
    * This method exists to permit the use in a <code>for</code>-each loop.
    *
    * @return A iterator for this map's key-value pairs.
    */
   public Iterator<P2<K, V>> iterator() {
-    return join(tree.toStream().map(P2.<K, Option<V>, IterableW<V>>map2_(IterableW.<V, Option<V>>wrap())
-    ).map(P2.tuple(compose(IterableW.<V, P2<K, V>>map(), P.<K, V>p2())))).iterator();
+    final Iterator<P2<K, Option<V>>> i = tree.iterator();
+    return new Iterator<P2<K, V>>() {
+      public boolean hasNext() {
+        return i.hasNext();
+      }
+
+      public P2<K, V> next() {
+        return entry(i.next());
+      }
+
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+    };
   }
 
   /**
@@ -220,6 +366,24 @@ public final class TreeMap<K, V> implements Iterable<P2<K, V>> {
         .map2(Option.<V>join().o(P2.<K, Option<V>>__2().mapOption()));
   }
 
+  /**
+   * Splits this TreeMap at the given key. Returns a triple of:
+   * <ul>
+   * <li>A tree map of the entries of this map with keys less than the given key.</li>
+   * <li>An option of the value mapped to the given key, if it exists in this map, otherwise None.
+   * <li>A tree map of the entries of this map with keys greater than the given key.</li>
+   * </ul>
+   * Runs in <em>O(log n)</em> time.
+   *
+   * @param k A key at which to split this map.
+   * @return Two tree maps and an optional value.
+   */
+  public P3<TreeMap<K, V>, Option<V>, TreeMap<K, V>> splitLookup(final K k) {
+    final P3<Set<P2<K, Option<V>>>, Option<P2<K, Option<V>>>, Set<P2<K, Option<V>>>> x =
+        tree.split(P.p(k, Option.<V>none()));
+    return P.p(new TreeMap<K, V>(x._1()), x._2().bind(P2.<K, Option<V>>__2()), new TreeMap<K, V>(x._3()));
+  }
+
   /**
    * Maps the given function across the values of this TreeMap.
    *
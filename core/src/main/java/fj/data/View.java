@@ -0,0 +1,559 @@
+package fj.data;
+
+import fj.Effect;
+import fj.F;
+import fj.F2;
+import fj.P2;
+import fj.Unit;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static fj.P.p;
+import static fj.Unit.unit;
+import static fj.data.Option.some;
+
+/**
+ * A lazy, fused view of a sequence of elements, such as a {@link List} or an {@link Array}. Maps,
+ * filters, takes, drops, zips and binds on a view do not build intermediate lists or arrays; they
+ * compose into a single pass over the underlying elements that runs only when a terminal operation
+ * such as a fold, {@link #toList()} or {@link #toArray()} is applied. A view holds no state of its
+ * own, so every terminal operation runs the whole pipeline again.
+ *
+ * @version %build.number%
+ */
+public abstract class View<A> implements Iterable<A> {
+  private View() {
+
+  }
+
+  /**
+   * Feeds the elements of this view to the given sink until it returns <code>false</code>.
+   *
+   * @param k The sink to feed elements to.
+   * @return <code>false</code> if the sink stopped the run, <code>true</code> otherwise.
+   */
+  abstract boolean run(F<A, Boolean> k);
+
+  // An iterator that does not support removal.
+  private abstract static class ViewIterator<A> implements Iterator<A> {
+    public final void remove() {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  // A sink that records whether its downstream sink stopped the run.
+  private abstract static class Stop<A, B> extends F<A, Boolean> {
+    final F<B, Boolean> k;
+    boolean stopped;
+
+    Stop(final F<B, Boolean> k) {
+      this.k = k;
+    }
+
+    final boolean push(final B b) {
+      if (k.f(b))
+        return true;
+      stopped = true;
+      return false;
+    }
+  }
+
+  /**
+   * Maps the given function across this view.
+   *
+   * @param f The function to map across this view.
+   * @return A view of the given function applied to each element of this view.
+   */
+  public final <B> View<B> map(final F<A, B> f) {
+    return new View<B>() {
+      boolean run(final F<B, Boolean> k) {
+        return View.this.run(new F<A, Boolean>() {
+          public Boolean f(final A a) {
+            return k.f(f.f(a));
+          }
+        });
+      }
+
+      public Iterator<B> iterator() {
+        final Iterator<A> i = View.this.iterator();
+        return new ViewIterator<B>() {
+          public boolean hasNext() {
+            return i.hasNext();
+          }
+
+          public B next() {
+            return f.f(i.next());
+          }
+        };
+      }
+    };
+  }
+
+  /**
+   * Filters elements from this view by returning only elements which produce <code>true</code>
+   * when the given function is applied to them.
+   *
+   * @param f The predicate function to filter on.
+   * @return A view of the elements of this view that match the given predicate.
+   */
+  public final View<A> filter(final F<A, Boolean> f) {
+    return new View<A>() {
+      boolean run(final F<A, Boolean> k) {
+        return View.this.run(new F<A, Boolean>() {
+          public Boolean f(final A a) {
+            return !f.f(a) || k.f(a);
+          }
+        });
+      }
+
+      public Iterator<A> iterator() {
+        final Iterator<A> i = View.this.iterator();
+        return new ViewIterator<A>() {
+          private A next;
+          private boolean ready;
+
+          public boolean hasNext() {
+            while (!ready && i.hasNext()) {
+              final A a = i.next();
+              if (f.f(a)) {
+                next = a;
+                ready = true;
+              }
+            }
+            return ready;
+          }
+
+          public A next() {
+            if (!hasNext())
+              throw new NoSuchElementException();
+            ready = false;
+            final A a = next;
+            next = null;
+            return a;
+          }
+        };
+      }
+    };
+  }
+
+  /**
+   * Takes the given number of elements from the head of this view if they are available.
+   *
+   * @param n The maximum number of elements to take from this view.
+   * @return A view of at most the given number of elements from the head of this view.
+   */
+  public final View<A> take(final int n) {
+    return new View<A>() {
+      boolean run(final F<A, Boolean> k) {
+        if (n <= 0)
+          return true;
+        final Stop<A, A> s = new Stop<A, A>(k) {
+          private int c;
+
+          public Boolean f(final A a) {
+            return push(a) && ++c < n;
+          }
+        };
+        View.this.run(s);
+        return !s.stopped;
+      }
+
+      public Iterator<A> iterator() {
+        final Iterator<A> i = View.this.iterator();
+        return new ViewIterator<A>() {
+          private int c;
+
+          public boolean hasNext() {
+            return c < n && i.hasNext();
+          }
+
+          public A next() {
+            if (!hasNext())
+              throw new NoSuchElementException();
+            c++;
+            return i.next();
+          }
+        };
+      }
+    };
+  }
+
+  /**
+   * Drops the given number of elements from the head of this view if they are available.
+   *
+   * @param n The number of elements to drop from the head of this view.
+   * @return A view of the elements of this view after the given number of elements.
+   */
+  public final View<A> drop(final int n) {
+    return new View<A>() {
+      boolean run(final F<A, Boolean> k) {
+        return View.this.run(new F<A, Boolean>() {
+          private int c;
+
+          public Boolean f(final A a) {
+            if (c < n) {
+              c++;
+              return true;
+            }
+            return k.f(a);
+          }
+        });
+      }
+
+      public Iterator<A> iterator() {
+        final Iterator<A> i = View.this.iterator();
+        for (int c = 0; c < n && i.hasNext(); c++)
+          i.next();
+        return i;
+      }
+    };
+  }
+
+  /**
+   * Binds the given function across each element of this view with a final join. The function may
+   * return any iterable, such as a list, an array, a stream or another view.
+   *
+   * @param f The function to apply to each element of this view.
+   * @return A view of the elements of the iterables the given function returns, in order.
+   */
+  public final <B> View<B> bind(final F<A, ? extends Iterable<B>> f) {
+    return new View<B>() {
+      boolean run(final F<B, Boolean> k) {
+        final Stop<A, B> s = new Stop<A, B>(k) {
+          public Boolean f(final A a) {
+            final Iterable<B> bs = f.f(a);
+            if (bs instanceof View) {
+              stopped = !((View<B>) bs).run(k);
+              return !stopped;
+            }
+            for (final B b : bs) {
+              if (!push(b))
+                return false;
+            }
+            return true;
+          }
+        };
+        View.this.run(s);
+        return !s.stopped;
+      }
+
+      public Iterator<B> iterator() {
+        final Iterator<A> i = View.this.iterator();
+        return new ViewIterator<B>() {
+          private Iterator<B> current;
+
+          public boolean hasNext() {
+            while ((current == null || !current.hasNext()) && i.hasNext())
+              current = f.f(i.next()).iterator();
+            return current != null && current.hasNext();
+          }
+
+          public B next() {
+            if (!hasNext())
+              throw new NoSuchElementException();
+            return current.next();
+          }
+        };
+      }
+    };
+  }
+
+  /**
+   * Zips this view with the given iterable using the given function. The view is as long as the
+   * shorter of this view and the given iterable.
+   *
+   * @param bs The iterable to zip this view with.
+   * @param f  The function to zip this view and the given iterable with.
+   * @return A view of the given function applied to corresponding elements.
+   */
+  public final <B, C> View<C> zipWith(final Iterable<B> bs, final F2<A, B, C> f) {
+    return new View<C>() {
+      boolean run(final F<C, Boolean> k) {
+        final Iterator<B> j = bs.iterator();
+        final Stop<A, C> s = new Stop<A, C>(k) {
+          public Boolean f(final A a) {
+            return j.hasNext() && push(f.f(a, j.next()));
+          }
+        };
+        View.this.run(s);
+        return !s.stopped;
+      }
+
+      public Iterator<C> iterator() {
+        final Iterator<A> i = View.this.iterator();
+        final Iterator<B> j = bs.iterator();
+        return new ViewIterator<C>() {
+          public boolean hasNext() {
+            return i.hasNext() && j.hasNext();
+          }
+
+          public C next() {
+            if (!hasNext())
+              throw new NoSuchElementException();
+            return f.f(i.next(), j.next());
+          }
+        };
+      }
+    };
+  }
+
+  /**
+   * Zips this view with the given iterable to produce a view of pairs. The view is as long as the
+   * shorter of this view and the given iterable.
+   *
+   * @param bs The iterable to zip this view with.
+   * @return A view of pairs of corresponding elements.
+   */
+  public final <B> View<P2<A, B>> zip(final Iterable<B> bs) {
+    return zipWith(bs, new F2<A, B, P2<A, B>>() {
+      public P2<A, B> f(final A a, final B b) {
+        return p(a, b);
+      }
+    });
+  }
+
+  /**
+   * Performs a left-fold reduction across this view, running the pipeline once.
+   *
+   * @param f The function to apply on each element of the view.
+   * @param b The beginning value to start the application from.
+   * @return The final result after the left-fold reduction.
+   */
+  public final <B> B foldLeft(final F2<B, A, B> f, final B b) {
+    final Object[] r = {b};
+    run(new F<A, Boolean>() {
+      @SuppressWarnings({"unchecked"})
+      public Boolean f(final A a) {
+        r[0] = f.f((B) r[0], a);
+        return true;
+      }
+    });
+    @SuppressWarnings({"unchecked"})
+    final B x = (B) r[0];
+    return x;
+  }
+
+  /**
+   * Performs a left-fold reduction across this view, running the pipeline once.
+   *
+   * @param f The function to apply on each element of the view.
+   * @param b The beginning value to start the application from.
+   * @return The final result after the left-fold reduction.
+   */
+  public final <B> B foldLeft(final F<B, F<A, B>> f, final B b) {
+    return foldLeft(new F2<B, A, B>() {
+      public B f(final B x, final A a) {
+        return f.f(x).f(a);
+      }
+    }, b);
+  }
+
+  /**
+   * Performs a side-effect for each element of this view.
+   *
+   * @param f The side-effect to perform for the given element.
+   * @return The unit value.
+   */
+  public final Unit foreach(final Effect<A> f) {
+    run(new F<A, Boolean>() {
+      public Boolean f(final A a) {
+        f.e(a);
+        return true;
+      }
+    });
+    return unit();
+  }
+
+  /**
+   * Returns <code>true</code> if the predicate holds for all of the elements of this view,
+   * <code>false</code> otherwise (<code>true</code> for the empty view).
+   *
+   * @param f The predicate function to test on each element of this view.
+   * @return <code>true</code> if the predicate holds for all of the elements of this view.
+   */
+  public final boolean forall(final F<A, Boolean> f) {
+    return run(f);
+  }
+
+  /**
+   * Returns <code>true</code> if the predicate holds for at least one of the elements of this view,
+   * <code>false</code> otherwise (<code>false</code> for the empty view).
+   *
+   * @param f The predicate function to test on the elements of this view.
+   * @return <code>true</code> if the predicate holds for at least one of the elements of this view.
+   */
+  public final boolean exists(final F<A, Boolean> f) {
+    return find(f).isSome();
+  }
+
+  /**
+   * Finds the first element of this view that matches the given predicate, stopping the pipeline
+   * as soon as it is found.
+   *
+   * @param f The predicate function to test on elements of this view.
+   * @return The first element that matches the given predicate or no value if no elements match.
+   */
+  public final Option<A> find(final F<A, Boolean> f) {
+    final Object[] r = new Object[1];
+    final boolean found = !run(new F<A, Boolean>() {
+      public Boolean f(final A a) {
+        if (f.f(a)) {
+          r[0] = a;
+          return false;
+        }
+        return true;
+      }
+    });
+    @SuppressWarnings({"unchecked"})
+    final A a = (A) r[0];
+    return found ? some(a) : Option.<A>none();
+  }
+
+  /**
+   * The number of elements in this view, running the pipeline once.
+   *
+   * @return The number of elements in this view.
+   */
+  public final int length() {
+    final int[] n = {0};
+    run(new F<A, Boolean>() {
+      public Boolean f(final A a) {
+        n[0]++;
+        return true;
+      }
+    });
+    return n[0];
+  }
+
+  /**
+   * Runs this view into a list.
+   *
+   * @return A list of the elements of this view.
+   */
+  public final List<A> toList() {
+    final List.Buffer<A> b = new List.Buffer<A>();
+    run(new F<A, Boolean>() {
+      public Boolean f(final A a) {
+        b.snoc(a);
+        return true;
+      }
+    });
+    return b.toList();
+  }
+
+  /**
+   * Runs this view into an array.
+   *
+   * @return An array of the elements of this view.
+   */
+  public final Array<A> toArray() {
+    final Object[][] a = {new Object[16]};
+    final int[] n = {0};
+    run(new F<A, Boolean>() {
+      public Boolean f(final A x) {
+        if (n[0] == a[0].length)
+          a[0] = copyOf(a[0], n[0] * 2);
+        a[0][n[0]++] = x;
+        return true;
+      }
+    });
+    return Array.mkArray(copyOf(a[0], n[0]));
+  }
+
+  /**
+   * Returns a lazy stream of the elements of this view.
+   *
+   * @return A lazy stream of the elements of this view.
+   */
+  public final Stream<A> toStream() {
+    return Stream.iterableStream(this);
+  }
+
+  /**
+   * Returns a view of the elements of the given list.
+   *
+   * @param as The list to view.
+   * @return A view of the elements of the given list.
+   */
+  static <A> View<A> listView(final List<A> as) {
+    return new View<A>() {
+      boolean run(final F<A, Boolean> k) {
+        for (List<A> xs = as; xs.isNotEmpty(); xs = xs.tail()) {
+          if (!k.f(xs.head()))
+            return false;
+        }
+        return true;
+      }
+
+      public Iterator<A> iterator() {
+        return as.iterator();
+      }
+    };
+  }
+
+  /**
+   * Returns a view of the elements of the given array, which must not be modified.
+   *
+   * @param a The array to view.
+   * @return A view of the elements of the given array.
+   */
+  static <A> View<A> arrayView(final Object[] a) {
+    return new View<A>() {
+      @SuppressWarnings({"unchecked"})
+      boolean run(final F<A, Boolean> k) {
+        for (final Object x : a) {
+          if (!k.f((A) x))
+            return false;
+        }
+        return true;
+      }
+
+      public Iterator<A> iterator() {
+        return new ViewIterator<A>() {
+          private int i;
+
+          public boolean hasNext() {
+            return i < a.length;
+          }
+
+          @SuppressWarnings({"unchecked"})
+          public A next() {
+            if (i >= a.length)
+              throw new NoSuchElementException();
+            return (A) a[i++];
+          }
+        };
+      }
+    };
+  }
+
+  /**
+   * Returns a view of the elements of the given iterable.
+   *
+   * @param as The iterable to view.
+   * @return A view of the elements of the given iterable.
+   */
+  public static <A> View<A> iterableView(final Iterable<A> as) {
+    return new View<A>() {
+      boolean run(final F<A, Boolean> k) {
+        for (final A a : as) {
+          if (!k.f(a))
+            return false;
+        }
+        return true;
+      }
+
+      public Iterator<A> iterator() {
+        return as.iterator();
+      }
+    };
+  }
+
+  // A copy of the first n elements of the given array, padded with nulls if it is shorter.
+  private static Object[] copyOf(final Object[] a, final int n) {
+    final Object[] bs = new Object[n];
+    System.arraycopy(a, 0, bs, 0, Math.min(a.length, n));
+    return bs;
+  }
+}
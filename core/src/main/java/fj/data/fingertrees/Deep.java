@@ -2,25 +2,37 @@ package fj.data.fingertrees;
 
 import fj.F;
 import fj.Function;
+import fj.P1;
 import fj.P2;
+import fj.P3;
+import fj.data.Option;
 import fj.data.vector.V2;
 import fj.data.vector.V3;
 import fj.data.vector.V4;
 import static fj.data.List.list;
 import static fj.Function.flip;
+import static fj.P.p;
 
 /**
  * A finger tree with 1-4-digits on the left and right, and a finger tree of 2-3-nodes in the middle.
  */
 public final class Deep<V, A> extends FingerTree<V, A> {
-  private final V v;
+  private final P1<V> v;
   private final Digit<V, A> prefix;
-  private final FingerTree<V, Node<V, A>> middle;
+  private final P1<FingerTree<V, Node<V, A>>> middle;
   private final Digit<V, A> suffix;
 
   Deep(final Measured<V, A> m, final V v, final Digit<V, A> prefix,
        final FingerTree<V, Node<V, A>> middle,
        final Digit<V, A> suffix) {
+    this(m, p(v), prefix, p(middle), suffix);
+  }
+
+  // The middle tree, and the measure which depends on it, are suspended so that taking the views of a tree
+  // only forces as much of the spine as the views reach.
+  Deep(final Measured<V, A> m, final P1<V> v, final Digit<V, A> prefix,
+       final P1<FingerTree<V, Node<V, A>>> middle,
+       final Digit<V, A> suffix) {
     super(m);
     this.v = v;
     this.prefix = prefix;
@@ -43,7 +55,7 @@ public final class Deep<V, A> extends FingerTree<V, A> {
    * @return a finger tree of the inner nodes of this tree.
    */
   public FingerTree<V, Node<V, A>> middle() {
-    return middle;
+    return middle._1();
   }
 
   /**
@@ -56,23 +68,23 @@ public final class Deep<V, A> extends FingerTree<V, A> {
   }
 
   @Override public <B> B foldRight(final F<A, F<B, B>> aff, final B z) {
-    return prefix.foldRight(aff, middle.foldRight(flip(Node.<V, A, B>foldRight_(aff)), suffix.foldRight(aff, z)));
+    return prefix.foldRight(aff, middle._1().foldRight(flip(Node.<V, A, B>foldRight_(aff)), suffix.foldRight(aff, z)));
   }
 
   @Override public A reduceRight(final F<A, F<A, A>> aff) {
-    return prefix.foldRight(aff, middle.foldRight(flip(Node.<V, A, A>foldRight_(aff)), suffix.reduceRight(aff)));
+    return prefix.foldRight(aff, middle._1().foldRight(flip(Node.<V, A, A>foldRight_(aff)), suffix.reduceRight(aff)));
   }
 
   @Override public <B> B foldLeft(final F<B, F<A, B>> bff, final B z) {
-    return suffix.foldLeft(bff, middle.foldLeft(Node.<V, A, B>foldLeft_(bff), prefix.foldLeft(bff, z)));
+    return suffix.foldLeft(bff, middle._1().foldLeft(Node.<V, A, B>foldLeft_(bff), prefix.foldLeft(bff, z)));
   }
 
   @Override public A reduceLeft(final F<A, F<A, A>> aff) {
-    return suffix.foldLeft(aff, middle.foldLeft(Node.<V, A, A>foldLeft_(aff), prefix.reduceLeft(aff)));
+    return suffix.foldLeft(aff, middle._1().foldLeft(Node.<V, A, A>foldLeft_(aff), prefix.reduceLeft(aff)));
   }
 
   @Override public <B> FingerTree<V, B> map(final F<A, B> abf, final Measured<V, B> m) {
-    return new Deep<V, B>(m, v, prefix.map(abf, m), middle.map(Node.<V, A, B>liftM(abf, m), m.nodeMeasured()),
+    return new Deep<V, B>(m, measure(), prefix.map(abf, m), middle._1().map(Node.<V, A, B>liftM(abf, m), m.nodeMeasured()),
                           suffix.map(abf, m));
   }
 
@@ -82,7 +94,7 @@ public final class Deep<V, A> extends FingerTree<V, A> {
    * @return the sum of the measurements of this tree's elements, according to the monoid.
    */
   public V measure() {
-    return v;
+    return v._1();
   }
 
   /**
@@ -95,25 +107,25 @@ public final class Deep<V, A> extends FingerTree<V, A> {
 
   @Override public FingerTree<V, A> cons(final A a) {
     final Measured<V, A> m = measured();
-    final V measure = m.sum(m.measure(a), v);
+    final V measure = m.sum(m.measure(a), v._1());
     final MakeTree<V, A> mk = mkTree(m);
     return prefix.match(new F<One<V, A>, FingerTree<V, A>>() {
       public FingerTree<V, A> f(final One<V, A> one) {
-        return new Deep<V, A>(m, measure, mk.two(a, one.value()), middle, suffix);
+        return new Deep<V, A>(m, p(measure), mk.two(a, one.value()), middle, suffix);
       }
     }, new F<Two<V, A>, FingerTree<V, A>>() {
       public FingerTree<V, A> f(final Two<V, A> two) {
-        return new Deep<V, A>(m, measure, mk.three(a, two.values()._1(), two.values()._2()), middle, suffix);
+        return new Deep<V, A>(m, p(measure), mk.three(a, two.values()._1(), two.values()._2()), middle, suffix);
       }
     }, new F<Three<V, A>, FingerTree<V, A>>() {
       public FingerTree<V, A> f(final Three<V, A> three) {
-        return new Deep<V, A>(m, measure, mk.four(a, three.values()._1(), three.values()._2(),
-                                                  three.values()._3()), middle, suffix);
+        return new Deep<V, A>(m, p(measure), mk.four(a, three.values()._1(), three.values()._2(),
+                                                     three.values()._3()), middle, suffix);
       }
     }, new F<Four<V, A>, FingerTree<V, A>>() {
       public FingerTree<V, A> f(final Four<V, A> four) {
         return new Deep<V, A>(m, measure, mk.two(a, four.values()._1()),
-                              middle.cons(mk.node3(four.values()._2(), four.values()._3(), four.values()._4())),
+                              middle._1().cons(mk.node3(four.values()._2(), four.values()._3(), four.values()._4())),
                               suffix);
       }
     });
@@ -121,25 +133,25 @@ public final class Deep<V, A> extends FingerTree<V, A> {
 
   public FingerTree<V, A> snoc(final A a) {
     final Measured<V, A> m = measured();
-    final V measure = m.sum(m.measure(a), v);
+    final V measure = m.sum(v._1(), m.measure(a));
     final MakeTree<V, A> mk = mkTree(m);
     return suffix.match(new F<One<V, A>, FingerTree<V, A>>() {
       public FingerTree<V, A> f(final One<V, A> one) {
-        return new Deep<V, A>(m, measure, prefix, middle, mk.two(one.value(), a));
+        return new Deep<V, A>(m, p(measure), prefix, middle, mk.two(one.value(), a));
       }
     }, new F<Two<V, A>, FingerTree<V, A>>() {
       public FingerTree<V, A> f(final Two<V, A> two) {
-        return new Deep<V, A>(m, measure, prefix, middle, mk.three(two.values()._1(), two.values()._2(), a));
+        return new Deep<V, A>(m, p(measure), prefix, middle, mk.three(two.values()._1(), two.values()._2(), a));
       }
     }, new F<Three<V, A>, FingerTree<V, A>>() {
       public FingerTree<V, A> f(final Three<V, A> three) {
-        return new Deep<V, A>(m, measure, prefix, middle, mk.four(three.values()._1(), three.values()._2(),
-                                                                  three.values()._3(), a));
+        return new Deep<V, A>(m, p(measure), prefix, middle, mk.four(three.values()._1(), three.values()._2(),
+                                                                     three.values()._3(), a));
       }
     }, new F<Four<V, A>, FingerTree<V, A>>() {
       public FingerTree<V, A> f(final Four<V, A> four) {
         return new Deep<V, A>(m, measure, prefix,
-                              middle.snoc(mk.node3(four.values()._1(), four.values()._2(), four.values()._3())),
+                              middle._1().snoc(mk.node3(four.values()._1(), four.values()._2(), four.values()._3())),
                               mk.two(four.values()._4(), a));
       }
     });
@@ -147,31 +159,149 @@ public final class Deep<V, A> extends FingerTree<V, A> {
 
   @Override public FingerTree<V, A> append(final FingerTree<V, A> t) {
     final Measured<V, A> m = measured();
-    return t.match(Function.<Empty<V, A>, FingerTree<V, A>>constant(t), new F<Single<V, A>, FingerTree<V, A>>() {
+    return t.match(Function.<Empty<V, A>, FingerTree<V, A>>constant(this), new F<Single<V, A>, FingerTree<V, A>>() {
       public FingerTree<V, A> f(final Single<V, A> single) {
-        return t.snoc(single.value());
+        return snoc(single.value());
       }
     }, new F<Deep<V, A>, FingerTree<V, A>>() {
       public FingerTree<V, A> f(final Deep<V, A> deep) {
         return new Deep<V, A>(m, m.sum(measure(), deep.measure()), prefix,
-                              addDigits0(m, middle, suffix, deep.prefix, deep.middle), deep.suffix);
+                              addDigits0(m, middle._1(), suffix, deep.prefix, deep.middle()), deep.suffix);
       }
     });
   }
 
-  @SuppressWarnings({"ReturnOfNull", "IfStatementWithIdenticalBranches"})
   @Override public P2<Integer, A> lookup(final F<V, Integer> o, final int i) {
     final int spr = o.f(prefix.measure());
-    final int spm = o.f(middle.measure());
     if (i < spr)
-        return null; // TODO
-      //return prefix.lookup(o, i);
+      return prefix.lookup(o, i);
+    final int spm = spr + o.f(middle._1().measure());
     if (i < spm) {
-      return null; // TODO
-      /* final P2<Integer, Node<V, A>> p = middle.lookup(o, i - spr);
-      return p._2().lookup(o, p._1()); */
+      final P2<Integer, Node<V, A>> p = middle._1().lookup(o, i - spr);
+      return p._2().lookup(o, p._1());
+    }
+    return suffix.lookup(o, i - spm);
+  }
+
+  @Override FingerTree<V, A> updateAt(final F<V, Integer> o, final int i, final F<Integer, F<A, A>> f) {
+    final MakeTree<V, A> mk = mkTree(measured());
+    final int spr = o.f(prefix.measure());
+    if (i < spr)
+      return mk.deep(prefix.updateAt(o, i, f), middle._1(), suffix);
+    final int spm = spr + o.f(middle._1().measure());
+    if (i < spm)
+      return mk.deep(prefix, middle._1().updateAt(o, i - spr, new F<Integer, F<Node<V, A>, Node<V, A>>>() {
+        public F<Node<V, A>, Node<V, A>> f(final Integer j) {
+          return new F<Node<V, A>, Node<V, A>>() {
+            public Node<V, A> f(final Node<V, A> node) {
+              return node.updateAt(o, j, f);
+            }
+          };
+        }
+      }), suffix);
+    return mk.deep(prefix, middle._1(), suffix.updateAt(o, i - spm, f));
+  }
+
+  @Override P3<FingerTree<V, A>, A, FingerTree<V, A>> split1(final F<V, Boolean> predicate, final V acc) {
+    final Measured<V, A> m = measured();
+    final V accL = m.sum(acc, prefix.measure());
+    if (predicate.f(accL)) {
+      final P3<Option<Digit<V, A>>, A, Option<Digit<V, A>>> s = prefix.split1(predicate, acc);
+      return p(toTree(m, s._1()), s._2(), deepL(m, s._3(), middle._1(), suffix));
+    }
+    final V accM = m.sum(accL, middle._1().measure());
+    if (predicate.f(accM)) {
+      final P3<FingerTree<V, Node<V, A>>, Node<V, A>, FingerTree<V, Node<V, A>>> mt =
+          middle._1().split1(predicate, accL);
+      final P3<Option<Digit<V, A>>, A, Option<Digit<V, A>>> s =
+          mt._2().toDigit().split1(predicate, m.sum(accL, mt._1().measure()));
+      return p(deepR(m, prefix, mt._1(), s._1()), s._2(), deepL(m, s._3(), mt._3(), suffix));
+    } else {
+      final P3<Option<Digit<V, A>>, A, Option<Digit<V, A>>> s = suffix.split1(predicate, accM);
+      return p(deepR(m, prefix, middle._1(), s._1()), s._2(), toTree(m, s._3()));
     }
-    return null; // TODO suffix.lookup(i - spm);
+  }
+
+  @Override public A head() {
+    return prefix.head();
+  }
+
+  @Override public A last() {
+    return suffix.last();
+  }
+
+  @Override public FingerTree<V, A> tail() {
+    final Option<Digit<V, A>> t = prefix.tail();
+    return t.isSome() ? lazyDeep(measured(), t.some(), middle, suffix) : borrowL(measured(), middle._1(), suffix);
+  }
+
+  @Override public FingerTree<V, A> init() {
+    final Option<Digit<V, A>> i = suffix.init();
+    return i.isSome() ? lazyDeep(measured(), prefix, middle, i.some()) : borrowR(measured(), prefix, middle._1());
+  }
+
+  @Override FingerTree<V, A> reverse(final F<A, A> f) {
+    final Measured<V, A> m = measured();
+    return mkTree(m).deep(suffix.reverse(f), middle._1().reverse(new F<Node<V, A>, Node<V, A>>() {
+      public Node<V, A> f(final Node<V, A> node) {
+        return node.reverse(f);
+      }
+    }), prefix.reverse(f));
+  }
+
+  private static <V, A> FingerTree<V, A> toTree(final Measured<V, A> m, final Option<Digit<V, A>> d) {
+    return d.isSome() ? d.some().toTree() : new Empty<V, A>(m);
+  }
+
+  // Builds a tree from a prefix that may be empty.
+  private static <V, A> FingerTree<V, A> deepL(final Measured<V, A> m, final Option<Digit<V, A>> prefix,
+                                               final FingerTree<V, Node<V, A>> middle, final Digit<V, A> suffix) {
+    return prefix.isSome() ? mkTree(m).deep(prefix.some(), middle, suffix) : borrowL(m, middle, suffix);
+  }
+
+  // Builds a tree from a suffix that may be empty.
+  private static <V, A> FingerTree<V, A> deepR(final Measured<V, A> m, final Digit<V, A> prefix,
+                                               final FingerTree<V, Node<V, A>> middle, final Option<Digit<V, A>> suffix) {
+    return suffix.isSome() ? mkTree(m).deep(prefix, middle, suffix.some()) : borrowR(m, prefix, middle);
+  }
+
+  // Builds a tree without a prefix, by making the first node of the middle tree the prefix. The rest of the
+  // middle tree is suspended.
+  private static <V, A> FingerTree<V, A> borrowL(final Measured<V, A> m, final FingerTree<V, Node<V, A>> middle,
+                                                 final Digit<V, A> suffix) {
+    if (middle.isEmpty())
+      return suffix.toTree();
+    return new Deep<V, A>(m, p(m.sum(middle.measure(), suffix.measure())), middle.head().toDigit(),
+                          new P1<FingerTree<V, Node<V, A>>>() {
+                            public FingerTree<V, Node<V, A>> _1() {
+                              return middle.tail();
+                            }
+                          }.hardMemo(), suffix);
+  }
+
+  // Builds a tree without a suffix, by making the last node of the middle tree the suffix. The rest of the
+  // middle tree is suspended.
+  private static <V, A> FingerTree<V, A> borrowR(final Measured<V, A> m, final Digit<V, A> prefix,
+                                                 final FingerTree<V, Node<V, A>> middle) {
+    if (middle.isEmpty())
+      return prefix.toTree();
+    return new Deep<V, A>(m, p(m.sum(prefix.measure(), middle.measure())), prefix,
+                          new P1<FingerTree<V, Node<V, A>>>() {
+                            public FingerTree<V, Node<V, A>> _1() {
+                              return middle.init();
+                            }
+                          }.hardMemo(), middle.last().toDigit());
+  }
+
+  // A tree whose measure is summed only when it is needed, so that the middle tree stays suspended.
+  private static <V, A> FingerTree<V, A> lazyDeep(final Measured<V, A> m, final Digit<V, A> prefix,
+                                                  final P1<FingerTree<V, Node<V, A>>> middle,
+                                                  final Digit<V, A> suffix) {
+    return new Deep<V, A>(m, new P1<V>() {
+      public V _1() {
+        return m.sum(prefix.measure(), m.sum(middle._1().measure(), suffix.measure()));
+      }
+    }.hardMemo(), prefix, middle, suffix);
   }
 
   private static <V, A> FingerTree<V, Node<V, A>> addDigits0(final Measured<V, A> m, final FingerTree<V, Node<V, A>> m1,
@@ -300,8 +430,8 @@ public final class Deep<V, A> extends FingerTree<V, A> {
         }, new F<Deep<V, Node<V, A>>, FingerTree<V, Node<V, A>>>() {
           public FingerTree<V, Node<V, A>> f(final Deep<V, Node<V, A>> deep2) {
             final Measured<V, Node<V, A>> nm = m.nodeMeasured();
-            return new Deep<V, Node<V, A>>(nm, m.sum(m.sum(deep1.v, nm.measure(a)), deep2.v), deep1.prefix,
-                                           addDigits1(nm, deep1.middle, deep1.suffix, a, deep2.prefix, deep2.middle),
+            return new Deep<V, Node<V, A>>(nm, m.sum(m.sum(deep1.measure(), nm.measure(a)), deep2.measure()), deep1.prefix,
+                                           addDigits1(nm, deep1.middle(), deep1.suffix, a, deep2.prefix, deep2.middle()),
                                            deep2.suffix);
           }
         });
@@ -439,8 +569,8 @@ public final class Deep<V, A> extends FingerTree<V, A> {
             return new Deep<V, Node<V, A>>(m.nodeMeasured(),
                                            m.sum(m.sum(m.sum(deep.measure(), n1.measure()), n2.measure()),
                                                  deep2.measure()), deep.prefix,
-                                           addDigits2(m.nodeMeasured(), deep.middle, deep.suffix, n1, n2, deep2.prefix,
-                                                      deep2.middle), deep2.suffix);
+                                           addDigits2(m.nodeMeasured(), deep.middle(), deep.suffix, n1, n2, deep2.prefix,
+                                                      deep2.middle()), deep2.suffix);
           }
         });
       }
@@ -580,9 +710,9 @@ public final class Deep<V, A> extends FingerTree<V, A> {
         }, new F<Deep<V, Node<V, A>>, FingerTree<V, Node<V, A>>>() {
           public FingerTree<V, Node<V, A>> f(final Deep<V, Node<V, A>> deep2) {
             return new Deep<V, Node<V, A>>(nm, nm.monoid().sumLeft(
-                list(deep.v, n1.measure(), n2.measure(), n3.measure(), deep2.v)), deep.prefix,
-                                           addDigits3(nm, deep.middle, deep.suffix, n1, n2, n3, deep2.prefix,
-                                                      deep2.middle), deep2.suffix);
+                list(deep.measure(), n1.measure(), n2.measure(), n3.measure(), deep2.measure())), deep.prefix,
+                                           addDigits3(nm, deep.middle(), deep.suffix, n1, n2, n3, deep2.prefix,
+                                                      deep2.middle()), deep2.suffix);
           }
         });
       }
@@ -729,9 +859,9 @@ public final class Deep<V, A> extends FingerTree<V, A> {
         }, new F<Deep<V, Node<V, A>>, FingerTree<V, Node<V, A>>>() {
           public FingerTree<V, Node<V, A>> f(final Deep<V, Node<V, A>> deep2) {
             return new Deep<V, Node<V, A>>(nm, m.monoid().sumLeft(
-                list(deep.v, n1.measure(), n2.measure(), n3.measure(), n4.measure(), deep2.v)), deep.prefix,
-                                           addDigits4(nm, deep.middle, deep.suffix, n1, n2, n3, n4, deep2.prefix,
-                                                      deep2.middle), deep2.suffix);
+                list(deep.measure(), n1.measure(), n2.measure(), n3.measure(), n4.measure(), deep2.measure())), deep.prefix,
+                                           addDigits4(nm, deep.middle(), deep.suffix, n1, n2, n3, n4, deep2.prefix,
+                                                      deep2.middle()), deep2.suffix);
           }
         });
       }
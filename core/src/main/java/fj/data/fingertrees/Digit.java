@@ -1,11 +1,15 @@
 package fj.data.fingertrees;
 
 import fj.F;
-import fj.F2;
-import fj.Function;
+import fj.P2;
+import fj.P3;
+import fj.data.List;
+import fj.data.Option;
 import fj.data.vector.V2;
 import fj.data.vector.V3;
 import fj.data.vector.V4;
+import static fj.Bottom.error;
+import static fj.P.p;
 import static fj.data.fingertrees.FingerTree.mkTree;
 
 /**
@@ -129,9 +133,11 @@ public abstract class Digit<V, A> {
                               final F<Four<V, A>, B> four);
 
   private final Measured<V, A> m;
+  private final V measure;
 
-  Digit(final Measured<V, A> m) {
+  Digit(final Measured<V, A> m, final V measure) {
     this.m = m;
+    this.measure = measure;
   }
 
   /**
@@ -140,11 +146,7 @@ public abstract class Digit<V, A> {
    * @return the sum of the measurements of this digit according to the monoid.
    */
   public final V measure() {
-    return foldLeft(Function.curry(new F2<V, A, V>() {
-      public V f(final V v, final A a) {
-        return m.sum(v, m.measure(a));
-      }
-    }), m.zero());
+    return measure;
   }
 
   /**
@@ -173,4 +175,90 @@ public abstract class Digit<V, A> {
       }
     });
   }
+
+  /**
+   * Returns the elements of this digit as a list.
+   *
+   * @return the elements of this digit as a list.
+   */
+  public abstract List<A> toList();
+
+  final A head() {
+    return toList().head();
+  }
+
+  final A last() {
+    return toList().last();
+  }
+
+  final Option<Digit<V, A>> tail() {
+    return digit(m, toList().tail());
+  }
+
+  final Option<Digit<V, A>> init() {
+    return digit(m, toList().init());
+  }
+
+  final Digit<V, A> reverse(final F<A, A> f) {
+    return digit(m, toList().reverse().map(f)).some();
+  }
+
+  final P2<Integer, A> lookup(final F<V, Integer> o, final int i) {
+    int j = i;
+    for (List<A> as = toList(); as.isNotEmpty(); as = as.tail()) {
+      final int s = o.f(m.measure(as.head()));
+      if (j < s)
+        return p(j, as.head());
+      j -= s;
+    }
+    throw error("Index " + i + " out of bounds.");
+  }
+
+  final Digit<V, A> updateAt(final F<V, Integer> o, final int i, final F<Integer, F<A, A>> f) {
+    final List.Buffer<A> b = List.Buffer.empty();
+    int j = i;
+    for (List<A> as = toList(); as.isNotEmpty(); as = as.tail()) {
+      final int s = o.f(m.measure(as.head()));
+      if (j >= 0 && j < s)
+        b.snoc(f.f(j).f(as.head()));
+      else
+        b.snoc(as.head());
+      j -= s;
+    }
+    return digit(m, b.toList()).some();
+  }
+
+  // Splits around the first element at which the predicate holds for the accumulated measure, or the last element.
+  final P3<Option<Digit<V, A>>, A, Option<Digit<V, A>>> split1(final F<V, Boolean> predicate, final V acc) {
+    List<A> before = List.nil();
+    List<A> as = toList();
+    V v = acc;
+    while (as.tail().isNotEmpty()) {
+      v = m.sum(v, m.measure(as.head()));
+      if (predicate.f(v))
+        break;
+      before = before.cons(as.head());
+      as = as.tail();
+    }
+    return p(digit(m, before.reverse()), as.head(), digit(m, as.tail()));
+  }
+
+  // Constructs a digit from a list of at most four elements, or none if the list is empty.
+  static <V, A> Option<Digit<V, A>> digit(final Measured<V, A> m, final List<A> as) {
+    final MakeTree<V, A> mk = mkTree(m);
+    switch (as.length()) {
+      case 0:
+        return Option.none();
+      case 1:
+        return Option.<Digit<V, A>>some(mk.one(as.head()));
+      case 2:
+        return Option.<Digit<V, A>>some(mk.two(as.head(), as.index(1)));
+      case 3:
+        return Option.<Digit<V, A>>some(mk.three(as.head(), as.index(1), as.index(2)));
+      case 4:
+        return Option.<Digit<V, A>>some(mk.four(as.head(), as.index(1), as.index(2), as.index(3)));
+      default:
+        throw error("Digits have at most four elements.");
+    }
+  }
 }
@@ -2,6 +2,7 @@ package fj.data.fingertrees;
 
 import fj.F;
 import fj.P2;
+import fj.P3;
 import static fj.Bottom.error;
 
 /**
@@ -28,6 +29,34 @@ public final class Empty<V, A> extends FingerTree<V, A> {
     throw error("Lookup of empty tree.");
   }
 
+  @Override FingerTree<V, A> updateAt(final F<V, Integer> o, final int i, final F<Integer, F<A, A>> f) {
+    throw error("Update of empty tree.");
+  }
+
+  @Override P3<FingerTree<V, A>, A, FingerTree<V, A>> split1(final F<V, Boolean> predicate, final V acc) {
+    throw error("Split of empty tree.");
+  }
+
+  @Override public A head() {
+    throw error("Selection of head in empty tree.");
+  }
+
+  @Override public A last() {
+    throw error("Selection of last in empty tree.");
+  }
+
+  @Override public FingerTree<V, A> tail() {
+    throw error("Tail of empty tree.");
+  }
+
+  @Override public FingerTree<V, A> init() {
+    throw error("Init of empty tree.");
+  }
+
+  @Override FingerTree<V, A> reverse(final F<A, A> f) {
+    return this;
+  }
+
   @Override public <B> B foldRight(final F<A, F<B, B>> aff, final B z) {
     return z;
   }
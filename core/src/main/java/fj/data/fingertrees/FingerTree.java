@@ -1,10 +1,18 @@
 package fj.data.fingertrees;
 
 import fj.F;
+import fj.Function;
 import fj.P2;
+import fj.P3;
+import fj.data.List;
 import fj.data.Seq;
 import fj.Monoid;
 
+import static fj.P.p;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
 /**
  * Provides 2-3 finger trees, a functional representation of persistent sequences supporting access to the ends in
  * amortized O(1) time. Concatenation and splitting time is O(log n) in the size of the smaller piece.
@@ -20,7 +28,7 @@ import fj.Monoid;
  * @param <V> The monoidal type with which to annotate nodes.
  * @param <A> The type of the tree's elements.
  */
-public abstract class FingerTree<V, A> {
+public abstract class FingerTree<V, A> implements Iterable<A> {
   private final Measured<V, A> m;
 
   /**
@@ -147,5 +155,196 @@ public abstract class FingerTree<V, A> {
    */
   public abstract FingerTree<V, A> append(final FingerTree<V, A> t);
 
+  /**
+   * Finds the element at the given position, where positions are the measures of the elements converted to
+   * integers with the given function. Positions are relative to the start of the tree.
+   *
+   * @param o A function that converts measures to integer positions.
+   * @param i The position to look up.
+   * @return The element at the given position, paired with the position that remains within that element.
+   */
   public abstract P2<Integer, A> lookup(final F<V, Integer> o, final int i);
+
+  /**
+   * Replaces the element at the given position by applying the given function to it, where positions are the
+   * measures of the elements converted to integers with the given function. Only the path to the element is
+   * rebuilt.
+   *
+   * @param o A function that converts measures to integer positions.
+   * @param i The position of the element to replace.
+   * @param f A function with which to transform the element.
+   * @return A new tree with the element at the given position transformed.
+   */
+  public final FingerTree<V, A> update(final F<V, Integer> o, final int i, final F<A, A> f) {
+    return updateAt(o, i, Function.<Integer, F<A, A>>constant(f));
+  }
+
+  // Replaces the element at the given position, where the function is given the position within the element.
+  abstract FingerTree<V, A> updateAt(final F<V, Integer> o, final int i, final F<Integer, F<A, A>> f);
+
+  /**
+   * Splits this tree into a pair of subtrees at the point where the given predicate, applied to the accumulated
+   * measure, changes from false to true. The predicate should be monotonic. If the predicate does not hold for the
+   * measure of the whole tree, the first subtree is this tree and the second is empty.
+   *
+   * @param predicate A predicate on the accumulated measure of the tree.
+   * @return The elements before the split point, and the elements from the split point onwards.
+   */
+  public final P2<FingerTree<V, A>, FingerTree<V, A>> split(final F<V, Boolean> predicate) {
+    if (!isEmpty() && predicate.f(measure())) {
+      final P3<FingerTree<V, A>, A, FingerTree<V, A>> s = split1(predicate);
+      return p(s._1(), s._3().cons(s._2()));
+    } else
+      return p(this, mkTree(m).empty());
+  }
+
+  /**
+   * Splits this non-empty tree around the element at which the given predicate, applied to the accumulated measure,
+   * changes from false to true. The predicate should be monotonic. If the predicate does not hold for the measure of
+   * the whole tree, the split is around the last element.
+   *
+   * @param predicate A predicate on the accumulated measure of the tree.
+   * @return The elements before the split point, the element at the split point, and the elements after it.
+   */
+  public final P3<FingerTree<V, A>, A, FingerTree<V, A>> split1(final F<V, Boolean> predicate) {
+    return split1(predicate, m.zero());
+  }
+
+  abstract P3<FingerTree<V, A>, A, FingerTree<V, A>> split1(final F<V, Boolean> predicate, final V acc);
+
+  /**
+   * Returns the first element of this tree, or throws an error if it is empty. This is an O(1) operation.
+   *
+   * @return The first element of this tree.
+   */
+  public abstract A head();
+
+  /**
+   * Returns the last element of this tree, or throws an error if it is empty. This is an O(1) operation.
+   *
+   * @return The last element of this tree.
+   */
+  public abstract A last();
+
+  /**
+   * Returns this tree without its first element, or throws an error if it is empty. This takes amortized O(1) time.
+   *
+   * @return This tree without its first element.
+   */
+  public abstract FingerTree<V, A> tail();
+
+  /**
+   * Returns this tree without its last element, or throws an error if it is empty. This takes amortized O(1) time.
+   *
+   * @return This tree without its last element.
+   */
+  public abstract FingerTree<V, A> init();
+
+  /**
+   * Returns this tree with its elements in reverse order, annotated from right to left.
+   *
+   * @return This tree with its elements in reverse order.
+   */
+  public final FingerTree<V, A> reverse() {
+    return reverse(Function.<A>identity());
+  }
+
+  // Reverses the tree, applying the given function to each element. The middle tree reverses its nodes this way.
+  abstract FingerTree<V, A> reverse(final F<A, A> f);
+
+  /**
+   * Returns an iterator over the elements of this tree, from first to last. This method exists to permit the use
+   * in a <code>for</code>-each loop.
+   *
+   * @return An iterator over the elements of this tree.
+   */
+  public final Iterator<A> iterator() {
+    return new TreeIterator<A>(this, false);
+  }
+
+  /**
+   * Returns an iterator over the elements of this tree, from last to first.
+   *
+   * @return An iterator over the elements of this tree in reverse order.
+   */
+  public final Iterator<A> reverseIterator() {
+    return new TreeIterator<A>(this, true);
+  }
+
+  // Walks a tree with an explicit stack of trees and elements. The elements of a tree at depth d are nested d deep
+  // in nodes, so each stack entry carries its depth, and trees are stacked at the negated depth minus one.
+  private static final class TreeIterator<A> implements Iterator<A> {
+    private final boolean reverse;
+    private Object[] items = new Object[16];
+    private int[] depths = new int[16];
+    private int top;
+    private Object next;
+    private boolean ready;
+
+    TreeIterator(final FingerTree<?, A> t, final boolean reverse) {
+      this.reverse = reverse;
+      push(t, -1);
+    }
+
+    private void push(final Object o, final int depth) {
+      if (top == items.length) {
+        final Object[] is = new Object[top * 2];
+        final int[] ds = new int[top * 2];
+        System.arraycopy(items, 0, is, 0, top);
+        System.arraycopy(depths, 0, ds, 0, top);
+        items = is;
+        depths = ds;
+      }
+      items[top] = o;
+      depths[top++] = depth;
+    }
+
+    // Pushes the elements of a digit so that they are popped in iteration order.
+    private void pushAll(final Digit<?, ?> d, final int depth) {
+      for (List<?> os = reverse ? d.toList() : d.toList().reverse(); os.isNotEmpty(); os = os.tail())
+        push(os.head(), depth);
+    }
+
+    private boolean advance() {
+      while (top > 0) {
+        final Object o = items[--top];
+        final int depth = depths[top];
+        items[top] = null;
+        if (depth == 0) {
+          next = o;
+          return true;
+        } else if (depth > 0)
+          pushAll(((Node<?, ?>) o).toDigit(), depth - 1);
+        else if (o instanceof Single)
+          push(((Single<?, ?>) o).value(), -depth - 1);
+        else if (o instanceof Deep) {
+          final Deep<?, ?> t = (Deep<?, ?>) o;
+          pushAll(reverse ? t.prefix() : t.suffix(), -depth - 1);
+          push(t.middle(), depth - 1);
+          pushAll(reverse ? t.suffix() : t.prefix(), -depth - 1);
+        }
+      }
+      return false;
+    }
+
+    public boolean hasNext() {
+      if (!ready)
+        ready = advance();
+      return ready;
+    }
+
+    @SuppressWarnings({"unchecked"})
+    public A next() {
+      if (!hasNext())
+        throw new NoSuchElementException();
+      ready = false;
+      final Object a = next;
+      next = null;
+      return (A) a;
+    }
+
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+  }
 }
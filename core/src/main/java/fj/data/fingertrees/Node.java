@@ -65,5 +65,11 @@ public abstract class Node<V, A> {
 
   public abstract P2<Integer, A> lookup(final F<V, Integer> o, final int i);
 
+  // Replaces the child at the given position, where the function is given the position within the child.
+  abstract Node<V, A> updateAt(final F<V, Integer> o, final int i, final F<Integer, F<A, A>> f);
+
+  // Reverses the children of this node, applying the given function to each of them.
+  abstract Node<V, A> reverse(final F<A, A> f);
+
   public abstract <B> B match(final F<Node2<V, A>, B> n2, final F<Node3<V, A>, B> n3);
 }
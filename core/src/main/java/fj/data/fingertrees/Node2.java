@@ -4,6 +4,9 @@ import fj.data.vector.V2;
 import fj.F;
 import fj.P2;
 
+import static fj.P.p;
+import static fj.data.vector.V.v;
+
 /**
  * A two-element inner tree node.
  */
@@ -27,9 +30,19 @@ public final class Node2<V, A> extends Node<V, A> {
     return new Two<V, A>(measured(), as);
   }
 
-  @SuppressWarnings({"ReturnOfNull"})
   @Override public P2<Integer, A> lookup(final F<V, Integer> o, final int i) {
-    return null; // TODO
+    final int s1 = o.f(measured().measure(as._1()));
+    return i < s1 ? p(i, as._1()) : p(i - s1, as._2());
+  }
+
+  Node<V, A> updateAt(final F<V, Integer> o, final int i, final F<Integer, F<A, A>> f) {
+    final int s1 = o.f(measured().measure(as._1()));
+    return i < s1 ? new Node2<V, A>(measured(), v(f.f(i).f(as._1()), as._2()))
+                  : new Node2<V, A>(measured(), v(as._1(), f.f(i - s1).f(as._2())));
+  }
+
+  Node<V, A> reverse(final F<A, A> f) {
+    return new Node2<V, A>(measured(), v(f.f(as._2()), f.f(as._1())));
   }
 
   public <B> B match(final F<Node2<V, A>, B> n2, final F<Node3<V, A>, B> n3) {
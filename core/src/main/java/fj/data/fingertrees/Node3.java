@@ -4,6 +4,9 @@ import fj.data.vector.V3;
 import fj.F;
 import fj.P2;
 
+import static fj.P.p;
+import static fj.data.vector.V.v;
+
 /**
  * A three-element inner tree node.
  */
@@ -31,9 +34,25 @@ public final class Node3<V, A> extends Node<V, A> {
     return new Three<V, A>(measured(), as);
   }
 
-  @SuppressWarnings({"ReturnOfNull"})
   public P2<Integer, A> lookup(final F<V, Integer> o, final int i) {
-    return null;  //TODO
+    final int s1 = o.f(measured().measure(as._1()));
+    if (i < s1)
+      return p(i, as._1());
+    final int s2 = s1 + o.f(measured().measure(as._2()));
+    return i < s2 ? p(i - s1, as._2()) : p(i - s2, as._3());
+  }
+
+  Node<V, A> updateAt(final F<V, Integer> o, final int i, final F<Integer, F<A, A>> f) {
+    final int s1 = o.f(measured().measure(as._1()));
+    if (i < s1)
+      return new Node3<V, A>(measured(), v(f.f(i).f(as._1()), as._2(), as._3()));
+    final int s2 = s1 + o.f(measured().measure(as._2()));
+    return i < s2 ? new Node3<V, A>(measured(), v(as._1(), f.f(i - s1).f(as._2()), as._3()))
+                  : new Node3<V, A>(measured(), v(as._1(), as._2(), f.f(i - s2).f(as._3())));
+  }
+
+  Node<V, A> reverse(final F<A, A> f) {
+    return new Node3<V, A>(measured(), v(f.f(as._3()), f.f(as._2()), f.f(as._1())));
   }
 
   public V3<A> toVector() {
@@ -1,6 +1,7 @@
 package fj.data.fingertrees;
 
 import fj.F;
+import fj.data.List;
 
 /**
  * A single-element prefix or suffix of a finger tree.
@@ -9,7 +10,7 @@ public final class One<V, A> extends Digit<V, A> {
   private final A a;
 
   One(final Measured<V, A> m, final A a) {
-    super(m);
+    super(m, m.measure(a));
     this.a = a;
   }
 
@@ -27,6 +28,10 @@ public final class One<V, A> extends Digit<V, A> {
     return one.f(this);
   }
 
+  public List<A> toList() {
+    return List.single(a);
+  }
+
   /**
    * Returns the single element in this digit.
    *
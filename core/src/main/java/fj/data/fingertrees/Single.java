@@ -2,6 +2,7 @@ package fj.data.fingertrees;
 
 import fj.F;
 import fj.P2;
+import fj.P3;
 import static fj.P.p;
 
 /**
@@ -72,6 +73,35 @@ public final class Single<V, A> extends FingerTree<V, A> {
     return p(i, a);
   }
 
+  @Override FingerTree<V, A> updateAt(final F<V, Integer> o, final int i, final F<Integer, F<A, A>> f) {
+    return new Single<V, A>(measured(), f.f(i).f(a));
+  }
+
+  @Override P3<FingerTree<V, A>, A, FingerTree<V, A>> split1(final F<V, Boolean> predicate, final V acc) {
+    final FingerTree<V, A> e = new Empty<V, A>(measured());
+    return p(e, a, e);
+  }
+
+  @Override public A head() {
+    return a;
+  }
+
+  @Override public A last() {
+    return a;
+  }
+
+  @Override public FingerTree<V, A> tail() {
+    return new Empty<V, A>(measured());
+  }
+
+  @Override public FingerTree<V, A> init() {
+    return tail();
+  }
+
+  @Override FingerTree<V, A> reverse(final F<A, A> f) {
+    return new Single<V, A>(measured(), f.f(a));
+  }
+
   /**
    * Returns the single element of this tree.
    *
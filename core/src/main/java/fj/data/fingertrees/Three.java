@@ -2,6 +2,7 @@ package fj.data.fingertrees;
 
 import fj.data.vector.V3;
 import fj.F;
+import fj.data.List;
 
 /**
  * A three-element prefix or suffix of a finger tree.
@@ -10,7 +11,7 @@ public final class Three<V, A> extends Digit<V, A> {
   private final V3<A> as;
 
   Three(final Measured<V, A> m, final V3<A> as) {
-    super(m);
+    super(m, m.sum(m.measure(as._1()), m.sum(m.measure(as._2()), m.measure(as._3()))));
     this.as = as;
   }
 
@@ -28,6 +29,10 @@ public final class Three<V, A> extends Digit<V, A> {
     return three.f(this);
   }
 
+  public List<A> toList() {
+    return List.<A>nil().cons(as._3()).cons(as._2()).cons(as._1());
+  }
+
   /**
    * Returns the elements of this digit as a vector.
    *
@@ -2,6 +2,7 @@ package fj.data.fingertrees;
 
 import fj.data.vector.V2;
 import fj.F;
+import fj.data.List;
 
 /**
  * A two-element prefix or suffix of a finger tree.
@@ -10,7 +11,7 @@ public final class Two<V, A> extends Digit<V, A> {
   private final V2<A> as;
 
   Two(final Measured<V, A> m, final V2<A> as) {
-    super(m);
+    super(m, m.sum(m.measure(as._1()), m.measure(as._2())));
     this.as = as;
   }
 
@@ -28,6 +29,10 @@ public final class Two<V, A> extends Digit<V, A> {
     return two.f(this);
   }
 
+  public List<A> toList() {
+    return List.<A>nil().cons(as._2()).cons(as._1());
+  }
+
   /**
    * Returns the elements of this digit as a vector.
    *
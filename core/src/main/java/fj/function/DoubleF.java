@@ -0,0 +1,32 @@
+package fj.function;
+
+/**
+ * A transformation function of arity-1 from <code>double</code> to <code>double</code>. Unlike
+ * <code>F&lt;Double, Double&gt;</code> neither the argument nor the result is boxed.
+ *
+ * @version %build.number%
+ */
+public abstract class DoubleF {
+  /**
+   * Transform the given <code>double</code>.
+   *
+   * @param a The <code>double</code> to transform.
+   * @return The result of the transformation.
+   */
+  public abstract double f(double a);
+
+  /**
+   * Function composition.
+   *
+   * @param g A function to apply before this one.
+   * @return A function that applies <code>g</code> and then this function.
+   */
+  public final DoubleF o(final DoubleF g) {
+    final DoubleF self = this;
+    return new DoubleF() {
+      public double f(final double a) {
+        return self.f(g.f(a));
+      }
+    };
+  }
+}
@@ -0,0 +1,19 @@
+package fj.function;
+
+/**
+ * A transformation function of arity-2 from two <code>double</code> values to an <code>double</code>.
+ * Unlike <code>F2&lt;Double, Double, Double&gt;</code> neither the arguments nor the result are
+ * boxed.
+ *
+ * @version %build.number%
+ */
+public abstract class DoubleF2 {
+  /**
+   * Transform the given <code>double</code> values.
+   *
+   * @param a The first <code>double</code> to transform.
+   * @param b The second <code>double</code> to transform.
+   * @return The result of the transformation.
+   */
+  public abstract double f(double a, double b);
+}
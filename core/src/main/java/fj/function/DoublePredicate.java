@@ -0,0 +1,30 @@
+package fj.function;
+
+/**
+ * A predicate over unboxed <code>double</code> values.
+ *
+ * @version %build.number%
+ */
+public abstract class DoublePredicate {
+  /**
+   * Tests the given <code>double</code>.
+   *
+   * @param a The <code>double</code> to test.
+   * @return <code>true</code> if the predicate holds for <code>a</code>.
+   */
+  public abstract boolean f(double a);
+
+  /**
+   * Negates this predicate.
+   *
+   * @return A predicate that holds exactly where this one does not.
+   */
+  public final DoublePredicate not() {
+    final DoublePredicate self = this;
+    return new DoublePredicate() {
+      public boolean f(final double a) {
+        return !self.f(a);
+      }
+    };
+  }
+}
@@ -0,0 +1,32 @@
+package fj.function;
+
+/**
+ * A transformation function of arity-1 from <code>int</code> to <code>int</code>. Unlike
+ * <code>F&lt;Integer, Integer&gt;</code> neither the argument nor the result is boxed.
+ *
+ * @version %build.number%
+ */
+public abstract class IntF {
+  /**
+   * Transform the given <code>int</code>.
+   *
+   * @param a The <code>int</code> to transform.
+   * @return The result of the transformation.
+   */
+  public abstract int f(int a);
+
+  /**
+   * Function composition.
+   *
+   * @param g A function to apply before this one.
+   * @return A function that applies <code>g</code> and then this function.
+   */
+  public final IntF o(final IntF g) {
+    final IntF self = this;
+    return new IntF() {
+      public int f(final int a) {
+        return self.f(g.f(a));
+      }
+    };
+  }
+}
@@ -0,0 +1,19 @@
+package fj.function;
+
+/**
+ * A transformation function of arity-2 from two <code>int</code> values to an <code>int</code>.
+ * Unlike <code>F2&lt;Integer, Integer, Integer&gt;</code> neither the arguments nor the result are
+ * boxed.
+ *
+ * @version %build.number%
+ */
+public abstract class IntF2 {
+  /**
+   * Transform the given <code>int</code> values.
+   *
+   * @param a The first <code>int</code> to transform.
+   * @param b The second <code>int</code> to transform.
+   * @return The result of the transformation.
+   */
+  public abstract int f(int a, int b);
+}
@@ -0,0 +1,30 @@
+package fj.function;
+
+/**
+ * A predicate over unboxed <code>int</code> values.
+ *
+ * @version %build.number%
+ */
+public abstract class IntPredicate {
+  /**
+   * Tests the given <code>int</code>.
+   *
+   * @param a The <code>int</code> to test.
+   * @return <code>true</code> if the predicate holds for <code>a</code>.
+   */
+  public abstract boolean f(int a);
+
+  /**
+   * Negates this predicate.
+   *
+   * @return A predicate that holds exactly where this one does not.
+   */
+  public final IntPredicate not() {
+    final IntPredicate self = this;
+    return new IntPredicate() {
+      public boolean f(final int a) {
+        return !self.f(a);
+      }
+    };
+  }
+}
@@ -0,0 +1,32 @@
+package fj.function;
+
+/**
+ * A transformation function of arity-1 from <code>long</code> to <code>long</code>. Unlike
+ * <code>F&lt;Long, Long&gt;</code> neither the argument nor the result is boxed.
+ *
+ * @version %build.number%
+ */
+public abstract class LongF {
+  /**
+   * Transform the given <code>long</code>.
+   *
+   * @param a The <code>long</code> to transform.
+   * @return The result of the transformation.
+   */
+  public abstract long f(long a);
+
+  /**
+   * Function composition.
+   *
+   * @param g A function to apply before this one.
+   * @return A function that applies <code>g</code> and then this function.
+   */
+  public final LongF o(final LongF g) {
+    final LongF self = this;
+    return new LongF() {
+      public long f(final long a) {
+        return self.f(g.f(a));
+      }
+    };
+  }
+}
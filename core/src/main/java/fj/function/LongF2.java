@@ -0,0 +1,19 @@
+package fj.function;
+
+/**
+ * A transformation function of arity-2 from two <code>long</code> values to an <code>long</code>.
+ * Unlike <code>F2&lt;Long, Long, Long&gt;</code> neither the arguments nor the result are
+ * boxed.
+ *
+ * @version %build.number%
+ */
+public abstract class LongF2 {
+  /**
+   * Transform the given <code>long</code> values.
+   *
+   * @param a The first <code>long</code> to transform.
+   * @param b The second <code>long</code> to transform.
+   * @return The result of the transformation.
+   */
+  public abstract long f(long a, long b);
+}
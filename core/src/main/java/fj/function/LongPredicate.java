@@ -0,0 +1,30 @@
+package fj.function;
+
+/**
+ * A predicate over unboxed <code>long</code> values.
+ *
+ * @version %build.number%
+ */
+public abstract class LongPredicate {
+  /**
+   * Tests the given <code>long</code>.
+   *
+   * @param a The <code>long</code> to test.
+   * @return <code>true</code> if the predicate holds for <code>a</code>.
+   */
+  public abstract boolean f(long a);
+
+  /**
+   * Negates this predicate.
+   *
+   * @return A predicate that holds exactly where this one does not.
+   */
+  public final LongPredicate not() {
+    final LongPredicate self = this;
+    return new LongPredicate() {
+      public boolean f(final long a) {
+        return !self.f(a);
+      }
+    };
+  }
+}
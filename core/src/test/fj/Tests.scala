@@ -3,15 +3,26 @@ package fj
 object Tests {
   def tests = List (
     fj.data.CheckArray.properties,
+    fj.data.CheckIntList.properties,
+    fj.data.CheckLongList.properties,
+    fj.data.CheckDoubleList.properties,
     fj.data.CheckList.properties,
+    fj.data.CheckView.properties,
     fj.data.CheckStream.properties,
+    fj.data.CheckChunkedStream.properties,
     fj.data.CheckOption.properties,
     fj.data.CheckTree.properties,
     fj.data.CheckHashMap.properties,
     fj.data.CheckHashSet.properties,
+    fj.data.CheckHashTrieMap.properties,
     fj.data.CheckSet.properties,
     fj.data.CheckTreeMap.properties,
+    fj.data.CheckSeq.properties,
+    fj.data.fingertrees.CheckFingerTree.properties,
+    fj.control.CheckTrampoline.properties,
     fj.control.parallel.CheckStrategy.properties,
+    fj.control.parallel.CheckActor.properties,
+    fj.control.parallel.CheckPromise.properties,
     fj.control.parallel.CheckParModule.properties
   ).flatten
 
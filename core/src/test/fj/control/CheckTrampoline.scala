@@ -0,0 +1,45 @@
+package fj
+package control
+
+import org.scalacheck.Prop._
+import org.scalacheck.Properties
+import Trampoline.{pure, suspend}
+
+object CheckTrampoline extends Properties("Trampoline") {
+
+  def sum(n: Int, acc: Long): Trampoline[Long] =
+    if (n == 0) pure(acc)
+    else suspend(new P1[Trampoline[Long]] { def _1 = sum(n - 1, acc + n) })
+
+  def count(n: Int): Trampoline[Int] =
+    if (n == 0) pure(0)
+    else suspend(new P1[Trampoline[Int]] { def _1 = count(n - 1) }).map((x: Int) => x + 1)
+
+  def resumeAll[A](t: Trampoline[A]): A = {
+    var r = t.resume
+    while (r.isLeft)
+      r = r.left.value._1.resume
+    r.right.value
+  }
+
+  property("pure") = forAll((a: Int) =>
+    pure(a).run == a)
+
+  property("map") = forAll((a: Int) =>
+    pure(a).map((x: Int) => x + 1).run == a + 1)
+
+  property("bind") = forAll((a: Int, b: Int) =>
+    pure(a).bind((x: Int) => pure(x - b)).run == a - b)
+
+  property("zipWith") = forAll((a: Int, b: Int) =>
+    pure(a).zipWith(pure(b), new F2[Int, Int, Int] { def f(x: Int, y: Int) = x * y }).run == a * b)
+
+  property("resume") = forAll((n: Byte) =>
+    resumeAll(count(n & 0xff)) == (n & 0xff))
+
+  property("deepSuspend") =
+    sum(1000000, 0).run == 500000500000L
+
+  property("deepBind") =
+    count(500000).run == 500000 && resumeAll(count(100000)) == 100000
+}
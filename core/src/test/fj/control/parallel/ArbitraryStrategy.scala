@@ -19,6 +19,8 @@ object ArbitraryStrategy {
     }
   })
 
+  val forkJoinPool = new ForkJoinPool(2)
+
   implicit def arbitraryStrategy[A]: Arbitrary[Strategy[A]] =
     Arbitrary(value(executorStrategy[A](executor)))
 }
@@ -0,0 +1,48 @@
+package fj
+package control
+package parallel
+
+import org.scalacheck.Prop._
+import ArbitraryStrategy.arbitraryStrategy
+import data.ArbitraryList.arbitraryList
+import data.List
+import Equal.{listEqual, intEqual}
+import java.util.concurrent.{CountDownLatch, TimeUnit}
+import org.scalacheck.Properties
+
+object CheckActor extends Properties("Actor") {
+  // Sends the given messages to an actor made with the given function and returns those it processed, in order.
+  def received(a: List[Int], mk: Effect[Int] => Actor[Int]) = {
+    val b = new List.Buffer[Int]
+    val done = new CountDownLatch(a.length)
+    val actor = mk(new Effect[Int] { def e(i: Int) { b.snoc(i); done.countDown() } })
+    a.foreach(new Effect[Int] { def e(i: Int) { actor.act(i) } })
+    done.await(10, TimeUnit.SECONDS)
+    b.toList
+  }
+
+  property("queueActorOrder") = forAll((a: List[Int], s: Strategy[Unit], n: Int) =>
+    listEqual(intEqual).eq(a, received(a, Actor.queueActor(s, _, (n & 15) + 1))))
+
+  property("boundedQueueActorOrder") = forAll((a: List[Int], s: Strategy[Unit], n: Int) =>
+    listEqual(intEqual).eq(a, received(a, Actor.boundedQueueActor(s, _, (n & 7) + 1, MailboxOverflow.BLOCK))))
+
+  property("boundedQueueActorFail") = forAll((s: Strategy[Unit]) => {
+    val gate = new CountDownLatch(1)
+    val actor = Actor.boundedQueueActor(s, new Effect[Int] { def e(i: Int) { gate.await() } }, 1, MailboxOverflow.FAIL)
+    val failed = try {
+      for (i <- 0 until 3) actor.act(i)
+      false
+    } catch {
+      case e: Error => true
+    }
+    gate.countDown()
+    failed
+  })
+
+  property("metrics") = forAll((a: List[Int], s: Strategy[Unit]) => {
+    val counters = new MetricsCounters
+    listEqual(intEqual).eq(a, received(a, Actor.queueActor(s.metricsStrategy(counters), _))) &&
+        counters.messages == a.length && counters.maxMailboxDepth <= a.length
+  })
+}
@@ -11,7 +11,8 @@ import ArbitraryStrategy._
 import data.List
 import data.Stream
 import data.Array
-import Equal.{listEqual, stringEqual, streamEqual, arrayEqual}
+import Equal.{listEqual, stringEqual, streamEqual, arrayEqual, optionEqual, intEqual}
+import Monoid.intAdditionMonoid
 import Monoid.stringMonoid
 import org.scalacheck.Properties
 
@@ -53,4 +54,60 @@ object CheckParModule extends Properties("ParModule") {
   property("parFoldMap") = forAll((s: Stream[String], p: ParModule) => {
     val chunk = (x: Stream[String]) => P.p(Stream.stream(x.head), x.tail._1)
     stringEqual.eq(stringMonoid.sumLeft(s.map(rev)), p.parFoldMap(s, rev, stringMonoid, chunk).claim)})
+
+  property("parFoldMapAdaptive") = forAll((s: List[String], p: ParModule) =>
+    stringEqual.eq(stringMonoid.sumLeft(s.map(rev)), p.parFoldMap(s, rev, stringMonoid).claim))
+
+  property("parFoldMapArrayAdaptive") = forAll((s: Array[String], p: ParModule) =>
+    stringEqual.eq(stringMonoid.sumLeft(s.toList.map(rev)), p.parFoldMap(s, rev, stringMonoid).claim))
+
+  property("parFlatMapList") = forAll((s: List[String], p: ParModule) => {
+    val f = (x: String) => List.list(x, rev(x)) : List[String]
+    listEqual(stringEqual).eq(s.bind(f), p.parFlatMap(s, f).claim)})
+
+  property("parScan") = forAll((a: Array[String], p: ParModule) =>
+    arrayEqual(stringEqual).eq(a.scanLeft1(stringMonoid.sum()), p.parScan(a, stringMonoid).claim))
+
+  property("parScanSeq") = forAll((a: Array[String], p: ParModule) =>
+    listEqual(stringEqual).eq(a.toList.scanLeft1(stringMonoid.sum()), p.parScan(data.Seq.arraySeq(a), stringMonoid).claim.toList))
+
+  val forkJoin = ForkJoinParModule.forkJoinParModule(ArbitraryStrategy.forkJoinPool)
+
+  def forkJoinStrategy[A] = ForkJoinStrategy.forkJoinStrategy[A](ArbitraryStrategy.forkJoinPool)
+
+  property("forkJoinPar") = forAll((a: P1[Int]) => forkJoinStrategy[Int].par(a)._1 == a._1)
+
+  property("forkJoinStrategyParMap") = forAll((s: List[String]) =>
+    listEqual(stringEqual).eq(s.map(rev), forkJoinStrategy[String].parMap(rev, s)._1))
+
+  // Every level claims the one below from a worker thread, so the two workers must help rather than block.
+  property("forkJoinNestedClaim") = forAll((a: P1[Int]) => {
+    def nest(n: Int): P1[Int] = if (n == 0) a else new P1[Int] { def _1 = forkJoinStrategy[Int].par(nest(n - 1))._1 }
+    forkJoinStrategy[Int].par(nest(16))._1 == a._1
+  })
+
+  property("forkJoinParMapList") = forAll((s: List[String]) =>
+    listEqual(stringEqual).eq(s.map(rev), forkJoin.parMap(s, rev).claim))
+
+  property("forkJoinParMapArray") = forAll((s: Array[String]) =>
+    arrayEqual(stringEqual).eq(s.map(rev), forkJoin.parMap(s, rev).claim))
+
+  property("forkJoinParFoldMap") = forAll((s: List[String]) =>
+    stringEqual.eq(stringMonoid.sumLeft(s.map(rev)), forkJoin.parFoldMap(s, rev, stringMonoid).claim))
+
+  property("forkJoinParFilter") = forAll((a: Array[Int]) => {
+    val even = (x: Int) => ((x % 2 == 0): java.lang.Boolean)
+    arrayEqual(intEqual).eq(a.filter(even), forkJoin.parFilter(a, even).claim)})
+
+  property("forkJoinParFind") = forAll((a: Array[Int]) => {
+    val even = (x: Int) => ((x % 2 == 0): java.lang.Boolean)
+    optionEqual(intEqual).eq(a.toList.find(even), forkJoin.parFind(a, even).claim)})
+
+  property("forkJoinParZipWith") = forAll((a: Array[String], b: Array[String]) => {
+    val f = new F2[String, String, String] { def f(x: String, y: String) = x + y }
+    arrayEqual(stringEqual).eq(a.zipWith(b, f), forkJoin.parZipWith(a, b, Function.curry(f)).claim)})
+
+  property("forkJoinParScan") = forAll((a: Array[Int]) => {
+    val sums = forkJoin.parScan(a, intAdditionMonoid).claim
+    sums.length == a.length && (0 until a.length).forall(i => sums.get(i) == intAdditionMonoid.sumLeft(a.toList.take(i + 1)))})
 }
@@ -0,0 +1,111 @@
+package fj
+package control
+package parallel
+
+import org.scalacheck.Prop._
+import ArbitraryP.arbitraryP1
+import ArbitraryStrategy.arbitraryStrategy
+import java.util.concurrent.{CompletableFuture, CancellationException, CountDownLatch, TimeoutException, TimeUnit}
+import org.scalacheck.Properties
+
+object CheckPromise extends Properties("Promise") {
+  // A promise that is not fulfilled until the given latch is opened.
+  def blocked(s: Strategy[Unit], gate: CountDownLatch) =
+    Promise.promise(s, new P1[Int] { def _1 = { gate.await(); 0 } })
+
+  def failing(s: Strategy[Unit]) =
+    Promise.promise(s, new P1[Int] { def _1 = throw new RuntimeException("failed") })
+
+  property("fmap") = forAll((a: P1[Int], s: Strategy[Unit]) =>
+    Promise.promise(s, a).fmap((i: Int) => i + 1).claim == a._1 + 1)
+
+  property("bind") = forAll((a: P1[Int], s: Strategy[Unit]) =>
+    Promise.promise(s, a).bind[Int]((i: Int) => Promise.promise(s, P.p(i * 2))).claim == a._1 * 2)
+
+  property("failure") = forAll((s: Strategy[Unit]) => {
+    val r = failing(s).fmap((i: Int) => i + 1).attempt.claim
+    r.isLeft && r.left.value.getMessage == "failed"
+  })
+
+  property("cancelPropagatesThroughBind") = forAll((s: Strategy[Unit]) => {
+    val gate = new CountDownLatch(1)
+    val p = blocked(s, gate)
+    val r = p.bind[Int]((i: Int) => Promise.promise(s, P.p(i)))
+    r.cancel
+    gate.countDown()
+    p.isCancelled && r.attempt.claim.left.value.isInstanceOf[CancellationException]
+  })
+
+  property("cancelSparesSharedSource") = forAll((s: Strategy[Unit]) => {
+    val gate = new CountDownLatch(1)
+    val p = blocked(s, gate)
+    val x = p.fmap((i: Int) => i + 1)
+    val y = p.fmap((i: Int) => i + 2)
+    x.cancel
+    val spared = !p.isCancelled
+    gate.countDown()
+    spared && y.claim == 2 && p.claim == 0
+  })
+
+  property("deepFailedBindChain") = forAll((s: Strategy[Unit]) => {
+    val gate = new CountDownLatch(1)
+    val p = Promise.promise(s, new P1[Int] { def _1 = { gate.await(); throw new RuntimeException("failed") } })
+    var r = p
+    for (i <- 1 to 10000)
+      r = r.bind[Int]((i: Int) => Promise.promise(s, P.p(i + 1)))
+    gate.countDown()
+    r.attempt.claim.left.value.getMessage == "failed"
+  })
+
+  property("waiterSeesDerivedPromises") = forAll((s: Strategy[Unit]) => {
+    val gate = new CountDownLatch(1)
+    val p = blocked(s, gate)
+    val q = p.attempt.attempt
+    val claimed = new CountDownLatch(1)
+    p.to(Actor.actor(Strategy.seqStrategy[Unit], new Effect[Int] { def e(i: Int) { q.claim; claimed.countDown() } }))
+    gate.countDown()
+    claimed.await(5, TimeUnit.SECONDS)
+  })
+
+  property("pollingDoesNotGrowWaiters") = forAll((s: Strategy[Unit]) => {
+    val gate = new CountDownLatch(1)
+    val p = blocked(s, gate)
+    for (i <- 1 to 100000)
+      p.claim(0, TimeUnit.NANOSECONDS)
+    gate.countDown()
+    p.claim == 0
+  })
+
+  property("timeout") = forAll((s: Strategy[Unit]) => {
+    val gate = new CountDownLatch(1)
+    val p = blocked(s, gate)
+    val r = p.timeout(10, TimeUnit.MILLISECONDS).attempt.claim
+    gate.countDown()
+    r.left.value.isInstanceOf[TimeoutException] && !p.isCancelled && p.claim == 0
+  })
+
+  property("race") = forAll((a: P1[Int], s: Strategy[Unit]) => {
+    val gate = new CountDownLatch(1)
+    val p = blocked(s, gate)
+    val r = p.race(Promise.promise(s, a)).claim
+    gate.countDown()
+    r == a._1 && p.claim == 0
+  })
+
+  property("firstOf") = forAll((a: P1[Int], s: Strategy[Unit]) =>
+    Promise.firstOf(s, data.List.list(failing(s), Promise.promise(s, a))).claim == a._1 &&
+        Promise.firstOf(s, data.List.list(failing(s), failing(s))).attempt.claim.isLeft)
+
+  property("completableFuture") = forAll((a: P1[Int], s: Strategy[Unit]) =>
+    CompletableFutures.completableFuture(Promise.promise(s, a)).join == a._1)
+
+  property("fromCompletableFuture") = forAll((a: Int, s: Strategy[Unit]) => {
+    val f = new CompletableFuture[Int]
+    val p = CompletableFutures.promise(s, f)
+    f.complete(a)
+    p.claim == a
+  })
+
+  property("completableFutureStrategy") = forAll((a: P1[Int]) =>
+    CompletableFutures.completableFutureStrategy[Int].par(a)._1 == a._1)
+}
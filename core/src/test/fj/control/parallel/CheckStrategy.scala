@@ -23,6 +23,23 @@ object CheckStrategy extends Properties("Strategy") {
 
   property("par") = forAll((a: P1[Int], s: Strategy[Int]) => a._1 == s.par(a)._1)
 
+  // Virtual threads are looked up reflectively, the same way the strategy looks them up.
+  val hasVirtualThreads =
+    try { classOf[java.util.concurrent.Executors].getMethod("newVirtualThreadPerTaskExecutor").invoke(null); true }
+    catch { case e: Exception => false }
+
+  def isVirtual(t: Thread) = hasVirtualThreads && classOf[Thread].getMethod("isVirtual").invoke(t) == java.lang.Boolean.TRUE
+
+  property("threadPerTaskExecutor") = {
+    val t = Promise.promise(Strategy.virtualThreadStrategy[Unit], new P1[Thread] { def _1 = Thread.currentThread }).claim
+    isVirtual(t) == hasVirtualThreads && t.isDaemon
+  }
+
+  property("nestedClaimOnThreadPerTask") = forAll((a: P1[Int]) => {
+    val s = Strategy.virtualThreadStrategy[Unit]
+    Promise.promise(s, new P1[Int] { def _1 = Promise.promise(s, a).claim }).claim == a._1
+  })
+
   property("parMapList") = forAll((a: List[String], s: Strategy[String]) =>
     listEqual(stringEqual).eq(s.parMap(rev, a)._1, a.map(compose(P1.__1[String], s.concurry[String](rev)))))
 
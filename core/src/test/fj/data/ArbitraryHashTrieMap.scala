@@ -0,0 +1,11 @@
+package fj
+package data
+
+import org.scalacheck.Arbitrary
+import org.scalacheck.Arbitrary.arbitrary
+
+object ArbitraryHashTrieMap {
+  implicit def arbitraryHashTrieMap[K, V](implicit ak: Arbitrary[K], av: Arbitrary[V], e: Equal[K], h: Hash[K]): Arbitrary[HashTrieMap[K, V]] =
+    Arbitrary(arbitrary[scala.List[(K, V)]].map(kvs =>
+      kvs.foldLeft(HashTrieMap.empty[K, V](e, h)) { case (m, (k, v)) => m.set(k, v) }))
+}
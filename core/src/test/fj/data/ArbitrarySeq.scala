@@ -0,0 +1,11 @@
+package fj
+package data
+
+import org.scalacheck.Arbitrary
+import org.scalacheck.Arbitrary.arbitrary
+import ArbitraryList.arbitraryList
+
+object ArbitrarySeq {
+  implicit def arbitrarySeq[A](implicit a: Arbitrary[A]): Arbitrary[Seq[A]] =
+    Arbitrary(arbitrary[List[A]].map(Seq.listSeq(_)))
+}
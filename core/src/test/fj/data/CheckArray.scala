@@ -3,9 +3,12 @@ package data
 
 import ArbitraryArray.arbitraryArray
 import ArbitraryP.arbitraryP1
+import control.parallel.Strategy
+import control.parallel.ArbitraryStrategy.arbitraryStrategy
 import org.scalacheck.Prop._
 import data.Array.{array, empty, join}
-import Equal.{arrayEqual, stringEqual}
+import Equal.{arrayEqual, listEqual, stringEqual}
+import Ord.stringOrd
 import Unit.unit
 import org.scalacheck.Properties
 
@@ -62,6 +65,14 @@ object CheckArray extends Properties("Array") {
       a.foldLeft(((a: Array[String], b: String) => array[String](scala.Array(b): _*).append(a)), empty[String]),
       a.reverse.foldRight((a: String, b: Array[String]) => array[String](scala.Array(a): _*).append(b), empty[String])))
 
+  property("scanLeft") = forAll((a: Array[String], s: String) => {
+    val f = (b: String, x: String) => b + x
+    listEqual(stringEqual).eq(a.scanLeft(f, s).toList, a.toList.scanLeft(f, s))})
+
+  property("scanRight") = forAll((a: Array[String], s: String) => {
+    val f = (x: String, b: String) => x + b
+    listEqual(stringEqual).eq(a.scanRight(f, s).toList, a.toList.scanRight(f, s))})
+
   property("bindLeftIdentity") = forAll((a: Array[String], s: String) => {
     def f(s: String) = array[String](scala.Array(s.reverse): _*)
     arrayEqual(stringEqual).eq(
@@ -122,4 +133,10 @@ object CheckArray extends Properties("Array") {
   property("exists") = forAll((a: Array[Int]) =>
     a.exists((x: Int) => ((x % 2 == 0): java.lang.Boolean)) ==
     !a.forall((x: Int) => ((x % 2 != 0): java.lang.Boolean)))
+
+  property("sort") = forAll((a: Array[String]) =>
+    listEqual(stringEqual).eq(a.sort(stringOrd).toList, a.toList.sort(stringOrd)))
+
+  property("parallelSort") = forAll((a: Array[String], s: Strategy[Unit]) =>
+    arrayEqual(stringEqual).eq(a.sort(stringOrd, s, 3), a.sort(stringOrd)))
 }
@@ -0,0 +1,47 @@
+package fj
+package data
+
+import org.scalacheck.Prop._
+import ArbitraryList.arbitraryList
+import Equal.{listEqual, intEqual}
+import ChunkedStream.{iterableChunkedStream, range}
+import org.scalacheck.Properties
+
+object CheckChunkedStream extends Properties("ChunkedStream") {
+  val eq = listEqual(intEqual)
+  val add = new F2[Int, Int, Int] { def f(a: Int, b: Int) = a + b }
+  val minus = new F2[Int, Int, Int] { def f(a: Int, b: Int) = a - b }
+
+  def chunked(a: List[Int], n: Int) = iterableChunkedStream(a, (n & 7) + 1)
+
+  property("toList") = forAll((a: List[Int], n: Int) =>
+    eq.eq(chunked(a, n).toList, a) && eq.eq(chunked(a, n).toStream.toList, a))
+
+  property("length") = forAll((a: List[Int], n: Int) =>
+    chunked(a, n).length == a.length)
+
+  property("map") = forAll((a: List[Int], n: Int) =>
+    eq.eq(chunked(a, n).map((x: Int) => x + 1).toList, a.map((x: Int) => x + 1)))
+
+  property("filter") = forAll((a: List[Int], n: Int) =>
+    eq.eq(chunked(a, n).filter((x: Int) => x % 2 == 0).toList, a.filter((x: Int) => x % 2 == 0)))
+
+  property("takeDrop") = forAll((a: List[Int], n: Int, i: Int, j: Int) =>
+    eq.eq(chunked(a, n).drop(j % 50).take(i % 50).toList, a.drop(j % 50).take(i % 50)))
+
+  property("append") = forAll((a: List[Int], b: List[Int], n: Int) =>
+    eq.eq(chunked(a, n).append(chunked(b, n + 3)).toList, a.append(b)))
+
+  property("zipWith") = forAll((a: List[Int], b: List[Int], n: Int) =>
+    eq.eq(chunked(a, n).zipWith(chunked(b, n + 3), add).toList, a.zipWith(b, add)))
+
+  property("foldLeft") = forAll((a: List[Int], n: Int, z: Int) =>
+    chunked(a, n).foldLeft(minus, z) == a.foldLeft(minus, z))
+
+  property("tail") = forAll((a: List[Int], n: Int) =>
+    a.isNotEmpty ==> (chunked(a, n).head == a.head && eq.eq(chunked(a, n).tail.toList, a.tail)))
+
+  property("range") = forAll((n: Int) =>
+    eq.eq(range(n % 1000, 1000).toList, List.range(n % 1000, 1000)) &&
+    eq.eq(range(n % 1000).take(600).toList, List.range(n % 1000, n % 1000 + 600)))
+}
@@ -0,0 +1,74 @@
+package fj
+package data
+
+import org.scalacheck.Prop._
+import org.scalacheck.Properties
+import function.{DoubleF, DoubleF2, DoublePredicate}
+import DoubleMonoid.{doubleAdditionMonoid, doubleMultiplicationMonoid, doubleMaximumMonoid, doubleMinimumMonoid}
+import DoubleList.doubleList
+import DoubleArray.doubleArray
+
+object CheckDoubleList extends Properties("DoubleList") {
+
+  val inc = new DoubleF { def f(a: Double) = a + 1 }
+  val positive = new DoublePredicate { def f(a: Double) = a > 0 }
+  val minus = new DoubleF2 { def f(a: Double, b: Double) = a - b }
+
+  def toScala(l: DoubleList) = l.array.toList
+
+  // NaN is not equal to itself, and products and differences of large doubles can reach it
+  def same(x: Double, y: Double) = java.lang.Double.compare(x, y) == 0
+
+  // Arrays.sort orders doubles as Double.compare does, which tells -0.0 from 0.0
+  def sorted(a: scala.List[Double]) = a.sortWith(java.lang.Double.compare(_, _) < 0)
+
+  property("length") = forAll((a: scala.List[Double]) =>
+    doubleList(a: _*).length == a.length && doubleArray(a: _*).length == a.length)
+
+  property("index") = forAll((a: scala.List[Double], i: Int) => {
+    val l = doubleList(a: _*)
+    a.isEmpty || l.index((i & Int.MaxValue) % a.length) == a((i & Int.MaxValue) % a.length)
+  })
+
+  property("map") = forAll((a: scala.List[Double]) =>
+    toScala(doubleList(a: _*).map(inc)) == a.map(_ + 1) &&
+    doubleArray(a: _*).map(inc).array.toList == a.map(_ + 1))
+
+  property("filter") = forAll((a: scala.List[Double]) =>
+    toScala(doubleList(a: _*).filter(positive)) == a.filter(_ > 0) &&
+    doubleArray(a: _*).filter(positive).array.toList == a.filter(_ > 0))
+
+  property("foldLeft") = forAll((a: scala.List[Double], z: Double) =>
+    same(doubleList(a: _*).foldLeft(minus, z), a.foldLeft(z)(_ - _)) &&
+    same(doubleArray(a: _*).foldLeft(minus, z), a.foldLeft(z)(_ - _)))
+
+  property("foldRight") = forAll((a: scala.List[Double], z: Double) =>
+    same(doubleList(a: _*).foldRight(minus, z), a.foldRight(z)(_ - _)) &&
+    same(doubleArray(a: _*).foldRight(minus, z), a.foldRight(z)(_ - _)))
+
+  property("sum") = forAll((a: scala.List[Double]) =>
+    same(doubleList(a: _*).sum, a.foldLeft(0.0)(_ + _)) &&
+    same(doubleArray(a: _*).sum, a.foldLeft(0.0)(_ + _)) &&
+    same(doubleArray(a: _*).fold(doubleAdditionMonoid), a.foldLeft(0.0)(_ + _)))
+
+  property("monoids") = forAll((a: scala.List[Double]) =>
+    same(doubleList(a: _*).fold(doubleMultiplicationMonoid), a.foldLeft(1.0)(_ * _)) &&
+    same(doubleList(a: _*).fold(doubleMaximumMonoid), a.foldLeft(Double.NegativeInfinity)(_ max _)) &&
+    same(doubleArray(a: _*).fold(doubleMinimumMonoid), a.foldLeft(Double.PositiveInfinity)(_ min _)))
+
+  property("sort") = forAll((a: scala.List[Double]) =>
+    toScala(doubleList(a: _*).sort) == sorted(a) &&
+    doubleArray(a: _*).sort.array.toList == sorted(a))
+
+  property("reverse") = forAll((a: scala.List[Double]) =>
+    toScala(doubleList(a: _*).reverse) == a.reverse &&
+    doubleArray(a: _*).reverse.array.toList == a.reverse)
+
+  property("append") = forAll((a: scala.List[Double], b: scala.List[Double]) =>
+    toScala(doubleList(a: _*).append(doubleList(b: _*))) == a ++ b &&
+    doubleArray(a: _*).append(doubleArray(b: _*)).array.toList == a ++ b)
+
+  property("boxed") = forAll((a: scala.List[Double]) =>
+    toScala(DoubleList.iterableDoubleList(doubleList(a: _*).toList)) == a &&
+    DoubleArray.iterableDoubleArray(doubleArray(a: _*).toArray).array.toList == a)
+}
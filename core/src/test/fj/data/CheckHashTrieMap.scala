@@ -0,0 +1,61 @@
+package fj
+package data
+
+import org.scalacheck.Prop._
+import ArbitraryHashTrieMap._
+import ArbitraryList.arbitraryList
+import Equal.{intEqual, stringEqual, optionEqual}
+import Hash.intHash
+import org.scalacheck.Properties
+
+object CheckHashTrieMap extends Properties("HashTrieMap") {
+  implicit val equalInt: Equal[Int] = intEqual comap ((x: Int) => (x: java.lang.Integer))
+  implicit val hashInt: Hash[Int] = intHash comap ((x: Int) => (x: java.lang.Integer))
+  val collidingHash: Hash[Int] = intHash comap ((x: Int) => (x % 5: java.lang.Integer))
+
+  property("get") = forAll((m: HashTrieMap[Int, String], k: Int) => optionEqual(stringEqual).eq(m.get(k), m.get.f(k)))
+
+  property("set") = forAll((m: HashTrieMap[Int, String], k: Int, v: String) => {
+    val n = m.set(k, v)
+    n.get(k).some == v && n.size == (if (m.contains(k)) m.size else m.size + 1)
+  })
+
+  property("setPersistent") = forAll((m: HashTrieMap[Int, String], k: Int, v: String) => {
+    val x = m.get(k)
+    m.set(k, v)
+    m.delete(k)
+    optionEqual(stringEqual).eq(m.get(k), x)
+  })
+
+  property("delete") = forAll((m: HashTrieMap[Int, String], k: Int) => {
+    val d = m.delete(k)
+    d.get(k).isNone && d.size == (if (m.contains(k)) m.size - 1 else m.size)
+  })
+
+  property("keys") = forAll((m: HashTrieMap[Int, String]) =>
+    m.keys.length == m.size && m.keys.forall((k: Int) => (m.contains(k)): java.lang.Boolean) &&
+    m.keys.nub(equalInt).length == m.size)
+
+  property("isEmpty") = forAll((m: HashTrieMap[Int, String]) => m.isEmpty == (m.size == 0))
+
+  property("collisions") = forAll((kvs: scala.List[(Int, String)], k: Int) => {
+    val m = kvs.foldLeft(HashTrieMap.empty[Int, String](equalInt, collidingHash)) { case (m, (k, v)) => m.set(k, v) }
+    val d = m.delete(k)
+    m.size == kvs.map(_._1).distinct.size && d.get(k).isNone &&
+    kvs.forall { case (x, _) => m.contains(x) && (x == k || d.contains(x)) }
+  })
+
+  property("builder") = forAll((m: HashTrieMap[Int, String], ks: scala.List[Int]) => {
+    val b = m.builder
+    ks.foreach(k => if (k % 3 == 0) b.delete(k) else b.set(k, k.toString))
+    val n = b.build
+    val p = ks.foldLeft(m)((m, k) => if (k % 3 == 0) m.delete(k) else m.set(k, k.toString))
+    n.size == p.size && p.keys.forall((k: Int) => optionEqual(stringEqual).eq(n.get(k), p.get(k)): java.lang.Boolean)
+  })
+
+  property("setMember") = forAll((as: List[Int], a: Int) => {
+    val s = HashTrieSet.iterableHashTrieSet(equalInt, hashInt, as)
+    s.size == as.nub(equalInt).length && s.member(a) == as.exists((x: Int) => (x == a): java.lang.Boolean) &&
+    !s.delete(a).member(a) && s.insert(a).member(a)
+  })
+}
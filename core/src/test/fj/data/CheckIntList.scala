@@ -0,0 +1,71 @@
+package fj
+package data
+
+import org.scalacheck.Prop._
+import org.scalacheck.Properties
+import function.{IntF, IntF2, IntPredicate}
+import IntMonoid.{intAdditionMonoid, intMaximumMonoid}
+import IntList.{intList, range}
+import IntArray.intArray
+
+object CheckIntList extends Properties("IntList") {
+
+  val inc = new IntF { def f(a: Int) = a + 1 }
+  val even = new IntPredicate { def f(a: Int) = a % 2 == 0 }
+  val minus = new IntF2 { def f(a: Int, b: Int) = a - b }
+
+  def toScala(l: IntList) = l.array.toList
+
+  property("length") = forAll((a: scala.List[Int]) =>
+    intList(a: _*).length == a.length && intArray(a: _*).length == a.length)
+
+  property("index") = forAll((a: scala.List[Int], i: Int) => {
+    val l = intList(a: _*)
+    a.isEmpty || l.index((i & Int.MaxValue) % a.length) == a((i & Int.MaxValue) % a.length)
+  })
+
+  property("map") = forAll((a: scala.List[Int]) =>
+    toScala(intList(a: _*).map(inc)) == a.map(_ + 1) &&
+    intArray(a: _*).map(inc).array.toList == a.map(_ + 1))
+
+  property("filter") = forAll((a: scala.List[Int]) =>
+    toScala(intList(a: _*).filter(even)) == a.filter(_ % 2 == 0) &&
+    intArray(a: _*).filter(even).array.toList == a.filter(_ % 2 == 0))
+
+  property("foldLeft") = forAll((a: scala.List[Int], z: Int) =>
+    intList(a: _*).foldLeft(minus, z) == a.foldLeft(z)(_ - _) &&
+    intArray(a: _*).foldLeft(minus, z) == a.foldLeft(z)(_ - _))
+
+  property("foldRight") = forAll((a: scala.List[Int], z: Int) =>
+    intList(a: _*).foldRight(minus, z) == a.foldRight(z)(_ - _) &&
+    intArray(a: _*).foldRight(minus, z) == a.foldRight(z)(_ - _))
+
+  property("sum") = forAll((a: scala.List[Int]) =>
+    intList(a: _*).sum == a.foldLeft(0)(_ + _) &&
+    intArray(a: _*).fold(intAdditionMonoid) == a.foldLeft(0)(_ + _))
+
+  property("maximum") = forAll((a: scala.List[Int]) =>
+    intList(a: _*).fold(intMaximumMonoid) == a.foldLeft(Int.MinValue)(_ max _))
+
+  property("sort") = forAll((a: scala.List[Int]) =>
+    toScala(intList(a: _*).sort) == a.sortWith(_ < _) &&
+    intArray(a: _*).sort.array.toList == a.sortWith(_ < _))
+
+  property("reverse") = forAll((a: scala.List[Int]) =>
+    toScala(intList(a: _*).reverse) == a.reverse)
+
+  property("append") = forAll((a: scala.List[Int], b: scala.List[Int]) =>
+    toScala(intList(a: _*).append(intList(b: _*))) == a ++ b &&
+    intArray(a: _*).append(intArray(b: _*)).array.toList == a ++ b)
+
+  property("boxed") = forAll((a: scala.List[Int]) =>
+    toScala(IntList.iterableIntList(intList(a: _*).toList)) == a &&
+    IntArray.iterableIntArray(intArray(a: _*).toArray).array.toList == a)
+
+  property("range") = forAll((from: Byte, to: Byte) =>
+    toScala(range(from, to)) == (from.toInt until to.toInt).toList &&
+    IntArray.range(from, to).sum == range(from, to).sum)
+
+  property("rangeTooLongForArray") = forAll((to: Byte) =>
+    try { IntArray.range(Int.MinValue, to & 0x7f); false } catch { case e: Error => true })
+}
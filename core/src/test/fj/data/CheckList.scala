@@ -4,6 +4,8 @@ package data
 import org.scalacheck.Prop._
 import ArbitraryList.arbitraryList
 import ArbitraryP.arbitraryP1
+import control.parallel.Strategy
+import control.parallel.ArbitraryStrategy.arbitraryStrategy
 import Equal.{listEqual, stringEqual, p2Equal}
 import P.p
 import Unit.unit
@@ -106,10 +108,39 @@ object CheckList extends Properties("List") {
       a.foldLeft(((a: List[String], b: String) => single(b).append(a)), nil[String]),
       a.reverse.foldRight((a: String, b: List[String]) => single(a).append(b), nil[String])))
 
+  property("scanLeft") = forAll((a: List[String], s: String) => {
+    val f = (b: String, x: String) => b + x
+    val c = a.scanLeft(f, s)
+    c.length == a.length && (0 until a.length).forall(i => c.index(i) == a.take(i + 1).foldLeft(f, s))})
+
+  property("scanLeft1") = forAll((a: List[String]) => {
+    val f = (b: String, x: String) => b + x
+    val c = a.scanLeft1(f)
+    c.length == a.length && (0 until a.length).forall(i => c.index(i) == a.take(i + 1).foldLeft1(f))})
+
+  property("scanRight") = forAll((a: List[String], s: String) => {
+    val f = (x: String, b: String) => x + b
+    val c = a.scanRight(f, s)
+    c.length == a.length && (0 until a.length).forall(i => c.index(i) == a.drop(i).foldRight(f, s))})
+
   property("length") = forAll((a: List[String]) =>
     a.length != 0 ==>
     (a.length - 1 == a.tail.length))
 
+  property("lengthCount") = forAll((a: List[String], b: List[String], s: String) => {
+    def count(xs: List[String]) = {
+      var n = 0
+      val i = xs.iterator
+      while (i.hasNext) { i.next; n = n + 1 }
+      n
+    }
+    val buf = List.Buffer.fromList(a)
+    val before = buf.toList
+    val after = buf.snoc(s).append(b).toList
+    List.list(a, a.snoc(s), a.append(b), before, after, after.drop(a.length)).forall((xs: List[String]) =>
+      (xs.length == count(xs)): java.lang.Boolean)
+  })
+
   property("reverse") = forAll((a: List[String], b: List[String]) =>
     listEqual(stringEqual).eq(
       (a append b).reverse,
@@ -153,6 +184,22 @@ object CheckList extends Properties("List") {
       s.isEmpty || s.tail.isEmpty || s.head.compareTo(s.tail.head) <= 0
     })
 
+  property("sortOrdered") = forAll((a: List[String]) => {
+    val s = a.sort(fj.Ord.stringOrd)
+    s.length == a.length && (s.isEmpty || s.zip(s.tail).forall((p: P2[String, String]) =>
+      (p._1.compareTo(p._2) <= 0): java.lang.Boolean))
+  })
+
+  property("sortByStable") = forAll((a: List[String]) => {
+    val len = (s: String) => (s.length: java.lang.Integer)
+    val lengths = a.map(len).nub.sort(fj.Ord.intOrd)
+    listEqual(stringEqual).eq(a.sortBy(len, fj.Ord.intOrd),
+      join(lengths.map((n: java.lang.Integer) => a.filter((s: String) => (s.length == n.intValue): java.lang.Boolean))))
+  })
+
+  property("parallelSort") = forAll((a: List[String], s: Strategy[Unit]) =>
+    listEqual(stringEqual).eq(a.sort(fj.Ord.stringOrd, s, 3), a.sort(fj.Ord.stringOrd)))
+
   property("forall") = forAll((a: List[Int]) =>
     a.forall((x: Int) => ((x % 2 == 0): java.lang.Boolean)) ==
     !a.exists((x: Int) => ((x % 2 != 0): java.lang.Boolean)))
@@ -169,11 +216,53 @@ object CheckList extends Properties("List") {
   property("nub") = forAll((a: List[String], b: List[String]) =>
     listEqual(stringEqual).eq(a append b nub, a.nub.append(b.nub).nub))
 
+  property("nubKeepsFirst") = forAll((a: List[Int]) =>
+    a.nub.toCollection.toArray.toList == a.toCollection.toArray.toList.distinct)
+
+  property("init") = forAll((a: List[String], s: String) =>
+    listEqual(stringEqual).eq(a.snoc(s).init, a))
+
   property("join") = forAll((a: List[List[String]]) =>
     listEqual(stringEqual).eq(
       a.foldRight((a: List[String], b: List[String]) => a.append(b), nil[String]),
       join(a)))
 
+  property("zipWith") = forAll((a: List[String], b: List[String]) => {
+    val z = a.zipWith(b, (x: String, y: String) => x + y)
+    z.length == (a.length min b.length) &&
+    z.zipIndex.forall((p: P2[String, java.lang.Integer]) => (p._1 == a.index(p._2.intValue) + b.index(p._2.intValue)): java.lang.Boolean)
+  })
+
+  property("appendLength") = forAll((a: List[String], b: List[String]) => {
+    val c = a.append(b)
+    c.length == a.length + b.length && c.tails.forall((t: List[String]) => (t.length == t.toStream.length): java.lang.Boolean)
+  })
+
+  property("intersperse") = forAll((a: List[String], s: String) => {
+    val i = a.intersperse(s)
+    i.length == (2 * a.length - 1 max 0) &&
+    listEqual(stringEqual).eq(i.zipIndex.filter((p: P2[String, java.lang.Integer]) => (p._2.intValue % 2 == 0): java.lang.Boolean)
+      .map((p: P2[String, java.lang.Integer]) => p._1), a)
+  })
+
+  property("group") = forAll((a: List[Int]) => {
+    val g = a.map((x: Int) => x % 3: java.lang.Integer).group(Equal.intEqual)
+    listEqual(Equal.intEqual).eq(join(g), a.map((x: Int) => x % 3: java.lang.Integer)) &&
+    g.forall((x: List[java.lang.Integer]) => (x.isNotEmpty && x.allEqual(Equal.intEqual)): java.lang.Boolean)
+  })
+
+  property("longList") = {
+    val a = List.range(0, 1000000)
+    a.zipWith(a, (x: java.lang.Integer, y: java.lang.Integer) => x.intValue + y.intValue: java.lang.Integer).length == 1000000 &&
+    a.foldRight((x: java.lang.Integer, y: java.lang.Integer) => x.intValue - y.intValue: java.lang.Integer, 0: java.lang.Integer).intValue == -500000 &&
+    a.intersperse(0).length == 1999999 && a.take(999999).length == 999999 && a.group(Equal.intEqual).length == 1000000
+  }
+
+  property("longNub") = {
+    val a = List.range(0, 10000)
+    a.append(a).nub(Equal.intEqual).length == 10000
+  }
+
   /*property("iterateWhile") = forAll((n: Int) => n > 0 ==>
     (iterateWhile(((x:Int) => x - 1), ((x:Int) => ((x > 0): java.lang.Boolean)), n).length == n))*/
 }
@@ -0,0 +1,77 @@
+package fj
+package data
+
+import org.scalacheck.Prop._
+import org.scalacheck.Properties
+import function.{LongF, LongF2, LongPredicate}
+import LongMonoid.{longAdditionMonoid, longMultiplicationMonoid, longMaximumMonoid, longMinimumMonoid}
+import LongList.{longList, range}
+import LongArray.longArray
+
+object CheckLongList extends Properties("LongList") {
+
+  val inc = new LongF { def f(a: Long) = a + 1 }
+  val even = new LongPredicate { def f(a: Long) = a % 2 == 0 }
+  val minus = new LongF2 { def f(a: Long, b: Long) = a - b }
+
+  def toScala(l: LongList) = l.array.toList
+
+  property("length") = forAll((a: scala.List[Long]) =>
+    longList(a: _*).length == a.length && longArray(a: _*).length == a.length)
+
+  property("index") = forAll((a: scala.List[Long], i: Int) => {
+    val l = longList(a: _*)
+    a.isEmpty || l.index((i & Int.MaxValue) % a.length) == a((i & Int.MaxValue) % a.length)
+  })
+
+  property("map") = forAll((a: scala.List[Long]) =>
+    toScala(longList(a: _*).map(inc)) == a.map(_ + 1) &&
+    longArray(a: _*).map(inc).array.toList == a.map(_ + 1))
+
+  property("filter") = forAll((a: scala.List[Long]) =>
+    toScala(longList(a: _*).filter(even)) == a.filter(_ % 2 == 0) &&
+    longArray(a: _*).filter(even).array.toList == a.filter(_ % 2 == 0))
+
+  property("foldLeft") = forAll((a: scala.List[Long], z: Long) =>
+    longList(a: _*).foldLeft(minus, z) == a.foldLeft(z)(_ - _) &&
+    longArray(a: _*).foldLeft(minus, z) == a.foldLeft(z)(_ - _))
+
+  property("foldRight") = forAll((a: scala.List[Long], z: Long) =>
+    longList(a: _*).foldRight(minus, z) == a.foldRight(z)(_ - _) &&
+    longArray(a: _*).foldRight(minus, z) == a.foldRight(z)(_ - _))
+
+  property("sum") = forAll((a: scala.List[Long]) =>
+    longList(a: _*).sum == a.foldLeft(0L)(_ + _) &&
+    longArray(a: _*).sum == a.foldLeft(0L)(_ + _) &&
+    longArray(a: _*).fold(longAdditionMonoid) == a.foldLeft(0L)(_ + _))
+
+  property("monoids") = forAll((a: scala.List[Long]) =>
+    longList(a: _*).fold(longMultiplicationMonoid) == a.foldLeft(1L)(_ * _) &&
+    longList(a: _*).fold(longMaximumMonoid) == a.foldLeft(Long.MinValue)(_ max _) &&
+    longArray(a: _*).fold(longMinimumMonoid) == a.foldLeft(Long.MaxValue)(_ min _))
+
+  property("sort") = forAll((a: scala.List[Long]) =>
+    toScala(longList(a: _*).sort) == a.sortWith(_ < _) &&
+    longArray(a: _*).sort.array.toList == a.sortWith(_ < _))
+
+  property("reverse") = forAll((a: scala.List[Long]) =>
+    toScala(longList(a: _*).reverse) == a.reverse &&
+    longArray(a: _*).reverse.array.toList == a.reverse)
+
+  property("append") = forAll((a: scala.List[Long], b: scala.List[Long]) =>
+    toScala(longList(a: _*).append(longList(b: _*))) == a ++ b &&
+    longArray(a: _*).append(longArray(b: _*)).array.toList == a ++ b)
+
+  property("boxed") = forAll((a: scala.List[Long]) =>
+    toScala(LongList.iterableLongList(longList(a: _*).toList)) == a &&
+    LongArray.iterableLongArray(longArray(a: _*).toArray).array.toList == a)
+
+  property("range") = forAll((from: Byte, to: Byte) =>
+    toScala(range(from, to)) == (from.toInt until to.toInt).toList.map(_.toLong) &&
+    LongArray.range(from, to).sum == range(from, to).sum)
+
+  property("rangeTooLongForArray") = forAll((from: Int) => {
+    def fails(to: Long) = try { LongArray.range(from, to); false } catch { case e: Error => true }
+    fails(from.toLong + Int.MaxValue + 1) && fails(Long.MaxValue)
+  })
+}
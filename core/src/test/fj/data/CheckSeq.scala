@@ -0,0 +1,72 @@
+package fj
+package data
+
+import org.scalacheck.Prop._
+import ArbitrarySeq.arbitrarySeq
+import ArbitraryList.arbitraryList
+import Equal.{seqEqual, listEqual, stringEqual}
+import Hash.{seqHash, stringHash}
+import org.scalacheck.Properties
+
+object CheckSeq extends Properties("Seq") {
+  def index(a: Seq[String], i: Int) = (i % a.length).abs
+
+  property("listSeq") = forAll((a: List[String]) =>
+    listEqual(stringEqual).eq(Seq.listSeq(a).toList, a))
+
+  property("length") = forAll((a: Seq[String], s: String) =>
+    a.length == a.toList.length && a.snoc(s).length == a.length + 1 && a.cons(s).length == a.length + 1)
+
+  property("index") = forAll((a: Seq[String]) =>
+    (0 until a.length).forall(i => a.index(i) == a.toList.index(i)))
+
+  property("update") = forAll((a: Seq[String], i: Int, s: String) => !a.isEmpty ==> {
+    val j = index(a, i)
+    val b = a.update(j, s)
+    b.index(j) == s && b.length == a.length && seqEqual(stringEqual).eq(b.delete(j), a.delete(j))
+  })
+
+  property("insertDelete") = forAll((a: Seq[String], i: Int, s: String) => {
+    val j = if (a.isEmpty) 0 else (i % (a.length + 1)).abs
+    val b = a.insert(j, s)
+    b.index(j) == s && seqEqual(stringEqual).eq(b.delete(j), a)
+  })
+
+  property("splitAt") = forAll((a: Seq[String], i: Int) => {
+    val s = a.splitAt(i)
+    listEqual(stringEqual).eq(s._1.toList, a.toList.take(i)) &&
+    listEqual(stringEqual).eq(s._2.toList, a.toList.drop(i)) &&
+    seqEqual(stringEqual).eq(s._1.append(s._2), a)
+  })
+
+  property("takeDrop") = forAll((a: Seq[String], i: Int) =>
+    seqEqual(stringEqual).eq(a.take(i).append(a.drop(i)), a))
+
+  property("headLast") = forAll((a: Seq[String]) => !a.isEmpty ==> (
+    a.head == a.toList.head && a.last == a.toList.last &&
+    listEqual(stringEqual).eq(a.tail.toList, a.toList.tail) &&
+    listEqual(stringEqual).eq(a.init.toList, a.toList.init)))
+
+  property("reverse") = forAll((a: Seq[String]) =>
+    listEqual(stringEqual).eq(a.reverse.toList, a.toList.reverse))
+
+  property("map") = forAll((a: Seq[String]) =>
+    listEqual(stringEqual).eq(a.map((s: String) => s + "!").toList, a.toList.map((s: String) => s + "!")))
+
+  property("folds") = forAll((a: Seq[String]) =>
+    a.foldLeft((b: String, s: String) => b + s, "") == a.foldRight((s: String, b: String) => s + b, ""))
+
+  property("scanLeft") = forAll((a: Seq[String], s: String) => {
+    val f = (b: String, x: String) => b + x
+    listEqual(stringEqual).eq(a.scanLeft(f, s).toList, a.toList.scanLeft(f, s))})
+
+  property("scanRight") = forAll((a: Seq[String], s: String) => {
+    val f = (x: String, b: String) => x + b
+    listEqual(stringEqual).eq(a.scanRight(f, s).toList, a.toList.scanRight(f, s))})
+
+  property("toArray") = forAll((a: Seq[String]) =>
+    seqEqual(stringEqual).eq(Seq.arraySeq(a.toArray), a))
+
+  property("hash") = forAll((a: Seq[String]) =>
+    seqHash(stringHash).hash(a) == seqHash(stringHash).hash(Seq.iterableSeq(a)))
+}
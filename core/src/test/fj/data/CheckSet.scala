@@ -67,4 +67,68 @@ object CheckSet extends Properties("Set") {
     val s = a.insert(b).delete(c + b)
     !setEqual(stringEqual).eq(s.update(b, (x: String) => c + x)._2, s)
   })
+
+  property("deleteMember") = forAll((a: Set[String], s: String) => {
+    val d = a.insert(s).delete(s)
+    !d.member(s) && d.size == a.delete(s).size && d.subsetOf(a)
+  })
+
+  property("union") = forAll((a: Set[String], b: Set[String]) => {
+    val u = a.union(b)
+    a.subsetOf(u) && b.subsetOf(u) && u.toList.forall((x: String) => (a.member(x) || b.member(x)): java.lang.Boolean)
+  })
+
+  property("intersect") = forAll((a: Set[String], b: Set[String]) =>
+    setEqual(stringEqual).eq(a.intersect(b), a.filter((x: String) => b.member(x): java.lang.Boolean)))
+
+  property("minus") = forAll((a: Set[String], b: Set[String]) =>
+    setEqual(stringEqual).eq(a.minus(b), a.filter((x: String) => !b.member(x): java.lang.Boolean)))
+
+  property("unionMinusIntersect") = forAll((a: Set[String], b: Set[String]) =>
+    a.union(b).size == a.minus(b).size + b.minus(a).size + a.intersect(b).size)
+
+  property("split") = forAll((a: Set[String], s: String) => {
+    val x = a.split(s)
+    x._1.toList.forall((y: String) => (y.compareTo(s) < 0): java.lang.Boolean) &&
+    x._3.toList.forall((y: String) => (y.compareTo(s) > 0): java.lang.Boolean) &&
+    x._2.isSome == a.member(s) &&
+    x._1.size + x._3.size + (if (x._2.isSome) 1 else 0) == a.size
+  })
+
+  property("size") = forAll((a: Set[String]) =>
+    a.size == a.toList.length)
+
+  property("indexRank") = forAll((a: Set[String], s: String) => {
+    val b = a.insert(s)
+    b.index(b.rank(s)) == s && a.rank(s) == a.filter((x: String) => (x.compareTo(s) < 0): java.lang.Boolean).size
+  })
+
+  property("slice") = forAll((a: Set[String], i: Int, j: Int) => {
+    val s = a.slice(i, j)
+    val from = i max 0
+    s.size == ((j min a.size) - from max 0) && (s.isEmpty || s.index(0) == a.index(from))
+  })
+
+  property("iteratorAscending") = forAll((a: Set[String]) => {
+    val l = a.toList
+    l.length == a.size && (l.isEmpty || l.zip(l.tail).forall((p: P2[String, String]) =>
+      (p._1.compareTo(p._2) < 0): java.lang.Boolean))
+  })
+
+  property("floorCeiling") = forAll((a: Set[String], s: String) => {
+    val below = a.filter((x: String) => (x.compareTo(s) <= 0): java.lang.Boolean)
+    val above = a.filter((x: String) => (x.compareTo(s) >= 0): java.lang.Boolean)
+    a.floor(s).isSome == !below.isEmpty && (below.isEmpty || a.floor(s).some == below.max.some) &&
+    a.ceiling(s).isSome == !above.isEmpty && (above.isEmpty || a.ceiling(s).some == above.min.some)
+  })
+
+  property("lookupLTGT") = forAll((a: Set[String], s: String) => {
+    val b = a.insert(s)
+    b.lookupLT(s).isSome == (b.rank(s) > 0) && (b.lookupLT(s).isNone || b.index(b.rank(s) - 1) == b.lookupLT(s).some) &&
+    b.lookupGT(s).isSome == (b.rank(s) < b.size - 1) && (b.lookupGT(s).isNone || b.index(b.rank(s) + 1) == b.lookupGT(s).some)
+  })
+
+  property("range") = forAll((a: Set[String], s: String, t: String) =>
+    setEqual(stringEqual).eq(a.range(s, t),
+      a.filter((x: String) => (x.compareTo(s) >= 0 && x.compareTo(t) < 0): java.lang.Boolean)))
 }
@@ -6,7 +6,7 @@ import org.scalacheck.Prop._
 import ArbitraryStream.arbitraryStream
 import control.parallel.ArbitraryStrategy.arbitraryStrategy
 import ArbitraryP.arbitraryP1
-import Equal.{streamEqual, stringEqual}
+import Equal.{streamEqual, listEqual, stringEqual}
 import Unit.unit
 import Stream.{nil, single, join, iterableStream}
 import Ord.stringOrd
@@ -106,6 +106,19 @@ object CheckStream extends Properties("Stream") {
       a.foldLeft(((a: Stream[String], b: String) => single(b).append(a)), nil[String]),
       a.reverse.foldRight((a: String, b: P1[Stream[String]]) => single(a).append(b._1), nil[String])))
 
+  property("scanLeft") = forAll((a: Stream[String], s: String) => {
+    val f = (b: String, x: String) => b + x
+    listEqual(stringEqual).eq(a.scanLeft(f, s).toList, a.toList.scanLeft(f, s))})
+
+  property("scanLeft1Infinite") = forAll((n: Int) => {
+    val m = n.abs % 100
+    Stream.range(1).scanLeft1((x: java.lang.Integer, y: java.lang.Integer) =>
+      (x.intValue + y.intValue): java.lang.Integer).index(m).intValue == (m + 1) * (m + 2) / 2})
+
+  property("scanRight") = forAll((a: Stream[String], s: String) => {
+    val f = (x: String, b: String) => x + b
+    listEqual(stringEqual).eq(a.scanRight(f, s).toList, a.toList.scanRight(f, s))})
+
   property("length") = forAll((a: Stream[String]) =>
     a.length != 0 ==>
     (a.length - 1 == a.tail._1.length))
@@ -136,6 +149,77 @@ object CheckStream extends Properties("Stream") {
     streamEqual(stringEqual).eq(
       a.foldRight((a: Stream[String], b: P1[Stream[String]]) => a.append(b._1), nil[String]),
       join(a)))
+
+  property("parallel_sort") = forAll((a: Stream[String], s: Strategy[Unit]) => {
+    val d = a.sort(stringOrd, s, 3)
+    val e = streamEqual(stringEqual)
+    e.eq(d, a.sort(stringOrd))
+  })
+
+  property("appendAssociative") = forAll((a: Stream[String], b: Stream[String], c: Stream[String]) =>
+    streamEqual(stringEqual).eq(a.append(b).append(c), a.append(b.append(c))))
+
+  property("snoc") = forAll((a: Stream[String], s: String) => {
+    val b = a.snoc(s)
+    b.length == a.length + 1 && b.index(a.length) == s
+  })
+
+  property("foldRight1") = forAll((a: Stream[Int]) =>
+    a.foldRight1((x: Int, y: Int) => x - y, 0) == a.reverse.foldLeft((y: Int, x: Int) => x - y, 0))
+
+  property("unzip") = forAll((a: Stream[String], b: Stream[String]) => {
+    val u = Stream.unzip(a.zip(b))
+    val e = streamEqual(stringEqual)
+    e.eq(u._1, a.take(b.length)) && e.eq(u._2, b.take(a.length))
+  })
+
+  property("longAppendChain") = {
+    var s = nil[Int]
+    for (i <- 0 until 100000)
+      s = if (i % 2 == 0) s.snoc(i) else s.append(nil[Int])
+    s.length == 50000 && s.index(49999) == 99998
+  }
+
+  property("longBind") = {
+    val s = Stream.range(0, 100000).bind((x: java.lang.Integer) => if (x.intValue % 1000 == 0) single(x) else nil[java.lang.Integer])
+    s.length == 100 && Show.streamShow(Show.intShow).showS(Stream.range(0, 100000)).length > 100000
+  }
+
+  property("tailEvaluatedOnce") = forAll((a: Int) => {
+    var n = 0
+    val s = Stream.cons(a, new P1[Stream[Int]] { def _1 = { n += 1; single(a) } })
+    s.tail._1.head == a && s.tail._1.head == a && n == 1
+  })
+
+  property("appendedRestEvaluatedOnce") = forAll((a: Int) => {
+    var n = 0
+    val s1 = Stream.stream(a, a).append(new P1[Stream[Int]] { def _1 = { n += 1; single(a) } })
+    val s2 = s1.append(single(a))
+    s2.length == 4 && s1.length == 3 && s2.length == 4 && n == 1
+  })
+
+  property("hardMemo") = forAll((a: Int) => {
+    var n = 0
+    val p = new P1[Int] { def _1 = { n += 1; a } }.hardMemo
+    p._1 == a && p._1 == a && n == 1 && (p.hardMemo eq p)
+  })
+
+  property("hardMemoWaitsForOtherThread") = forAll((a: Int) => {
+    var n = 0
+    val gate = new java.util.concurrent.CountDownLatch(1)
+    val p = new P1[Int] { def _1 = { n += 1; gate.countDown(); Thread.sleep(5); a } }.hardMemo
+    val t = new Thread { override def run = p._1 }
+    t.start()
+    gate.await()
+    val b = p._1
+    t.join()
+    b == a && n == 1
+  })
+
+  property("hardMemoReentry") = {
+    lazy val p: P1[Int] = new P1[Int] { def _1 = p._1 + 1 }.hardMemo
+    try { p._1; false } catch { case e: Error => true }
+  }
                   /*
   property("sort") = forAll((a: Stream[String]) => {
     val d = a.sort(stringOrd)
@@ -143,13 +227,6 @@ object CheckStream extends Properties("Stream") {
     e.eq(d, a.toList.sort(stringOrd).toStream)
   })
 
-  // TODO Broken: java.lang.NullPointerException at fj.data.Stream$21.f(Stream.java:841)
-  property("parallel_sort") = forAll((a: Stream[String], s: Strategy[Unit]) => {
-    val d = a.sort(stringOrd, s)
-    val e = streamEqual(stringEqual)
-    e.eq(d, a.sort(stringOrd))
-  })
-
   property("iterable") = forAll((a: Stream[String]) => {
     val e = streamEqual(stringEqual)
     e.eq(a, iterableStream(a))
@@ -18,4 +18,42 @@ object CheckTreeMap extends Properties("TreeMap") {
 
   property("update") = forAll((m: TreeMap[Int, String], k: Int, v: String, c: Char) =>
     m.set(k, v).update(k, (x: String) => c + x)._2.get(k).some.equals(c + v))
+
+  property("size") = forAll((m: TreeMap[Int, String], k: Int, v: String) =>
+    m.set(k, v).size == m.size + (if (m.contains(k)) 0 else 1) && m.set(k, v).delete(k).size == m.delete(k).size)
+
+  property("indexRank") = forAll((m: TreeMap[Int, String], k: Int, v: String) => {
+    val n = m.set(k, v)
+    val i = n.rank(k)
+    n.index(i)._1 == k && n.index(i)._2 == v
+  })
+
+  property("takeDrop") = forAll((m: TreeMap[Int, String], i: Int) => {
+    val t = m.take(i)
+    val d = m.drop(i)
+    t.size + d.size == m.size && (t.isEmpty || d.isEmpty || t.index(t.size - 1)._1 < d.index(0)._1)
+  })
+
+  property("iteratorAscending") = forAll((m: TreeMap[Int, String]) => {
+    val ks = m.keys
+    ks.length == m.size && (ks.isEmpty || ks.zip(ks.tail).forall((p: P2[Int, Int]) => (p._1 < p._2): java.lang.Boolean))
+  })
+
+  property("minMax") = forAll((m: TreeMap[Int, String]) =>
+    m.isEmpty || m.min.some._1 == m.index(0)._1 && m.max.some._1 == m.index(m.size - 1)._1)
+
+  property("floorCeiling") = forAll((m: TreeMap[Int, String], k: Int) =>
+    m.floor(k).forall((e: P2[Int, String]) => (e._1 <= k && m.lookupGT(e._1).forall((f: P2[Int, String]) => (f._1 > k): java.lang.Boolean)): java.lang.Boolean) &&
+    m.ceiling(k).forall((e: P2[Int, String]) => (e._1 >= k && m.lookupLT(e._1).forall((f: P2[Int, String]) => (f._1 < k): java.lang.Boolean)): java.lang.Boolean))
+
+  property("range") = forAll((m: TreeMap[Int, String], a: Int, b: Int) => {
+    val r = m.range(a, b)
+    r.keys.forall((k: Int) => (k >= a && k < b && m.contains(k)): java.lang.Boolean) &&
+    r.size == m.keys.filter((k: Int) => (k >= a && k < b): java.lang.Boolean).length
+  })
+
+  property("splitLookup") = forAll((m: TreeMap[Int, String], k: Int) => {
+    val x = m.splitLookup(k)
+    x._1.size + x._3.size + (if (x._2.isSome) 1 else 0) == m.size && x._2.isSome == m.contains(k)
+  })
 }
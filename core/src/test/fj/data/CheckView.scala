@@ -0,0 +1,52 @@
+package fj
+package data
+
+import org.scalacheck.Prop._
+import ArbitraryList.arbitraryList
+import Equal.{listEqual, intEqual}
+import org.scalacheck.Properties
+
+object CheckView extends Properties("View") {
+  val eq = listEqual(intEqual)
+  val add = new F2[Int, Int, Int] { def f(a: Int, b: Int) = a + b }
+  val minus = new F2[Int, Int, Int] { def f(a: Int, b: Int) = a - b }
+  val dup = new F[Int, List[Int]] { def f(a: Int) = if (a % 3 == 0) List.nil[Int] else List.list(a, -a) }
+  val dupView = new F[Int, View[Int]] { def f(a: Int) = dup.f(a).view.take(1) }
+
+  property("map") = forAll((a: List[Int]) =>
+    eq.eq(a.view.map((x: Int) => x + 1).toList, a.map((x: Int) => x + 1)))
+
+  property("filter") = forAll((a: List[Int]) =>
+    eq.eq(a.toArray.view.filter((x: Int) => x % 2 == 0).toArray.toList, a.filter((x: Int) => x % 2 == 0)))
+
+  property("takeDrop") = forAll((a: List[Int], n: Int, m: Int) => {
+    val i = n % 50
+    val j = m % 50
+    eq.eq(a.view.drop(j).take(i).toList, a.drop(j).take(i))
+  })
+
+  property("bind") = forAll((a: List[Int]) =>
+    eq.eq(a.view.bind[Int](dup).toList, a.bind[Int](dup)))
+
+  property("bindView") = forAll((a: List[Int], n: Int) =>
+    eq.eq(a.view.bind[Int](dupView).take(n % 20).toList, a.bind((x: Int) => dup.f(x).take(1)).take(n % 20)))
+
+  property("zipWith") = forAll((a: List[Int], b: List[Int]) =>
+    eq.eq(a.view.zipWith(b, add).toList, a.zipWith(b, add)))
+
+  property("foldLeft") = forAll((a: List[Int], z: Int) =>
+    a.view.map((x: Int) => x * 2).foldLeft(minus, z) == a.map((x: Int) => x * 2).foldLeft(minus, z))
+
+  property("fused") = forAll((a: List[Int], b: List[Int], n: Int) => {
+    val v = a.view.map((x: Int) => x + 1).filter((x: Int) => x % 2 == 0).bind[Int](dup).take(n % 30).zipWith(b, add)
+    val l = a.map((x: Int) => x + 1).filter((x: Int) => x % 2 == 0).bind[Int](dup).take(n % 30).zipWith(b, add)
+    eq.eq(v.toList, l) && eq.eq(List.iterableList(v), l) && v.length == l.length
+  })
+
+  property("exists") = forAll((a: List[Int]) =>
+    a.view.exists((x: Int) => x > 10) == a.exists((x: Int) => x > 10) &&
+    a.view.forall((x: Int) => x > 10) == a.forall((x: Int) => x > 10))
+
+  property("find") = forAll((a: List[Int]) =>
+    a.view.find((x: Int) => x > 10).isSome == a.exists((x: Int) => x > 10))
+}
@@ -0,0 +1,62 @@
+package fj
+package data
+package fingertrees
+
+import org.scalacheck.Prop._
+import org.scalacheck.{Arbitrary, Properties}
+import org.scalacheck.Arbitrary.arbitrary
+import Monoid.{intAdditionMonoid, stringMonoid}
+
+object CheckFingerTree extends Properties("FingerTree") {
+  val size: Measured[java.lang.Integer, Int] = FingerTree.measured(intAdditionMonoid, (x: Int) => (1: java.lang.Integer))
+  val text: Measured[String, Int] = FingerTree.measured(stringMonoid, (x: Int) => x + ",")
+
+  // Builds trees from both ends so that digits and middle trees of all shapes occur.
+  def tree[V](m: Measured[V, Int], as: scala.List[Int]): FingerTree[V, Int] =
+    as.zipWithIndex.foldLeft(FingerTree.mkTree(m).empty) { case (t, (a, i)) => if (i % 3 == 0) t.snoc(a) else t.cons(a) }
+
+  def elems[V](t: FingerTree[V, Int]): scala.List[Int] = {
+    val b = new scala.collection.mutable.ListBuffer[Int]
+    val i = t.iterator
+    while (i.hasNext) b += i.next
+    b.toList
+  }
+
+  implicit def arbitraryTree: Arbitrary[FingerTree[java.lang.Integer, Int]] =
+    Arbitrary(arbitrary[scala.List[Int]].map(tree(size, _)))
+
+  property("measure") = forAll((t: FingerTree[java.lang.Integer, Int]) =>
+    t.measure.intValue == elems(t).length)
+
+  property("append") = forAll((t: FingerTree[java.lang.Integer, Int], u: FingerTree[java.lang.Integer, Int]) =>
+    elems(t.append(u)) == elems(t) ++ elems(u))
+
+  property("lookup") = forAll((t: FingerTree[java.lang.Integer, Int], i: Int) => !t.isEmpty ==> {
+    val j = (i % t.measure.intValue).abs
+    t.lookup((v: java.lang.Integer) => v, j)._2 == elems(t)(j)
+  })
+
+  property("split") = forAll((t: FingerTree[java.lang.Integer, Int], i: Int) => {
+    val n = if (t.isEmpty) 0 else (i % (t.measure.intValue + 1)).abs
+    val s = t.split((v: java.lang.Integer) => (v.intValue > n): java.lang.Boolean)
+    elems(s._1) == elems(t).take(n) && elems(s._2) == elems(t).drop(n)
+  })
+
+  property("views") = forAll((t: FingerTree[java.lang.Integer, Int]) => !t.isEmpty ==> {
+    val as = elems(t)
+    t.head == as.head && t.last == as.last && elems(t.tail) == as.tail && elems(t.init) == as.init &&
+    t.tail.measure.intValue == as.length - 1 && t.init.measure.intValue == as.length - 1
+  })
+
+  property("reverse") = forAll((as: scala.List[Int]) => {
+    val t = tree(text, as)
+    elems(t.reverse) == elems(t).reverse && t.reverse.measure == elems(t).reverse.map(_ + ",").mkString
+  })
+
+  property("reverseIterator") = forAll((t: FingerTree[java.lang.Integer, Int]) => {
+    val b = new scala.collection.mutable.ListBuffer[Int]
+    val i = t.reverseIterator
+    while (i.hasNext) b += i.next
+    b.toList == elems(t).reverse
+  })
+}
@@ -15,6 +15,6 @@ public final class Set_map {
         return i / 2; // divide each integer by 2
       }
     });
-    listShow(intShow).println(b.toList()); // [3,2,1,0]
+    listShow(intShow).println(b.toList()); // [0,1,2,3]
   }
 }
@@ -7,7 +7,7 @@ abstract class FunctionalJavaDefaults(info: ProjectInfo) extends DefaultProject(
 
   override def compileOptions = target(Target.Java1_5) :: (CompileOptions.Unchecked :: encodingUtf8).map(CompileOption) ++ super.compileOptions
 
-  override def javaCompileOptions = List("-target", "1.5", "-encoding", "UTF-8", "-Xlint:unchecked").map(JavaCompileOption) ++ super.javaCompileOptions
+  override def javaCompileOptions = List("-source", "1.8", "-target", "1.8", "-encoding", "UTF-8", "-Xlint:unchecked").map(JavaCompileOption) ++ super.javaCompileOptions
 
   def scalacheckDependency = "org.scala-tools.testing" %% "scalacheck" % "1.8" % "test"
 
@@ -76,6 +76,7 @@ final class FunctionalJavaProject(info: ProjectInfo) extends ParentProject(info)
   lazy val core = project("core", "functionaljava-core", new Core(_))
   lazy val demo = project("demo", "functionaljava-demo", new Demo(_), core)
   lazy val fjscala = project("fjscala", "functionaljava-scala", new FJScala(_), core)
+  lazy val benchmarks = project("benchmarks", "functionaljava-benchmarks", new Benchmarks(_), core)
 
   class Core(info: ProjectInfo) extends FunctionalJavaDefaults(info) with JavaDocProject {
     val scalacheck = scalacheckDependency
@@ -100,6 +101,34 @@ final class FunctionalJavaProject(info: ProjectInfo) extends ParentProject(info)
     override def documentOptions = documentTitle("Functional Java for Scala") :: super.documentOptions
   }
 
+  class Benchmarks(info: ProjectInfo) extends FunctionalJavaDefaults(info) {
+    val jmhVersion = "1.21"
+    val jmhCore = "org.openjdk.jmh" % "jmh-core" % jmhVersion
+    val jmhGenerator = "org.openjdk.jmh" % "jmh-generator-annprocess" % jmhVersion % "provided"
+
+    override def documentOptions = documentTitle("Functional Java Benchmarks") :: super.documentOptions
+
+    def baselineDir = info.projectPath / "baseline"
+
+    def currentResults = baselineDir / "current.csv"
+
+    def baselineResults = baselineDir / "baseline.csv"
+
+    lazy val bench = task { args =>
+      runTask(Some("org.openjdk.jmh.Main"), runClasspath, Seq("-rf", "csv", "-rff", currentResults.absolutePath) ++ args).dependsOn(compile)
+    } describedAs "Run the JMH benchmarks (optionally filtered by a regular expression), writing baseline/current.csv"
+
+    lazy val benchCheck = task { args =>
+      runTask(Some("fj.bench.BaselineCheck"), runClasspath, Seq(baselineResults.absolutePath, currentResults.absolutePath) ++ args).dependsOn(compile)
+    } describedAs "Compare baseline/current.csv against baseline/baseline.csv, failing on regressions"
+
+    override def deliverLocalAction = noAction
+
+    override def publishLocalAction = noAction
+
+    override def publishAction = noAction
+  }
+
   private def noAction = task {None}
 
   override def deliverLocalAction = noAction